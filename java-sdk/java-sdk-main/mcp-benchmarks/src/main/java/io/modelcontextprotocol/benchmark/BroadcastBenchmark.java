@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpBroadcast;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures broadcasting a notification to many sessions. {@link #serializeOnce} goes
+ * through {@link McpBroadcast}, which encodes the notification once for all sessions.
+ * {@link #serializePerSession} reproduces the previous broadcast, where every session
+ * serialized the notification on its own, for comparison. The session transports only
+ * count the bytes they would write.
+ *
+ * <p>
+ * Run with {@code java -jar mcp-benchmarks/target/benchmarks.jar Broadcast}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BroadcastBenchmark {
+
+	@Param({ "1000", "10000", "50000" })
+	public int sessionCount;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final LongAdder writtenChars = new LongAdder();
+
+	private final List<McpServerSession> sessions = new ArrayList<>();
+
+	private McpSchema.LoggingMessageNotification notification;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Map<String, Object> data = new LinkedHashMap<>();
+		for (int i = 0; i < 16; i++) {
+			data.put("field-" + i, "value of field " + i + " in a broadcast notification");
+		}
+		this.notification = McpSchema.LoggingMessageNotification.builder()
+			.level(McpSchema.LoggingLevel.INFO)
+			.logger("benchmark")
+			.data(this.objectMapper.valueToTree(data).toString())
+			.build();
+
+		this.sessions.clear();
+		for (int i = 0; i < this.sessionCount; i++) {
+			this.sessions.add(new McpServerSession("session-" + i, Duration.ofSeconds(10), new CountingTransport(),
+					initRequest -> Mono.empty(), Mono::empty, Map.of(), Map.of()));
+		}
+	}
+
+	@Benchmark
+	public void serializeOnce() {
+		McpBroadcast
+			.broadcast(this.objectMapper, this.sessions, McpSchema.METHOD_NOTIFICATION_MESSAGE, this.notification)
+			.block();
+	}
+
+	@Benchmark
+	public void serializePerSession() {
+		Flux.fromIterable(this.sessions)
+			.flatMap(session -> session.sendNotification(McpSchema.METHOD_NOTIFICATION_MESSAGE, this.notification)
+				.onErrorComplete())
+			.then()
+			.block();
+	}
+
+	/**
+	 * Transport serializing messages like the SSE transports do, and counting the
+	 * characters it would write.
+	 */
+	private class CountingTransport implements McpServerTransport {
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return Mono.fromRunnable(() -> {
+				try {
+					writtenChars.add(objectMapper.writeValueAsString(message).length());
+				}
+				catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		}
+
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			return Mono.fromRunnable(() -> writtenChars.add(message.asString().length()));
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the single-pass {@link McpSchema#deserializeJsonRpcMessage} decoder against
+ * the previous approach of reading the whole frame into a {@link HashMap} and converting
+ * that map into the message record.
+ *
+ * <p>
+ * Run with {@code java -jar mcp-benchmarks/target/benchmarks.jar JsonRpcDeserialization
+ * -prof gc} to also compare the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonRpcDeserializationBenchmark {
+
+	private static final TypeReference<HashMap<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
+	};
+
+	@Param({ "tools/call", "response", "notification" })
+	public String messageKind;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private String json;
+
+	private byte[] jsonBytes;
+
+	@Setup
+	public void setUp() {
+		this.json = switch (this.messageKind) {
+			case "tools/call" -> """
+					{"jsonrpc":"2.0","id":"5b1c3d2e-42","method":"tools/call","params":{"name":"search",\
+					"arguments":{"query":"model context protocol","limit":25,"filters":{"lang":["java","kotlin"],\
+					"since":"2024-11-05"}},"_meta":{"progressToken":"token-42"}}}""";
+			case "response" -> """
+					{"jsonrpc":"2.0","id":"5b1c3d2e-42","result":{"content":[{"type":"text","text":"first result"},\
+					{"type":"text","text":"second result"},{"type":"text","text":"third result"}],"isError":false}}""";
+			case "notification" -> """
+					{"jsonrpc":"2.0","method":"notifications/message","params":{"level":"info","logger":"server",\
+					"data":"Processing step 12 of 40"}}""";
+			default -> throw new IllegalArgumentException("Unknown message kind: " + this.messageKind);
+		};
+		this.jsonBytes = this.json.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage mapThenConvertValue() throws IOException {
+		var map = this.objectMapper.readValue(this.json, MAP_TYPE_REF);
+
+		if (map.containsKey("method") && map.containsKey("id")) {
+			return this.objectMapper.convertValue(map, McpSchema.JSONRPCRequest.class);
+		}
+		else if (map.containsKey("method") && !map.containsKey("id")) {
+			return this.objectMapper.convertValue(map, McpSchema.JSONRPCNotification.class);
+		}
+		else if (map.containsKey("result") || map.containsKey("error")) {
+			return this.objectMapper.convertValue(map, McpSchema.JSONRPCResponse.class);
+		}
+
+		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + this.json);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage singlePassFromString() throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, this.json);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage singlePassFromBytes() throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, this.jsonBytes);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage singlePassFromByteBuffer() throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, ByteBuffer.wrap(this.jsonBytes));
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage singlePassFromInputStream() throws IOException {
+		return McpSchema.deserializeJsonRpcMessage(this.objectMapper, new ByteArrayInputStream(this.jsonBytes));
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.util.DefaultMcpUriTemplateManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures {@code resources/read} dispatch through a {@link McpServerSession} as the
+ * number of registered resources grows. Half of the resources have concrete URIs and the
+ * other half URI templates. The read URIs resolve to the last registered resources.
+ * {@link #linearScanLookup} reproduces the previous lookup, which created a URI template
+ * manager and matched it for every registered resource, for comparison.
+ *
+ * <p>
+ * Run with {@code java -jar mcp-benchmarks/target/benchmarks.jar ResourceRead}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceReadBenchmark {
+
+	@Param({ "1000", "50000" })
+	public int resourceCount;
+
+	private final List<McpServerFeatures.AsyncResourceSpecification> resources = new ArrayList<>();
+
+	private McpAsyncServer server;
+
+	private McpServerSession session;
+
+	private McpSchema.JSONRPCRequest concreteReadRequest;
+
+	private McpSchema.JSONRPCRequest templatedReadRequest;
+
+	private String templatedUri;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		McpSchema.ReadResourceResult result = new McpSchema.ReadResourceResult(
+				List.of(new McpSchema.TextResourceContents("uri", "text/plain", "ok")));
+
+		this.resources.clear();
+		for (int i = 0; i < this.resourceCount; i++) {
+			String uri = (i % 2 == 0) ? "file:///data/file-" + i + ".txt"
+					: "db://tenant-" + i + "/tables/{table}/rows/{id}";
+			McpSchema.Resource resource = McpSchema.Resource.builder()
+				.uri(uri)
+				.name("resource-" + i)
+				.mimeType("text/plain")
+				.build();
+			this.resources.add(new McpServerFeatures.AsyncResourceSpecification(resource,
+					(exchange, request) -> Mono.just(result)));
+		}
+		int lastConcrete = (this.resourceCount - 1) / 2 * 2;
+		int lastTemplated = lastConcrete == this.resourceCount - 1 ? lastConcrete - 1 : this.resourceCount - 1;
+		this.templatedUri = "db://tenant-" + lastTemplated + "/tables/users/rows/42";
+
+		SessionCapturingTransportProvider transportProvider = new SessionCapturingTransportProvider();
+		this.server = McpServer.async(transportProvider)
+			.serverInfo("benchmark-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().resources(false, false).build())
+			.resources(this.resources)
+			.build();
+
+		this.session = transportProvider.openInitializedSession();
+
+		this.concreteReadRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_READ, 1,
+				new McpSchema.ReadResourceRequest("file:///data/file-" + lastConcrete + ".txt"));
+		this.templatedReadRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_READ, 2, new McpSchema.ReadResourceRequest(this.templatedUri));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.server.close();
+	}
+
+	@Benchmark
+	public void readConcreteResource() {
+		this.session.handle(this.concreteReadRequest).block();
+	}
+
+	@Benchmark
+	public void readTemplatedResource() {
+		this.session.handle(this.templatedReadRequest).block();
+	}
+
+	@Benchmark
+	public McpServerFeatures.AsyncResourceSpecification linearScanLookup() {
+		return this.resources.stream()
+			.filter(resourceSpecification -> new DefaultMcpUriTemplateManager(resourceSpecification.resource().uri())
+				.matches(this.templatedUri))
+			.findFirst()
+			.orElseThrow();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport provider that hands out sessions over a transport discarding everything sent
+ * to it, so that only the server side dispatch is measured.
+ */
+class SessionCapturingTransportProvider implements McpServerTransportProvider {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private McpServerSession.Factory sessionFactory;
+
+	@Override
+	public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+		this.sessionFactory = sessionFactory;
+	}
+
+	/**
+	 * Opens a new session and completes the initialization handshake on it.
+	 * @return the initialized session
+	 */
+	McpServerSession openInitializedSession() {
+		McpServerSession session = this.sessionFactory.create(new McpServerTransport() {
+
+			@Override
+			public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+				return Mono.empty();
+			}
+
+			@Override
+			public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+				return McpSchema.unmarshalFrom(SessionCapturingTransportProvider.this.objectMapper, data, typeRef);
+			}
+
+			@Override
+			public Mono<Void> closeGracefully() {
+				return Mono.empty();
+			}
+
+		});
+
+		session
+			.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE, 0,
+					new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+							McpSchema.ClientCapabilities.builder().build(),
+							new McpSchema.Implementation("benchmark-client", "1.0.0"))))
+			.block();
+		session
+			.handle(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+			.block();
+		return session;
+	}
+
+	@Override
+	public Mono<Void> notifyClients(String method, Object params) {
+		return Mono.empty();
+	}
+
+	@Override
+	public Mono<Void> closeGracefully() {
+		return Mono.empty();
+	}
+
+}
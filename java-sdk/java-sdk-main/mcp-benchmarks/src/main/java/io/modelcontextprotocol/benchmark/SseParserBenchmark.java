@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.modelcontextprotocol.client.transport.SseEventParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the parsing of a Server-Sent Events body, received in 16 KiB buffers as from
+ * the JDK HTTP client, made of events carrying JSON-RPC messages of a given size.
+ * {@link #lineRegexParser} reproduces the previous parsing, decoding the body into lines
+ * and matching every field line with a regex, for comparison.
+ *
+ * <p>
+ * Run with {@code java -jar mcp-benchmarks/target/benchmarks.jar SseParser}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SseParserBenchmark {
+
+	private static final int BUFFER_SIZE = 16 * 1024;
+
+	private static final int EVENT_COUNT = 256;
+
+	private static final Pattern EVENT_DATA_PATTERN = Pattern.compile("^data:(.+)$", Pattern.MULTILINE);
+
+	private static final Pattern EVENT_ID_PATTERN = Pattern.compile("^id:(.+)$", Pattern.MULTILINE);
+
+	private static final Pattern EVENT_TYPE_PATTERN = Pattern.compile("^event:(.+)$", Pattern.MULTILINE);
+
+	@Param({ "256", "16384" })
+	public int messageSize;
+
+	/** Whether the messages hold non-ASCII text, slower to decode on both paths */
+	@Param({ "false", "true" })
+	public boolean nonAscii;
+
+	private List<ByteBuffer> buffers;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		StringBuilder text = new StringBuilder();
+		String line = this.nonAscii ? "ligne de journal créée à l'instant " : "log line with some plain text ";
+		while (text.length() < this.messageSize) {
+			text.append(line);
+		}
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			body.append("id: ")
+				.append(i)
+				.append("\nevent: message\ndata: ")
+				.append("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/tools/partial_result\",\"params\":{\"content\":[{\"type\":\"text\",\"text\":\"")
+				.append(text, 0, this.messageSize)
+				.append("\"}]}}\n\n");
+		}
+		byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+		this.buffers = new ArrayList<>();
+		for (int offset = 0; offset < bytes.length; offset += BUFFER_SIZE) {
+			this.buffers.add(ByteBuffer.wrap(bytes, offset, Math.min(BUFFER_SIZE, bytes.length - offset)).slice());
+		}
+	}
+
+	@Benchmark
+	public void byteParser(Blackhole blackhole) {
+		SseEventParser parser = new SseEventParser((id, type, data) -> blackhole.consume(data));
+		for (ByteBuffer buffer : this.buffers) {
+			parser.parse(buffer.duplicate());
+		}
+		parser.complete();
+	}
+
+	@Benchmark
+	public void lineRegexParser(Blackhole blackhole) {
+		StringBuilder eventBuilder = new StringBuilder();
+		String[] eventId = new String[1];
+		String[] eventType = new String[1];
+		StringBuilder pending = new StringBuilder();
+		for (ByteBuffer buffer : this.buffers) {
+			// The line subscriber decodes every buffer before splitting it into lines
+			pending.append(StandardCharsets.UTF_8.decode(buffer.duplicate()));
+			int start = 0;
+			int end;
+			while ((end = pending.indexOf("\n", start)) >= 0) {
+				onLine(pending.substring(start, end), eventBuilder, eventId, eventType, blackhole);
+				start = end + 1;
+			}
+			pending.delete(0, start);
+		}
+	}
+
+	private static void onLine(String line, StringBuilder eventBuilder, String[] eventId, String[] eventType,
+			Blackhole blackhole) {
+		if (line.isEmpty()) {
+			if (eventBuilder.length() > 0) {
+				blackhole.consume(eventId[0]);
+				blackhole.consume(eventType[0]);
+				blackhole.consume(eventBuilder.toString().trim());
+				eventBuilder.setLength(0);
+			}
+		}
+		else if (line.startsWith("data:")) {
+			Matcher matcher = EVENT_DATA_PATTERN.matcher(line);
+			if (matcher.find()) {
+				eventBuilder.append(matcher.group(1).trim()).append("\n");
+			}
+		}
+		else if (line.startsWith("id:")) {
+			Matcher matcher = EVENT_ID_PATTERN.matcher(line);
+			if (matcher.find()) {
+				eventId[0] = matcher.group(1).trim();
+			}
+		}
+		else if (line.startsWith("event:")) {
+			Matcher matcher = EVENT_TYPE_PATTERN.matcher(line);
+			if (matcher.find()) {
+				eventType[0] = matcher.group(1).trim();
+			}
+		}
+	}
+
+}
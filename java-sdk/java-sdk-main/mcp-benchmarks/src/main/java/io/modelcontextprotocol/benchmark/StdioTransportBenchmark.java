@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of small messages through a server on the
+ * {@link StdioServerTransportProvider}, driven over OS pipes standing in for the stdin
+ * and stdout of a server process. Each operation writes a batch of {@code ping} requests
+ * to the server and reads all the responses back, so the number of messages per second is
+ * the reported throughput multiplied by {@link #batchSize}. A batch size of 1 measures
+ * the latency of a single round trip, larger batches measure pipelined requests.
+ *
+ * <p>
+ * Run with {@code java -jar mcp-benchmarks/target/benchmarks.jar StdioTransport}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StdioTransportBenchmark {
+
+	@Param({ "1", "64" })
+	public int batchSize;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private McpAsyncServer server;
+
+	private OutputStream serverStdin;
+
+	private BufferedReader serverStdout;
+
+	private Pipe.SinkChannel stdinSink;
+
+	private byte[] batch;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		Pipe stdin = Pipe.open();
+		Pipe stdout = Pipe.open();
+		this.stdinSink = stdin.sink();
+		this.serverStdin = Channels.newOutputStream(stdin.sink());
+		this.serverStdout = new BufferedReader(
+				new InputStreamReader(Channels.newInputStream(stdout.source()), StandardCharsets.UTF_8));
+
+		this.server = McpServer
+			.async(new StdioServerTransportProvider(this.objectMapper, Channels.newInputStream(stdin.source()),
+					Channels.newOutputStream(stdout.sink())))
+			.serverInfo("benchmark-server", "1.0.0")
+			.build();
+
+		writeLine(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE, "init",
+				new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+						McpSchema.ClientCapabilities.builder().build(),
+						new McpSchema.Implementation("benchmark-client", "1.0.0"))));
+		this.serverStdout.readLine();
+		writeLine(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		StringBuilder requests = new StringBuilder();
+		for (int i = 0; i < this.batchSize; i++) {
+			requests
+				.append(this.objectMapper.writeValueAsString(
+						new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_PING, i, null)))
+				.append('\n');
+		}
+		this.batch = requests.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		this.stdinSink.close();
+		this.server.closeGracefully().block();
+	}
+
+	@Benchmark
+	public int pingBatch() throws IOException {
+		this.serverStdin.write(this.batch);
+		this.serverStdin.flush();
+		int length = 0;
+		for (int i = 0; i < this.batchSize; i++) {
+			length += this.serverStdout.readLine().length();
+		}
+		return length;
+	}
+
+	private void writeLine(McpSchema.JSONRPCMessage message) throws IOException {
+		this.serverStdin.write((this.objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8));
+		this.serverStdin.flush();
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures {@code tools/call} requests through a
+ * {@link HttpClientStreamableHttpTransport} to a server on an embedded Tomcat, over
+ * HTTP/1.1 and over cleartext HTTP/2. Each operation sends {@link #inFlight} calls at
+ * once and waits for all the results, so the number of calls per second is the reported
+ * throughput multiplied by {@link #inFlight}, and the sampled percentiles are those of
+ * the time to complete a whole batch.
+ *
+ * <p>
+ * Run with
+ * {@code java -jar mcp-benchmarks/target/benchmarks.jar StreamableHttpTransport}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamableHttpTransportBenchmark {
+
+	/** Concurrent streams allowed by both the server and the client over HTTP/2 */
+	private static final int MAX_CONCURRENT_STREAMS = 100;
+
+	@Param({ "HTTP_1_1", "HTTP_2" })
+	public String protocol;
+
+	@Param({ "1", "64", "1024" })
+	public int inFlight;
+
+	private HttpServletStreamableServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	private Tomcat tomcat;
+
+	private McpAsyncClient client;
+
+	private McpSchema.CallToolRequest callRequest;
+
+	@Setup(Level.Trial)
+	public void setUp() throws LifecycleException {
+		this.transportProvider = HttpServletStreamableServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.build();
+		this.server = McpServer.async(this.transportProvider)
+			.serverInfo("benchmark-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.tools(new McpServerFeatures.AsyncToolSpecification(
+					new McpSchema.Tool("echo", "Echoes its arguments", "{\"type\":\"object\"}"),
+					(exchange,
+							arguments) -> Mono.just(new McpSchema.CallToolResult(
+									List.of(new McpSchema.TextContent(String.valueOf(arguments))), false))))
+			.build();
+
+		int port = findAvailablePort();
+		this.tomcat = createTomcat(port);
+		this.tomcat.start();
+
+		HttpClientStreamableHttpTransport.Builder transport = HttpClientStreamableHttpTransport
+			.builder("http://localhost:" + port);
+		if ("HTTP_2".equals(this.protocol)) {
+			transport.http2(MAX_CONCURRENT_STREAMS);
+		}
+		this.client = McpClient.async(transport.build()).build();
+		this.client.initialize().block();
+		this.callRequest = new McpSchema.CallToolRequest("echo", "{\"message\":\"hello\"}");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws LifecycleException {
+		this.client.closeGracefully().block();
+		this.server.closeGracefully().block();
+		this.tomcat.stop();
+		this.tomcat.destroy();
+	}
+
+	@Benchmark
+	public List<McpSchema.CallToolResult> callToolBatch() {
+		return Flux.range(0, this.inFlight)
+			.flatMap(i -> this.client.callTool(this.callRequest), this.inFlight)
+			.collectList()
+			.block();
+	}
+
+	private Tomcat createTomcat(int port) {
+		Tomcat tomcat = new Tomcat();
+		tomcat.setPort(port);
+		String baseDir = System.getProperty("java.io.tmpdir");
+		tomcat.setBaseDir(baseDir);
+
+		Context context = tomcat.addContext("", baseDir);
+		Wrapper wrapper = context.createWrapper();
+		wrapper.setName("mcpServlet");
+		wrapper.setServlet(this.transportProvider);
+		wrapper.setAsyncSupported(true);
+		context.addChild(wrapper);
+		context.addServletMappingDecoded("/*", "mcpServlet");
+
+		// Accept the cleartext HTTP/2 upgrade requests of the HTTP/2 client
+		Http2Protocol http2 = new Http2Protocol();
+		http2.setMaxConcurrentStreams(MAX_CONCURRENT_STREAMS);
+		tomcat.getConnector().addUpgradeProtocol(http2);
+		return tomcat;
+	}
+
+	private static int findAvailablePort() {
+		try (ServerSocket socket = new ServerSocket()) {
+			socket.bind(new InetSocketAddress(0));
+			return socket.getLocalPort();
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Cannot bind to an available port", e);
+		}
+	}
+
+}
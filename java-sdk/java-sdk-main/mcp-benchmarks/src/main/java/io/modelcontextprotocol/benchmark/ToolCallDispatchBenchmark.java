@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures {@code tools/call} dispatch through a {@link McpServerSession} as the number
+ * of registered tools grows. The called tool is the last one registered, which is the
+ * worst case for a linear scan. {@link #linearScanDispatchToolCall} dispatches the same
+ * request through a session whose handler reproduces the previous lookup, a scan over a
+ * {@link CopyOnWriteArrayList}, for comparison. The current handler additionally goes
+ * through the per-tool bulkhead, so the difference slightly understates the gain of the
+ * index.
+ *
+ * <p>
+ * Run with {@code java -jar mcp-benchmarks/target/benchmarks.jar ToolCallDispatch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToolCallDispatchBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	public int toolCount;
+
+	private final CopyOnWriteArrayList<McpServerFeatures.AsyncToolSpecification> toolList = new CopyOnWriteArrayList<>();
+
+	private McpAsyncServer server;
+
+	private McpServerSession session;
+
+	private McpServerSession linearScanSession;
+
+	private McpSchema.JSONRPCRequest callRequest;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		McpSchema.CallToolResult result = new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("ok")), false);
+
+		this.toolList.clear();
+		for (int i = 0; i < this.toolCount; i++) {
+			McpSchema.Tool tool = new McpSchema.Tool("tool-" + i, "Generated tool " + i, "{\"type\":\"object\"}");
+			this.toolList
+				.add(new McpServerFeatures.AsyncToolSpecification(tool, (exchange, args) -> Mono.just(result)));
+		}
+		String calledToolName = "tool-" + (this.toolCount - 1);
+
+		SessionCapturingTransportProvider transportProvider = new SessionCapturingTransportProvider();
+		this.server = McpServer.async(transportProvider)
+			.serverInfo("benchmark-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(this.toolList)
+			.build();
+
+		this.session = transportProvider.openInitializedSession();
+
+		SessionCapturingTransportProvider linearScanTransportProvider = new SessionCapturingTransportProvider();
+		linearScanTransportProvider
+			.setSessionFactory(transport -> new McpServerSession("linear-scan", Duration.ofSeconds(10), transport,
+					initializeRequest -> Mono.just(new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+							McpSchema.ServerCapabilities.builder().tools(false).build(),
+							new McpSchema.Implementation("benchmark-server", "1.0.0"), null)),
+					Mono::empty, Map.of(McpSchema.METHOD_TOOLS_CALL, linearScanToolsCallHandler()), Map.of()));
+		this.linearScanSession = linearScanTransportProvider.openInitializedSession();
+
+		this.callRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+				new McpSchema.CallToolRequest(calledToolName, Map.of()));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.server.close();
+	}
+
+	@Benchmark
+	public void dispatchToolCall() {
+		this.session.handle(this.callRequest).block();
+	}
+
+	@Benchmark
+	public void linearScanDispatchToolCall() {
+		this.linearScanSession.handle(this.callRequest).block();
+	}
+
+	/**
+	 * Reproduces the {@code tools/call} handler as it was before tools were indexed.
+	 */
+	private McpServerSession.RequestHandler<McpSchema.CallToolResult> linearScanToolsCallHandler() {
+		return new McpServerSession.TypedRequestHandler<>(new TypeReference<McpSchema.CallToolRequest>() {
+		}, (exchange, callToolRequest) -> this.toolList.stream()
+			.filter(toolSpecification -> callToolRequest.name().equals(toolSpecification.tool().name()))
+			.findAny()
+			.map(toolSpecification -> toolSpecification.call().apply(exchange, callToolRequest.arguments()))
+			.orElse(Mono.error(new McpError("Tool not found: " + callToolRequest.name()))));
+	}
+
+}
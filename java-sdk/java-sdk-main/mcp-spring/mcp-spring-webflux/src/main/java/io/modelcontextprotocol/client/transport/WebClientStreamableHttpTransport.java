@@ -407,14 +407,12 @@ public class WebClientStreamableHttpTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return McpSchema.unmarshalFrom(this.objectMapper, data, typeRef);
 	}
 
 	private Tuple2<Optional<String>, Iterable<McpSchema.JSONRPCMessage>> parse(ServerSentEvent<String> event) {
 		if (MESSAGE_EVENT_TYPE.equals(event.event())) {
 			try {
-				// We don't support batching ATM and probably won't since the next version
-				// considers removing it.
 				McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, event.data());
 				return Tuples.of(Optional.ofNullable(event.id()), List.of(message));
 			}
@@ -343,7 +343,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 	 */
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return McpSchema.unmarshalFrom(this.objectMapper, data, typeRef);
 	}
 
 	/**
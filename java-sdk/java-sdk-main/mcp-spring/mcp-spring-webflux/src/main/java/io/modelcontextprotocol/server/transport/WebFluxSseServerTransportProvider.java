@@ -6,6 +6,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpBroadcast;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
@@ -171,13 +173,13 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 	/**
 	 * Broadcasts a JSON-RPC message to all connected clients through their SSE
-	 * connections. The message is serialized to JSON and sent as a server-sent event to
-	 * each active session.
+	 * connections. The message is serialized to JSON once and sent as a server-sent event
+	 * to each active session.
 	 *
 	 * <p>
 	 * The method:
 	 * <ul>
-	 * <li>Serializes the message to JSON</li>
+	 * <li>Serializes the message to JSON once for all sessions</li>
 	 * <li>Creates a server-sent event with the message data</li>
 	 * <li>Attempts to send the event to all active sessions</li>
 	 * <li>Tracks and reports any delivery failures</li>
@@ -189,19 +191,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
-
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+		return McpBroadcast.broadcast(objectMapper, sessions.values(), method, params);
 	}
 
 	// FIXME: This javadoc makes claims about using isClosing flag but it's not
@@ -347,22 +337,26 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 				catch (IOException e) {
 					throw Exceptions.propagate(e);
 				}
-			}).doOnNext(jsonText -> {
-				ServerSentEvent<Object> event = ServerSentEvent.builder()
-					.event(MESSAGE_EVENT_TYPE)
-					.data(jsonText)
-					.build();
-				sink.next(event);
-			}).doOnError(e -> {
+			}).doOnNext(this::send).doOnError(e -> {
 				// TODO log with sessionid
 				Throwable exception = Exceptions.unwrap(e);
 				sink.error(exception);
 			}).then();
 		}
 
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			return Mono.fromRunnable(() -> send(message.asString()));
+		}
+
+		private void send(String jsonText) {
+			ServerSentEvent<Object> event = ServerSentEvent.builder().event(MESSAGE_EVENT_TYPE).data(jsonText).build();
+			sink.next(event);
+		}
+
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
 		}
 
 		@Override
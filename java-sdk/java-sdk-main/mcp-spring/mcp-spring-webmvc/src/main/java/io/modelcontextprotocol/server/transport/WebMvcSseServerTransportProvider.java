@@ -12,6 +12,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpBroadcast;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerTransport;
@@ -171,28 +173,16 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
-	 * The message is serialized to JSON and sent as an SSE event with type "message". If
-	 * any errors occur during sending to a particular client, they are logged but don't
-	 * prevent sending to other clients.
+	 * The message is serialized to JSON once and sent as an SSE event with type
+	 * "message". If any errors occur during sending to a particular client, they are
+	 * logged but don't prevent sending to other clients.
 	 * @param method The method name for the notification
 	 * @param params The parameters for the notification
 	 * @return A Mono that completes when the broadcast attempt is finished
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
-
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+		return McpBroadcast.broadcast(objectMapper, sessions.values(), method, params);
 	}
 
 	/**
@@ -360,9 +350,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
 			return Mono.fromRunnable(() -> {
 				try {
-					String jsonText = objectMapper.writeValueAsString(message);
-					sseBuilder.id(sessionId).event(MESSAGE_EVENT_TYPE).data(jsonText);
-					logger.debug("Message sent to session {}", sessionId);
+					send(objectMapper.writeValueAsString(message));
 				}
 				catch (Exception e) {
 					logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
@@ -371,6 +359,29 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			});
 		}
 
+		/**
+		 * Sends an already encoded message to the client through the SSE connection.
+		 * @param message The encoded message to send
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			return Mono.fromRunnable(() -> {
+				try {
+					send(message.asString());
+				}
+				catch (Exception e) {
+					logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
+					sseBuilder.error(e);
+				}
+			});
+		}
+
+		private void send(String jsonText) throws IOException {
+			sseBuilder.id(sessionId).event(MESSAGE_EVENT_TYPE).data(jsonText);
+			logger.debug("Message sent to session {}", sessionId);
+		}
+
 		/**
 		 * Converts data from one type to another using the configured ObjectMapper.
 		 * @param data The source data object to convert
@@ -380,7 +391,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
 		}
 
 		/**
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches a catalog the client lists from the server, such as its tools, resources or
+ * prompts.
+ *
+ * <p>
+ * The catalog is loaded on first use and then served from memory until it is refreshed or
+ * invalidated. Concurrent calls made while the catalog is loading share the same load. A
+ * failed load is not cached, so the next call loads the catalog again.
+ *
+ * @param <T> the type of the cached catalog
+ */
+final class CatalogCache<T> {
+
+	private final Supplier<Mono<T>> loader;
+
+	/** The current load, which replays the catalog once it has been loaded */
+	private final AtomicReference<Mono<T>> current = new AtomicReference<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder refreshes = new LongAdder();
+
+	/**
+	 * Creates a new cache.
+	 * @param loader supplies the Mono loading the catalog from the server
+	 */
+	CatalogCache(Supplier<Mono<T>> loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * Returns the cached catalog, loading it if it is not cached yet.
+	 * @return a Mono emitting the catalog
+	 */
+	Mono<T> get() {
+		return Mono.defer(() -> {
+			Mono<T> cached = this.current.get();
+			if (cached != null) {
+				this.hits.increment();
+				return cached;
+			}
+			this.misses.increment();
+			return load();
+		});
+	}
+
+	/**
+	 * Loads the catalog again and caches it in place of the current one.
+	 * @return a Mono emitting the refreshed catalog
+	 */
+	Mono<T> refresh() {
+		return Mono.defer(() -> {
+			this.refreshes.increment();
+			return load();
+		});
+	}
+
+	/**
+	 * Drops the cached catalog, so that the next call loads it again.
+	 */
+	void invalidate() {
+		this.current.set(null);
+	}
+
+	long getHits() {
+		return this.hits.sum();
+	}
+
+	long getMisses() {
+		return this.misses.sum();
+	}
+
+	long getRefreshes() {
+		return this.refreshes.sum();
+	}
+
+	private Mono<T> load() {
+		AtomicReference<Mono<T>> self = new AtomicReference<>();
+		Mono<T> loading = this.loader.get().doOnError(e -> this.current.compareAndSet(self.get(), null)).cache();
+		self.set(loading);
+		this.current.set(loading);
+		return loading;
+	}
+
+}
@@ -9,9 +9,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +42,7 @@ import io.modelcontextprotocol.spec.McpSchema.Root;
 import io.modelcontextprotocol.spec.McpTransportSessionNotFoundException;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
@@ -104,6 +108,12 @@ public class McpAsyncClient {
 	public static final TypeReference<LoggingMessageNotification> LOGGING_MESSAGE_NOTIFICATION_TYPE_REF = new TypeReference<>() {
 	};
 
+	public static final TypeReference<McpSchema.ProgressNotification> PROGRESS_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
+	public static final TypeReference<McpSchema.PartialResultNotification> PARTIAL_RESULT_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
 	private final AtomicReference<Initialization> initializationRef = new AtomicReference<>();
 
 	/**
@@ -164,15 +174,43 @@ public class McpAsyncClient {
 	 */
 	private final Function<ContextView, McpClientSession> sessionSupplier;
 
+	/**
+	 * Caches of the tools, resources and prompts of the server, or null when catalog
+	 * caching is disabled.
+	 */
+	private final CatalogCache<McpSchema.ListToolsResult> toolsCatalog;
+
+	private final CatalogCache<McpSchema.ListResourcesResult> resourcesCatalog;
+
+	private final CatalogCache<McpSchema.ListPromptsResult> promptsCatalog;
+
+	/**
+	 * Progress notifications of the server, relayed to the current subscribers. Fed under
+	 * its own lock.
+	 */
+	private final Sinks.Many<McpSchema.ProgressNotification> progressSink = Sinks.many().multicast().directBestEffort();
+
+	/**
+	 * Handlers of the streamed tool result chunks of the server, by progress token of the
+	 * streaming tool call they belong to.
+	 */
+	private final ConcurrentHashMap<String, Consumer<McpSchema.PartialResultNotification>> partialResultHandlers = new ConcurrentHashMap<>();
+
 	/**
 	 * Create a new McpAsyncClient with the given transport and session request-response
 	 * timeout.
 	 * @param transport the transport to use.
 	 * @param requestTimeout the session request-response timeout.
 	 * @param initializationTimeout the max timeout to await for the client-server
+	 * @param maxPendingRequests the max number of requests awaiting a response at once.
+	 * @param batchWindow how long a batch stays open for further requests.
+	 * @param maxBatchSize the max number of requests in a batch.
+	 * @param cacheCatalogs whether to cache the tools, resources and prompts listed from
+	 * the server.
 	 * @param features the MCP Client supported features.
 	 */
 	McpAsyncClient(McpClientTransport transport, Duration requestTimeout, Duration initializationTimeout,
+			int maxPendingRequests, Duration batchWindow, int maxBatchSize, boolean cacheCatalogs,
 			McpClientFeatures.Async features) {
 
 		Assert.notNull(transport, "Transport must not be null");
@@ -184,6 +222,9 @@ public class McpAsyncClient {
 		this.transport = transport;
 		this.roots = new ConcurrentHashMap<>(features.roots());
 		this.initializationTimeout = initializationTimeout;
+		this.toolsCatalog = cacheCatalogs ? new CatalogCache<>(this::fetchTools) : null;
+		this.resourcesCatalog = cacheCatalogs ? new CatalogCache<>(this::fetchResources) : null;
+		this.promptsCatalog = cacheCatalogs ? new CatalogCache<>(this::fetchPrompts) : null;
 
 		// Request Handlers
 		Map<String, RequestHandler<?>> requestHandlers = new HashMap<>();
@@ -271,9 +312,28 @@ public class McpAsyncClient {
 		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_MESSAGE,
 				asyncLoggingNotificationHandler(loggingConsumersFinal));
 
+		// Utility Progress Notification
+		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_PROGRESS, params -> Mono.fromRunnable(() -> {
+			McpSchema.ProgressNotification progress = transport.unmarshalFrom(params, PROGRESS_NOTIFICATION_TYPE_REF);
+			// Notifications may be received on several threads, while the sink must be
+			// fed one at a time
+			synchronized (this.progressSink) {
+				this.progressSink.tryEmitNext(progress);
+			}
+		}));
+		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT, params -> Mono.fromRunnable(() -> {
+			McpSchema.PartialResultNotification partial = transport.unmarshalFrom(params,
+					PARTIAL_RESULT_NOTIFICATION_TYPE_REF);
+			Consumer<McpSchema.PartialResultNotification> handler = this.partialResultHandlers
+				.get(partial.progressToken());
+			if (handler != null) {
+				handler.accept(partial);
+			}
+		}));
+
 		this.transport.setExceptionHandler(this::handleException);
-		this.sessionSupplier = ctx -> new McpClientSession(requestTimeout, transport, requestHandlers,
-				notificationHandlers, con -> con.contextWrite(ctx));
+		this.sessionSupplier = ctx -> new McpClientSession(requestTimeout, maxPendingRequests, batchWindow,
+				maxBatchSize, transport, requestHandlers, notificationHandlers, con -> con.contextWrite(ctx));
 	}
 
 	private void handleException(Throwable t) {
@@ -283,6 +343,8 @@ public class McpAsyncClient {
 			if (previous != null) {
 				previous.close();
 			}
+			// The new session may be served by a server with other catalogs
+			invalidateCatalogs();
 			// Providing an empty operation since we are only interested in triggering the
 			// implicit initialization step.
 			withSession("re-initializing", result -> Mono.empty()).subscribe();
@@ -348,6 +410,41 @@ public class McpAsyncClient {
 		return this.clientInfo;
 	}
 
+	/**
+	 * Get the statistics of the tools, resources and prompts catalog caches, summed over
+	 * the three catalogs.
+	 * @return The catalog cache statistics, all zero when catalog caching is disabled
+	 */
+	public CatalogCacheStats getCatalogCacheStats() {
+		if (this.toolsCatalog == null) {
+			return new CatalogCacheStats(0, 0, 0);
+		}
+		return new CatalogCacheStats(
+				this.toolsCatalog.getHits() + this.resourcesCatalog.getHits() + this.promptsCatalog.getHits(),
+				this.toolsCatalog.getMisses() + this.resourcesCatalog.getMisses() + this.promptsCatalog.getMisses(),
+				this.toolsCatalog.getRefreshes() + this.resourcesCatalog.getRefreshes()
+						+ this.promptsCatalog.getRefreshes());
+	}
+
+	/**
+	 * Statistics of the catalog caches of a client.
+	 *
+	 * @param hits the number of listings served from a cached catalog
+	 * @param misses the number of listings that loaded the catalog from the server
+	 * @param refreshes the number of catalogs loaded again upon a list changed
+	 * notification
+	 */
+	public record CatalogCacheStats(long hits, long misses, long refreshes) {
+	}
+
+	private void invalidateCatalogs() {
+		if (this.toolsCatalog != null) {
+			this.toolsCatalog.invalidate();
+			this.resourcesCatalog.invalidate();
+			this.promptsCatalog.invalidate();
+		}
+	}
+
 	/**
 	 * Closes the client connection immediately.
 	 */
@@ -515,6 +612,25 @@ public class McpAsyncClient {
 		});
 	}
 
+	/**
+	 * Runs the given calls with request batching enabled. Requests issued by the calls
+	 * within the batch window of each other are sent to the server as a single JSON-RPC
+	 * batch, for example in one HTTP POST, instead of one message per request. A batch is
+	 * sent early once it reaches the maximum batch size. The responses are still
+	 * delivered to each call individually.
+	 *
+	 * <pre>{@code
+	 * client.batch(c -> Mono.zip(c.callTool(first), c.callTool(second), c.readResource(resource)))
+	 * }</pre>
+	 * @param <T> The type of the result of the calls
+	 * @param calls The function issuing the calls to batch against this client
+	 * @return A Mono emitting the result of the calls
+	 */
+	public <T> Mono<T> batch(Function<McpAsyncClient, Mono<T>> calls) {
+		return Mono.defer(() -> calls.apply(this))
+			.contextWrite(ctx -> ctx.put(McpClientSession.BATCH_REQUESTS_CONTEXT_KEY, true));
+	}
+
 	// --------------------------
 	// Basic Utilities
 	// --------------------------
@@ -674,10 +790,93 @@ public class McpAsyncClient {
 	}
 
 	/**
-	 * Retrieves the list of all tools provided by the server.
+	 * Calls a tool provided by the server, asking for its result to be streamed. Tools of
+	 * the server declared with
+	 * {@link io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification#streaming}
+	 * send every content chunk of their result as soon as it is produced, for example:
+	 *
+	 * <pre>{@code
+	 * client.callToolStreaming(new CallToolRequest("search-logs", Map.of("query", "ERROR")))
+	 *     .subscribe(chunk -> System.out.println(((TextContent) chunk).text()));
+	 * }</pre>
+	 *
+	 * Other tools send all their content in the result, which the returned Flux emits
+	 * once received. Cancelling the Flux cancels the tool call on the server, as does a
+	 * missing chunk, which fails the Flux.
+	 * @param callToolRequest The request containing the tool name and input parameters.
+	 * Its progress token, if any, is replaced by one identifying the streamed chunks.
+	 * @return A Flux of the content of the tool result, which fails with an
+	 * {@link McpError} if the tool result is an error or if a chunk is missing
+	 * @see #callTool(McpSchema.CallToolRequest)
+	 */
+	public Flux<McpSchema.Content> callToolStreaming(McpSchema.CallToolRequest callToolRequest) {
+		String progressToken = UUID.randomUUID().toString();
+		Map<String, Object> meta = new HashMap<>();
+		if (callToolRequest.meta() != null) {
+			meta.putAll(callToolRequest.meta());
+		}
+		meta.put("progressToken", progressToken);
+		meta.put(McpSchema.STREAM_RESULT_META_KEY, true);
+		McpSchema.CallToolRequest streamingRequest = new McpSchema.CallToolRequest(callToolRequest.name(),
+				callToolRequest.arguments(), meta);
+
+		return Flux.create(sink -> {
+			// Listen to the chunks before sending the request, not to miss the first
+			// ones.
+			// The chunks may be received on several threads, so they are checked and
+			// emitted one at a time
+			AtomicLong nextIndex = new AtomicLong();
+			this.partialResultHandlers.put(progressToken, partial -> {
+				synchronized (nextIndex) {
+					long expected = nextIndex.getAndIncrement();
+					if (partial.index() == null || partial.index() != expected) {
+						sink.error(new McpError("Missing partial result of tool call: expected chunk " + expected
+								+ " but received chunk " + partial.index()));
+						return;
+					}
+					partial.content().forEach(sink::next);
+				}
+			});
+			Disposable call = this.callTool(streamingRequest).contextWrite(sink.contextView()).subscribe(result -> {
+				this.partialResultHandlers.remove(progressToken);
+				if (Boolean.TRUE.equals(result.isError())) {
+					sink.error(new McpError("Tool call failed: " + errorText(result)));
+					return;
+				}
+				result.content().forEach(sink::next);
+				sink.complete();
+			}, error -> {
+				this.partialResultHandlers.remove(progressToken);
+				sink.error(error);
+			});
+			sink.onDispose(() -> {
+				this.partialResultHandlers.remove(progressToken);
+				call.dispose();
+			});
+		});
+	}
+
+	private static String errorText(McpSchema.CallToolResult result) {
+		StringBuilder text = new StringBuilder();
+		for (McpSchema.Content content : result.content()) {
+			if (content instanceof McpSchema.TextContent textContent) {
+				text.append(textContent.text());
+			}
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Retrieves the list of all tools provided by the server. When catalog caching is
+	 * enabled, the list is fetched once and then served from the cache until the server
+	 * notifies that it has changed.
 	 * @return A Mono that emits the list of all tools result
 	 */
 	public Mono<McpSchema.ListToolsResult> listTools() {
+		return this.toolsCatalog != null ? this.toolsCatalog.get() : fetchTools();
+	}
+
+	private Mono<McpSchema.ListToolsResult> fetchTools() {
 		return this.listTools(McpSchema.FIRST_PAGE)
 			.expand(result -> (result.nextCursor() != null) ? this.listTools(result.nextCursor()) : Mono.empty())
 			.reduce(new McpSchema.ListToolsResult(new ArrayList<>(), null), (allToolsResult, result) -> {
@@ -706,7 +905,7 @@ public class McpAsyncClient {
 	private NotificationHandler asyncToolsChangeNotificationHandler(
 			List<Function<List<McpSchema.Tool>, Mono<Void>>> toolsChangeConsumers) {
 		// TODO: params are not used yet
-		return params -> this.listTools()
+		return params -> (this.toolsCatalog != null ? this.toolsCatalog.refresh() : fetchTools())
 			.flatMap(listToolsResult -> Flux.fromIterable(toolsChangeConsumers)
 				.flatMap(consumer -> consumer.apply(listToolsResult.tools()))
 				.onErrorResume(error -> {
@@ -732,12 +931,18 @@ public class McpAsyncClient {
 	/**
 	 * Retrieves the list of all resources provided by the server. Resources represent any
 	 * kind of UTF-8 encoded data that an MCP server makes available to clients, such as
-	 * database records, API responses, log files, and more.
+	 * database records, API responses, log files, and more. When catalog caching is
+	 * enabled, the list is served from the cache until the server notifies that it has
+	 * changed.
 	 * @return A Mono that completes with the list of all resources result
 	 * @see McpSchema.ListResourcesResult
 	 * @see #readResource(McpSchema.Resource)
 	 */
 	public Mono<McpSchema.ListResourcesResult> listResources() {
+		return this.resourcesCatalog != null ? this.resourcesCatalog.get() : fetchResources();
+	}
+
+	private Mono<McpSchema.ListResourcesResult> fetchResources() {
 		return this.listResources(McpSchema.FIRST_PAGE)
 			.expand(result -> (result.nextCursor() != null) ? this.listResources(result.nextCursor()) : Mono.empty())
 			.reduce(new McpSchema.ListResourcesResult(new ArrayList<>(), null), (allResourcesResult, result) -> {
@@ -867,13 +1072,14 @@ public class McpAsyncClient {
 
 	private NotificationHandler asyncResourcesChangeNotificationHandler(
 			List<Function<List<McpSchema.Resource>, Mono<Void>>> resourcesChangeConsumers) {
-		return params -> listResources().flatMap(listResourcesResult -> Flux.fromIterable(resourcesChangeConsumers)
-			.flatMap(consumer -> consumer.apply(listResourcesResult.resources()))
-			.onErrorResume(error -> {
-				logger.error("Error handling resources list change notification", error);
-				return Mono.empty();
-			})
-			.then());
+		return params -> (this.resourcesCatalog != null ? this.resourcesCatalog.refresh() : fetchResources())
+			.flatMap(listResourcesResult -> Flux.fromIterable(resourcesChangeConsumers)
+				.flatMap(consumer -> consumer.apply(listResourcesResult.resources()))
+				.onErrorResume(error -> {
+					logger.error("Error handling resources list change notification", error);
+					return Mono.empty();
+				})
+				.then());
 	}
 
 	private NotificationHandler asyncResourcesUpdatedNotificationHandler(
@@ -904,12 +1110,18 @@ public class McpAsyncClient {
 	};
 
 	/**
-	 * Retrieves the list of all prompts provided by the server.
+	 * Retrieves the list of all prompts provided by the server. When catalog caching is
+	 * enabled, the list is served from the cache until the server notifies that it has
+	 * changed.
 	 * @return A Mono that completes with the list of all prompts result.
 	 * @see McpSchema.ListPromptsResult
 	 * @see #getPrompt(GetPromptRequest)
 	 */
 	public Mono<ListPromptsResult> listPrompts() {
+		return this.promptsCatalog != null ? this.promptsCatalog.get() : fetchPrompts();
+	}
+
+	private Mono<ListPromptsResult> fetchPrompts() {
 		return this.listPrompts(McpSchema.FIRST_PAGE)
 			.expand(result -> (result.nextCursor() != null) ? this.listPrompts(result.nextCursor()) : Mono.empty())
 			.reduce(new ListPromptsResult(new ArrayList<>(), null), (allPromptsResult, result) -> {
@@ -947,13 +1159,14 @@ public class McpAsyncClient {
 
 	private NotificationHandler asyncPromptsChangeNotificationHandler(
 			List<Function<List<McpSchema.Prompt>, Mono<Void>>> promptsChangeConsumers) {
-		return params -> listPrompts().flatMap(listPromptsResult -> Flux.fromIterable(promptsChangeConsumers)
-			.flatMap(consumer -> consumer.apply(listPromptsResult.prompts()))
-			.onErrorResume(error -> {
-				logger.error("Error handling prompts list change notification", error);
-				return Mono.empty();
-			})
-			.then());
+		return params -> (this.promptsCatalog != null ? this.promptsCatalog.refresh() : fetchPrompts())
+			.flatMap(listPromptsResult -> Flux.fromIterable(promptsChangeConsumers)
+				.flatMap(consumer -> consumer.apply(listPromptsResult.prompts()))
+				.onErrorResume(error -> {
+					logger.error("Error handling prompts list change notification", error);
+					return Mono.empty();
+				})
+				.then());
 	}
 
 	// --------------------------
@@ -1007,6 +1220,34 @@ public class McpAsyncClient {
 		this.protocolVersions = protocolVersions;
 	}
 
+	// --------------------------
+	// Progress
+	// --------------------------
+
+	/**
+	 * Returns the progress notifications the server sends about the requests of this
+	 * client that asked for progress, by setting a progress token in their metadata. The
+	 * notifications of a request carry its progress token, for example:
+	 *
+	 * <pre>{@code
+	 * CallToolRequest request = CallToolRequest.builder()
+	 *     .name("long-running")
+	 *     .progressToken("job-1")
+	 *     .build();
+	 * client.progressNotifications()
+	 *     .filter(progress -> "job-1".equals(progress.progressToken()))
+	 *     .takeUntilOther(client.callTool(request))
+	 *     .subscribe(progress -> System.out.println(progress.progress()));
+	 * }</pre>
+	 *
+	 * Notifications received while there is no subscriber are dropped, and a slow
+	 * subscriber misses the notifications it cannot keep up with.
+	 * @return a Flux of the progress notifications received from now on
+	 */
+	public Flux<McpSchema.ProgressNotification> progressNotifications() {
+		return this.progressSink.asFlux();
+	}
+
 	// --------------------------
 	// Completions
 	// --------------------------
@@ -12,7 +12,10 @@ import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import io.modelcontextprotocol.spec.McpClientSession;
 import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpPendingRequests;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpTransport;
 import io.modelcontextprotocol.spec.McpSchema.ClientCapabilities;
@@ -161,6 +164,14 @@ public interface McpClient {
 
 		private Duration initializationTimeout = Duration.ofSeconds(20);
 
+		private int maxPendingRequests = McpPendingRequests.UNBOUNDED;
+
+		private Duration batchWindow = McpClientSession.DEFAULT_BATCH_WINDOW;
+
+		private int maxBatchSize = McpClientSession.DEFAULT_MAX_BATCH_SIZE;
+
+		private boolean cacheCatalogs;
+
 		private ClientCapabilities capabilities;
 
 		private Implementation clientInfo = new Implementation("Java SDK MCP Client", "1.0.0");
@@ -213,6 +224,61 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Limits the number of requests that may await a server response at once. Once
+		 * the limit is reached, further requests fail fast with an {@link McpError} until
+		 * responses arrive or time out. Unlimited by default.
+		 * @param maxPendingRequests The maximum number of requests in flight. Must be
+		 * positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public SyncSpec maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be positive");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
+		/**
+		 * Sets how long a batch of requests stays open for further requests when batching
+		 * with {@link McpAsyncClient#batch}. Defaults to 5 milliseconds.
+		 * @param batchWindow The batch window. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if batchWindow is null
+		 */
+		public SyncSpec batchWindow(Duration batchWindow) {
+			Assert.notNull(batchWindow, "Batch window must not be null");
+			this.batchWindow = batchWindow;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests in a batch when batching with
+		 * {@link McpAsyncClient#batch}. A full batch is sent without waiting for the
+		 * batch window to elapse. Defaults to 32.
+		 * @param maxBatchSize The maximum batch size. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxBatchSize is not positive
+		 */
+		public SyncSpec maxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "Max batch size must be positive");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * Enables caching of the tools, resources and prompts listed from the server.
+		 * Each catalog is fetched on first use and then served from memory until the
+		 * server sends the matching list changed notification, which refreshes the
+		 * catalog once for both the cache and the change consumers. Disabled by default.
+		 * @param cacheCatalogs Whether to cache the catalogs of the server
+		 * @return This builder instance for method chaining
+		 */
+		public SyncSpec cacheCatalogs(boolean cacheCatalogs) {
+			this.cacheCatalogs = cacheCatalogs;
+			return this;
+		}
+
 		/**
 		 * Sets the client capabilities that will be advertised to the server during
 		 * connection initialization. Capabilities define what features the client
@@ -389,8 +455,8 @@ public interface McpClient {
 
 			McpClientFeatures.Async asyncFeatures = McpClientFeatures.Async.fromSync(syncFeatures);
 
-			return new McpSyncClient(
-					new McpAsyncClient(transport, this.requestTimeout, this.initializationTimeout, asyncFeatures));
+			return new McpSyncClient(new McpAsyncClient(transport, this.requestTimeout, this.initializationTimeout,
+					this.maxPendingRequests, this.batchWindow, this.maxBatchSize, this.cacheCatalogs, asyncFeatures));
 		}
 
 	}
@@ -419,6 +485,14 @@ public interface McpClient {
 
 		private Duration initializationTimeout = Duration.ofSeconds(20);
 
+		private int maxPendingRequests = McpPendingRequests.UNBOUNDED;
+
+		private Duration batchWindow = McpClientSession.DEFAULT_BATCH_WINDOW;
+
+		private int maxBatchSize = McpClientSession.DEFAULT_MAX_BATCH_SIZE;
+
+		private boolean cacheCatalogs;
+
 		private ClientCapabilities capabilities;
 
 		private Implementation clientInfo = new Implementation("Spring AI MCP Client", "0.3.1");
@@ -471,6 +545,61 @@ public interface McpClient {
 			return this;
 		}
 
+		/**
+		 * Limits the number of requests that may await a server response at once. Once
+		 * the limit is reached, further requests fail fast with an {@link McpError} until
+		 * responses arrive or time out. Unlimited by default.
+		 * @param maxPendingRequests The maximum number of requests in flight. Must be
+		 * positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public AsyncSpec maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be positive");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
+		/**
+		 * Sets how long a batch of requests stays open for further requests when batching
+		 * with {@link McpAsyncClient#batch}. Defaults to 5 milliseconds.
+		 * @param batchWindow The batch window. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if batchWindow is null
+		 */
+		public AsyncSpec batchWindow(Duration batchWindow) {
+			Assert.notNull(batchWindow, "Batch window must not be null");
+			this.batchWindow = batchWindow;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests in a batch when batching with
+		 * {@link McpAsyncClient#batch}. A full batch is sent without waiting for the
+		 * batch window to elapse. Defaults to 32.
+		 * @param maxBatchSize The maximum batch size. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxBatchSize is not positive
+		 */
+		public AsyncSpec maxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "Max batch size must be positive");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * Enables caching of the tools, resources and prompts listed from the server.
+		 * Each catalog is fetched on first use and then served from memory until the
+		 * server sends the matching list changed notification, which refreshes the
+		 * catalog once for both the cache and the change consumers. Disabled by default.
+		 * @param cacheCatalogs Whether to cache the catalogs of the server
+		 * @return This builder instance for method chaining
+		 */
+		public AsyncSpec cacheCatalogs(boolean cacheCatalogs) {
+			this.cacheCatalogs = cacheCatalogs;
+			return this;
+		}
+
 		/**
 		 * Sets the client capabilities that will be advertised to the server during
 		 * connection initialization. Capabilities define what features the client
@@ -661,6 +790,7 @@ public interface McpClient {
 		 */
 		public McpAsyncClient build() {
 			return new McpAsyncClient(this.transport, this.requestTimeout, this.initializationTimeout,
+					this.maxPendingRequests, this.batchWindow, this.maxBatchSize, this.cacheCatalogs,
 					new McpClientFeatures.Async(this.clientInfo, this.capabilities, this.roots,
 							this.toolsChangeConsumers, this.resourcesChangeConsumers, this.resourcesUpdateConsumers,
 							this.promptsChangeConsumers, this.loggingConsumers, this.samplingHandler,
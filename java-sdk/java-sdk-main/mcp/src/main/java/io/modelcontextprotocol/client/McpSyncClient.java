@@ -123,6 +123,14 @@ public class McpSyncClient implements AutoCloseable {
 		return this.delegate.getClientInfo();
 	}
 
+	/**
+	 * Get the statistics of the tools, resources and prompts catalog caches.
+	 * @return The catalog cache statistics, all zero when catalog caching is disabled
+	 */
+	public McpAsyncClient.CatalogCacheStats getCatalogCacheStats() {
+		return this.delegate.getCatalogCacheStats();
+	}
+
 	@Override
 	public void close() {
 		this.delegate.close();
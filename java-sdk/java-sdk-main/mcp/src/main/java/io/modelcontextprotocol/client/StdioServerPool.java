@@ -0,0 +1,619 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Pool of initialized clients of stdio server processes, leased to one job at a time.
+ *
+ * <p>
+ * Spawning a server process and going through the {@code initialize} handshake can take
+ * seconds, for instance for servers running on a JVM. The pool keeps a fixed number of
+ * initialized server processes per {@link ServerParameters}, all started as soon as the
+ * parameters are first used or {@link #warmUp(ServerParameters) warmed up}, and leases
+ * them to jobs:
+ *
+ * <pre>{@code
+ * StdioServerPool pool = StdioServerPool.builder().size(4).maxRequests(1000).build();
+ * pool.acquire(params).flatMap(lease -> lease.client()
+ * 	.callTool(request)
+ * 	.doFinally(signal -> lease.release()));
+ * }</pre>
+ *
+ * <p>
+ * A process that stayed idle for longer than the health check idle time is pinged before
+ * being leased, and replaced if it does not answer. A process is recycled, that is closed
+ * and replaced by a fresh one, once it has received the max number of requests or has
+ * reached the max age. Jobs acquiring a lease while all the processes are leased wait for
+ * one to be released, and the time they wait is reported by {@link #getStats()}.
+ */
+public final class StdioServerPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(StdioServerPool.class);
+
+	private final int size;
+
+	private final long maxRequests;
+
+	private final Duration maxAge;
+
+	private final Duration healthCheckIdleTime;
+
+	private final Duration healthCheckTimeout;
+
+	private final Function<ServerParameters, McpClientTransport> transportFactory;
+
+	private final Function<McpClientTransport, McpAsyncClient> clientFactory;
+
+	private final Map<ServerParameters, Partition> partitions = new ConcurrentHashMap<>();
+
+	private volatile boolean closed;
+
+	private final LongAdder leases = new LongAdder();
+
+	private final LongAdder totalWaitNanos = new LongAdder();
+
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	private final LongAdder processesStarted = new LongAdder();
+
+	private final LongAdder processesRecycled = new LongAdder();
+
+	private final LongAdder failedHealthChecks = new LongAdder();
+
+	private StdioServerPool(Builder builder) {
+		this.size = builder.size;
+		this.maxRequests = builder.maxRequests;
+		this.maxAge = builder.maxAge;
+		this.healthCheckIdleTime = builder.healthCheckIdleTime;
+		this.healthCheckTimeout = builder.healthCheckTimeout;
+		this.transportFactory = builder.transportFactory;
+		this.clientFactory = builder.clientFactory;
+	}
+
+	/**
+	 * Creates a new builder.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Starts the server processes for the given parameters, if not started yet.
+	 * @param params the parameters of the server processes
+	 * @return a Mono completing once the processes started by this call are initialized
+	 */
+	public Mono<Void> warmUp(ServerParameters params) {
+		Assert.notNull(params, "The params can not be null");
+		return Mono.defer(() -> partition(params).fill());
+	}
+
+	/**
+	 * Leases an initialized client of a server process for the given parameters, waiting
+	 * for one to be released if they are all leased. The lease must be released once the
+	 * job is done.
+	 * @param params the parameters of the server process
+	 * @return a Mono emitting the lease
+	 */
+	public Mono<Lease> acquire(ServerParameters params) {
+		Assert.notNull(params, "The params can not be null");
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return partition(params).acquire().map(entry -> {
+				long waitNanos = System.nanoTime() - start;
+				this.leases.increment();
+				this.totalWaitNanos.add(waitNanos);
+				this.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+				return new Lease(entry, Duration.ofNanos(waitNanos));
+			});
+		});
+	}
+
+	/**
+	 * Returns the statistics of the pool.
+	 * @return the statistics since the pool was created
+	 */
+	public Stats getStats() {
+		return new Stats(this.leases.sum(), Duration.ofNanos(this.totalWaitNanos.sum()),
+				Duration.ofNanos(this.maxWaitNanos.get()), this.processesStarted.sum(), this.processesRecycled.sum(),
+				this.failedHealthChecks.sum());
+	}
+
+	/**
+	 * Closes the pool. Idle processes are closed right away, leased processes once they
+	 * are released, and jobs waiting for a lease fail.
+	 * @return a Mono completing once the idle processes are closed
+	 */
+	public Mono<Void> closeGracefully() {
+		return Mono.defer(() -> {
+			this.closed = true;
+			List<Entry> idle = new ArrayList<>();
+			this.partitions.values().forEach(partition -> partition.close(idle::add));
+			return Flux.fromIterable(idle).flatMap(entry -> entry.client.closeGracefully().onErrorComplete()).then();
+		});
+	}
+
+	private Partition partition(ServerParameters params) {
+		if (this.closed) {
+			throw new IllegalStateException("The pool is closed");
+		}
+		return this.partitions.computeIfAbsent(params, Partition::new);
+	}
+
+	/**
+	 * Statistics of a pool.
+	 *
+	 * @param leases the number of leases handed out
+	 * @param totalWait the time spent by all the jobs waiting for their lease
+	 * @param maxWait the longest time a job waited for its lease
+	 * @param processesStarted the number of server processes started
+	 * @param processesRecycled the number of server processes closed after reaching the
+	 * max number of requests or the max age
+	 * @param failedHealthChecks the number of server processes that did not answer the
+	 * ping before being leased
+	 */
+	public record Stats(long leases, Duration totalWait, Duration maxWait, long processesStarted,
+			long processesRecycled, long failedHealthChecks) {
+
+		/**
+		 * Returns the average time a job waited for its lease.
+		 * @return the average wait time
+		 */
+		public Duration averageWait() {
+			return this.leases == 0 ? Duration.ZERO : this.totalWait.dividedBy(this.leases);
+		}
+
+	}
+
+	/**
+	 * A client of a server process leased to a job.
+	 */
+	public static final class Lease implements AutoCloseable {
+
+		private final Entry entry;
+
+		private final Duration waitTime;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Lease(Entry entry, Duration waitTime) {
+			this.entry = entry;
+			this.waitTime = waitTime;
+		}
+
+		/**
+		 * Returns the initialized client of the leased server process.
+		 * @return the client
+		 */
+		public McpAsyncClient client() {
+			return this.entry.client;
+		}
+
+		/**
+		 * Returns the time the job waited for this lease.
+		 * @return the wait time
+		 */
+		public Duration waitTime() {
+			return this.waitTime;
+		}
+
+		/**
+		 * Returns the server process to the pool. Does nothing if already released.
+		 */
+		public void release() {
+			if (this.released.compareAndSet(false, true)) {
+				this.entry.partition.giveBack(this.entry);
+			}
+		}
+
+		/**
+		 * Closes the server process instead of returning it to the pool, for instance
+		 * after it failed, and starts a fresh one. Does nothing if already released.
+		 */
+		public void invalidate() {
+			if (this.released.compareAndSet(false, true)) {
+				this.entry.partition.retire(this.entry);
+			}
+		}
+
+		@Override
+		public void close() {
+			release();
+		}
+
+	}
+
+	private static final class Entry {
+
+		private final Partition partition;
+
+		private final McpAsyncClient client;
+
+		private final RequestCountingTransport transport;
+
+		private final long createdNanos = System.nanoTime();
+
+		private volatile long idleSinceNanos = System.nanoTime();
+
+		private Entry(Partition partition, McpAsyncClient client, RequestCountingTransport transport) {
+			this.partition = partition;
+			this.client = client;
+			this.transport = transport;
+		}
+
+	}
+
+	/**
+	 * The server processes started for the same parameters. The state is guarded by the
+	 * partition lock, and processes are started, closed and handed to waiting jobs
+	 * outside of it.
+	 */
+	private final class Partition {
+
+		private final ServerParameters params;
+
+		private final Deque<Entry> idle = new ArrayDeque<>();
+
+		private final Deque<MonoSink<Entry>> waiters = new ArrayDeque<>();
+
+		/** Number of processes started or being started */
+		private int total;
+
+		private Partition(ServerParameters params) {
+			this.params = params;
+		}
+
+		Mono<Entry> acquire() {
+			return Mono.<Entry>create(sink -> {
+				Entry entry;
+				synchronized (this) {
+					if (closed) {
+						sink.error(new IllegalStateException("The pool is closed"));
+						return;
+					}
+					entry = this.idle.pollFirst();
+					if (entry == null) {
+						this.waiters.offerLast(sink);
+						sink.onCancel(() -> {
+							synchronized (this) {
+								this.waiters.remove(sink);
+							}
+						});
+					}
+				}
+				if (entry != null) {
+					sink.success(entry);
+				}
+				else {
+					fill().subscribe(null, error -> {
+					});
+				}
+			})
+				// An entry handed to a job that cancelled meanwhile goes back to the pool
+				.doOnDiscard(Entry.class, this::giveBack)
+				.flatMap(this::validate);
+		}
+
+		private Mono<Entry> validate(Entry entry) {
+			if (isExpired(entry)) {
+				processesRecycled.increment();
+				retire(entry);
+				return acquire();
+			}
+			if (System.nanoTime() - entry.idleSinceNanos < healthCheckIdleTime.toNanos()) {
+				return Mono.just(entry);
+			}
+			return entry.client.ping().timeout(healthCheckTimeout).thenReturn(entry).onErrorResume(error -> {
+				logger.warn("Server process for {} failed its health check: {}", this.params.getCommand(),
+						error.getMessage());
+				failedHealthChecks.increment();
+				retire(entry);
+				return acquire();
+			});
+		}
+
+		private boolean isExpired(Entry entry) {
+			return entry.transport.requests.get() >= maxRequests
+					|| (maxAge != null && System.nanoTime() - entry.createdNanos >= maxAge.toNanos());
+		}
+
+		/**
+		 * Starts processes until the partition is full.
+		 * @return a Mono completing once the started processes are initialized
+		 */
+		Mono<Void> fill() {
+			int missing;
+			synchronized (this) {
+				missing = closed ? 0 : size - this.total;
+				this.total += Math.max(missing, 0);
+			}
+			List<Mono<Void>> started = new ArrayList<>();
+			for (int i = 0; i < missing; i++) {
+				started.add(start());
+			}
+			return Mono.when(started);
+		}
+
+		private Mono<Void> start() {
+			processesStarted.increment();
+			Mono<Void> started = Mono.defer(() -> {
+				RequestCountingTransport transport = new RequestCountingTransport(transportFactory.apply(this.params));
+				McpAsyncClient client = clientFactory.apply(transport);
+				return client.initialize()
+					.thenReturn(new Entry(this, client, transport))
+					.onErrorResume(error -> client.closeGracefully().onErrorComplete().then(Mono.error(error)));
+			}).doOnSuccess(this::offer).doOnError(this::startFailed).then().cache();
+			started.subscribe(null, error -> {
+			});
+			return started;
+		}
+
+		private void startFailed(Throwable error) {
+			logger.warn("Failed to start server process for {}: {}", this.params.getCommand(), error.getMessage());
+			List<MonoSink<Entry>> failed = new ArrayList<>();
+			synchronized (this) {
+				this.total--;
+				MonoSink<Entry> waiter = this.waiters.pollFirst();
+				if (waiter != null) {
+					failed.add(waiter);
+				}
+				// Without any process left to be started or released, the other waiters
+				// would wait forever
+				if (this.total == 0) {
+					failed.addAll(this.waiters);
+					this.waiters.clear();
+				}
+			}
+			failed.forEach(waiter -> waiter.error(error));
+		}
+
+		private void offer(Entry entry) {
+			MonoSink<Entry> waiter;
+			synchronized (this) {
+				if (closed) {
+					this.total--;
+					waiter = null;
+				}
+				else {
+					waiter = this.waiters.pollFirst();
+					if (waiter == null) {
+						entry.idleSinceNanos = System.nanoTime();
+						this.idle.offerLast(entry);
+						return;
+					}
+				}
+			}
+			if (waiter != null) {
+				waiter.success(entry);
+			}
+			else {
+				entry.client.closeGracefully().onErrorComplete().subscribe();
+			}
+		}
+
+		void giveBack(Entry entry) {
+			if (isExpired(entry)) {
+				processesRecycled.increment();
+				retire(entry);
+			}
+			else {
+				offer(entry);
+			}
+		}
+
+		void retire(Entry entry) {
+			synchronized (this) {
+				this.total--;
+			}
+			entry.client.closeGracefully().onErrorComplete().subscribe();
+			fill().subscribe(null, error -> {
+			});
+		}
+
+		void close(Consumer<Entry> idleConsumer) {
+			List<MonoSink<Entry>> waiting;
+			synchronized (this) {
+				this.idle.forEach(idleConsumer);
+				this.total -= this.idle.size();
+				this.idle.clear();
+				waiting = new ArrayList<>(this.waiters);
+				this.waiters.clear();
+			}
+			waiting.forEach(waiter -> waiter.error(new IllegalStateException("The pool is closed")));
+		}
+
+	}
+
+	/**
+	 * Transport counting the requests sent to a server process.
+	 */
+	private static final class RequestCountingTransport implements McpClientTransport {
+
+		private final McpClientTransport delegate;
+
+		private final AtomicLong requests = new AtomicLong();
+
+		private RequestCountingTransport(McpClientTransport delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+			return this.delegate.connect(handler);
+		}
+
+		@Override
+		public void setExceptionHandler(Consumer<Throwable> handler) {
+			this.delegate.setExceptionHandler(handler);
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			long count = McpSchema.JSONRPCBatch.flatten(message)
+				.stream()
+				.filter(m -> m instanceof McpSchema.JSONRPCRequest)
+				.count();
+			this.requests.addAndGet(count);
+			return this.delegate.sendMessage(message);
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return this.delegate.closeGracefully();
+		}
+
+		@Override
+		public void close() {
+			this.delegate.close();
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+			return this.delegate.unmarshalFrom(data, typeRef);
+		}
+
+	}
+
+	/**
+	 * Builder for {@link StdioServerPool}.
+	 */
+	public static final class Builder {
+
+		private int size = 1;
+
+		private long maxRequests = Long.MAX_VALUE;
+
+		private Duration maxAge;
+
+		private Duration healthCheckIdleTime = Duration.ofSeconds(30);
+
+		private Duration healthCheckTimeout = Duration.ofSeconds(5);
+
+		private Function<ServerParameters, McpClientTransport> transportFactory = StdioClientTransport::new;
+
+		private Function<McpClientTransport, McpAsyncClient> clientFactory = transport -> McpClient.async(transport)
+			.build();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the number of server processes kept per server parameters. Defaults to 1.
+		 * @param size the number of server processes
+		 * @return this builder
+		 */
+		public Builder size(int size) {
+			Assert.isTrue(size > 0, "The size must be positive");
+			this.size = size;
+			return this;
+		}
+
+		/**
+		 * Sets the number of requests, including the handshake and the health checks,
+		 * after which a server process is recycled. Unlimited by default.
+		 * @param maxRequests the max number of requests per server process
+		 * @return this builder
+		 */
+		public Builder maxRequests(long maxRequests) {
+			Assert.isTrue(maxRequests > 0, "The max requests must be positive");
+			this.maxRequests = maxRequests;
+			return this;
+		}
+
+		/**
+		 * Sets the age after which a server process is recycled. Unlimited by default.
+		 * @param maxAge the max age of a server process
+		 * @return this builder
+		 */
+		public Builder maxAge(Duration maxAge) {
+			Assert.notNull(maxAge, "The max age can not be null");
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		/**
+		 * Sets how long a server process can stay idle before being pinged when leased.
+		 * Defaults to 30 seconds, {@link Duration#ZERO} pings on every lease.
+		 * @param healthCheckIdleTime the idle time before a health check
+		 * @return this builder
+		 */
+		public Builder healthCheckIdleTime(Duration healthCheckIdleTime) {
+			Assert.notNull(healthCheckIdleTime, "The health check idle time can not be null");
+			this.healthCheckIdleTime = healthCheckIdleTime;
+			return this;
+		}
+
+		/**
+		 * Sets how long to wait for the answer to a health check ping. Defaults to 5
+		 * seconds.
+		 * @param healthCheckTimeout the timeout of a health check
+		 * @return this builder
+		 */
+		public Builder healthCheckTimeout(Duration healthCheckTimeout) {
+			Assert.notNull(healthCheckTimeout, "The health check timeout can not be null");
+			this.healthCheckTimeout = healthCheckTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets the factory of the transports to the server processes. Defaults to a
+		 * {@link StdioClientTransport} with its own threads.
+		 * @param transportFactory the factory of the transports
+		 * @return this builder
+		 */
+		public Builder transportFactory(Function<ServerParameters, McpClientTransport> transportFactory) {
+			Assert.notNull(transportFactory, "The transport factory can not be null");
+			this.transportFactory = transportFactory;
+			return this;
+		}
+
+		/**
+		 * Sets the factory of the clients of the server processes, for instance to set
+		 * their capabilities or timeouts. Defaults to a client with default settings.
+		 * @param clientFactory the factory of the clients
+		 * @return this builder
+		 */
+		public Builder clientFactory(Function<McpClientTransport, McpAsyncClient> clientFactory) {
+			Assert.notNull(clientFactory, "The client factory can not be null");
+			this.clientFactory = clientFactory;
+			return this;
+		}
+
+		/**
+		 * Builds the pool.
+		 * @return a new pool
+		 */
+		public StdioServerPool build() {
+			return new StdioServerPool(this);
+		}
+
+	}
+
+}
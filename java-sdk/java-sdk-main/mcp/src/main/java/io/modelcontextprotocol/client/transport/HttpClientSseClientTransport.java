@@ -488,7 +488,7 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 	 */
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return McpSchema.unmarshalFrom(this.objectMapper, data, typeRef);
 	}
 
 }
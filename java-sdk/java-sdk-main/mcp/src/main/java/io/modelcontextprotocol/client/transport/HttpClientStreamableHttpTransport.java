@@ -35,6 +35,7 @@ import io.modelcontextprotocol.spec.McpTransportSession;
 import io.modelcontextprotocol.spec.McpTransportSessionNotFoundException;
 import io.modelcontextprotocol.spec.McpTransportStream;
 import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.ConcurrencyLimiter;
 import io.modelcontextprotocol.util.Utils;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -109,6 +110,18 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 	private final boolean resumableStreams;
 
+	/** Maximum size in bytes of the JSON bodies of the responses to POST requests */
+	private final long maxResponseBodySize;
+
+	/** Limits the JSON-RPC requests in flight, null when not limited */
+	private final ConcurrencyLimiter requestLimiter;
+
+	/**
+	 * Limits the responses and notifications in flight, null when not limited. Separate
+	 * from the request limiter, so that they never wait for the requests in flight.
+	 */
+	private final ConcurrencyLimiter messageLimiter;
+
 	private final AtomicReference<DefaultMcpTransportSession> activeSession = new AtomicReference<>();
 
 	private final AtomicReference<Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>>> handler = new AtomicReference<>();
@@ -117,7 +130,8 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 	private HttpClientStreamableHttpTransport(ObjectMapper objectMapper, HttpClient httpClient,
 			HttpRequest.Builder requestBuilder, String baseUri, String endpoint, boolean resumableStreams,
-			boolean openConnectionOnStartup) {
+			boolean openConnectionOnStartup, long maxResponseBodySize, ConcurrencyLimiter requestLimiter,
+			ConcurrencyLimiter messageLimiter) {
 		this.objectMapper = objectMapper;
 		this.httpClient = httpClient;
 		this.requestBuilder = requestBuilder;
@@ -125,6 +139,9 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 		this.endpoint = endpoint;
 		this.resumableStreams = resumableStreams;
 		this.openConnectionOnStartup = openConnectionOnStartup;
+		this.maxResponseBodySize = maxResponseBodySize;
+		this.requestLimiter = requestLimiter;
+		this.messageLimiter = messageLimiter;
 		this.activeSession.set(createTransportSession());
 	}
 
@@ -243,9 +260,6 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 						if (MESSAGE_EVENT_TYPE.equals(responseEvent.sseEvent().event())) {
 							try {
-								// We don't support batching ATM and probably won't since
-								// the
-								// next version considers removing it.
 								McpSchema.JSONRPCMessage message = McpSchema
 									.deserializeJsonRpcMessage(this.objectMapper, responseEvent.sseEvent().data());
 
@@ -319,8 +333,15 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 				logger.debug("Received SSE stream response, using line subscriber");
 				return ResponseSubscribers.sseToBodySubscriber(responseInfo, sink);
 			}
+			else if (contentType.contains(APPLICATION_JSON) && responseInfo.statusCode() >= 200
+					&& responseInfo.statusCode() < 300) {
+				// Decode the JSON-RPC message as the body arrives
+				logger.debug("Received JSON response, using JSON message subscriber");
+				return ResponseSubscribers.jsonMessageBodySubscriber(responseInfo, sink, this.objectMapper,
+						this.maxResponseBodySize);
+			}
 			else if (contentType.contains(APPLICATION_JSON)) {
-				// For JSON responses and others, use string subscriber
+				// For JSON error responses, use string subscriber
 				logger.debug("Received response, using string subscriber");
 				return ResponseSubscribers.aggregateBodySubscriber(responseInfo, sink);
 			}
@@ -364,7 +385,7 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 				.POST(HttpRequest.BodyPublishers.ofString(jsonBody))
 				.build();
 
-			Disposable connection = Flux.<ResponseEvent>create(responseEventSink -> {
+			Flux<ResponseEvent> exchange = Flux.<ResponseEvent>create(responseEventSink -> {
 
 				// Create the async request with proper body subscriber selection
 				Mono.fromFuture(this.httpClient.sendAsync(request, this.toSendMessageBodySubscriber(responseEventSink))
@@ -377,7 +398,21 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 						}
 					})).onErrorMap(CompletionException.class, t -> t.getCause()).onErrorComplete().subscribe();
 
-			}).flatMap(responseEvent -> {
+			});
+			// Responses and notifications, such as the answer to a server request made
+			// by a running tool call, must never wait for the requests holding the
+			// permits, so they are limited separately if at all. A batch carrying
+			// requests is limited like a single request.
+			boolean carriesRequests = McpSchema.JSONRPCBatch.flatten(sendMessage)
+				.stream()
+				.anyMatch(message -> message instanceof McpSchema.JSONRPCRequest);
+			ConcurrencyLimiter limiter = carriesRequests ? this.requestLimiter : this.messageLimiter;
+			if (limiter != null) {
+				Flux<ResponseEvent> unlimited = exchange;
+				exchange = limiter.acquire().flatMapMany(permit -> unlimited.doFinally(signal -> permit.release()));
+			}
+
+			Disposable connection = exchange.flatMap(responseEvent -> {
 				if (transportSession.markInitialized(
 						responseEvent.responseInfo().headers().firstValue("mcp-session-id").orElseGet(() -> null))) {
 					// Once we have a session, we try to open an async stream for
@@ -409,9 +444,6 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 						return Flux.just(((ResponseSubscribers.SseResponseEvent) responseEvent).sseEvent())
 							.flatMap(sseEvent -> {
 								try {
-									// We don't support batching ATM and probably won't
-									// since the
-									// next version considers removing it.
 									McpSchema.JSONRPCMessage message = McpSchema
 										.deserializeJsonRpcMessage(this.objectMapper, sseEvent.data());
 
@@ -435,13 +467,9 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 					}
 					else if (contentType.contains(APPLICATION_JSON)) {
 						messageSink.success();
-						String data = ((ResponseSubscribers.AggregateResponseEvent) responseEvent).data();
-						try {
-							return Mono.just(McpSchema.deserializeJsonRpcMessage(objectMapper, data));
-						}
-						catch (IOException e) {
-							return Mono.error(e);
-						}
+						McpSchema.JSONRPCMessage message = ((ResponseSubscribers.JsonMessageResponseEvent) responseEvent)
+							.message();
+						return Flux.just(message);
 					}
 					logger.warn("Unknown media type {} returned for POST in session {}", contentType,
 							sessionRepresentation);
@@ -497,7 +525,7 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return McpSchema.unmarshalFrom(this.objectMapper, data, typeRef);
 	}
 
 	/**
@@ -521,6 +549,12 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 		private HttpRequest.Builder requestBuilder = HttpRequest.newBuilder();
 
+		private boolean http2 = false;
+
+		private int maxConcurrentRequests = 0;
+
+		private long maxResponseBodySize = Long.MAX_VALUE;
+
 		/**
 		 * Creates a new builder with the specified base URI.
 		 * @param baseUri the base URI of the MCP server
@@ -623,6 +657,59 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 			return this;
 		}
 
+		/**
+		 * Configure the transport to use HTTP/2, sending all the requests of a session as
+		 * streams multiplexed over a single connection, where HTTP/1.1 needs a connection
+		 * per concurrent request. Over {@code http} URIs, the first connection is
+		 * upgraded to cleartext HTTP/2 (h2c), and stays on HTTP/1.1 if the server does
+		 * not support it.
+		 * <p>
+		 * The HTTP client fails the requests beyond the maximum number of concurrent
+		 * streams advertised by the server, 100 by default for most servers, so the
+		 * transport queues them instead. One stream is kept for the stream of server
+		 * messages and one for the responses and notifications sent to the server, so
+		 * that answering a server request never waits for the requests in flight. The
+		 * other streams are shared by the requests.
+		 * @param maxConcurrentStreams the maximum number of concurrent streams of the
+		 * server, at least 3
+		 * @return the builder instance
+		 * @see #maxConcurrentRequests(int)
+		 */
+		public Builder http2(int maxConcurrentStreams) {
+			Assert.isTrue(maxConcurrentStreams > 2, "maxConcurrentStreams must be at least 3");
+			this.http2 = true;
+			return maxConcurrentRequests(maxConcurrentStreams - 2);
+		}
+
+		/**
+		 * Configure the maximum number of requests in flight, the requests beyond it
+		 * waiting for a running one to complete. Over HTTP/1.1 it bounds the number of
+		 * connections opened to the server. The stream of server messages opened by the
+		 * transport is not counted, nor are the responses and notifications sent to the
+		 * server, which the server acknowledges right away and which must not wait for
+		 * the requests in flight. By default, the requests are not limited.
+		 * @param maxConcurrentRequests the maximum number of requests in flight
+		 * @return the builder instance
+		 */
+		public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+			Assert.isTrue(maxConcurrentRequests > 0, "maxConcurrentRequests must be positive");
+			this.maxConcurrentRequests = maxConcurrentRequests;
+			return this;
+		}
+
+		/**
+		 * Configure the maximum size of the JSON responses to the messages sent, which
+		 * are decoded as they are received. A larger response fails with an
+		 * {@link McpError} and is not read further. By default, the size is not limited.
+		 * @param maxResponseBodySize the maximum size of a response body in bytes
+		 * @return the builder instance
+		 */
+		public Builder maxResponseBodySize(long maxResponseBodySize) {
+			Assert.isTrue(maxResponseBodySize > 0, "maxResponseBodySize must be positive");
+			this.maxResponseBodySize = maxResponseBodySize;
+			return this;
+		}
+
 		/**
 		 * Construct a fresh instance of {@link HttpClientStreamableHttpTransport} using
 		 * the current builder configuration.
@@ -630,9 +717,18 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 		 */
 		public HttpClientStreamableHttpTransport build() {
 			ObjectMapper objectMapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
+			if (this.http2) {
+				this.clientBuilder.version(HttpClient.Version.HTTP_2);
+			}
+			// Requests beyond the limit are queued, never rejected
+			ConcurrencyLimiter requestLimiter = this.maxConcurrentRequests > 0
+					? new ConcurrencyLimiter(this.maxConcurrentRequests, Integer.MAX_VALUE) : null;
+			// Over HTTP/2, the responses and notifications share the stream kept for them
+			ConcurrencyLimiter messageLimiter = this.http2 ? new ConcurrencyLimiter(1, Integer.MAX_VALUE) : null;
 
 			return new HttpClientStreamableHttpTransport(objectMapper, clientBuilder.build(), requestBuilder, baseUri,
-					endpoint, resumableStreams, openConnectionOnStartup);
+					endpoint, resumableStreams, openConnectionOnStartup, maxResponseBodySize, requestLimiter,
+					messageLimiter);
 		}
 
 	}
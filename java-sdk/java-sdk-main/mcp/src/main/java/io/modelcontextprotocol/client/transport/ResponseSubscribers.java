@@ -3,15 +3,28 @@
 */
 package io.modelcontextprotocol.client.transport;
 
+import java.io.IOException;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodySubscriber;
 import java.net.http.HttpResponse.ResponseInfo;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.reactivestreams.FlowAdapters;
 import org.reactivestreams.Subscription;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
 import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.FluxSink;
 
@@ -32,7 +45,8 @@ class ResponseSubscribers {
 	record SseEvent(String id, String event, String data) {
 	}
 
-	sealed interface ResponseEvent permits SseResponseEvent, AggregateResponseEvent, DummyEvent {
+	sealed interface ResponseEvent
+			permits SseResponseEvent, AggregateResponseEvent, JsonMessageResponseEvent, DummyEvent {
 
 		ResponseInfo responseInfo();
 
@@ -48,9 +62,12 @@ class ResponseSubscribers {
 	record AggregateResponseEvent(ResponseInfo responseInfo, String data) implements ResponseEvent {
 	}
 
+	record JsonMessageResponseEvent(ResponseInfo responseInfo,
+			McpSchema.JSONRPCMessage message) implements ResponseEvent {
+	}
+
 	static BodySubscriber<Void> sseToBodySubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink) {
-		return HttpResponse.BodySubscribers
-			.fromLineSubscriber(FlowAdapters.toFlowSubscriber(new SseLineSubscriber(responseInfo, sink)));
+		return new SseBodySubscriber(responseInfo, sink);
 	}
 
 	static BodySubscriber<Void> aggregateBodySubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink) {
@@ -58,27 +75,22 @@ class ResponseSubscribers {
 			.fromLineSubscriber(FlowAdapters.toFlowSubscriber(new AggregateSubscriber(responseInfo, sink)));
 	}
 
+	static BodySubscriber<Void> jsonMessageBodySubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink,
+			ObjectMapper objectMapper, long maxBodySize) {
+		return new JsonMessageSubscriber(responseInfo, sink, objectMapper, maxBodySize);
+	}
+
 	static BodySubscriber<Void> bodilessBodySubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink) {
 		return HttpResponse.BodySubscribers
 			.fromLineSubscriber(FlowAdapters.toFlowSubscriber(new BodilessResponseLineSubscriber(responseInfo, sink)));
 	}
 
-	static class SseLineSubscriber extends BaseSubscriber<String> {
-
-		/**
-		 * Pattern to extract data content from SSE "data:" lines.
-		 */
-		private static final Pattern EVENT_DATA_PATTERN = Pattern.compile("^data:(.+)$", Pattern.MULTILINE);
-
-		/**
-		 * Pattern to extract event ID from SSE "id:" lines.
-		 */
-		private static final Pattern EVENT_ID_PATTERN = Pattern.compile("^id:(.+)$", Pattern.MULTILINE);
-
-		/**
-		 * Pattern to extract event type from SSE "event:" lines.
-		 */
-		private static final Pattern EVENT_TYPE_PATTERN = Pattern.compile("^event:(.+)$", Pattern.MULTILINE);
+	/**
+	 * Parses the body of an SSE response from its bytes with a {@link SseEventParser},
+	 * emitting every event as it completes. Buffers are requested one at a time, while
+	 * the sink has demand.
+	 */
+	static class SseBodySubscriber implements BodySubscriber<Void> {
 
 		/**
 		 * The sink for emitting parsed response events.
@@ -86,100 +98,76 @@ class ResponseSubscribers {
 		private final FluxSink<ResponseEvent> sink;
 
 		/**
-		 * StringBuilder for accumulating multi-line event data.
+		 * The response information from the HTTP response. Send with each event to
+		 * provide context.
 		 */
-		private final StringBuilder eventBuilder;
+		private final ResponseInfo responseInfo;
 
-		/**
-		 * Current event's ID, if specified.
-		 */
-		private final AtomicReference<String> currentEventId;
+		private final SseEventParser parser;
 
-		/**
-		 * Current event's type, if specified.
-		 */
-		private final AtomicReference<String> currentEventType;
+		private final CompletableFuture<Void> body = new CompletableFuture<>();
 
 		/**
-		 * The response information from the HTTP response. Send with each event to
-		 * provide context.
+		 * Whether a buffer was requested and not received yet.
 		 */
-		private ResponseInfo responseInfo;
+		private final AtomicBoolean requested = new AtomicBoolean();
+
+		private volatile Flow.Subscription subscription;
 
 		/**
-		 * Creates a new LineSubscriber that will emit parsed SSE events to the provided
-		 * sink.
+		 * Creates a new SseBodySubscriber that will emit parsed SSE events to the
+		 * provided sink.
+		 * @param responseInfo the response information
 		 * @param sink the {@link FluxSink} to emit parsed {@link ResponseEvent} objects
 		 * to
 		 */
-		public SseLineSubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink) {
+		SseBodySubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink) {
 			this.sink = sink;
-			this.eventBuilder = new StringBuilder();
-			this.currentEventId = new AtomicReference<>();
-			this.currentEventType = new AtomicReference<>();
 			this.responseInfo = responseInfo;
+			this.parser = new SseEventParser((id, type, data) -> this.sink
+				.next(new SseResponseEvent(this.responseInfo, new SseEvent(id, type, data))));
 		}
 
 		@Override
-		protected void hookOnSubscribe(Subscription subscription) {
+		public CompletionStage<Void> getBody() {
+			return this.body;
+		}
 
-			sink.onRequest(n -> {
-				subscription.request(n);
-			});
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			this.sink.onRequest(n -> requestNext());
 
 			// Register disposal callback to cancel subscription when Flux is disposed
-			sink.onDispose(() -> {
-				subscription.cancel();
-			});
+			this.sink.onDispose(subscription::cancel);
 		}
 
 		@Override
-		protected void hookOnNext(String line) {
-			if (line.isEmpty()) {
-				// Empty line means end of event
-				if (this.eventBuilder.length() > 0) {
-					String eventData = this.eventBuilder.toString();
-					SseEvent sseEvent = new SseEvent(currentEventId.get(), currentEventType.get(), eventData.trim());
-
-					this.sink.next(new SseResponseEvent(responseInfo, sseEvent));
-					this.eventBuilder.setLength(0);
-				}
-			}
-			else {
-				if (line.startsWith("data:")) {
-					var matcher = EVENT_DATA_PATTERN.matcher(line);
-					if (matcher.find()) {
-						this.eventBuilder.append(matcher.group(1).trim()).append("\n");
-					}
-				}
-				else if (line.startsWith("id:")) {
-					var matcher = EVENT_ID_PATTERN.matcher(line);
-					if (matcher.find()) {
-						this.currentEventId.set(matcher.group(1).trim());
-					}
-				}
-				else if (line.startsWith("event:")) {
-					var matcher = EVENT_TYPE_PATTERN.matcher(line);
-					if (matcher.find()) {
-						this.currentEventType.set(matcher.group(1).trim());
-					}
-				}
+		public void onNext(List<ByteBuffer> buffers) {
+			this.requested.set(false);
+			for (ByteBuffer buffer : buffers) {
+				this.parser.parse(buffer);
 			}
+			requestNext();
 		}
 
 		@Override
-		protected void hookOnComplete() {
-			if (this.eventBuilder.length() > 0) {
-				String eventData = this.eventBuilder.toString();
-				SseEvent sseEvent = new SseEvent(currentEventId.get(), currentEventType.get(), eventData.trim());
-				this.sink.next(new SseResponseEvent(responseInfo, sseEvent));
-			}
+		public void onComplete() {
+			this.parser.complete();
 			this.sink.complete();
+			this.body.complete(null);
 		}
 
 		@Override
-		protected void hookOnError(Throwable throwable) {
+		public void onError(Throwable throwable) {
 			this.sink.error(throwable);
+			this.body.completeExceptionally(throwable);
+		}
+
+		private void requestNext() {
+			if (this.sink.requestedFromDownstream() > 0 && this.requested.compareAndSet(false, true)) {
+				this.subscription.request(1);
+			}
 		}
 
 	}
@@ -242,6 +230,171 @@ class ResponseSubscribers {
 
 	}
 
+	/**
+	 * Decodes a JSON-RPC message from the body of a JSON response as its bytes arrive,
+	 * with a non-blocking Jackson parser. The tokens are buffered as they are parsed, so
+	 * the body is neither decoded into a {@link String} nor held as bytes, and the
+	 * message is emitted once the body is complete. A body larger than the given maximum
+	 * size fails the sink with an {@link McpError} and cancels the response.
+	 */
+	static class JsonMessageSubscriber implements BodySubscriber<Void> {
+
+		/**
+		 * The sink for emitting the decoded message.
+		 */
+		private final FluxSink<ResponseEvent> sink;
+
+		/**
+		 * The response information from the HTTP response. Send with the message to
+		 * provide context.
+		 */
+		private final ResponseInfo responseInfo;
+
+		private final ObjectMapper objectMapper;
+
+		private final long maxBodySize;
+
+		private final CompletableFuture<Void> body = new CompletableFuture<>();
+
+		private Flow.Subscription subscription;
+
+		private JsonParser parser;
+
+		/**
+		 * Tokens of the message parsed so far.
+		 */
+		private TokenBuffer tokens;
+
+		private boolean empty = true;
+
+		private long bodySize;
+
+		/**
+		 * Copy of the last buffer without accessible array.
+		 */
+		private byte[] scratch = new byte[0];
+
+		private boolean failed;
+
+		JsonMessageSubscriber(ResponseInfo responseInfo, FluxSink<ResponseEvent> sink, ObjectMapper objectMapper,
+				long maxBodySize) {
+			this.sink = sink;
+			this.responseInfo = responseInfo;
+			this.objectMapper = objectMapper;
+			this.maxBodySize = maxBodySize;
+		}
+
+		@Override
+		public CompletionStage<Void> getBody() {
+			return this.body;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+
+			// Register disposal callback to cancel subscription when Flux is disposed
+			this.sink.onDispose(subscription::cancel);
+			try {
+				this.parser = this.objectMapper.getFactory().createNonBlockingByteArrayParser();
+				this.tokens = new TokenBuffer(this.parser);
+			}
+			catch (IOException e) {
+				fail(e);
+				return;
+			}
+			// The message is only emitted once the whole body is received
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(List<ByteBuffer> buffers) {
+			if (this.failed) {
+				return;
+			}
+			try {
+				for (ByteBuffer buffer : buffers) {
+					this.bodySize += buffer.remaining();
+					if (this.bodySize > this.maxBodySize) {
+						fail(new McpError("Response body exceeds the maximum size of " + this.maxBodySize + " bytes"));
+						return;
+					}
+					feed(buffer);
+				}
+			}
+			catch (IOException e) {
+				fail(e);
+			}
+		}
+
+		private void feed(ByteBuffer buffer) throws IOException {
+			int length = buffer.remaining();
+			ByteArrayFeeder feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+			if (buffer.hasArray()) {
+				int offset = buffer.arrayOffset() + buffer.position();
+				feeder.feedInput(buffer.array(), offset, offset + length);
+			}
+			else {
+				if (this.scratch.length < length) {
+					this.scratch = new byte[length];
+				}
+				buffer.get(buffer.position(), this.scratch, 0, length);
+				feeder.feedInput(this.scratch, 0, length);
+			}
+			buffer.position(buffer.limit());
+			// The parser does not copy the input, so it is consumed before returning
+			drainTokens();
+		}
+
+		private void drainTokens() throws IOException {
+			JsonToken token;
+			while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+				this.tokens.copyCurrentEvent(this.parser);
+				this.empty = false;
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			if (this.failed) {
+				return;
+			}
+			try {
+				((ByteArrayFeeder) this.parser.getNonBlockingInputFeeder()).endOfInput();
+				drainTokens();
+				if (!this.empty) {
+					McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper,
+							this.tokens.asParser(this.objectMapper));
+					this.sink.next(new JsonMessageResponseEvent(this.responseInfo, message));
+				}
+			}
+			catch (IOException | IllegalArgumentException e) {
+				fail(e);
+				return;
+			}
+			this.sink.complete();
+			this.body.complete(null);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			if (this.failed) {
+				return;
+			}
+			this.failed = true;
+			this.sink.error(throwable);
+			this.body.completeExceptionally(throwable);
+		}
+
+		private void fail(Throwable throwable) {
+			this.failed = true;
+			this.subscription.cancel();
+			this.sink.error(throwable);
+			this.body.completeExceptionally(throwable);
+		}
+
+	}
+
 	static class BodilessResponseLineSubscriber extends BaseSubscriber<String> {
 
 		/**
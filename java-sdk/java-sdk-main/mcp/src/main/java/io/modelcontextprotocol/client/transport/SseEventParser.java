@@ -0,0 +1,277 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Parses a stream of Server-Sent Events from the raw bytes of a response body, as defined
+ * by the <a href=
+ * "https://html.spec.whatwg.org/multipage/server-sent-events.html#event-stream-interpretation">event
+ * stream interpretation</a> of the HTML specification.
+ *
+ * <p>
+ * The parser scans the bytes for line ends itself, so the body is never decoded line by
+ * line: the values of the {@code data} fields of an event are copied as bytes, and
+ * decoded from UTF-8 once when the event is dispatched. Lines may end with CRLF, LF or
+ * CR, and lines, including multi-byte characters, may be split across buffers. Comment
+ * lines and unknown fields are ignored.
+ *
+ * <p>
+ * A parser is stateful and not thread-safe; it is meant to be fed the buffers of a single
+ * response body in order, from a single thread at a time.
+ */
+public final class SseEventParser {
+
+	private static final byte[] DATA = "data".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] EVENT = "event".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] ID = "id".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] RETRY = "retry".getBytes(StandardCharsets.US_ASCII);
+
+	private static final String DEFAULT_EVENT_TYPE = "message";
+
+	private final EventHandler handler;
+
+	/** Start of a line split across buffers */
+	private byte[] line = new byte[256];
+
+	private int lineLength;
+
+	/** Copy of the last buffer without accessible array */
+	private byte[] scratch = new byte[0];
+
+	/** Values of the data fields of the current event, each followed by a line feed */
+	private byte[] data = new byte[1024];
+
+	private int dataLength;
+
+	private String eventType;
+
+	private String lastEventId;
+
+	private long reconnectionTime = -1;
+
+	/** Whether the previous buffer ended with a CR, whose LF must then be skipped */
+	private boolean skipLineFeed;
+
+	/**
+	 * Creates a new parser.
+	 * @param handler the handler receiving the events as they are dispatched
+	 */
+	public SseEventParser(EventHandler handler) {
+		Assert.notNull(handler, "Event handler must not be null");
+		this.handler = handler;
+	}
+
+	/**
+	 * Parses the given buffer, dispatching the events it completes. The bytes of a line
+	 * not terminated yet are kept until the next buffer.
+	 * @param buffer the next bytes of the body, consumed entirely
+	 */
+	public void parse(ByteBuffer buffer) {
+		int length = buffer.remaining();
+		if (buffer.hasArray()) {
+			int offset = buffer.arrayOffset() + buffer.position();
+			parse(buffer.array(), offset, offset + length);
+		}
+		else {
+			// Direct and read-only buffers are scanned from a copy
+			if (this.scratch.length < length) {
+				this.scratch = new byte[length];
+			}
+			buffer.get(buffer.position(), this.scratch, 0, length);
+			parse(this.scratch, 0, length);
+		}
+		buffer.position(buffer.limit());
+	}
+
+	private void parse(byte[] bytes, int from, int to) {
+		int start = from;
+		if (this.skipLineFeed && start < to) {
+			this.skipLineFeed = false;
+			if (bytes[start] == '\n') {
+				start++;
+			}
+		}
+		int i = start;
+		while (i < to) {
+			byte b = bytes[i++];
+			if (b == '\n' || b == '\r') {
+				endLine(bytes, start, i - 1);
+				if (b == '\r') {
+					if (i == to) {
+						this.skipLineFeed = true;
+					}
+					else if (bytes[i] == '\n') {
+						i++;
+					}
+				}
+				start = i;
+			}
+		}
+		if (start < to) {
+			appendToLine(bytes, start, to);
+		}
+	}
+
+	/**
+	 * Ends the stream. The last line is processed even if not terminated, and the last
+	 * event is dispatched even if not followed by a blank line.
+	 */
+	public void complete() {
+		if (this.lineLength > 0) {
+			processLine(this.line, 0, this.lineLength);
+			this.lineLength = 0;
+		}
+		dispatch();
+	}
+
+	/**
+	 * Returns the id of the last event received, sent back by clients resuming a stream.
+	 * @return the last event id, or {@code null} if the server did not set any
+	 */
+	public String lastEventId() {
+		return this.lastEventId;
+	}
+
+	/**
+	 * Returns the reconnection time the server asked for in a {@code retry} field.
+	 * @return the reconnection time in milliseconds, or -1 if the server did not set any
+	 */
+	public long reconnectionTime() {
+		return this.reconnectionTime;
+	}
+
+	private void endLine(byte[] bytes, int from, int to) {
+		if (this.lineLength == 0) {
+			// Common case, the whole line is in the buffer
+			processLine(bytes, from, to);
+			return;
+		}
+		appendToLine(bytes, from, to);
+		processLine(this.line, 0, this.lineLength);
+		this.lineLength = 0;
+	}
+
+	private void appendToLine(byte[] bytes, int from, int to) {
+		int length = to - from;
+		if (this.lineLength + length > this.line.length) {
+			this.line = Arrays.copyOf(this.line, Math.max(this.line.length * 2, this.lineLength + length));
+		}
+		System.arraycopy(bytes, from, this.line, this.lineLength, length);
+		this.lineLength += length;
+	}
+
+	private void processLine(byte[] bytes, int from, int to) {
+		if (from == to) {
+			dispatch();
+			return;
+		}
+		if (bytes[from] == ':') {
+			// Comment, used by servers as keep-alive
+			return;
+		}
+		int nameEnd = from;
+		while (nameEnd < to && bytes[nameEnd] != ':') {
+			nameEnd++;
+		}
+		int valueStart = nameEnd < to ? nameEnd + 1 : to;
+		if (valueStart < to && bytes[valueStart] == ' ') {
+			valueStart++;
+		}
+
+		if (fieldIs(DATA, bytes, from, nameEnd)) {
+			appendData(bytes, valueStart, to);
+		}
+		else if (fieldIs(EVENT, bytes, from, nameEnd)) {
+			this.eventType = new String(bytes, valueStart, to - valueStart, StandardCharsets.UTF_8);
+		}
+		else if (fieldIs(ID, bytes, from, nameEnd)) {
+			if (indexOf((byte) 0, bytes, valueStart, to) < 0) {
+				this.lastEventId = new String(bytes, valueStart, to - valueStart, StandardCharsets.UTF_8);
+			}
+		}
+		else if (fieldIs(RETRY, bytes, from, nameEnd)) {
+			long retry = parseDigits(bytes, valueStart, to);
+			if (retry >= 0) {
+				this.reconnectionTime = retry;
+			}
+		}
+	}
+
+	private void appendData(byte[] bytes, int from, int to) {
+		int length = to - from;
+		if (this.dataLength + length + 1 > this.data.length) {
+			this.data = Arrays.copyOf(this.data, Math.max(this.data.length * 2, this.dataLength + length + 1));
+		}
+		System.arraycopy(bytes, from, this.data, this.dataLength, length);
+		this.dataLength += length;
+		this.data[this.dataLength++] = '\n';
+	}
+
+	private void dispatch() {
+		if (this.dataLength == 0) {
+			this.eventType = null;
+			return;
+		}
+		// The line feed following the last data value is not part of the data
+		String eventData = new String(this.data, 0, this.dataLength - 1, StandardCharsets.UTF_8);
+		String type = this.eventType != null && !this.eventType.isEmpty() ? this.eventType : DEFAULT_EVENT_TYPE;
+		this.dataLength = 0;
+		this.eventType = null;
+		this.handler.onEvent(this.lastEventId, type, eventData);
+	}
+
+	private static boolean fieldIs(byte[] field, byte[] bytes, int from, int to) {
+		return Arrays.equals(field, 0, field.length, bytes, from, to);
+	}
+
+	private static int indexOf(byte value, byte[] bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (bytes[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static long parseDigits(byte[] bytes, int from, int to) {
+		if (from == to || to - from > 18) {
+			return -1;
+		}
+		long value = 0;
+		for (int i = from; i < to; i++) {
+			if (bytes[i] < '0' || bytes[i] > '9') {
+				return -1;
+			}
+			value = value * 10 + (bytes[i] - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * Receives the events dispatched by a {@link SseEventParser}.
+	 */
+	@FunctionalInterface
+	public interface EventHandler {
+
+		/**
+		 * Called for every event dispatched.
+		 * @param id the last event id set by the stream so far, possibly {@code null}
+		 * @param type the event type, {@code message} unless set by the event
+		 * @param data the data of the event, its lines joined with line feeds
+		 */
+		void onEvent(String id, String type, String data);
+
+	}
+
+}
@@ -4,14 +4,12 @@
 
 package io.modelcontextprotocol.client.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -34,6 +32,11 @@ import reactor.core.scheduler.Schedulers;
  * standard input/output streams. Messages are exchanged as newline-delimited JSON-RPC
  * messages over stdin/stdout, with errors and debug information sent to stderr.
  *
+ * <p>
+ * The I/O with the server process runs on threads of its own by default. Applications
+ * spawning many server processes should share threads across all their transports, see
+ * {@link StdioScheduling}.
+ *
  * @author Christian Tzolov
  * @author Dariusz Jędrzejczyk
  */
@@ -50,14 +53,17 @@ public class StdioClientTransport implements McpClientTransport {
 
 	private ObjectMapper objectMapper;
 
-	/** Scheduler for handling inbound messages from the server process */
-	private Scheduler inboundScheduler;
+	/** Threads the I/O with the server process runs on */
+	private final StdioScheduling scheduling;
+
+	/** Reader of the messages from the server process */
+	private StdioStreamReader inboundReader;
 
 	/** Scheduler for handling outbound messages to the server process */
 	private Scheduler outboundScheduler;
 
-	/** Scheduler for handling error messages from the server process */
-	private Scheduler errorScheduler;
+	/** Reader of the error messages from the server process */
+	private StdioStreamReader errorReader;
 
 	/** Parameters for configuring and starting the server process */
 	private final ServerParameters params;
@@ -84,8 +90,21 @@ public class StdioClientTransport implements McpClientTransport {
 	 * @param objectMapper The ObjectMapper to use for JSON serialization/deserialization
 	 */
 	public StdioClientTransport(ServerParameters params, ObjectMapper objectMapper) {
+		this(params, objectMapper, StdioScheduling.dedicatedThreads());
+	}
+
+	/**
+	 * Creates a new StdioClientTransport with the specified parameters, ObjectMapper and
+	 * threads to run the I/O with the server process on.
+	 * @param params The parameters for configuring the server process
+	 * @param objectMapper The ObjectMapper to use for JSON serialization/deserialization
+	 * @param scheduling The threads to run the I/O on, typically shared by all the
+	 * transports of an application spawning many server processes
+	 */
+	public StdioClientTransport(ServerParameters params, ObjectMapper objectMapper, StdioScheduling scheduling) {
 		Assert.notNull(params, "The params can not be null");
 		Assert.notNull(objectMapper, "The ObjectMapper can not be null");
+		Assert.notNull(scheduling, "The scheduling can not be null");
 
 		this.inboundSink = Sinks.many().unicast().onBackpressureBuffer();
 		this.outboundSink = Sinks.many().unicast().onBackpressureBuffer();
@@ -96,10 +115,8 @@ public class StdioClientTransport implements McpClientTransport {
 
 		this.errorSink = Sinks.many().unicast().onBackpressureBuffer();
 
-		// Start threads
-		this.inboundScheduler = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(), "inbound");
-		this.outboundScheduler = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(), "outbound");
-		this.errorScheduler = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(), "error");
+		this.scheduling = scheduling;
+		this.outboundScheduler = scheduling.outboundScheduler();
 	}
 
 	/**
@@ -183,45 +200,44 @@ public class StdioClientTransport implements McpClientTransport {
 	}
 
 	/**
-	 * Starts the error processing thread that reads from the process's error stream.
-	 * Error messages are logged and emitted to the error sink.
+	 * Starts reading the process's error stream. Error messages are emitted to the error
+	 * sink.
 	 */
 	private void startErrorProcessing() {
-		this.errorScheduler.schedule(() -> {
-			try (BufferedReader processErrorReader = new BufferedReader(
-					new InputStreamReader(process.getErrorStream()))) {
-				String line;
-				while (!isClosing && (line = processErrorReader.readLine()) != null) {
-					try {
-						if (!this.errorSink.tryEmitNext(line).isSuccess()) {
+		this.errorReader = new StdioStreamReader(this.process.getErrorStream(), exitCheck(this.process),
+				new StdioStreamReader.Handler() {
+
+					@Override
+					public boolean onLine(byte[] buffer, int offset, int length) {
+						String line = new String(buffer, offset, length, StandardCharsets.UTF_8);
+						if (!errorSink.tryEmitNext(line).isSuccess()) {
 							if (!isClosing) {
 								logger.error("Failed to emit error message");
 							}
-							break;
+							return false;
 						}
+						return true;
 					}
-					catch (Exception e) {
-						if (!isClosing) {
-							logger.error("Error processing error message", e);
+
+					@Override
+					public void onEnd(Throwable error) {
+						if (error != null && !isClosing) {
+							logger.error("Error reading from error stream", error);
 						}
-						break;
+						isClosing = true;
+						errorSink.tryEmitComplete();
 					}
-				}
-			}
-			catch (IOException e) {
-				if (!isClosing) {
-					logger.error("Error reading from error stream", e);
-				}
-			}
-			finally {
-				isClosing = true;
-				errorSink.tryEmitComplete();
-			}
-		});
+
+				});
+		this.scheduling.read(this.errorReader, "error");
+	}
+
+	private static BooleanSupplier exitCheck(Process process) {
+		return () -> !process.isAlive();
 	}
 
 	private void handleIncomingMessages(Function<Mono<JSONRPCMessage>, Mono<JSONRPCMessage>> inboundMessageHandler) {
-		this.inboundSink.asFlux()
+		dispatch(this.inboundSink.asFlux())
 			.flatMap(message -> Mono.just(message)
 				.transform(inboundMessageHandler)
 				.contextWrite(ctx -> ctx.put("observation", "myObservation")))
@@ -229,11 +245,16 @@ public class StdioClientTransport implements McpClientTransport {
 	}
 
 	private void handleIncomingErrors() {
-		this.errorSink.asFlux().subscribe(e -> {
+		dispatch(this.errorSink.asFlux()).subscribe(e -> {
 			this.stdErrorHandler.accept(e);
 		});
 	}
 
+	private <T> Flux<T> dispatch(Flux<T> received) {
+		Scheduler dispatchScheduler = this.scheduling.dispatchScheduler();
+		return dispatchScheduler != null ? received.publishOn(dispatchScheduler) : received;
+	}
+
 	@Override
 	public Mono<Void> sendMessage(JSONRPCMessage message) {
 		if (this.outboundSink.tryEmitNext(message).isSuccess()) {
@@ -250,41 +271,46 @@ public class StdioClientTransport implements McpClientTransport {
 	}
 
 	/**
-	 * Starts the inbound processing thread that reads JSON-RPC messages from the
-	 * process's input stream. Messages are deserialized and emitted to the inbound sink.
+	 * Starts reading JSON-RPC messages from the process's input stream. Messages are
+	 * deserialized from the bytes of each line and emitted to the inbound sink.
 	 */
 	private void startInboundProcessing() {
-		this.inboundScheduler.schedule(() -> {
-			try (BufferedReader processReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-				String line;
-				while (!isClosing && (line = processReader.readLine()) != null) {
-					try {
-						JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, line);
-						if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
+		this.inboundReader = new StdioStreamReader(this.process.getInputStream(), exitCheck(this.process),
+				new StdioStreamReader.Handler() {
+
+					@Override
+					public boolean onLine(byte[] buffer, int offset, int length) {
+						try {
+							JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, buffer, offset,
+									length);
+							if (!inboundSink.tryEmitNext(message).isSuccess()) {
+								if (!isClosing) {
+									logger.error("Failed to enqueue inbound message: {}", message);
+								}
+								return false;
+							}
+							return true;
+						}
+						catch (Exception e) {
 							if (!isClosing) {
-								logger.error("Failed to enqueue inbound message: {}", message);
+								logger.error("Error processing inbound message for line: "
+										+ new String(buffer, offset, length, StandardCharsets.UTF_8), e);
 							}
-							break;
+							return false;
 						}
 					}
-					catch (Exception e) {
-						if (!isClosing) {
-							logger.error("Error processing inbound message for line: " + line, e);
+
+					@Override
+					public void onEnd(Throwable error) {
+						if (error != null && !isClosing) {
+							logger.error("Error reading from input stream", error);
 						}
-						break;
+						isClosing = true;
+						inboundSink.tryEmitComplete();
 					}
-				}
-			}
-			catch (IOException e) {
-				if (!isClosing) {
-					logger.error("Error reading from input stream", e);
-				}
-			}
-			finally {
-				isClosing = true;
-				inboundSink.tryEmitComplete();
-			}
-		});
+
+				});
+		this.scheduling.read(this.inboundReader, "inbound");
 	}
 
 	/**
@@ -373,11 +399,14 @@ public class StdioClientTransport implements McpClientTransport {
 			}
 		}).then(Mono.fromRunnable(() -> {
 			try {
-				// The Threads are blocked on readLine so disposeGracefully would not
-				// interrupt them, therefore we issue an async hard dispose.
-				inboundScheduler.dispose();
-				errorScheduler.dispose();
-				outboundScheduler.dispose();
+				// Readers blocked on the streams return once the process is gone
+				if (inboundReader != null) {
+					inboundReader.stop();
+				}
+				if (errorReader != null) {
+					errorReader.stop();
+				}
+				scheduling.release(outboundScheduler);
 
 				logger.debug("Graceful shutdown completed");
 			}
@@ -393,7 +422,7 @@ public class StdioClientTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return McpSchema.unmarshalFrom(this.objectMapper, data, typeRef);
 	}
 
 }
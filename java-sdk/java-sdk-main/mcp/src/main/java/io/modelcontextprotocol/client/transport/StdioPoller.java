@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the output streams of many server processes on a few threads.
+ *
+ * <p>
+ * Each stream is assigned to one of the poller threads, which keeps polling its streams
+ * for the bytes already available, see {@link StdioStreamReader#poll()}. A poller thread
+ * finding nothing to read backs off, parking for up to {@link #MAX_IDLE_NANOS} between
+ * passes, which bounds both the latency added to the first message after a quiet period
+ * and the CPU spent polling idle streams. Poller threads without streams park until a
+ * stream is assigned to them.
+ */
+final class StdioPoller {
+
+	private static final Logger logger = LoggerFactory.getLogger(StdioPoller.class);
+
+	private static final long MIN_IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final PollerThread[] threads;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private volatile boolean disposed;
+
+	/**
+	 * Creates and starts the poller threads.
+	 * @param threadCount The number of poller threads
+	 * @param name The prefix of the names of the poller threads
+	 */
+	StdioPoller(int threadCount, String name) {
+		this.threads = new PollerThread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			this.threads[i] = new PollerThread(name + "-" + i);
+			this.threads[i].start();
+		}
+	}
+
+	/**
+	 * Assigns a stream to one of the poller threads, which polls it until it ends.
+	 * @param reader The reader of the stream
+	 */
+	void register(StdioStreamReader reader) {
+		if (this.disposed) {
+			throw new IllegalStateException("The stdio poller has been disposed");
+		}
+		PollerThread thread = this.threads[Math.floorMod(this.next.getAndIncrement(), this.threads.length)];
+		thread.readers.offer(reader);
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Stops the poller threads. The streams still registered are no longer read.
+	 */
+	void dispose() {
+		this.disposed = true;
+		for (PollerThread thread : this.threads) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	private final class PollerThread extends Thread {
+
+		private final Queue<StdioStreamReader> readers = new ConcurrentLinkedQueue<>();
+
+		PollerThread(String name) {
+			super(name);
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			long idleNanos = MIN_IDLE_NANOS;
+			while (!disposed) {
+				if (this.readers.isEmpty()) {
+					LockSupport.park(this);
+					idleNanos = MIN_IDLE_NANOS;
+					continue;
+				}
+				boolean progress = false;
+				for (StdioStreamReader reader : this.readers) {
+					try {
+						progress |= reader.poll();
+					}
+					catch (RuntimeException e) {
+						logger.error("Error polling stdio stream", e);
+						reader.stop();
+					}
+					if (reader.isEnded()) {
+						this.readers.remove(reader);
+					}
+				}
+				if (progress) {
+					idleNanos = MIN_IDLE_NANOS;
+				}
+				else {
+					LockSupport.parkNanos(this, idleNanos);
+					idleNanos = Math.min(idleNanos * 2, MAX_IDLE_NANOS);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.VirtualThreads;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Threads the I/O of {@link StdioClientTransport} runs on.
+ *
+ * <p>
+ * By default, see {@link #dedicatedThreads()}, every transport starts three platform
+ * threads of its own, reading the stdout and stderr of its server process and writing to
+ * its stdin, which does not scale to hundreds of server processes. Two shared modes are
+ * available, meant to be created once and passed to all the transports:
+ * <ul>
+ * <li>{@link #virtualThreads()} reads every stream on a virtual thread of its own, only
+ * available when running on Java 21 or later, see {@link #isVirtualThreadsSupported()};
+ * <li>{@link #sharedPool(int)} polls the streams of all the server processes on a fixed
+ * number of threads, and writes on a shared pool bounded to the number of CPUs. Polling
+ * adds up to 10 ms of latency to the first message after a quiet period.
+ * </ul>
+ * In both shared modes, the stderr lines of all the server processes are read alongside
+ * their stdout, and a transport only costs the buffers of its streams.
+ */
+public final class StdioScheduling {
+
+	private static final StdioScheduling DEDICATED_THREADS = new StdioScheduling(null, null, null);
+
+	/** Runs a blocking reader per stream, null in polling mode */
+	private final ExecutorService readers;
+
+	/** Polls the streams, null unless in polling mode */
+	private final StdioPoller poller;
+
+	/** Shared scheduler for writes and dispatch, null for dedicated threads */
+	private final Scheduler shared;
+
+	private StdioScheduling(ExecutorService readers, StdioPoller poller, Scheduler shared) {
+		this.readers = readers;
+		this.poller = poller;
+		this.shared = shared;
+	}
+
+	/**
+	 * Returns the default mode, where every transport starts its own threads.
+	 * @return the dedicated threads mode
+	 */
+	public static StdioScheduling dedicatedThreads() {
+		return DEDICATED_THREADS;
+	}
+
+	/**
+	 * Tells whether the running JVM supports virtual threads.
+	 * @return {@code true} on Java 21 or later
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return VirtualThreads.isSupported();
+	}
+
+	/**
+	 * Creates a mode running all the I/O of the transports on virtual threads.
+	 * @return the virtual threads mode
+	 * @throws IllegalStateException if the running JVM does not support virtual threads
+	 */
+	public static StdioScheduling virtualThreads() {
+		ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+		return new StdioScheduling(executor, null, Schedulers.fromExecutorService(executor, "stdio-virtual"));
+	}
+
+	/**
+	 * Creates a mode polling the streams of all the transports on a few threads.
+	 * <p>
+	 * Polling cannot tell a closed stream from a quiet one, so the end of a stream is
+	 * only detected once the server process exits. A server process that closes its
+	 * stdout but keeps running is polled until it exits or the transport is closed.
+	 * Conversely, the stream of a server process that exits while a child process it
+	 * started still holds the pipe ends on exit, and the output of the child is not read.
+	 * @param pollerThreads the number of threads polling the streams
+	 * @return the shared pool mode
+	 */
+	public static StdioScheduling sharedPool(int pollerThreads) {
+		Assert.isTrue(pollerThreads > 0, "The number of poller threads must be positive");
+		return new StdioScheduling(null, new StdioPoller(pollerThreads, "stdio-poller"), Schedulers
+			.newBoundedElastic(Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE, "stdio-shared"));
+	}
+
+	/**
+	 * Stops the threads of a shared mode. Transports still using it no longer read from
+	 * their server process.
+	 */
+	public void dispose() {
+		if (this.poller != null) {
+			this.poller.dispose();
+		}
+		if (this.shared != null) {
+			this.shared.dispose();
+		}
+		if (this.readers != null) {
+			this.readers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Starts reading a stream of a server process.
+	 * @param reader the reader of the stream
+	 * @param name the name of the reading thread, for dedicated threads
+	 */
+	void read(StdioStreamReader reader, String name) {
+		if (this.poller != null) {
+			this.poller.register(reader);
+		}
+		else if (this.readers != null) {
+			this.readers.execute(reader);
+		}
+		else {
+			new Thread(reader, name).start();
+		}
+	}
+
+	/**
+	 * Returns the scheduler to write to the stdin of a server process on.
+	 * @return a new single-thread scheduler for dedicated threads, the shared scheduler
+	 * otherwise
+	 */
+	Scheduler outboundScheduler() {
+		if (this.shared != null) {
+			return this.shared;
+		}
+		return Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(), "outbound");
+	}
+
+	/**
+	 * Releases a scheduler returned by {@link #outboundScheduler()}.
+	 * @param scheduler the scheduler the transport is done with
+	 */
+	void release(Scheduler scheduler) {
+		if (scheduler != this.shared) {
+			scheduler.dispose();
+		}
+	}
+
+	/**
+	 * Returns the scheduler to hand the received messages over to, so that slow message
+	 * handlers do not hold up the poller threads.
+	 * @return the shared scheduler when polling, {@code null} to handle the messages on
+	 * the reading thread
+	 */
+	Scheduler dispatchScheduler() {
+		return this.poller != null ? this.shared : null;
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Splits one of the output streams of a server process into newline-delimited lines.
+ *
+ * <p>
+ * The stream is either read by a thread of its own with {@link #run()}, which blocks
+ * until the process closes the stream, or polled along with many other streams with
+ * {@link #poll()}, which only reads the bytes already available and never blocks. Either
+ * way, the lines are handed over as slices of a reusable buffer, which starts small and
+ * only grows to fit the longest line. A {@code '\r'} preceding the delimiter is dropped
+ * and blank lines are skipped.
+ */
+final class StdioStreamReader implements Runnable {
+
+	/**
+	 * Receives the lines read from the stream.
+	 */
+	interface Handler {
+
+		/**
+		 * Handles a line. The bytes of the line are only valid during the call.
+		 * @param buffer The buffer holding the line
+		 * @param offset The offset of the line in the buffer
+		 * @param length The length of the line, without its delimiter
+		 * @return {@code true} to continue reading, {@code false} to stop
+		 */
+		boolean onLine(byte[] buffer, int offset, int length);
+
+		/**
+		 * Called once when reading stops, at the end of the stream, when the handler
+		 * asked to stop, when {@link #stop()} was called or when reading failed.
+		 * @param error The error reading failed with, or {@code null}
+		 */
+		void onEnd(Throwable error);
+
+	}
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final InputStream inputStream;
+
+	private final BooleanSupplier processExited;
+
+	private final Handler handler;
+
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+	/** Start of the first line not handed over yet */
+	private int start;
+
+	/** End of the bytes read into the buffer */
+	private int end;
+
+	/** End of the bytes already scanned for a delimiter */
+	private int scanned;
+
+	private volatile boolean stopped;
+
+	private boolean ended;
+
+	/**
+	 * Creates a new stream reader.
+	 * @param inputStream The output stream of the process to read from
+	 * @param processExited Tells whether the process exited, which is how polling detects
+	 * the end of the stream without blocking
+	 * @param handler The handler of the lines
+	 */
+	StdioStreamReader(InputStream inputStream, BooleanSupplier processExited, Handler handler) {
+		this.inputStream = inputStream;
+		this.processExited = processExited;
+		this.handler = handler;
+	}
+
+	/**
+	 * Reads the stream until it ends, blocking while no bytes are available.
+	 */
+	@Override
+	public void run() {
+		try {
+			while (!this.stopped) {
+				int read = this.inputStream.read(this.buffer, prepareRead(), this.buffer.length - this.end);
+				if (read < 0 || !consume(read)) {
+					break;
+				}
+			}
+			end(null);
+		}
+		catch (IOException | RuntimeException e) {
+			end(e);
+		}
+	}
+
+	/**
+	 * Reads the bytes available on the stream without blocking.
+	 * @return {@code true} if bytes were read, {@code false} if none were available or
+	 * reading has ended
+	 */
+	boolean poll() {
+		if (this.ended) {
+			return false;
+		}
+		try {
+			if (this.stopped) {
+				end(null);
+				return false;
+			}
+			int available = this.inputStream.available();
+			if (available <= 0) {
+				// The bytes written before the process exited are still reported
+				// available, so nothing available once it exited ends the stream
+				if (this.processExited.getAsBoolean() && this.inputStream.available() <= 0) {
+					end(null);
+				}
+				return false;
+			}
+			int offset = prepareRead();
+			int read = this.inputStream.read(this.buffer, offset, Math.min(available, this.buffer.length - offset));
+			if (read < 0 || !consume(read)) {
+				end(null);
+			}
+			return true;
+		}
+		catch (IOException | RuntimeException e) {
+			end(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Tells whether reading has ended, so that a poller can drop this reader.
+	 * @return {@code true} once {@link Handler#onEnd(Throwable)} has been called
+	 */
+	boolean isEnded() {
+		return this.ended;
+	}
+
+	/**
+	 * Stops reading. A blocked {@link #run()} only returns once the stream yields bytes
+	 * or ends, which is when the process is destroyed.
+	 */
+	void stop() {
+		this.stopped = true;
+	}
+
+	/**
+	 * Makes room at the end of the buffer, compacting or growing it.
+	 * @return The offset to read the next bytes at
+	 */
+	private int prepareRead() {
+		if (this.start > 0) {
+			// Move the partial line to the front, so that it can be completed
+			System.arraycopy(this.buffer, this.start, this.buffer, 0, this.end - this.start);
+			this.end -= this.start;
+			this.scanned -= this.start;
+			this.start = 0;
+		}
+		if (this.end == this.buffer.length) {
+			byte[] grown = new byte[this.buffer.length * 2];
+			System.arraycopy(this.buffer, 0, grown, 0, this.end);
+			this.buffer = grown;
+		}
+		return this.end;
+	}
+
+	/**
+	 * Hands over the lines completed by the bytes just read.
+	 * @param read The number of bytes just read
+	 * @return {@code false} if the handler asked to stop
+	 */
+	private boolean consume(int read) {
+		this.end += read;
+		for (int i = this.scanned; i < this.end; i++) {
+			if (this.buffer[i] == '\n') {
+				int lineStart = this.start;
+				this.start = i + 1;
+				if (!handleLine(lineStart, i)) {
+					this.scanned = this.start;
+					this.stopped = true;
+					return false;
+				}
+			}
+		}
+		this.scanned = this.end;
+		return true;
+	}
+
+	private boolean handleLine(int lineStart, int lineEnd) {
+		if (lineEnd > lineStart && this.buffer[lineEnd - 1] == '\r') {
+			lineEnd--;
+		}
+		if (lineEnd == lineStart) {
+			return true;
+		}
+		return this.handler.onLine(this.buffer, lineStart, lineEnd - lineStart);
+	}
+
+	private void end(Throwable error) {
+		if (this.ended) {
+			return;
+		}
+		this.ended = true;
+		if (error == null && !this.stopped && this.end > this.start) {
+			// Last line without delimiter
+			handleLine(this.start, this.end);
+		}
+		this.handler.onEnd(error);
+	}
+
+}
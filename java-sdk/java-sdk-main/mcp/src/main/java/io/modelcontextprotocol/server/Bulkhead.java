@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.ConcurrencyLimiter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs calls within a {@link ConcurrencyLimit}, queueing the calls beyond the limit in
+ * arrival order.
+ *
+ * <p>
+ * A call holds a permit of a {@link ConcurrencyLimiter} from the subscription to its
+ * handler until the handler terminates or is cancelled. Calls rejected by the limiter, or
+ * queued for longer than the queue timeout, fail with a {@code SERVER_BUSY} error.
+ */
+final class Bulkhead {
+
+	/** Bulkhead not limiting the calls, only counting them */
+	static final ConcurrencyLimit UNLIMITED = ConcurrencyLimit.of(Integer.MAX_VALUE);
+
+	private final String name;
+
+	private final ConcurrencyLimit limit;
+
+	private final ConcurrencyLimiter limiter;
+
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Creates a new bulkhead.
+	 * @param name the name of what is limited, used in the error messages
+	 * @param limit the limit to enforce
+	 */
+	Bulkhead(String name, ConcurrencyLimit limit) {
+		this.name = name;
+		this.limit = limit;
+		this.limiter = new ConcurrencyLimiter(limit.maxConcurrentCalls(), limit.maxQueuedCalls());
+	}
+
+	/**
+	 * Runs the given call once a permit is available.
+	 * @param call the call to run
+	 * @return a Mono running the call, or failing with an {@link McpError} if the call is
+	 * rejected
+	 */
+	<T> Mono<T> call(Mono<T> call) {
+		return acquire().flatMap(permit -> call.doFinally(signal -> permit.release()));
+	}
+
+	private Mono<ConcurrencyLimiter.Permit> acquire() {
+		Mono<ConcurrencyLimiter.Permit> permit = this.limiter.acquire()
+			.onErrorMap(RejectedExecutionException.class, e -> {
+				this.rejected.increment();
+				return busy("Too many concurrent calls of " + this.name + ", the limit is "
+						+ this.limit.maxConcurrentCalls());
+			});
+		if (this.limit.maxQueuedCalls() == 0) {
+			return permit;
+		}
+		return permit.timeout(this.limit.queueTimeout(), Mono.defer(() -> {
+			this.rejected.increment();
+			return Mono.error(busy("Timed out waiting for a running call of " + this.name + " to complete"));
+		}));
+	}
+
+	private static McpError busy(String message) {
+		return new McpError(
+				new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.SERVER_BUSY, message, null));
+	}
+
+	/**
+	 * Returns the current counts of the bulkhead.
+	 * @return the number of running and queued calls, and of rejected calls so far
+	 */
+	McpAsyncServer.ConcurrencyStats stats() {
+		return new McpAsyncServer.ConcurrencyStats(this.limiter.active(), this.limiter.queued(), this.rejected.sum());
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Limit on the number of calls running at once, for a tool or a session.
+ *
+ * <p>
+ * Calls beyond {@code maxConcurrentCalls} wait in a queue of up to {@code maxQueuedCalls}
+ * calls for at most {@code queueTimeout}. Calls finding the queue full, or still waiting
+ * once the timeout has elapsed, are rejected with the
+ * {@link io.modelcontextprotocol.spec.McpSchema.ErrorCodes#SERVER_BUSY} error code.
+ *
+ * @param maxConcurrentCalls the max number of calls running at once
+ * @param maxQueuedCalls the max number of calls waiting for a running call to complete,
+ * zero to reject calls right away
+ * @param queueTimeout how long a call may wait in the queue
+ */
+public record ConcurrencyLimit(int maxConcurrentCalls, int maxQueuedCalls, Duration queueTimeout) {
+
+	public ConcurrencyLimit {
+		Assert.isTrue(maxConcurrentCalls > 0, "Max concurrent calls must be positive");
+		Assert.isTrue(maxQueuedCalls >= 0, "Max queued calls must not be negative");
+		Assert.notNull(queueTimeout, "Queue timeout must not be null");
+		Assert.isTrue(!queueTimeout.isNegative(), "Queue timeout must not be negative");
+	}
+
+	/**
+	 * Creates a limit rejecting the calls beyond the given number of running calls.
+	 * @param maxConcurrentCalls the max number of calls running at once
+	 * @return the limit
+	 */
+	public static ConcurrencyLimit of(int maxConcurrentCalls) {
+		return new ConcurrencyLimit(maxConcurrentCalls, 0, Duration.ZERO);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Sends the list changed notifications of a server, collapsing bursts of changes of the
+ * same kind into a single notification.
+ *
+ * <p>
+ * With a zero debounce window, every change is notified right away. Otherwise the first
+ * change of a kind schedules a notification at the end of the window, and the changes of
+ * that kind made within the window share it. The returned Monos then complete as soon as
+ * the change is recorded, and the notification is sent in the background, so that callers
+ * blocking on their change do not wait out the window and can keep on changing the lists
+ * within it.
+ *
+ * <p>
+ * Every change that does not lead to a notification of its own is counted as suppressed.
+ */
+final class ListChangedNotifier {
+
+	private static final Logger logger = LoggerFactory.getLogger(ListChangedNotifier.class);
+
+	private final Duration debounceWindow;
+
+	private final Scheduler scheduler;
+
+	private final Function<String, Mono<Void>> notifier;
+
+	/** Methods of the notifications scheduled and not sent yet */
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong suppressed = new AtomicLong();
+
+	/**
+	 * Creates a new notifier.
+	 * @param debounceWindow the window within which changes of a kind are collapsed
+	 * @param scheduler the scheduler to delay notifications on
+	 * @param notifier the function sending the notification with the given method to the
+	 * clients
+	 */
+	ListChangedNotifier(Duration debounceWindow, Scheduler scheduler, Function<String, Mono<Void>> notifier) {
+		this.debounceWindow = debounceWindow;
+		this.scheduler = scheduler;
+		this.notifier = notifier;
+	}
+
+	/**
+	 * Notifies the clients that the list of the given kind has changed.
+	 * @param method the notification method
+	 * @param changes the number of changes being notified, all but one of which are
+	 * counted as suppressed
+	 * @return a Mono that completes when the clients have been notified or, with a
+	 * debounce window, when the notification has been scheduled
+	 */
+	Mono<Void> notifyChanged(String method, int changes) {
+		if (changes <= 0) {
+			return Mono.empty();
+		}
+		return Mono.defer(() -> {
+			this.suppressed.addAndGet(changes - 1);
+			if (this.debounceWindow.isZero()) {
+				return this.notifier.apply(method);
+			}
+			if (!this.pending.add(method)) {
+				this.suppressed.incrementAndGet();
+				return Mono.empty();
+			}
+			this.scheduler.schedule(() -> {
+				// Changes made from now on are notified separately
+				this.pending.remove(method);
+				this.notifier.apply(method)
+					.subscribe(null,
+							error -> logger.warn("Failed to send {} notification: {}", method, error.getMessage()));
+			}, this.debounceWindow.toNanos(), TimeUnit.NANOSECONDS);
+			return Mono.empty();
+		});
+	}
+
+	/**
+	 * Returns the number of changes that were not notified on their own, because they
+	 * were collapsed into the notification of another change.
+	 * @return the number of suppressed notifications
+	 */
+	long getSuppressedCount() {
+		return this.suppressed.get();
+	}
+
+}
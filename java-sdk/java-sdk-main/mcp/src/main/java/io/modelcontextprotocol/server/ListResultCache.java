@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpEncodedResult;
+
+/**
+ * Caches the encoded pages of a list result, such as the tools of a server, between
+ * changes to the listed catalog.
+ *
+ * <p>
+ * Every change to the catalog bumps a version number. The pages encoded for a version are
+ * kept in a snapshot that is discarded as soon as the version moves on, so repeated list
+ * requests between changes are answered with the same encoded result. Since the version
+ * is bumped after the catalog has been changed, a page encoded concurrently with a change
+ * is at worst dropped and encoded again, and never outlives the change.
+ *
+ * <p>
+ * Only the first page and the pages at the positions this cache handed out as the next
+ * cursor of a cached page are cached, which bounds a snapshot to the pages of the
+ * catalog. Any other position, such as one forged by a client or issued before the last
+ * change, is built and encoded without being cached.
+ *
+ * @param <T> the type of the list result
+ */
+final class ListResultCache<T> {
+
+	private record Snapshot<T>(long version, Map<Long, McpEncodedResult<T>> pages, Set<Long> issued) {
+
+		Snapshot(long version) {
+			this(version, new ConcurrentHashMap<>(), ConcurrentHashMap.newKeySet());
+		}
+
+	}
+
+	private final ObjectMapper objectMapper;
+
+	private final Function<T, String> nextCursor;
+
+	private final AtomicLong version = new AtomicLong();
+
+	private volatile Snapshot<T> snapshot = new Snapshot<>(0);
+
+	/**
+	 * Creates an empty cache.
+	 * @param objectMapper the object mapper to encode the pages with
+	 * @param nextCursor returns the cursor of the page following a page, or {@code null}
+	 * for the last page
+	 */
+	ListResultCache(ObjectMapper objectMapper, Function<T, String> nextCursor) {
+		this.objectMapper = objectMapper;
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Returns the encoded page listed after the given position, building and encoding it
+	 * if it is not cached for the current version. Pages at positions this cache did not
+	 * issue are never cached.
+	 * @param after the position the page is listed after
+	 * @param builder builds the page listed after a position
+	 * @return the encoded page
+	 */
+	McpEncodedResult<T> get(long after, LongFunction<T> builder) {
+		long current = this.version.get();
+		Snapshot<T> snapshot = this.snapshot;
+		if (snapshot.version() != current) {
+			snapshot = new Snapshot<>(current);
+			this.snapshot = snapshot;
+		}
+		Set<Long> issued = snapshot.issued();
+		if (after != PageCursor.FIRST && !issued.contains(after)) {
+			return encode(builder.apply(after));
+		}
+		return snapshot.pages().computeIfAbsent(after, position -> {
+			T result = builder.apply(position);
+			String next = this.nextCursor.apply(result);
+			if (next != null) {
+				issued.add(PageCursor.decode(next));
+			}
+			return encode(result);
+		});
+	}
+
+	/**
+	 * Discards the cached pages. Must be called after every change to the catalog.
+	 */
+	void invalidate() {
+		this.version.incrementAndGet();
+	}
+
+	private McpEncodedResult<T> encode(T result) {
+		try {
+			return McpEncodedResult.encode(this.objectMapper, result);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to encode list result", e);
+		}
+	}
+
+}
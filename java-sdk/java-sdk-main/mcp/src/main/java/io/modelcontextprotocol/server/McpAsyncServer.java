@@ -6,18 +6,21 @@ package io.modelcontextprotocol.server;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.spec.McpClientSession;
+import io.modelcontextprotocol.spec.McpEncodedResult;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
@@ -35,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * The Model Context Protocol (MCP) server implementation that provides asynchronous
@@ -69,7 +73,10 @@ import reactor.core.publisher.Mono;
  * <p>
  * The server supports runtime modification of its capabilities through methods like
  * {@link #addTool}, {@link #addResource}, and {@link #addPrompt}, automatically notifying
- * connected clients of changes when configured to do so.
+ * connected clients of changes when configured to do so. Bulk variants such as
+ * {@link #addTools} notify each kind of change once, and bursts of changes can be
+ * collapsed further with a debounce window, see
+ * {@link McpServer.AsyncSpecification#listChangedDebounce}.
  *
  * @author Christian Tzolov
  * @author Dariusz Jędrzejczyk
@@ -82,6 +89,21 @@ public class McpAsyncServer {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpAsyncServer.class);
 
+	private static final TypeReference<McpSchema.CallToolRequest> CALL_TOOL_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.ReadResourceRequest> READ_RESOURCE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.GetPromptRequest> GET_PROMPT_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.PaginatedRequest> PAGINATED_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<SetLevelRequest> SET_LEVEL_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
 	private final McpServerTransportProvider mcpTransportProvider;
 
 	private final ObjectMapper objectMapper;
@@ -92,13 +114,31 @@ public class McpAsyncServer {
 
 	private final String instructions;
 
-	private final CopyOnWriteArrayList<McpServerFeatures.AsyncToolSpecification> tools = new CopyOnWriteArrayList<>();
+	private final NamedIndex<McpServerFeatures.AsyncToolSpecification> tools;
+
+	private final List<McpSchema.ResourceTemplate> resourceTemplates;
+
+	// The router and the templated resources are updated within the same atomic step as
+	// the resources, so that they never diverge under concurrent add and remove
+	private final NamedIndex<McpServerFeatures.AsyncResourceSpecification> resources = new NamedIndex<>(
+			this::resourceAdded, this::resourceRemoved);
+
+	private final NamedIndex<McpServerFeatures.AsyncResourceSpecification> templatedResources;
+
+	// Only used with the default URI template manager factory, whose matching it
+	// reproduces; resources are matched with a custom factory otherwise
+	private final UriTemplateRouter<McpServerFeatures.AsyncResourceSpecification> resourceRouter;
+
+	private final NamedIndex<McpServerFeatures.AsyncPromptSpecification> prompts;
 
-	private final CopyOnWriteArrayList<McpSchema.ResourceTemplate> resourceTemplates = new CopyOnWriteArrayList<>();
+	// Encoded list results, rebuilt only once the listed catalog has changed
+	private final ListResultCache<McpSchema.ListToolsResult> toolsListCache;
 
-	private final ConcurrentHashMap<String, McpServerFeatures.AsyncResourceSpecification> resources = new ConcurrentHashMap<>();
+	private final ListResultCache<McpSchema.ListResourcesResult> resourcesListCache;
 
-	private final ConcurrentHashMap<String, McpServerFeatures.AsyncPromptSpecification> prompts = new ConcurrentHashMap<>();
+	private final ListResultCache<McpSchema.ListResourceTemplatesResult> resourceTemplatesListCache;
+
+	private final ListResultCache<McpSchema.ListPromptsResult> promptsListCache;
 
 	// FIXME: this field is deprecated and should be remvoed together with the
 	// broadcasting loggingNotification.
@@ -108,7 +148,18 @@ public class McpAsyncServer {
 
 	private List<String> protocolVersions = List.of(McpSchema.LATEST_PROTOCOL_VERSION);
 
-	private McpUriTemplateManagerFactory uriTemplateManagerFactory = new DeafaultMcpUriTemplateManagerFactory();
+	private final McpUriTemplateManagerFactory uriTemplateManagerFactory;
+
+	private final ListChangedNotifier listChangedNotifier;
+
+	private final int pageSize;
+
+	private final Map<String, ConcurrencyLimit> toolConcurrencyLimits;
+
+	private final ConcurrencyLimit sessionConcurrencyLimit;
+
+	// Bulkheads of the tools called so far, keyed by tool name
+	private final ConcurrentHashMap<String, Bulkhead> toolBulkheads = new ConcurrentHashMap<>();
 
 	/**
 	 * Create a new McpAsyncServer with the given transport provider and capabilities.
@@ -116,21 +167,56 @@ public class McpAsyncServer {
 	 * communication.
 	 * @param features The MCP server supported features.
 	 * @param objectMapper The ObjectMapper to use for JSON serialization/deserialization
+	 * @param requestTimeout The duration to wait for client responses
+	 * @param maxPendingRequests The max number of requests awaiting a client response at
+	 * once, per session
+	 * @param uriTemplateManagerFactory The factory to use for creating URI templates
+	 * @param listChangedDebounce The window within which list changes of the same kind
+	 * are collapsed into a single notification
+	 * @param pageSize The max number of items in a page of the tools, resources, resource
+	 * templates and prompts lists
+	 * @param toolConcurrencyLimits The limits on the concurrent calls of each tool, keyed
+	 * by tool name
+	 * @param sessionConcurrencyLimit The limit on the concurrent tool calls of each
+	 * session, or null
 	 */
 	McpAsyncServer(McpServerTransportProvider mcpTransportProvider, ObjectMapper objectMapper,
-			McpServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory) {
+			McpServerFeatures.Async features, Duration requestTimeout, int maxPendingRequests,
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, Duration listChangedDebounce, int pageSize,
+			Map<String, ConcurrencyLimit> toolConcurrencyLimits, ConcurrencyLimit sessionConcurrencyLimit) {
 		this.mcpTransportProvider = mcpTransportProvider;
+		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.resourceRouter = uriTemplateManagerFactory.getClass() == DeafaultMcpUriTemplateManagerFactory.class
+				? new UriTemplateRouter<>() : null;
+		this.listChangedNotifier = new ListChangedNotifier(listChangedDebounce, Schedulers.parallel(),
+				method -> mcpTransportProvider.notifyClients(method, null));
 		this.objectMapper = objectMapper;
+		this.toolsListCache = new ListResultCache<>(objectMapper, McpSchema.ListToolsResult::nextCursor);
+		this.resourcesListCache = new ListResultCache<>(objectMapper, McpSchema.ListResourcesResult::nextCursor);
+		this.resourceTemplatesListCache = new ListResultCache<>(objectMapper,
+				McpSchema.ListResourceTemplatesResult::nextCursor);
+		this.promptsListCache = new ListResultCache<>(objectMapper, McpSchema.ListPromptsResult::nextCursor);
+		this.tools = new NamedIndex<>((name, tool) -> this.toolsListCache.invalidate(),
+				name -> this.toolsListCache.invalidate());
+		this.templatedResources = new NamedIndex<>((uri, resource) -> this.resourceTemplatesListCache.invalidate(),
+				uri -> this.resourceTemplatesListCache.invalidate());
+		this.prompts = new NamedIndex<>((name, prompt) -> this.promptsListCache.invalidate(),
+				name -> this.promptsListCache.invalidate());
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities();
 		this.instructions = features.instructions();
-		this.tools.addAll(features.tools());
-		this.resources.putAll(features.resources());
-		this.resourceTemplates.addAll(features.resourceTemplates());
-		this.prompts.putAll(features.prompts());
+		this.pageSize = pageSize;
+		this.toolConcurrencyLimits = Map.copyOf(toolConcurrencyLimits);
+		this.sessionConcurrencyLimit = sessionConcurrencyLimit;
+		for (McpServerFeatures.AsyncToolSpecification toolSpecification : features.tools()) {
+			if (!this.tools.putIfAbsent(toolSpecification.tool().name(), toolSpecification)) {
+				logger.warn("Ignoring duplicate tool: {}", toolSpecification.tool().name());
+			}
+		}
+		features.resources().forEach(this.resources::putIfAbsent);
+		this.resourceTemplates = List.copyOf(features.resourceTemplates());
+		features.prompts().forEach(this.prompts::putIfAbsent);
 		this.completions.putAll(features.completions());
-		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
 
 		Map<String, McpServerSession.RequestHandler<?>> requestHandlers = new HashMap<>();
 
@@ -183,9 +269,9 @@ public class McpAsyncServer {
 		notificationHandlers.put(McpSchema.METHOD_NOTIFICATION_ROOTS_LIST_CHANGED,
 				asyncRootsListChangedNotificationHandler(rootsChangeConsumers));
 
-		mcpTransportProvider.setSessionFactory(
-				transport -> new McpServerSession(UUID.randomUUID().toString(), requestTimeout, transport,
-						this::asyncInitializeRequestHandler, Mono::empty, requestHandlers, notificationHandlers));
+		mcpTransportProvider.setSessionFactory(transport -> new McpServerSession(UUID.randomUUID().toString(),
+				requestTimeout, maxPendingRequests, transport, this::asyncInitializeRequestHandler, Mono::empty,
+				requestHandlers, notificationHandlers));
 	}
 
 	// ---------------------------------------
@@ -236,6 +322,29 @@ public class McpAsyncServer {
 		return this.serverInfo;
 	}
 
+	/**
+	 * Get the number of list changed notifications that were not sent, because the change
+	 * was collapsed into the notification of another change, either within a bulk
+	 * registration or within the configured debounce window.
+	 * @return The number of suppressed list changed notifications
+	 */
+	public long getSuppressedListChangedNotifications() {
+		return this.listChangedNotifier.getSuppressedCount();
+	}
+
+	/**
+	 * Get the current concurrency counts of the tools called so far: the number of calls
+	 * running and waiting for a free slot, and the number of calls rejected by the
+	 * concurrency limit of the tool.
+	 * @return The counts keyed by tool name
+	 * @see McpServer.AsyncSpecification#toolConcurrencyLimit(String, ConcurrencyLimit)
+	 */
+	public Map<String, ConcurrencyStats> getToolConcurrencyStats() {
+		Map<String, ConcurrencyStats> stats = new HashMap<>();
+		this.toolBulkheads.forEach((name, bulkhead) -> stats.put(name, bulkhead.stats()));
+		return stats;
+	}
+
 	/**
 	 * Gracefully closes the server, allowing any in-progress operations to complete.
 	 * @return A Mono that completes when the server has been closed
@@ -263,6 +372,18 @@ public class McpAsyncServer {
 				.then());
 	}
 
+	// ---------------------------------------
+	// Pagination
+	// ---------------------------------------
+
+	private static long decodeCursor(McpSchema.PaginatedRequest request) {
+		return PageCursor.decode(request != null ? request.cursor() : null);
+	}
+
+	private static String encodeCursor(Long next) {
+		return next != null ? PageCursor.encode(next) : null;
+	}
+
 	// ---------------------------------------
 	// Tool Management
 	// ---------------------------------------
@@ -288,21 +409,71 @@ public class McpAsyncServer {
 
 		return Mono.defer(() -> {
 			// Check for duplicate tool names
-			if (this.tools.stream().anyMatch(th -> th.tool().name().equals(toolSpecification.tool().name()))) {
+			if (!this.tools.putIfAbsent(toolSpecification.tool().name(), toolSpecification)) {
 				return Mono
 					.error(new McpError("Tool with name '" + toolSpecification.tool().name() + "' already exists"));
 			}
 
-			this.tools.add(toolSpecification);
 			logger.debug("Added tool handler: {}", toolSpecification.tool().name());
 
 			if (this.serverCapabilities.tools().listChanged()) {
-				return notifyToolsListChanged();
+				return this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, 1);
 			}
 			return Mono.empty();
 		});
 	}
 
+	/**
+	 * Add several tool specifications at runtime, notifying clients of the change at most
+	 * once.
+	 * @param toolSpecifications The tool specifications to add
+	 * @return Mono that completes when clients have been notified of the change
+	 */
+	public Mono<Void> addTools(Collection<McpServerFeatures.AsyncToolSpecification> toolSpecifications) {
+		if (toolSpecifications == null) {
+			return Mono.error(new McpError("Tool specifications must not be null"));
+		}
+		for (McpServerFeatures.AsyncToolSpecification toolSpecification : toolSpecifications) {
+			if (toolSpecification == null || toolSpecification.tool() == null || toolSpecification.call() == null) {
+				return Mono.error(new McpError("Tool specifications must have a tool and a call handler"));
+			}
+		}
+		if (this.serverCapabilities.tools() == null) {
+			return Mono.error(new McpError("Server must be configured with tool capabilities"));
+		}
+
+		return Mono.defer(() -> {
+			Set<String> names = new HashSet<>();
+			for (McpServerFeatures.AsyncToolSpecification toolSpecification : toolSpecifications) {
+				String name = toolSpecification.tool().name();
+				if (!names.add(name) || this.tools.get(name) != null) {
+					return Mono.error(new McpError("Tool with name '" + name + "' already exists"));
+				}
+			}
+
+			int added = 0;
+			String duplicate = null;
+			for (McpServerFeatures.AsyncToolSpecification toolSpecification : toolSpecifications) {
+				if (this.tools.putIfAbsent(toolSpecification.tool().name(), toolSpecification)) {
+					added++;
+				}
+				else {
+					// Registered concurrently since the check above
+					duplicate = toolSpecification.tool().name();
+				}
+			}
+			logger.debug("Added {} tool handlers", added);
+
+			Mono<Void> notification = this.serverCapabilities.tools().listChanged()
+					? this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, added)
+					: Mono.empty();
+			if (duplicate != null) {
+				return notification.then(Mono.error(new McpError("Tool with name '" + duplicate + "' already exists")));
+			}
+			return notification;
+		});
+	}
+
 	/**
 	 * Remove a tool handler at runtime.
 	 * @param toolName The name of the tool handler to remove
@@ -317,12 +488,11 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			boolean removed = this.tools
-				.removeIf(toolSpecification -> toolSpecification.tool().name().equals(toolName));
-			if (removed) {
+			if (this.tools.remove(toolName) != null) {
+				this.toolBulkheads.remove(toolName);
 				logger.debug("Removed tool handler: {}", toolName);
 				if (this.serverCapabilities.tools().listChanged()) {
-					return notifyToolsListChanged();
+					return this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, 1);
 				}
 				return Mono.empty();
 			}
@@ -338,31 +508,36 @@ public class McpAsyncServer {
 		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null);
 	}
 
-	private McpServerSession.RequestHandler<McpSchema.ListToolsResult> toolsListRequestHandler() {
-		return (exchange, params) -> {
-			List<Tool> tools = this.tools.stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList();
+	private McpServerSession.RequestHandler<McpEncodedResult<McpSchema.ListToolsResult>> toolsListRequestHandler() {
+		return new McpServerSession.TypedRequestHandler<>(PAGINATED_REQUEST_TYPE_REF,
+				(exchange, request) -> Mono.just(this.toolsListCache.get(decodeCursor(request), this::listTools)));
+	}
 
-			return Mono.just(new McpSchema.ListToolsResult(tools, null));
-		};
+	private McpSchema.ListToolsResult listTools(long after) {
+		NamedIndex.Page<McpServerFeatures.AsyncToolSpecification> page = this.tools.page(after, this.pageSize);
+		List<Tool> tools = page.values().stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList();
+
+		return new McpSchema.ListToolsResult(tools, encodeCursor(page.next()));
 	}
 
 	private McpServerSession.RequestHandler<CallToolResult> toolsCallRequestHandler() {
-		return (exchange, params) -> {
-			McpSchema.CallToolRequest callToolRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.CallToolRequest>() {
-					});
-
-			Optional<McpServerFeatures.AsyncToolSpecification> toolSpecification = this.tools.stream()
-				.filter(tr -> callToolRequest.name().equals(tr.tool().name()))
-				.findAny();
+		return new McpServerSession.TypedRequestHandler<>(CALL_TOOL_REQUEST_TYPE_REF, (exchange, callToolRequest) -> {
+			McpServerFeatures.AsyncToolSpecification toolSpecification = this.tools.get(callToolRequest.name());
 
-			if (toolSpecification.isEmpty()) {
+			if (toolSpecification == null) {
 				return Mono.error(new McpError("Tool not found: " + callToolRequest.name()));
 			}
 
-			return toolSpecification.map(tool -> tool.call().apply(exchange, callToolRequest.arguments()))
-				.orElse(Mono.error(new McpError("Tool not found: " + callToolRequest.name())));
-		};
+			Bulkhead toolBulkhead = this.toolBulkheads.computeIfAbsent(callToolRequest.name(),
+					name -> new Bulkhead("tool " + name,
+							this.toolConcurrencyLimits.getOrDefault(name, Bulkhead.UNLIMITED)));
+			Mono<CallToolResult> call = toolBulkhead.call(Mono.defer(() -> toolSpecification.call()
+				.apply(exchange.forRequest(callToolRequest), callToolRequest.arguments())));
+			if (this.sessionConcurrencyLimit != null) {
+				call = exchange.toolCallBulkhead(this.sessionConcurrencyLimit).call(call);
+			}
+			return call;
+		});
 	}
 
 	// ---------------------------------------
@@ -384,18 +559,70 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			if (this.resources.putIfAbsent(resourceSpecification.resource().uri(), resourceSpecification) != null) {
+			String uri = resourceSpecification.resource().uri();
+			if (!this.resources.putIfAbsent(uri, resourceSpecification)) {
 				return Mono.error(new McpError(
 						"Resource with URI '" + resourceSpecification.resource().uri() + "' already exists"));
 			}
 			logger.debug("Added resource handler: {}", resourceSpecification.resource().uri());
 			if (this.serverCapabilities.resources().listChanged()) {
-				return notifyResourcesListChanged();
+				return this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, 1);
 			}
 			return Mono.empty();
 		});
 	}
 
+	/**
+	 * Add several resource handlers at runtime, notifying clients of the change at most
+	 * once.
+	 * @param resourceSpecifications The resource handlers to add
+	 * @return Mono that completes when clients have been notified of the change
+	 */
+	public Mono<Void> addResources(Collection<McpServerFeatures.AsyncResourceSpecification> resourceSpecifications) {
+		if (resourceSpecifications == null) {
+			return Mono.error(new McpError("Resource specifications must not be null"));
+		}
+		for (McpServerFeatures.AsyncResourceSpecification resourceSpecification : resourceSpecifications) {
+			if (resourceSpecification == null || resourceSpecification.resource() == null) {
+				return Mono.error(new McpError("Resource must not be null"));
+			}
+		}
+		if (this.serverCapabilities.resources() == null) {
+			return Mono.error(new McpError("Server must be configured with resource capabilities"));
+		}
+
+		return Mono.defer(() -> {
+			Set<String> uris = new HashSet<>();
+			for (McpServerFeatures.AsyncResourceSpecification resourceSpecification : resourceSpecifications) {
+				String uri = resourceSpecification.resource().uri();
+				if (!uris.add(uri) || this.resources.get(uri) != null) {
+					return Mono.error(new McpError("Resource with URI '" + uri + "' already exists"));
+				}
+			}
+
+			int added = 0;
+			String duplicate = null;
+			for (McpServerFeatures.AsyncResourceSpecification resourceSpecification : resourceSpecifications) {
+				if (this.resources.putIfAbsent(resourceSpecification.resource().uri(), resourceSpecification)) {
+					added++;
+				}
+				else {
+					// Registered concurrently since the check above
+					duplicate = resourceSpecification.resource().uri();
+				}
+			}
+			logger.debug("Added {} resource handlers", added);
+
+			Mono<Void> notification = this.serverCapabilities.resources().listChanged() ? this.listChangedNotifier
+				.notifyChanged(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, added) : Mono.empty();
+			if (duplicate != null) {
+				return notification
+					.then(Mono.error(new McpError("Resource with URI '" + duplicate + "' already exists")));
+			}
+			return notification;
+		});
+	}
+
 	/**
 	 * Remove a resource handler at runtime.
 	 * @param resourceUri The URI of the resource handler to remove
@@ -410,11 +637,11 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpServerFeatures.AsyncResourceSpecification removed = this.resources.remove(resourceUri);
-			if (removed != null) {
+			if (this.resources.remove(resourceUri) != null) {
 				logger.debug("Removed resource handler: {}", resourceUri);
 				if (this.serverCapabilities.resources().listChanged()) {
-					return notifyResourcesListChanged();
+					return this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED,
+							1);
 				}
 				return Mono.empty();
 			}
@@ -439,57 +666,96 @@ public class McpAsyncServer {
 				resourcesUpdatedNotification);
 	}
 
-	private McpServerSession.RequestHandler<McpSchema.ListResourcesResult> resourcesListRequestHandler() {
-		return (exchange, params) -> {
-			var resourceList = this.resources.values()
-				.stream()
-				.map(McpServerFeatures.AsyncResourceSpecification::resource)
-				.toList();
-			return Mono.just(new McpSchema.ListResourcesResult(resourceList, null));
-		};
+	private void resourceAdded(String uri, McpServerFeatures.AsyncResourceSpecification resourceSpecification) {
+		if (this.resourceRouter != null) {
+			this.resourceRouter.add(uri, resourceSpecification);
+		}
+		if (uri.contains("{")) {
+			this.templatedResources.putIfAbsent(uri, resourceSpecification);
+		}
+		this.resourcesListCache.invalidate();
 	}
 
-	private McpServerSession.RequestHandler<McpSchema.ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-		return (exchange, params) -> Mono
-			.just(new McpSchema.ListResourceTemplatesResult(this.getResourceTemplates(), null));
+	private void resourceRemoved(String uri) {
+		if (this.resourceRouter != null) {
+			this.resourceRouter.remove(uri);
+		}
+		this.templatedResources.remove(uri);
+		this.resourcesListCache.invalidate();
+	}
 
+	private McpServerSession.RequestHandler<McpEncodedResult<McpSchema.ListResourcesResult>> resourcesListRequestHandler() {
+		return new McpServerSession.TypedRequestHandler<>(PAGINATED_REQUEST_TYPE_REF, (exchange, request) -> Mono
+			.just(this.resourcesListCache.get(decodeCursor(request), this::listResources)));
 	}
 
-	private List<McpSchema.ResourceTemplate> getResourceTemplates() {
-		var list = new ArrayList<>(this.resourceTemplates);
-		List<ResourceTemplate> resourceTemplates = this.resources.keySet()
-			.stream()
-			.filter(uri -> uri.contains("{"))
-			.map(uri -> {
-				var resource = this.resources.get(uri).resource();
-				var template = new McpSchema.ResourceTemplate(resource.uri(), resource.name(), resource.description(),
-						resource.mimeType(), resource.annotations());
-				return template;
-			})
-			.toList();
+	private McpSchema.ListResourcesResult listResources(long after) {
+		NamedIndex.Page<McpServerFeatures.AsyncResourceSpecification> page = this.resources.page(after, this.pageSize);
+		var resourceList = page.values().stream().map(McpServerFeatures.AsyncResourceSpecification::resource).toList();
+		return new McpSchema.ListResourcesResult(resourceList, encodeCursor(page.next()));
+	}
+
+	private McpServerSession.RequestHandler<McpEncodedResult<McpSchema.ListResourceTemplatesResult>> resourceTemplateListRequestHandler() {
+		return new McpServerSession.TypedRequestHandler<>(PAGINATED_REQUEST_TYPE_REF, (exchange, request) -> Mono
+			.just(this.resourceTemplatesListCache.get(decodeCursor(request), this::listResourceTemplates)));
+	}
 
-		list.addAll(resourceTemplates);
+	/**
+	 * Lists a page of the resource templates: the templates the server was built with,
+	 * followed by the resources registered under a URI template. The fixed templates take
+	 * the first positions, and the templated resources the positions after them, ordered
+	 * by registration.
+	 */
+	private McpSchema.ListResourceTemplatesResult listResourceTemplates(long after) {
+		List<ResourceTemplate> templates = new ArrayList<>();
+		int fixed = this.resourceTemplates.size();
+		int position = (int) Math.min(after + 1, fixed);
+		while (position < fixed && templates.size() < this.pageSize) {
+			templates.add(this.resourceTemplates.get(position++));
+		}
+		if (templates.size() == this.pageSize) {
+			boolean more = position < fixed || this.templatedResources.size() > 0;
+			return new McpSchema.ListResourceTemplatesResult(templates, more ? encodeCursor(position - 1L) : null);
+		}
 
-		return list;
+		NamedIndex.Page<McpServerFeatures.AsyncResourceSpecification> page = this.templatedResources
+			.page(Math.max(after - fixed, PageCursor.FIRST), this.pageSize - templates.size());
+		for (McpServerFeatures.AsyncResourceSpecification resourceSpecification : page.values()) {
+			var resource = resourceSpecification.resource();
+			templates.add(new McpSchema.ResourceTemplate(resource.uri(), resource.name(), resource.description(),
+					resource.mimeType(), resource.annotations()));
+		}
+		return new McpSchema.ListResourceTemplatesResult(templates,
+				page.next() != null ? encodeCursor(page.next() + fixed) : null);
 	}
 
 	private McpServerSession.RequestHandler<McpSchema.ReadResourceResult> resourcesReadRequestHandler() {
-		return (exchange, params) -> {
-			McpSchema.ReadResourceRequest resourceRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.ReadResourceRequest>() {
-					});
-			var resourceUri = resourceRequest.uri();
-
-			McpServerFeatures.AsyncResourceSpecification specification = this.resources.values()
-				.stream()
-				.filter(resourceSpecification -> this.uriTemplateManagerFactory
-					.create(resourceSpecification.resource().uri())
-					.matches(resourceUri))
-				.findFirst()
-				.orElseThrow(() -> new McpError("Resource not found: " + resourceUri));
+		return new McpServerSession.TypedRequestHandler<>(READ_RESOURCE_REQUEST_TYPE_REF,
+				(exchange, resourceRequest) -> {
+					var resourceUri = resourceRequest.uri();
+
+					var specification = this.resourceRouter != null ? this.resourceRouter.match(resourceUri)
+							: findResource(resourceUri);
+					if (specification == null) {
+						return Mono.error(new McpError("Resource not found: " + resourceUri));
+					}
+
+					return specification.readHandler().apply(exchange.forRequest(resourceRequest), resourceRequest);
+				});
+	}
 
-			return specification.readHandler().apply(exchange, resourceRequest);
-		};
+	/**
+	 * Finds the first resource, in registration order, whose URI or URI template matches
+	 * the given URI according to the custom URI template manager factory.
+	 */
+	private McpServerFeatures.AsyncResourceSpecification findResource(String resourceUri) {
+		return this.resources.values()
+			.stream()
+			.filter(resourceSpecification -> this.uriTemplateManagerFactory
+				.create(resourceSpecification.resource().uri())
+				.matches(resourceUri))
+			.findFirst()
+			.orElse(null);
 	}
 
 	// ---------------------------------------
@@ -510,9 +776,7 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			McpServerFeatures.AsyncPromptSpecification specification = this.prompts
-				.putIfAbsent(promptSpecification.prompt().name(), promptSpecification);
-			if (specification != null) {
+			if (!this.prompts.putIfAbsent(promptSpecification.prompt().name(), promptSpecification)) {
 				return Mono.error(
 						new McpError("Prompt with name '" + promptSpecification.prompt().name() + "' already exists"));
 			}
@@ -523,12 +787,64 @@ public class McpAsyncServer {
 			// notification,
 			// when the list of available prompts changes
 			if (this.serverCapabilities.prompts().listChanged()) {
-				return notifyPromptsListChanged();
+				return this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, 1);
 			}
 			return Mono.empty();
 		});
 	}
 
+	/**
+	 * Add several prompt handlers at runtime, notifying clients of the change at most
+	 * once.
+	 * @param promptSpecifications The prompt handlers to add
+	 * @return Mono that completes when clients have been notified of the change
+	 */
+	public Mono<Void> addPrompts(Collection<McpServerFeatures.AsyncPromptSpecification> promptSpecifications) {
+		if (promptSpecifications == null) {
+			return Mono.error(new McpError("Prompt specifications must not be null"));
+		}
+		for (McpServerFeatures.AsyncPromptSpecification promptSpecification : promptSpecifications) {
+			if (promptSpecification == null) {
+				return Mono.error(new McpError("Prompt specification must not be null"));
+			}
+		}
+		if (this.serverCapabilities.prompts() == null) {
+			return Mono.error(new McpError("Server must be configured with prompt capabilities"));
+		}
+
+		return Mono.defer(() -> {
+			Set<String> names = new HashSet<>();
+			for (McpServerFeatures.AsyncPromptSpecification promptSpecification : promptSpecifications) {
+				String name = promptSpecification.prompt().name();
+				if (!names.add(name) || this.prompts.get(name) != null) {
+					return Mono.error(new McpError("Prompt with name '" + name + "' already exists"));
+				}
+			}
+
+			int added = 0;
+			String duplicate = null;
+			for (McpServerFeatures.AsyncPromptSpecification promptSpecification : promptSpecifications) {
+				if (this.prompts.putIfAbsent(promptSpecification.prompt().name(), promptSpecification)) {
+					added++;
+				}
+				else {
+					// Registered concurrently since the check above
+					duplicate = promptSpecification.prompt().name();
+				}
+			}
+			logger.debug("Added {} prompt handlers", added);
+
+			Mono<Void> notification = this.serverCapabilities.prompts().listChanged()
+					? this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, added)
+					: Mono.empty();
+			if (duplicate != null) {
+				return notification
+					.then(Mono.error(new McpError("Prompt with name '" + duplicate + "' already exists")));
+			}
+			return notification;
+		});
+	}
+
 	/**
 	 * Remove a prompt handler at runtime.
 	 * @param promptName The name of the prompt handler to remove
@@ -550,7 +866,8 @@ public class McpAsyncServer {
 				// Servers that declared the listChanged capability SHOULD send a
 				// notification, when the list of available prompts changes
 				if (this.serverCapabilities.prompts().listChanged()) {
-					return this.notifyPromptsListChanged();
+					return this.listChangedNotifier.notifyChanged(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED,
+							1);
 				}
 				return Mono.empty();
 			}
@@ -566,36 +883,28 @@ public class McpAsyncServer {
 		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null);
 	}
 
-	private McpServerSession.RequestHandler<McpSchema.ListPromptsResult> promptsListRequestHandler() {
-		return (exchange, params) -> {
-			// TODO: Implement pagination
-			// McpSchema.PaginatedRequest request = objectMapper.convertValue(params,
-			// new TypeReference<McpSchema.PaginatedRequest>() {
-			// });
+	private McpServerSession.RequestHandler<McpEncodedResult<McpSchema.ListPromptsResult>> promptsListRequestHandler() {
+		return new McpServerSession.TypedRequestHandler<>(PAGINATED_REQUEST_TYPE_REF,
+				(exchange, request) -> Mono.just(this.promptsListCache.get(decodeCursor(request), this::listPrompts)));
+	}
 
-			var promptList = this.prompts.values()
-				.stream()
-				.map(McpServerFeatures.AsyncPromptSpecification::prompt)
-				.toList();
+	private McpSchema.ListPromptsResult listPrompts(long after) {
+		NamedIndex.Page<McpServerFeatures.AsyncPromptSpecification> page = this.prompts.page(after, this.pageSize);
+		var promptList = page.values().stream().map(McpServerFeatures.AsyncPromptSpecification::prompt).toList();
 
-			return Mono.just(new McpSchema.ListPromptsResult(promptList, null));
-		};
+		return new McpSchema.ListPromptsResult(promptList, encodeCursor(page.next()));
 	}
 
 	private McpServerSession.RequestHandler<McpSchema.GetPromptResult> promptsGetRequestHandler() {
-		return (exchange, params) -> {
-			McpSchema.GetPromptRequest promptRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.GetPromptRequest>() {
-					});
-
+		return new McpServerSession.TypedRequestHandler<>(GET_PROMPT_REQUEST_TYPE_REF, (exchange, promptRequest) -> {
 			// Implement prompt retrieval logic here
 			McpServerFeatures.AsyncPromptSpecification specification = this.prompts.get(promptRequest.name());
 			if (specification == null) {
 				return Mono.error(new McpError("Prompt not found: " + promptRequest.name()));
 			}
 
-			return specification.promptHandler().apply(exchange, promptRequest);
-		};
+			return specification.promptHandler().apply(exchange.forRequest(promptRequest), promptRequest);
+		});
 	}
 
 	// ---------------------------------------
@@ -629,22 +938,19 @@ public class McpAsyncServer {
 	}
 
 	private McpServerSession.RequestHandler<Object> setLoggerRequestHandler() {
-		return (exchange, params) -> {
-			return Mono.defer(() -> {
-
-				SetLevelRequest newMinLoggingLevel = objectMapper.convertValue(params,
-						new TypeReference<SetLevelRequest>() {
-						});
+		return new McpServerSession.TypedRequestHandler<>(SET_LEVEL_REQUEST_TYPE_REF,
+				(exchange, newMinLoggingLevel) -> {
+					return Mono.defer(() -> {
 
-				exchange.setMinLoggingLevel(newMinLoggingLevel.level());
+						exchange.setMinLoggingLevel(newMinLoggingLevel.level());
 
-				// FIXME: this field is deprecated and should be removed together
-				// with the broadcasting loggingNotification.
-				this.minLoggingLevel = newMinLoggingLevel.level();
+						// FIXME: this field is deprecated and should be removed together
+						// with the broadcasting loggingNotification.
+						this.minLoggingLevel = newMinLoggingLevel.level();
 
-				return Mono.just(Map.of());
-			});
-		};
+						return Mono.just(Map.of());
+					});
+				});
 	}
 
 	private McpServerSession.RequestHandler<McpSchema.CompleteResult> completionCompleteRequestHandler() {
@@ -707,31 +1013,30 @@ public class McpAsyncServer {
 	 * Parses the raw JSON-RPC request parameters into a {@link McpSchema.CompleteRequest}
 	 * object.
 	 * <p>
-	 * This method manually extracts the `ref` and `argument` fields from the input map,
+	 * This method manually extracts the `ref` and `argument` fields from the input tree,
 	 * determines the correct reference type (either prompt or resource), and constructs a
 	 * fully-typed {@code CompleteRequest} instance.
-	 * @param object the raw request parameters, expected to be a Map containing "ref" and
-	 * "argument" entries.
+	 * @param object the raw request parameters, expected to be a JSON object (either a
+	 * {@link JsonNode} or a Map) containing "ref" and "argument" entries.
 	 * @return a {@link McpSchema.CompleteRequest} representing the structured completion
 	 * request.
 	 * @throws IllegalArgumentException if the "ref" type is not recognized.
 	 */
-	@SuppressWarnings("unchecked")
 	private McpSchema.CompleteRequest parseCompletionParams(Object object) {
-		Map<String, Object> params = (Map<String, Object>) object;
-		Map<String, Object> refMap = (Map<String, Object>) params.get("ref");
-		Map<String, Object> argMap = (Map<String, Object>) params.get("argument");
+		JsonNode params = object instanceof JsonNode node ? node : objectMapper.valueToTree(object);
+		JsonNode refNode = params.path("ref");
+		JsonNode argNode = params.path("argument");
 
-		String refType = (String) refMap.get("type");
+		String refType = refNode.path("type").textValue();
 
 		McpSchema.CompleteReference ref = switch (refType) {
-			case "ref/prompt" -> new McpSchema.PromptReference(refType, (String) refMap.get("name"));
-			case "ref/resource" -> new McpSchema.ResourceReference(refType, (String) refMap.get("uri"));
+			case "ref/prompt" -> new McpSchema.PromptReference(refType, refNode.path("name").textValue());
+			case "ref/resource" -> new McpSchema.ResourceReference(refType, refNode.path("uri").textValue());
 			default -> throw new IllegalArgumentException("Invalid ref type: " + refType);
 		};
 
-		String argName = (String) argMap.get("name");
-		String argValue = (String) argMap.get("value");
+		String argName = argNode.path("name").textValue();
+		String argValue = argNode.path("value").textValue();
 		McpSchema.CompleteRequest.CompleteArgument argument = new McpSchema.CompleteRequest.CompleteArgument(argName,
 				argValue);
 
@@ -747,4 +1052,14 @@ public class McpAsyncServer {
 		this.protocolVersions = protocolVersions;
 	}
 
+	/**
+	 * Concurrency counts of a tool.
+	 *
+	 * @param active the number of calls running
+	 * @param queued the number of calls waiting for a running call to complete
+	 * @param rejected the number of calls rejected so far
+	 */
+	public record ConcurrencyStats(int active, int queued, long rejected) {
+	}
+
 }
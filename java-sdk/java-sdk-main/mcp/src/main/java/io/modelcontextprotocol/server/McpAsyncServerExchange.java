@@ -6,6 +6,7 @@ package io.modelcontextprotocol.server;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.spec.McpError;
@@ -14,6 +15,7 @@ import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -33,6 +35,18 @@ public class McpAsyncServerExchange {
 
 	private volatile LoggingLevel minLoggingLevel = LoggingLevel.INFO;
 
+	/** The exchange holding the state of the session, this one unless request scoped */
+	private final McpAsyncServerExchange sessionExchange;
+
+	/** Progress token of the request this exchange is scoped to, or null */
+	private final Object progressToken;
+
+	/** Whether the client asked for the content of the tool result to be streamed */
+	private final boolean streamResult;
+
+	/** Limits the tool calls of the session, created on the first call */
+	private Bulkhead toolCallBulkhead;
+
 	private static final TypeReference<McpSchema.CreateMessageResult> CREATE_MESSAGE_RESULT_TYPE_REF = new TypeReference<>() {
 	};
 
@@ -57,6 +71,69 @@ public class McpAsyncServerExchange {
 		this.session = session;
 		this.clientCapabilities = clientCapabilities;
 		this.clientInfo = clientInfo;
+		this.sessionExchange = this;
+		this.progressToken = null;
+		this.streamResult = false;
+	}
+
+	private McpAsyncServerExchange(McpAsyncServerExchange sessionExchange, Object progressToken, boolean streamResult) {
+		this.session = sessionExchange.session;
+		this.clientCapabilities = sessionExchange.clientCapabilities;
+		this.clientInfo = sessionExchange.clientInfo;
+		this.sessionExchange = sessionExchange;
+		this.progressToken = progressToken;
+		this.streamResult = streamResult;
+	}
+
+	/**
+	 * Returns an exchange scoped to the given request, reporting the progress of that
+	 * request through {@link #progress(double, Double, String)}.
+	 * @param request the request being handled
+	 * @return the exchange to hand to the handler of the request
+	 */
+	McpAsyncServerExchange forRequest(McpSchema.Request request) {
+		// The raw token, since the notifications must echo a numeric token unchanged
+		Object token = request != null && request.meta() != null ? request.meta().get("progressToken") : null;
+		if (token == null) {
+			return this.sessionExchange;
+		}
+		boolean streamResult = Boolean.TRUE.equals(request.meta().get(McpSchema.STREAM_RESULT_META_KEY));
+		return new McpAsyncServerExchange(this.sessionExchange, token, streamResult);
+	}
+
+	/**
+	 * Turns the content chunks of a tool result into the result of the tool call. When
+	 * the client asked for the result to be streamed, every chunk is sent as soon as it
+	 * is produced along with its index, the next chunk being requested once the transport
+	 * reports the previous one sent, and the result holds no content. Otherwise, the
+	 * chunks are collected into the result.
+	 * @param content the content chunks of the tool result
+	 * @return a Mono emitting the result of the tool call
+	 */
+	Mono<McpSchema.CallToolResult> toolResult(Flux<McpSchema.Content> content) {
+		if (!this.streamResult) {
+			return content.collectList().map(chunks -> new McpSchema.CallToolResult(chunks, false));
+		}
+		return content.index()
+			.concatMap(chunk -> this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT,
+					new McpSchema.PartialResultNotification(this.progressToken, chunk.getT1(), List.of(chunk.getT2()))),
+					1)
+			.then(Mono.fromSupplier(() -> new McpSchema.CallToolResult(List.of(), false)));
+	}
+
+	/**
+	 * Returns the bulkhead limiting the tool calls of this session.
+	 * @param limit the limit of the bulkhead to create on the first call
+	 * @return the bulkhead of the session
+	 */
+	synchronized Bulkhead toolCallBulkhead(ConcurrencyLimit limit) {
+		if (this.sessionExchange != this) {
+			return this.sessionExchange.toolCallBulkhead(limit);
+		}
+		if (this.toolCallBulkhead == null) {
+			this.toolCallBulkhead = new Bulkhead("tools in this session", limit);
+		}
+		return this.toolCallBulkhead;
 	}
 
 	/**
@@ -177,6 +254,36 @@ public class McpAsyncServerExchange {
 		});
 	}
 
+	/**
+	 * Reports the progress of the request being handled to the client, if the client
+	 * asked for progress by setting a progress token in the metadata of its request.
+	 * Otherwise, or when this exchange is not scoped to a request, nothing is sent.
+	 * @param progress The progress so far, which must increase with every report
+	 * @param total The total amount of work, if known, or null
+	 * @param message A message describing the current step, or null
+	 * @return A Mono that completes when the notification has been sent
+	 */
+	public Mono<Void> progress(double progress, Double total, String message) {
+		if (this.progressToken == null) {
+			return Mono.empty();
+		}
+		return progressNotification(new McpSchema.ProgressNotification(this.progressToken, progress, total, message));
+	}
+
+	/**
+	 * Sends a progress notification to the client.
+	 * @param progressNotification The progress notification to send, carrying the
+	 * progress token of the request it reports about
+	 * @return A Mono that completes when the notification has been sent
+	 * @see #progress(double, Double, String)
+	 */
+	public Mono<Void> progressNotification(McpSchema.ProgressNotification progressNotification) {
+		if (progressNotification == null) {
+			return Mono.error(new McpError("Progress notification must not be null"));
+		}
+		return this.session.sendNotification(McpSchema.METHOD_NOTIFICATION_PROGRESS, progressNotification);
+	}
+
 	/**
 	 * Sends a ping request to the client.
 	 * @return A Mono that completes with clients's ping response
@@ -192,11 +299,11 @@ public class McpAsyncServerExchange {
 	 */
 	void setMinLoggingLevel(LoggingLevel minLoggingLevel) {
 		Assert.notNull(minLoggingLevel, "minLoggingLevel must not be null");
-		this.minLoggingLevel = minLoggingLevel;
+		this.sessionExchange.minLoggingLevel = minLoggingLevel;
 	}
 
 	private boolean isNotificationForLevelAllowed(LoggingLevel loggingLevel) {
-		return loggingLevel.level() >= this.minLoggingLevel.level();
+		return loggingLevel.level() >= this.sessionExchange.minLoggingLevel.level();
 	}
 
 }
@@ -14,6 +14,8 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpPendingRequests;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.ResourceTemplate;
@@ -21,7 +23,10 @@ import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.DeafaultMcpUriTemplateManagerFactory;
 import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
+import io.modelcontextprotocol.util.VirtualThreads;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Factory class for creating Model Context Protocol (MCP) servers. MCP servers expose
@@ -203,6 +208,16 @@ public interface McpServer {
 
 		private Duration requestTimeout = Duration.ofSeconds(10); // Default timeout
 
+		private int maxPendingRequests = McpPendingRequests.UNBOUNDED;
+
+		private Duration listChangedDebounce = Duration.ZERO;
+
+		private int pageSize = Integer.MAX_VALUE;
+
+		private final Map<String, ConcurrencyLimit> toolConcurrencyLimits = new HashMap<>();
+
+		private ConcurrencyLimit sessionConcurrencyLimit;
+
 		private AsyncSpecification(McpServerTransportProvider transportProvider) {
 			Assert.notNull(transportProvider, "Transport provider must not be null");
 			this.transportProvider = transportProvider;
@@ -210,7 +225,10 @@ public interface McpServer {
 
 		/**
 		 * Sets the URI template manager factory to use for creating URI templates. This
-		 * allows for custom URI template parsing and variable extraction.
+		 * allows for custom URI template parsing and variable extraction. With the
+		 * default factory, {@code resources/read} requests are routed through an index of
+		 * the resource URIs; with a custom factory, each registered resource is matched
+		 * with a manager created by the factory, in registration order.
 		 * @param uriTemplateManagerFactory The factory to use. Must not be null.
 		 * @return This builder instance for method chaining
 		 * @throws IllegalArgumentException if uriTemplateManagerFactory is null
@@ -236,6 +254,87 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Limits the number of requests, such as sampling or elicitation, that may await
+		 * a client response at once in each session. Once the limit is reached, further
+		 * requests fail fast with an {@link McpError} until responses arrive or time out.
+		 * Unlimited by default.
+		 * @param maxPendingRequests The maximum number of requests in flight per session.
+		 * Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public AsyncSpecification maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be positive");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
+		/**
+		 * Sets the window within which changes to the tools, resources or prompts of the
+		 * server are collapsed into a single list changed notification per kind. Bursts
+		 * of registrations then cost clients a single re-list. Registrations complete
+		 * without waiting for the notification, which is sent at the end of the window.
+		 * By default, every change is notified right away.
+		 * @param listChangedDebounce The debounce window. Must not be null or negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if listChangedDebounce is null or negative
+		 */
+		public AsyncSpecification listChangedDebounce(Duration listChangedDebounce) {
+			Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+			Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+			this.listChangedDebounce = listChangedDebounce;
+			return this;
+		}
+
+		/**
+		 * Sets the max number of items returned in a page of the tools, resources,
+		 * resource templates and prompts lists. Further items are listed with the cursor
+		 * returned along with the page, which stays valid while items are added or
+		 * removed. By default, all items are returned in a single page.
+		 * @param pageSize The page size. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public AsyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Limits the number of concurrent calls of a tool, across all sessions. Calls
+		 * beyond the limit wait in the queue of the limit, and are rejected with the
+		 * {@link McpSchema.ErrorCodes#SERVER_BUSY} error code once the queue is full or
+		 * the queue timeout has elapsed. By default, the calls of a tool are not limited.
+		 * @param toolName The name of the tool to limit. Must not be null.
+		 * @param limit The limit of the tool. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolName or limit is null
+		 * @see McpAsyncServer#getToolConcurrencyStats()
+		 */
+		public AsyncSpecification toolConcurrencyLimit(String toolName, ConcurrencyLimit limit) {
+			Assert.notNull(toolName, "Tool name must not be null");
+			Assert.notNull(limit, "Concurrency limit must not be null");
+			this.toolConcurrencyLimits.put(toolName, limit);
+			return this;
+		}
+
+		/**
+		 * Limits the number of concurrent tool calls of each session, whatever the tool,
+		 * so that a single client cannot take up all the capacity of the server. The
+		 * calls beyond the limit are queued and rejected like those beyond the limit of a
+		 * tool. By default, the tool calls of a session are not limited.
+		 * @param limit The limit of every session. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if limit is null
+		 */
+		public AsyncSpecification sessionConcurrencyLimit(ConcurrencyLimit limit) {
+			Assert.notNull(limit, "Concurrency limit must not be null");
+			this.sessionConcurrencyLimit = limit;
+			return this;
+		}
+
 		/**
 		 * Sets the server implementation information that will be shared with clients
 		 * during connection initialization. This helps with version compatibility,
@@ -635,7 +734,8 @@ public interface McpServer {
 					this.instructions);
 			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
 			return new McpAsyncServer(this.transportProvider, mapper, features, this.requestTimeout,
-					this.uriTemplateManagerFactory);
+					this.maxPendingRequests, this.uriTemplateManagerFactory, this.listChangedDebounce, this.pageSize,
+					this.toolConcurrencyLimits, this.sessionConcurrencyLimit);
 		}
 
 	}
@@ -695,6 +795,18 @@ public interface McpServer {
 
 		private Duration requestTimeout = Duration.ofSeconds(10); // Default timeout
 
+		private int maxPendingRequests = McpPendingRequests.UNBOUNDED;
+
+		private Duration listChangedDebounce = Duration.ZERO;
+
+		private int pageSize = Integer.MAX_VALUE;
+
+		private final Map<String, ConcurrencyLimit> toolConcurrencyLimits = new HashMap<>();
+
+		private ConcurrencyLimit sessionConcurrencyLimit;
+
+		private Scheduler handlerScheduler = Schedulers.boundedElastic();
+
 		private SyncSpecification(McpServerTransportProvider transportProvider) {
 			Assert.notNull(transportProvider, "Transport provider must not be null");
 			this.transportProvider = transportProvider;
@@ -702,7 +814,10 @@ public interface McpServer {
 
 		/**
 		 * Sets the URI template manager factory to use for creating URI templates. This
-		 * allows for custom URI template parsing and variable extraction.
+		 * allows for custom URI template parsing and variable extraction. With the
+		 * default factory, {@code resources/read} requests are routed through an index of
+		 * the resource URIs; with a custom factory, each registered resource is matched
+		 * with a manager created by the factory, in registration order.
 		 * @param uriTemplateManagerFactory The factory to use. Must not be null.
 		 * @return This builder instance for method chaining
 		 * @throws IllegalArgumentException if uriTemplateManagerFactory is null
@@ -728,6 +843,119 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Limits the number of requests, such as sampling or elicitation, that may await
+		 * a client response at once in each session. Once the limit is reached, further
+		 * requests fail fast with an {@link McpError} until responses arrive or time out.
+		 * Unlimited by default.
+		 * @param maxPendingRequests The maximum number of requests in flight per session.
+		 * Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxPendingRequests is not positive
+		 */
+		public SyncSpecification maxPendingRequests(int maxPendingRequests) {
+			Assert.isTrue(maxPendingRequests > 0, "Max pending requests must be positive");
+			this.maxPendingRequests = maxPendingRequests;
+			return this;
+		}
+
+		/**
+		 * Sets the window within which changes to the tools, resources or prompts of the
+		 * server are collapsed into a single list changed notification per kind. Bursts
+		 * of registrations then cost clients a single re-list. Registrations complete
+		 * without waiting for the notification, which is sent at the end of the window.
+		 * By default, every change is notified right away.
+		 * @param listChangedDebounce The debounce window. Must not be null or negative.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if listChangedDebounce is null or negative
+		 */
+		public SyncSpecification listChangedDebounce(Duration listChangedDebounce) {
+			Assert.notNull(listChangedDebounce, "List changed debounce must not be null");
+			Assert.isTrue(!listChangedDebounce.isNegative(), "List changed debounce must not be negative");
+			this.listChangedDebounce = listChangedDebounce;
+			return this;
+		}
+
+		/**
+		 * Sets the max number of items returned in a page of the tools, resources,
+		 * resource templates and prompts lists. Further items are listed with the cursor
+		 * returned along with the page, which stays valid while items are added or
+		 * removed. By default, all items are returned in a single page.
+		 * @param pageSize The page size. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public SyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Limits the number of concurrent calls of a tool, across all sessions. Calls
+		 * beyond the limit wait in the queue of the limit, and are rejected with the
+		 * {@link McpSchema.ErrorCodes#SERVER_BUSY} error code once the queue is full or
+		 * the queue timeout has elapsed. By default, the calls of a tool are not limited.
+		 * @param toolName The name of the tool to limit. Must not be null.
+		 * @param limit The limit of the tool. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolName or limit is null
+		 * @see McpAsyncServer#getToolConcurrencyStats()
+		 */
+		public SyncSpecification toolConcurrencyLimit(String toolName, ConcurrencyLimit limit) {
+			Assert.notNull(toolName, "Tool name must not be null");
+			Assert.notNull(limit, "Concurrency limit must not be null");
+			this.toolConcurrencyLimits.put(toolName, limit);
+			return this;
+		}
+
+		/**
+		 * Limits the number of concurrent tool calls of each session, whatever the tool,
+		 * so that a single client cannot take up all the capacity of the server. The
+		 * calls beyond the limit are queued and rejected like those beyond the limit of a
+		 * tool. By default, the tool calls of a session are not limited.
+		 * @param limit The limit of every session. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if limit is null
+		 */
+		public SyncSpecification sessionConcurrencyLimit(ConcurrencyLimit limit) {
+			Assert.notNull(limit, "Concurrency limit must not be null");
+			this.sessionConcurrencyLimit = limit;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler the synchronous tool, resource, prompt, completion and roots
+		 * change handlers run on. Blocking calls made by the handlers, including the
+		 * calls to the {@link McpSyncServerExchange}, hold a thread of this scheduler
+		 * until they return. By default, the handlers run on
+		 * {@link Schedulers#boundedElastic()}, which is capped at ten threads per CPU and
+		 * queues the calls beyond that.
+		 * @param handlerScheduler The scheduler to run the handlers on. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if handlerScheduler is null
+		 * @see #virtualThreadHandlers()
+		 */
+		public SyncSpecification handlerScheduler(Scheduler handlerScheduler) {
+			Assert.notNull(handlerScheduler, "Handler scheduler must not be null");
+			this.handlerScheduler = handlerScheduler;
+			return this;
+		}
+
+		/**
+		 * Runs every synchronous handler call on a virtual thread of its own, so that
+		 * handlers blocking on I/O do not queue up behind each other. Requires Java 21 or
+		 * later.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalStateException if the running JVM does not support virtual
+		 * threads
+		 * @see VirtualThreads#scheduler()
+		 */
+		public SyncSpecification virtualThreadHandlers() {
+			this.handlerScheduler = VirtualThreads.scheduler();
+			return this;
+		}
+
 		/**
 		 * Sets the server implementation information that will be shared with clients
 		 * during connection initialization. This helps with version compatibility,
@@ -1125,12 +1353,14 @@ public interface McpServer {
 			McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(this.serverInfo, this.serverCapabilities,
 					this.tools, this.resources, this.resourceTemplates, this.prompts, this.completions,
 					this.rootsChangeHandlers, this.instructions);
-			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures);
+			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures,
+					this.handlerScheduler);
 			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
 			var asyncServer = new McpAsyncServer(this.transportProvider, mapper, asyncFeatures, this.requestTimeout,
-					this.uriTemplateManagerFactory);
+					this.maxPendingRequests, this.uriTemplateManagerFactory, this.listChangedDebounce, this.pageSize,
+					this.toolConcurrencyLimits, this.sessionConcurrencyLimit);
 
-			return new McpSyncServer(asyncServer);
+			return new McpSyncServer(asyncServer, this.handlerScheduler);
 		}
 
 	}
@@ -14,7 +14,9 @@ import java.util.function.BiFunction;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -99,24 +101,36 @@ public class McpServerFeatures {
 		 * user.
 		 */
 		static Async fromSync(Sync syncSpec) {
+			return fromSync(syncSpec, Schedulers.boundedElastic());
+		}
+
+		/**
+		 * Convert a synchronous specification into an asynchronous one running the
+		 * blocking code on the given scheduler.
+		 * @param syncSpec a potentially blocking, synchronous specification.
+		 * @param scheduler the scheduler to run the synchronous handlers on
+		 * @return a specification which is protected from blocking calls specified by the
+		 * user.
+		 */
+		static Async fromSync(Sync syncSpec, Scheduler scheduler) {
 			List<McpServerFeatures.AsyncToolSpecification> tools = new ArrayList<>();
 			for (var tool : syncSpec.tools()) {
-				tools.add(AsyncToolSpecification.fromSync(tool));
+				tools.add(AsyncToolSpecification.fromSync(tool, scheduler));
 			}
 
 			Map<String, AsyncResourceSpecification> resources = new HashMap<>();
 			syncSpec.resources().forEach((key, resource) -> {
-				resources.put(key, AsyncResourceSpecification.fromSync(resource));
+				resources.put(key, AsyncResourceSpecification.fromSync(resource, scheduler));
 			});
 
 			Map<String, AsyncPromptSpecification> prompts = new HashMap<>();
 			syncSpec.prompts().forEach((key, prompt) -> {
-				prompts.put(key, AsyncPromptSpecification.fromSync(prompt));
+				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, scheduler));
 			});
 
 			Map<McpSchema.CompleteReference, McpServerFeatures.AsyncCompletionSpecification> completions = new HashMap<>();
 			syncSpec.completions().forEach((key, completion) -> {
-				completions.put(key, AsyncCompletionSpecification.fromSync(completion));
+				completions.put(key, AsyncCompletionSpecification.fromSync(completion, scheduler));
 			});
 
 			List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootChangeConsumers = new ArrayList<>();
@@ -124,7 +138,7 @@ public class McpServerFeatures {
 			for (var rootChangeConsumer : syncSpec.rootsChangeConsumers()) {
 				rootChangeConsumers.add((exchange, list) -> Mono
 					.<Void>fromRunnable(() -> rootChangeConsumer.accept(new McpSyncServerExchange(exchange), list))
-					.subscribeOn(Schedulers.boundedElastic()));
+					.subscribeOn(scheduler));
 			}
 
 			return new Async(syncSpec.serverInfo(), syncSpec.serverCapabilities(), tools, resources,
@@ -239,7 +253,29 @@ public class McpServerFeatures {
 	public record AsyncToolSpecification(McpSchema.Tool tool,
 			BiFunction<McpAsyncServerExchange, Map<String, Object>, Mono<McpSchema.CallToolResult>> call) {
 
+		/**
+		 * Creates a specification of a tool producing its result as a stream of content
+		 * chunks, such as the lines of a large log search. Clients asking for it, see
+		 * {@link io.modelcontextprotocol.client.McpAsyncClient#callToolStreaming},
+		 * receive every chunk as soon as it is produced, so that the result never has to
+		 * be held in memory at once. Other clients receive all the chunks in the result.
+		 * @param tool The tool definition
+		 * @param call The function producing the content chunks of the result from the
+		 * exchange and the tool arguments
+		 * @return the tool specification
+		 */
+		public static AsyncToolSpecification streaming(McpSchema.Tool tool,
+				BiFunction<McpAsyncServerExchange, Map<String, Object>, Flux<McpSchema.Content>> call) {
+			Assert.notNull(call, "Call handler must not be null");
+			return new AsyncToolSpecification(tool,
+					(exchange, arguments) -> exchange.toolResult(call.apply(exchange, arguments)));
+		}
+
 		static AsyncToolSpecification fromSync(SyncToolSpecification tool) {
+			return fromSync(tool, Schedulers.boundedElastic());
+		}
+
+		static AsyncToolSpecification fromSync(SyncToolSpecification tool, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (tool == null) {
 				return null;
@@ -247,7 +283,7 @@ public class McpServerFeatures {
 			return new AsyncToolSpecification(tool.tool(),
 					(exchange, map) -> Mono
 						.fromCallable(() -> tool.call().apply(new McpSyncServerExchange(exchange), map))
-						.subscribeOn(Schedulers.boundedElastic()));
+						.subscribeOn(scheduler));
 		}
 	}
 
@@ -282,6 +318,10 @@ public class McpServerFeatures {
 			BiFunction<McpAsyncServerExchange, McpSchema.ReadResourceRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
 
 		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource) {
+			return fromSync(resource, Schedulers.boundedElastic());
+		}
+
+		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (resource == null) {
 				return null;
@@ -289,7 +329,7 @@ public class McpServerFeatures {
 			return new AsyncResourceSpecification(resource.resource(),
 					(exchange, req) -> Mono
 						.fromCallable(() -> resource.readHandler().apply(new McpSyncServerExchange(exchange), req))
-						.subscribeOn(Schedulers.boundedElastic()));
+						.subscribeOn(scheduler));
 		}
 	}
 
@@ -328,6 +368,10 @@ public class McpServerFeatures {
 			BiFunction<McpAsyncServerExchange, McpSchema.GetPromptRequest, Mono<McpSchema.GetPromptResult>> promptHandler) {
 
 		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt) {
+			return fromSync(prompt, Schedulers.boundedElastic());
+		}
+
+		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, Scheduler scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (prompt == null) {
 				return null;
@@ -335,7 +379,7 @@ public class McpServerFeatures {
 			return new AsyncPromptSpecification(prompt.prompt(),
 					(exchange, req) -> Mono
 						.fromCallable(() -> prompt.promptHandler().apply(new McpSyncServerExchange(exchange), req))
-						.subscribeOn(Schedulers.boundedElastic()));
+						.subscribeOn(scheduler));
 		}
 	}
 
@@ -367,13 +411,17 @@ public class McpServerFeatures {
 		 * {@code null} if input is null
 		 */
 		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion) {
+			return fromSync(completion, Schedulers.boundedElastic());
+		}
+
+		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion, Scheduler scheduler) {
 			if (completion == null) {
 				return null;
 			}
 			return new AsyncCompletionSpecification(completion.referenceKey(),
 					(exchange, request) -> Mono.fromCallable(
 							() -> completion.completionHandler().apply(new McpSyncServerExchange(exchange), request))
-						.subscribeOn(Schedulers.boundedElastic()));
+						.subscribeOn(scheduler));
 		}
 	}
 
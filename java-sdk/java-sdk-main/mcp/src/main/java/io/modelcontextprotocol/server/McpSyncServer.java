@@ -4,9 +4,14 @@
 
 package io.modelcontextprotocol.server;
 
+import java.util.List;
+import java.util.Map;
+
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 import io.modelcontextprotocol.util.Assert;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A synchronous implementation of the Model Context Protocol (MCP) server that wraps
@@ -54,13 +59,29 @@ public class McpSyncServer {
 	 */
 	private final McpAsyncServer asyncServer;
 
+	/**
+	 * The scheduler the handlers added at runtime run on.
+	 */
+	private final Scheduler handlerScheduler;
+
 	/**
 	 * Creates a new synchronous server that wraps the provided async server.
 	 * @param asyncServer The async server to wrap
 	 */
 	public McpSyncServer(McpAsyncServer asyncServer) {
+		this(asyncServer, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Creates a new synchronous server that wraps the provided async server.
+	 * @param asyncServer The async server to wrap
+	 * @param handlerScheduler The scheduler to run the handlers added at runtime on
+	 */
+	public McpSyncServer(McpAsyncServer asyncServer, Scheduler handlerScheduler) {
 		Assert.notNull(asyncServer, "Async server must not be null");
+		Assert.notNull(handlerScheduler, "Handler scheduler must not be null");
 		this.asyncServer = asyncServer;
+		this.handlerScheduler = handlerScheduler;
 	}
 
 	/**
@@ -68,7 +89,21 @@ public class McpSyncServer {
 	 * @param toolHandler The tool handler to add
 	 */
 	public void addTool(McpServerFeatures.SyncToolSpecification toolHandler) {
-		this.asyncServer.addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler)).block();
+		this.asyncServer.addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler, this.handlerScheduler))
+			.block();
+	}
+
+	/**
+	 * Add several tool handlers at once, notifying clients of the change at most once.
+	 * @param toolHandlers The tool handlers to add
+	 */
+	public void addTools(List<McpServerFeatures.SyncToolSpecification> toolHandlers) {
+		Assert.notNull(toolHandlers, "Tool handlers must not be null");
+		this.asyncServer
+			.addTools(toolHandlers.stream()
+				.map(tool -> McpServerFeatures.AsyncToolSpecification.fromSync(tool, this.handlerScheduler))
+				.toList())
+			.block();
 	}
 
 	/**
@@ -84,7 +119,23 @@ public class McpSyncServer {
 	 * @param resourceHandler The resource handler to add
 	 */
 	public void addResource(McpServerFeatures.SyncResourceSpecification resourceHandler) {
-		this.asyncServer.addResource(McpServerFeatures.AsyncResourceSpecification.fromSync(resourceHandler)).block();
+		this.asyncServer
+			.addResource(McpServerFeatures.AsyncResourceSpecification.fromSync(resourceHandler, this.handlerScheduler))
+			.block();
+	}
+
+	/**
+	 * Add several resource handlers at once, notifying clients of the change at most
+	 * once.
+	 * @param resourceHandlers The resource handlers to add
+	 */
+	public void addResources(List<McpServerFeatures.SyncResourceSpecification> resourceHandlers) {
+		Assert.notNull(resourceHandlers, "Resource handlers must not be null");
+		this.asyncServer
+			.addResources(resourceHandlers.stream()
+				.map(resource -> McpServerFeatures.AsyncResourceSpecification.fromSync(resource, this.handlerScheduler))
+				.toList())
+			.block();
 	}
 
 	/**
@@ -100,7 +151,22 @@ public class McpSyncServer {
 	 * @param promptSpecification The prompt specification to add
 	 */
 	public void addPrompt(McpServerFeatures.SyncPromptSpecification promptSpecification) {
-		this.asyncServer.addPrompt(McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification)).block();
+		this.asyncServer
+			.addPrompt(McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification, this.handlerScheduler))
+			.block();
+	}
+
+	/**
+	 * Add several prompt handlers at once, notifying clients of the change at most once.
+	 * @param promptSpecifications The prompt handlers to add
+	 */
+	public void addPrompts(List<McpServerFeatures.SyncPromptSpecification> promptSpecifications) {
+		Assert.notNull(promptSpecifications, "Prompt specifications must not be null");
+		this.asyncServer
+			.addPrompts(promptSpecifications.stream()
+				.map(prompt -> McpServerFeatures.AsyncPromptSpecification.fromSync(prompt, this.handlerScheduler))
+				.toList())
+			.block();
 	}
 
 	/**
@@ -134,6 +200,24 @@ public class McpSyncServer {
 		return this.asyncServer.getServerInfo();
 	}
 
+	/**
+	 * Get the number of list changed notifications that were not sent, because the change
+	 * was collapsed into the notification of another change.
+	 * @return The number of suppressed list changed notifications
+	 */
+	public long getSuppressedListChangedNotifications() {
+		return this.asyncServer.getSuppressedListChangedNotifications();
+	}
+
+	/**
+	 * Get the current concurrency counts of the tools called so far.
+	 * @return The counts keyed by tool name
+	 * @see McpAsyncServer#getToolConcurrencyStats()
+	 */
+	public Map<String, McpAsyncServer.ConcurrencyStats> getToolConcurrencyStats() {
+		return this.asyncServer.getToolConcurrencyStats();
+	}
+
 	/**
 	 * Notify clients that the list of available resources has changed.
 	 */
@@ -11,6 +11,12 @@ import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
  * Represents a synchronous exchange with a Model Context Protocol (MCP) client. The
  * exchange provides methods to interact with the client and query its capabilities.
  *
+ * <p>
+ * The methods block the calling thread until the client answers. When the server runs its
+ * handlers on virtual threads, see
+ * {@link McpServer.SyncSpecification#virtualThreadHandlers()}, a blocked call only parks
+ * its virtual thread.
+ *
  * @author Dariusz Jędrzejczyk
  * @author Christian Tzolov
  */
@@ -107,6 +113,26 @@ public class McpSyncServerExchange {
 		this.exchange.loggingNotification(loggingMessageNotification).block();
 	}
 
+	/**
+	 * Reports the progress of the request being handled to the client, if the client
+	 * asked for progress.
+	 * @param progress The progress so far, which must increase with every report
+	 * @param total The total amount of work, if known, or null
+	 * @param message A message describing the current step, or null
+	 * @see McpAsyncServerExchange#progress(double, Double, String)
+	 */
+	public void progress(double progress, Double total, String message) {
+		this.exchange.progress(progress, total, message).block();
+	}
+
+	/**
+	 * Sends a progress notification to the client.
+	 * @param progressNotification The progress notification to send
+	 */
+	public void progressNotification(McpSchema.ProgressNotification progressNotification) {
+		this.exchange.progressNotification(progressNotification).block();
+	}
+
 	/**
 	 * Sends a synchronous ping request to the client.
 	 * @return
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent index of server features, such as tools, keyed by their unique name.
+ *
+ * <p>
+ * Lookups by name are a single hash lookup. Registration order is tracked separately by a
+ * monotonically increasing sequence number, so that listing is stable and reflects the
+ * order in which features were added. Neither adding nor removing a feature copies the
+ * index, which keeps registration cheap for servers exposing many thousands of features.
+ *
+ * <p>
+ * The sequence numbers also serve as stable positions for pagination: a page resumes
+ * after the sequence number of the last value of the previous page, so values added or
+ * removed concurrently never shift the values that are yet to be listed.
+ *
+ * @param <V> the type of the indexed features
+ */
+final class NamedIndex<V> {
+
+	private record Entry<V>(long sequence, V value) {
+	}
+
+	/**
+	 * A page of values in registration order.
+	 *
+	 * @param values the values of the page
+	 * @param next the sequence number to resume the listing after, or {@code null} if
+	 * there are no further values
+	 */
+	record Page<V>(List<V> values, Long next) {
+	}
+
+	private final ConcurrentHashMap<String, Entry<V>> byName = new ConcurrentHashMap<>();
+
+	private final ConcurrentSkipListMap<Long, V> bySequence = new ConcurrentSkipListMap<>();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final BiConsumer<String, V> onAdded;
+
+	private final Consumer<String> onRemoved;
+
+	/**
+	 * Creates an empty index.
+	 */
+	NamedIndex() {
+		this((name, value) -> {
+		}, name -> {
+		});
+	}
+
+	/**
+	 * Creates an empty index that keeps another structure, such as a router, in step with
+	 * it. The callbacks run atomically with the addition or removal of the name, so
+	 * concurrent changes to the same name are applied to both in the same order.
+	 * @param onAdded called with each name and value added to the index
+	 * @param onRemoved called with each name removed from the index
+	 */
+	NamedIndex(BiConsumer<String, V> onAdded, Consumer<String> onRemoved) {
+		this.onAdded = onAdded;
+		this.onRemoved = onRemoved;
+	}
+
+	/**
+	 * Adds the value under the given name unless the name is already taken.
+	 * @param name the unique name of the value
+	 * @param value the value to add
+	 * @return {@code true} if the value was added, {@code false} if another value is
+	 * already registered under the name
+	 */
+	boolean putIfAbsent(String name, V value) {
+		Entry<V> candidate = new Entry<>(this.sequence.getAndIncrement(), value);
+		// The mapping function runs atomically for the key, so a concurrent removal of
+		// the same name cannot leave an orphaned entry behind in the ordering
+		Entry<V> current = this.byName.computeIfAbsent(name, key -> {
+			this.bySequence.put(candidate.sequence(), value);
+			this.onAdded.accept(key, value);
+			return candidate;
+		});
+		return current == candidate;
+	}
+
+	/**
+	 * Returns the value registered under the given name.
+	 * @param name the name to look up
+	 * @return the value, or {@code null} if there is none
+	 */
+	V get(String name) {
+		Entry<V> entry = this.byName.get(name);
+		return entry != null ? entry.value() : null;
+	}
+
+	/**
+	 * Removes the value registered under the given name.
+	 * @param name the name of the value to remove
+	 * @return the removed value, or {@code null} if there was none
+	 */
+	V remove(String name) {
+		AtomicReference<V> removed = new AtomicReference<>();
+		this.byName.computeIfPresent(name, (key, entry) -> {
+			this.bySequence.remove(entry.sequence());
+			this.onRemoved.accept(key);
+			removed.set(entry.value());
+			return null;
+		});
+		return removed.get();
+	}
+
+	/**
+	 * Returns a weakly consistent view of the values in registration order.
+	 * @return the indexed values
+	 */
+	Collection<V> values() {
+		return this.bySequence.values();
+	}
+
+	/**
+	 * Returns up to {@code size} values registered after the given sequence number, in
+	 * registration order.
+	 * @param after the sequence number to list after, {@code -1} for the first page
+	 * @param size the max number of values in the page
+	 * @return the page of values
+	 */
+	Page<V> page(long after, int size) {
+		List<V> values = new ArrayList<>(Math.min(size, this.byName.size()));
+		long last = after;
+		for (Map.Entry<Long, V> entry : this.bySequence.tailMap(after, false).entrySet()) {
+			if (values.size() == size) {
+				return new Page<>(values, last);
+			}
+			values.add(entry.getValue());
+			last = entry.getKey();
+		}
+		return new Page<>(values, null);
+	}
+
+	/**
+	 * Returns the number of indexed values.
+	 * @return the size of the index
+	 */
+	int size() {
+		return this.byName.size();
+	}
+
+}
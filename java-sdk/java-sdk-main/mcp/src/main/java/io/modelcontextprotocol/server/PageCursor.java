@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Encodes and decodes the opaque cursors of paginated list results.
+ *
+ * <p>
+ * A cursor wraps the position of the last item of the previous page, so that the next
+ * page resumes right after it. Clients must treat cursors as opaque tokens.
+ */
+final class PageCursor {
+
+	/** Position to list after for the first page */
+	static final long FIRST = -1;
+
+	private static final String PREFIX = "after:";
+
+	private PageCursor() {
+	}
+
+	/**
+	 * Encodes the position of the last item of a page into a cursor.
+	 * @param position the position to resume the listing after
+	 * @return the cursor
+	 */
+	static String encode(long position) {
+		return Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString((PREFIX + position).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor received from a client.
+	 * @param cursor the cursor, or {@code null} for the first page
+	 * @return the position to list after
+	 * @throws McpError with the {@code INVALID_PARAMS} error code if the cursor was not
+	 * issued by this server
+	 */
+	static long decode(String cursor) {
+		if (cursor == null) {
+			return FIRST;
+		}
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (decoded.startsWith(PREFIX)) {
+				long position = Long.parseLong(decoded.substring(PREFIX.length()));
+				if (position >= FIRST) {
+					return position;
+				}
+			}
+		}
+		catch (IllegalArgumentException e) {
+			// Not Base64 or not a number, reported below
+		}
+		throw new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_PARAMS,
+				"Invalid cursor: " + cursor, null));
+	}
+
+}
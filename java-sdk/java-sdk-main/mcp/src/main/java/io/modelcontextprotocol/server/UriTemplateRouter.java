@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes request URIs to values registered under concrete URIs or URI templates, such as
+ * resources.
+ *
+ * <p>
+ * Concrete URIs are resolved with a single hash lookup. URI templates are split on
+ * {@code /} into segments and stored in a segment trie, with each templated segment
+ * compiled once on registration. Since a {@code {variable}} never spans a {@code /},
+ * matching a request URI walks the trie one segment at a time. Concrete URIs take
+ * precedence over templates and, within the trie, literal segments take precedence over
+ * templated ones.
+ *
+ * <p>
+ * Lookups are lock-free. Registrations and removals update the trie incrementally and are
+ * serialized among themselves.
+ *
+ * @param <V> the type of the routed values
+ */
+final class UriTemplateRouter<V> {
+
+	/**
+	 * Pattern to match URI variables in the format {variableName}.
+	 */
+	private static final Pattern URI_VARIABLE_PATTERN = Pattern.compile("\\{([^/]+?)\\}");
+
+	private final Map<String, V> exact = new ConcurrentHashMap<>();
+
+	private final Node<V> root = new Node<>(null);
+
+	private final Object lock = new Object();
+
+	/**
+	 * Registers the value under the given concrete URI or URI template, replacing any
+	 * value previously registered under the same URI.
+	 * @param uri the concrete URI or URI template
+	 * @param value the value to register
+	 */
+	void add(String uri, V value) {
+		if (!isUriTemplate(uri)) {
+			this.exact.put(uri, value);
+			return;
+		}
+		synchronized (this.lock) {
+			Node<V> node = this.root;
+			for (String segment : split(uri)) {
+				node = node.child(segment);
+			}
+			node.value = value;
+		}
+	}
+
+	/**
+	 * Removes the value registered under the given concrete URI or URI template.
+	 * @param uri the concrete URI or URI template
+	 */
+	void remove(String uri) {
+		if (!isUriTemplate(uri)) {
+			this.exact.remove(uri);
+			return;
+		}
+		synchronized (this.lock) {
+			String[] segments = split(uri);
+			List<Node<V>> path = new ArrayList<>(segments.length + 1);
+			Node<V> node = this.root;
+			path.add(node);
+			for (String segment : segments) {
+				node = node.existingChild(segment);
+				if (node == null) {
+					return;
+				}
+				path.add(node);
+			}
+			node.value = null;
+
+			// Prune the branch that no longer leads to any value
+			for (int i = segments.length; i > 0 && path.get(i).isEmpty(); i--) {
+				path.get(i - 1).removeChild(segments[i - 1]);
+			}
+		}
+	}
+
+	/**
+	 * Finds the value registered under the concrete URI or the URI template matching the
+	 * given URI.
+	 * @param uri the request URI
+	 * @return the matching value, or {@code null} if no registered URI matches
+	 */
+	V match(String uri) {
+		V value = this.exact.get(uri);
+		return value != null ? value : match(this.root, split(uri), 0);
+	}
+
+	private static <V> V match(Node<V> node, String[] segments, int index) {
+		if (index == segments.length) {
+			return node.value;
+		}
+		String segment = segments[index];
+
+		Node<V> literal = node.literals.get(segment);
+		if (literal != null) {
+			V value = match(literal, segments, index + 1);
+			if (value != null) {
+				return value;
+			}
+		}
+
+		for (Node<V> templated : node.templates.values()) {
+			if (templated.segment.matches(segment)) {
+				V value = match(templated, segments, index + 1);
+				if (value != null) {
+					return value;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean isUriTemplate(String uri) {
+		return URI_VARIABLE_PATTERN.matcher(uri).find();
+	}
+
+	private static String[] split(String uri) {
+		return uri.split("/", -1);
+	}
+
+	/**
+	 * A node of the segment trie. Children are keyed by the literal segment text or, for
+	 * templated segments, by the segment template.
+	 */
+	private static final class Node<V> {
+
+		private final TemplateSegment segment;
+
+		private final Map<String, Node<V>> literals = new ConcurrentHashMap<>();
+
+		private final Map<String, Node<V>> templates = new ConcurrentHashMap<>();
+
+		private volatile V value;
+
+		Node(TemplateSegment segment) {
+			this.segment = segment;
+		}
+
+		Node<V> child(String segment) {
+			if (isUriTemplate(segment)) {
+				return this.templates.computeIfAbsent(segment, s -> new Node<>(TemplateSegment.compile(s)));
+			}
+			return this.literals.computeIfAbsent(segment, s -> new Node<>(null));
+		}
+
+		Node<V> existingChild(String segment) {
+			return isUriTemplate(segment) ? this.templates.get(segment) : this.literals.get(segment);
+		}
+
+		void removeChild(String segment) {
+			if (isUriTemplate(segment)) {
+				this.templates.remove(segment);
+			}
+			else {
+				this.literals.remove(segment);
+			}
+		}
+
+		boolean isEmpty() {
+			return this.value == null && this.literals.isEmpty() && this.templates.isEmpty();
+		}
+
+	}
+
+	/**
+	 * A single templated path segment, such as {@code {id}} or {@code {name}.json}.
+	 *
+	 * @param pattern the compiled segment, or {@code null} if the segment consists of a
+	 * single variable and matches any non-empty segment
+	 */
+	private record TemplateSegment(Pattern pattern) {
+
+		static TemplateSegment compile(String segment) {
+			List<String> variableNames = new ArrayList<>();
+			StringBuilder regex = new StringBuilder();
+			Matcher matcher = URI_VARIABLE_PATTERN.matcher(segment);
+			int lastEnd = 0;
+			while (matcher.find()) {
+				if (matcher.start() > lastEnd) {
+					regex.append(Pattern.quote(segment.substring(lastEnd, matcher.start())));
+				}
+				regex.append(".+?");
+				variableNames.add(matcher.group(1));
+				lastEnd = matcher.end();
+			}
+			if (lastEnd < segment.length()) {
+				regex.append(Pattern.quote(segment.substring(lastEnd)));
+			}
+
+			boolean singleVariable = variableNames.size() == 1 && segment.equals("{" + variableNames.get(0) + "}");
+			return new TemplateSegment(singleVariable ? null : Pattern.compile(regex.toString()));
+		}
+
+		boolean matches(String segment) {
+			if (this.pattern == null) {
+				return !segment.isEmpty();
+			}
+			return this.pattern.matcher(segment).matches();
+		}
+
+	}
+
+}
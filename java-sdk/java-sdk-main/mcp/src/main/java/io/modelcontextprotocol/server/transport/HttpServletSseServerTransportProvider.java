@@ -3,9 +3,9 @@
  */
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,6 +13,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpBroadcast;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
@@ -27,8 +29,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 /**
  * A Servlet-based implementation of the MCP HTTP with Server-Sent Events (SSE) transport
@@ -50,6 +54,8 @@ import reactor.core.publisher.Mono;
  * <li>Asynchronous message handling using Servlet 6.0 async support</li>
  * <li>Session management for multiple client connections</li>
  * <li>Graceful shutdown support</li>
+ * <li>Per-session outbound event queue with batched writes and a configurable overflow
+ * policy</li>
  * <li>Error handling and response formatting</li>
  * </ul>
  *
@@ -82,6 +88,35 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 	public static final String DEFAULT_BASE_URL = "";
 
+	/**
+	 * Default max number of events queued for a session before the overflow policy
+	 * applies
+	 */
+	public static final int DEFAULT_MAX_QUEUED_EVENTS = 1024;
+
+	/** Default max size in bytes of the body of a message POST */
+	public static final int DEFAULT_MAX_REQUEST_BODY_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * What to do with a message sent to a session whose outbound queue is full, because
+	 * the client does not read its events fast enough.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Drop notifications. Requests, responses and partial tool results are still
+		 * queued, since dropping them would leave the peer waiting forever or with an
+		 * incomplete result.
+		 */
+		DROP_NOTIFICATIONS,
+
+		/**
+		 * Disconnect the session.
+		 */
+		DISCONNECT
+
+	}
+
 	/** JSON object mapper for serialization/deserialization */
 	private final ObjectMapper objectMapper;
 
@@ -94,9 +129,21 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	/** The endpoint path for handling SSE connections */
 	private final String sseEndpoint;
 
+	/** Max number of events queued for a session */
+	private final int maxQueuedEvents;
+
+	/** What to do with messages sent to a session whose queue is full */
+	private final OverflowPolicy overflowPolicy;
+
+	/** Max size in bytes of the body of a message POST */
+	private final int maxRequestBodySize;
+
 	/** Map of active client sessions, keyed by session ID */
 	private final Map<String, McpServerSession> sessions = new ConcurrentHashMap<>();
 
+	/** Map of the transports of the active client sessions, keyed by session ID */
+	private final Map<String, HttpServletMcpSessionTransport> transports = new ConcurrentHashMap<>();
+
 	/** Flag indicating if the transport is in the process of shutting down */
 	private final AtomicBoolean isClosing = new AtomicBoolean(false);
 
@@ -127,10 +174,54 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	 */
 	public HttpServletSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint) {
+		this(objectMapper, baseUrl, messageEndpoint, sseEndpoint, DEFAULT_MAX_QUEUED_EVENTS,
+				OverflowPolicy.DROP_NOTIFICATIONS);
+	}
+
+	/**
+	 * Creates a new HttpServletSseServerTransportProvider instance with a custom SSE
+	 * endpoint and outbound queue settings.
+	 * @param objectMapper The JSON object mapper to use for message
+	 * serialization/deserialization
+	 * @param baseUrl The base URL for the server transport
+	 * @param messageEndpoint The endpoint path where clients will send their messages
+	 * @param sseEndpoint The endpoint path where clients will establish SSE connections
+	 * @param maxQueuedEvents The max number of events queued for a session
+	 * @param overflowPolicy What to do with messages sent to a session whose queue is
+	 * full
+	 */
+	public HttpServletSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
+			String sseEndpoint, int maxQueuedEvents, OverflowPolicy overflowPolicy) {
+		this(objectMapper, baseUrl, messageEndpoint, sseEndpoint, maxQueuedEvents, overflowPolicy,
+				DEFAULT_MAX_REQUEST_BODY_SIZE);
+	}
+
+	/**
+	 * Creates a new HttpServletSseServerTransportProvider instance with a custom SSE
+	 * endpoint, outbound queue settings and request body limit.
+	 * @param objectMapper The JSON object mapper to use for message
+	 * serialization/deserialization
+	 * @param baseUrl The base URL for the server transport
+	 * @param messageEndpoint The endpoint path where clients will send their messages
+	 * @param sseEndpoint The endpoint path where clients will establish SSE connections
+	 * @param maxQueuedEvents The max number of events queued for a session
+	 * @param overflowPolicy What to do with messages sent to a session whose queue is
+	 * full
+	 * @param maxRequestBodySize The max size in bytes of the body of a message POST,
+	 * beyond which the POST is answered with {@code 413 Content Too Large}
+	 */
+	public HttpServletSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
+			String sseEndpoint, int maxQueuedEvents, OverflowPolicy overflowPolicy, int maxRequestBodySize) {
+		Assert.isTrue(maxQueuedEvents > 0, "Max queued events must be positive");
+		Assert.notNull(overflowPolicy, "Overflow policy must not be null");
+		Assert.isTrue(maxRequestBodySize > 0, "Max request body size must be positive");
 		this.objectMapper = objectMapper;
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
+		this.maxQueuedEvents = maxQueuedEvents;
+		this.overflowPolicy = overflowPolicy;
+		this.maxRequestBodySize = maxRequestBodySize;
 	}
 
 	/**
@@ -153,6 +244,17 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the number of events waiting to be written to the SSE connection of each
+	 * active session.
+	 * @return A snapshot of the outbound queue depths, keyed by session ID
+	 */
+	public Map<String, Integer> getQueueDepths() {
+		Map<String, Integer> depths = new HashMap<>();
+		this.transports.forEach((sessionId, transport) -> depths.put(sessionId, transport.eventWriter.size()));
+		return depths;
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients.
 	 * @param method The method name for the notification
@@ -161,19 +263,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	 */
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
-		if (sessions.isEmpty()) {
-			logger.debug("No active sessions to broadcast message to");
-			return Mono.empty();
-		}
-
-		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
-
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
-			.then();
+		return McpBroadcast.broadcast(objectMapper, sessions.values(), method, params);
 	}
 
 	/**
@@ -216,14 +306,17 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		// Create a new session transport
 		HttpServletMcpSessionTransport sessionTransport = new HttpServletMcpSessionTransport(sessionId, asyncContext,
-				writer);
+				new SseEventWriter(writer, this.maxQueuedEvents));
 
 		// Create a new session using the session factory
 		McpServerSession session = sessionFactory.create(sessionTransport);
 		this.sessions.put(sessionId, session);
+		this.transports.put(sessionId, sessionTransport);
 
 		// Send initial endpoint event
-		this.sendEvent(writer, ENDPOINT_EVENT_TYPE, this.baseUrl + this.messageEndpoint + "?sessionId=" + sessionId);
+		sessionTransport.eventWriter.offer(ENDPOINT_EVENT_TYPE,
+				this.baseUrl + this.messageEndpoint + "?sessionId=" + sessionId);
+		sessionTransport.eventWriter.drain();
 	}
 
 	/**
@@ -278,37 +371,64 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			return;
 		}
 
-		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
-
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body.toString());
-
-			// Process the message through the session's handle method
-			session.handle(message).block(); // Block for Servlet compatibility
+		// Read and process the message asynchronously, so that no container thread is
+		// held while the client sends the body or while the message is handled
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(0);
 
+		ServletRequestBodyReader.read(request, this.maxRequestBodySize).map(body -> {
+			try {
+				return McpSchema.deserializeJsonRpcMessage(objectMapper, body);
+			}
+			catch (IOException e) {
+				throw Exceptions.propagate(e);
+			}
+		}).flatMap(session::handle).subscribe(null, e -> {
+			if (e instanceof ServletRequestBodyReader.BodyTooLargeException) {
+				logger.debug("Rejected message: {}", e.getMessage());
+				// The rest of the body is not read, so the connection cannot be reused
+				response.setHeader("Connection", "close");
+				response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+				asyncContext.complete();
+				return;
+			}
+			logger.error("Error processing message: {}", e.getMessage());
+			sendErrorAndComplete(asyncContext, e);
+		}, () -> {
 			response.setStatus(HttpServletResponse.SC_OK);
+			asyncContext.complete();
+		});
+	}
+
+	/**
+	 * Sends an error response for a message that could not be processed and completes the
+	 * async request.
+	 * @param asyncContext The async context of the request
+	 * @param error The processing error
+	 */
+	private void sendErrorAndComplete(AsyncContext asyncContext, Throwable error) {
+		HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+		try {
+			McpError mcpError = new McpError(Exceptions.unwrap(error).getMessage());
+			response.setContentType(APPLICATION_JSON);
+			response.setCharacterEncoding(UTF_8);
+			response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+			String jsonError = objectMapper.writeValueAsString(mcpError);
+			PrintWriter writer = response.getWriter();
+			writer.write(jsonError);
+			writer.flush();
 		}
-		catch (Exception e) {
-			logger.error("Error processing message: {}", e.getMessage());
+		catch (IOException ex) {
+			logger.error(FAILED_TO_SEND_ERROR_RESPONSE, ex.getMessage());
 			try {
-				McpError mcpError = new McpError(e.getMessage());
-				response.setContentType(APPLICATION_JSON);
-				response.setCharacterEncoding(UTF_8);
-				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-				String jsonError = objectMapper.writeValueAsString(mcpError);
-				PrintWriter writer = response.getWriter();
-				writer.write(jsonError);
-				writer.flush();
-			}
-			catch (IOException ex) {
-				logger.error(FAILED_TO_SEND_ERROR_RESPONSE, ex.getMessage());
 				response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error processing message");
 			}
+			catch (IOException | IllegalStateException ignored) {
+				// The client is gone
+			}
+		}
+		finally {
+			asyncContext.complete();
 		}
 	}
 
@@ -327,23 +447,6 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then();
 	}
 
-	/**
-	 * Sends an SSE event to a client.
-	 * @param writer The writer to send the event through
-	 * @param eventType The type of event (message or endpoint)
-	 * @param data The event data
-	 * @throws IOException If an error occurs while writing the event
-	 */
-	private void sendEvent(PrintWriter writer, String eventType, String data) throws IOException {
-		writer.write("event: " + eventType + "\n");
-		writer.write("data: " + data + "\n\n");
-		writer.flush();
-
-		if (writer.checkError()) {
-			throw new IOException("Client disconnected");
-		}
-	}
-
 	/**
 	 * Cleans up resources when the servlet is being destroyed.
 	 * <p>
@@ -366,40 +469,102 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private final AsyncContext asyncContext;
 
-		private final PrintWriter writer;
+		private final SseEventWriter eventWriter;
+
+		private final AtomicBoolean closed = new AtomicBoolean(false);
 
 		/**
-		 * Creates a new session transport with the specified ID and SSE writer.
+		 * Creates a new session transport with the specified ID and SSE event writer.
 		 * @param sessionId The unique identifier for this session
 		 * @param asyncContext The async context for the session
-		 * @param writer The writer for sending server events to the client
+		 * @param eventWriter The queue in front of the writer of the SSE connection
 		 */
-		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, SseEventWriter eventWriter) {
 			this.sessionId = sessionId;
 			this.asyncContext = asyncContext;
-			this.writer = writer;
+			this.eventWriter = eventWriter;
 			logger.debug("Session transport {} initialized with SSE writer", sessionId);
 		}
 
 		/**
 		 * Sends a JSON-RPC message to the client through the SSE connection.
+		 * <p>
+		 * The message is queued and written together with any other message queued
+		 * meanwhile. If the queue is full, the {@link OverflowPolicy} of the provider
+		 * applies.
+		 * <p>
+		 * Partial tool results are the exception: the returned Mono only completes once
+		 * they have been written, so that a tool streaming its result produces its chunks
+		 * no faster than the client reads them.
 		 * @param message The JSON-RPC message to send
-		 * @return A Mono that completes when the message has been sent
+		 * @return A Mono that completes when the message has been queued, or written for
+		 * a partial tool result
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
-			return Mono.fromRunnable(() -> {
-				try {
-					String jsonText = objectMapper.writeValueAsString(message);
-					sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText);
-					logger.debug("Message sent to session {}", sessionId);
+			if (isPartialResult(message)) {
+				return Mono.create(written -> send(message, written));
+			}
+			return Mono.fromRunnable(() -> send(message, null));
+		}
+
+		private void send(McpSchema.JSONRPCMessage message, MonoSink<Void> written) {
+			String jsonText;
+			try {
+				jsonText = objectMapper.writeValueAsString(message);
+			}
+			catch (Exception e) {
+				logger.error("Failed to serialize message for session {}: {}", sessionId, e.getMessage());
+				close();
+				if (written != null) {
+					written.error(e);
 				}
-				catch (Exception e) {
-					logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
-					sessions.remove(sessionId);
-					asyncContext.complete();
+				return;
+			}
+			send(message, jsonText, written);
+		}
+
+		private static boolean isPartialResult(McpSchema.JSONRPCMessage message) {
+			return message instanceof McpSchema.JSONRPCNotification notification
+					&& McpSchema.METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT.equals(notification.method());
+		}
+
+		/**
+		 * Sends an already encoded message to the client through the SSE connection.
+		 * @param message The encoded message to send
+		 * @return A Mono that completes when the message has been queued
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			return Mono.fromRunnable(() -> send(message.message(), message.asString(), null));
+		}
+
+		private void send(McpSchema.JSONRPCMessage message, String jsonText, MonoSink<Void> written) {
+			try {
+				if (!eventWriter.offer(MESSAGE_EVENT_TYPE, jsonText, written)) {
+					if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+						logger.warn("Outbound queue of session {} is full, disconnecting", sessionId);
+						close();
+						if (written != null) {
+							written.error(new IOException("Outbound queue of session " + sessionId + " is full"));
+						}
+						return;
+					}
+					if (message instanceof McpSchema.JSONRPCNotification && !isPartialResult(message)) {
+						logger.warn("Outbound queue of session {} is full, dropping notification", sessionId);
+						return;
+					}
+					// Requests, responses and partial tool results are never dropped,
+					// they exceed the capacity instead
+					eventWriter.add(MESSAGE_EVENT_TYPE, jsonText, written);
 				}
-			});
+				eventWriter.drain();
+				logger.debug("Message sent to session {}", sessionId);
+			}
+			catch (Exception e) {
+				logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
+				close();
+			}
 		}
 
 		/**
@@ -411,7 +576,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
 		}
 
 		/**
@@ -422,14 +587,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		public Mono<Void> closeGracefully() {
 			return Mono.fromRunnable(() -> {
 				logger.debug("Closing session transport: {}", sessionId);
-				try {
-					sessions.remove(sessionId);
-					asyncContext.complete();
-					logger.debug("Successfully completed async context for session {}", sessionId);
-				}
-				catch (Exception e) {
-					logger.warn("Failed to complete async context for session {}: {}", sessionId, e.getMessage());
-				}
+				close();
 			});
 		}
 
@@ -438,8 +596,13 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		 */
 		@Override
 		public void close() {
+			if (!closed.compareAndSet(false, true)) {
+				return;
+			}
+			eventWriter.abort();
 			try {
 				sessions.remove(sessionId);
+				transports.remove(sessionId);
 				asyncContext.complete();
 				logger.debug("Successfully completed async context for session {}", sessionId);
 			}
@@ -475,6 +638,12 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private String sseEndpoint = DEFAULT_SSE_ENDPOINT;
 
+		private int maxQueuedEvents = DEFAULT_MAX_QUEUED_EVENTS;
+
+		private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NOTIFICATIONS;
+
+		private int maxRequestBodySize = DEFAULT_MAX_REQUEST_BODY_SIZE;
+
 		/**
 		 * Sets the JSON object mapper to use for message serialization/deserialization.
 		 * @param objectMapper The object mapper to use
@@ -522,6 +691,49 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			return this;
 		}
 
+		/**
+		 * Sets the max number of events queued for a session while the client reads
+		 * earlier events.
+		 * <p>
+		 * If not specified, the default value of {@link #DEFAULT_MAX_QUEUED_EVENTS} will
+		 * be used.
+		 * @param maxQueuedEvents The max number of queued events
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxQueuedEvents(int maxQueuedEvents) {
+			Assert.isTrue(maxQueuedEvents > 0, "Max queued events must be positive");
+			this.maxQueuedEvents = maxQueuedEvents;
+			return this;
+		}
+
+		/**
+		 * Sets what to do with messages sent to a session whose queue is full.
+		 * <p>
+		 * If not specified, notifications are dropped.
+		 * @param overflowPolicy The overflow policy
+		 * @return This builder instance for method chaining
+		 */
+		public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+			Assert.notNull(overflowPolicy, "Overflow policy must not be null");
+			this.overflowPolicy = overflowPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the max size in bytes of the body of a message POST. Larger messages are
+		 * answered with {@code 413 Content Too Large} without reading their body further.
+		 * <p>
+		 * If not specified, the default value of {@link #DEFAULT_MAX_REQUEST_BODY_SIZE}
+		 * will be used.
+		 * @param maxRequestBodySize The max request body size
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxRequestBodySize(int maxRequestBodySize) {
+			Assert.isTrue(maxRequestBodySize > 0, "Max request body size must be positive");
+			this.maxRequestBodySize = maxRequestBodySize;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of HttpServletSseServerTransportProvider with the
 		 * configured settings.
@@ -535,7 +747,8 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			if (messageEndpoint == null) {
 				throw new IllegalStateException("MessageEndpoint must be set");
 			}
-			return new HttpServletSseServerTransportProvider(objectMapper, baseUrl, messageEndpoint, sseEndpoint);
+			return new HttpServletSseServerTransportProvider(objectMapper, baseUrl, messageEndpoint, sseEndpoint,
+					maxQueuedEvents, overflowPolicy, maxRequestBodySize);
 		}
 
 	}
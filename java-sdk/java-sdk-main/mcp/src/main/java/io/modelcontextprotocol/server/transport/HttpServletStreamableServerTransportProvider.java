@@ -0,0 +1,1121 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpBroadcast;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.util.Assert;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A Servlet-based implementation of the MCP Streamable HTTP transport specification.
+ * Unlike {@link HttpServletSseServerTransportProvider}, which needs a long-lived SSE
+ * connection plus separate message POSTs per client, this transport serves a single
+ * endpoint and identifies sessions by the {@code mcp-session-id} header.
+ *
+ * <p>
+ * The endpoint handles:
+ * <ul>
+ * <li>POST - Carries client messages. A POST holding only notifications and responses is
+ * acknowledged with {@code 202 Accepted}. A POST holding requests is answered with a
+ * plain JSON response, unless the server sends further messages, such as progress
+ * notifications or sampling requests, while handling the requests. The response is then
+ * upgraded to an SSE stream that ends with the JSON-RPC responses.</li>
+ * <li>GET - Opens an optional SSE stream for server messages not related to a client
+ * request, such as list changed notifications.</li>
+ * <li>DELETE - Terminates the session.</li>
+ * </ul>
+ *
+ * <p>
+ * Clients without an open request or GET stream hold no connection or async context on
+ * the server. Every SSE event carries an id, and the last events of each stream are kept
+ * in a bounded replay buffer: a client reconnecting with a GET carrying the
+ * {@code last-event-id} header receives the events it missed and, if the stream is still
+ * open, the following ones.
+ *
+ * <p>
+ * A session without any open request or stream for longer than the session idle timeout
+ * is closed, and later requests carrying its ID are answered with {@code 404 Not Found}.
+ *
+ * <p>
+ * Messages the server sends while handling a request are routed to the stream of that
+ * request through the Reactor context, so they are only associated with the request when
+ * sent from within the reactive chain of its handler. Messages sent outside of that
+ * chain, for example from a blocking synchronous handler, are sent on the GET stream.
+ *
+ * @see McpServerTransportProvider
+ * @see <a href=
+ * "https://modelcontextprotocol.io/specification/2025-03-26/basic/transports#streamable-http">Streamable
+ * HTTP transport specification</a>
+ */
+@WebServlet(asyncSupported = true)
+public class HttpServletStreamableServerTransportProvider extends HttpServlet implements McpServerTransportProvider {
+
+	/** Logger for this class */
+	private static final Logger logger = LoggerFactory.getLogger(HttpServletStreamableServerTransportProvider.class);
+
+	public static final String UTF_8 = "UTF-8";
+
+	public static final String APPLICATION_JSON = "application/json";
+
+	public static final String TEXT_EVENT_STREAM = "text/event-stream";
+
+	/** Default endpoint path */
+	public static final String DEFAULT_MCP_ENDPOINT = "/mcp";
+
+	/** Header carrying the session ID */
+	public static final String MCP_SESSION_ID_HEADER = "mcp-session-id";
+
+	/** Header carrying the ID of the last SSE event received by a reconnecting client */
+	public static final String LAST_EVENT_ID_HEADER = "last-event-id";
+
+	/** Event type for regular messages */
+	public static final String MESSAGE_EVENT_TYPE = "message";
+
+	/** Default number of events kept per stream for replay on reconnection */
+	public static final int DEFAULT_REPLAY_BUFFER_SIZE = 100;
+
+	/** Default time after which a session without any open request or stream is closed */
+	public static final Duration DEFAULT_SESSION_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+	/** Default max size in bytes of the body of a POST request */
+	public static final int DEFAULT_MAX_REQUEST_BODY_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * Max number of completed streams per session that are retained for resumption
+	 * because their last events could not be delivered
+	 */
+	private static final int MAX_RETAINED_STREAMS = 16;
+
+	/** Reactor context key holding the stream of the request being handled */
+	private static final String STREAM_CONTEXT_KEY = HttpServletStreamableServerTransportProvider.class.getName()
+			+ ".STREAM";
+
+	/** JSON object mapper for serialization/deserialization */
+	private final ObjectMapper objectMapper;
+
+	/** The endpoint path */
+	private final String mcpEndpoint;
+
+	/** Number of events kept per stream for replay */
+	private final int replayBufferSize;
+
+	/** Max size in bytes of the body of a POST request */
+	private final int maxRequestBodySize;
+
+	/** Time after which an idle session is closed, in nanoseconds */
+	private final long sessionIdleTimeoutNanos;
+
+	/** Periodic eviction of the idle sessions */
+	private final Disposable idleSessionEviction;
+
+	/** Map of active client session transports, keyed by session ID */
+	private final Map<String, StreamableSessionTransport> sessions = new ConcurrentHashMap<>();
+
+	/** Flag indicating if the transport is in the process of shutting down */
+	private final AtomicBoolean isClosing = new AtomicBoolean(false);
+
+	/** Session factory for creating new sessions */
+	private McpServerSession.Factory sessionFactory;
+
+	/**
+	 * Creates a new HttpServletStreamableServerTransportProvider instance.
+	 * @param objectMapper The JSON object mapper to use for message
+	 * serialization/deserialization
+	 * @param mcpEndpoint The endpoint path
+	 * @param replayBufferSize The number of events kept per stream for replay on
+	 * reconnection
+	 */
+	public HttpServletStreamableServerTransportProvider(ObjectMapper objectMapper, String mcpEndpoint,
+			int replayBufferSize) {
+		this(objectMapper, mcpEndpoint, replayBufferSize, DEFAULT_SESSION_IDLE_TIMEOUT, DEFAULT_MAX_REQUEST_BODY_SIZE);
+	}
+
+	/**
+	 * Creates a new HttpServletStreamableServerTransportProvider instance.
+	 * @param objectMapper The JSON object mapper to use for message
+	 * serialization/deserialization
+	 * @param mcpEndpoint The endpoint path
+	 * @param replayBufferSize The number of events kept per stream for replay on
+	 * reconnection
+	 * @param sessionIdleTimeout The time after which a session without any open request
+	 * or stream is closed
+	 * @param maxRequestBodySize The max size in bytes of the body of a POST request,
+	 * beyond which the request is answered with {@code 413 Content Too Large}
+	 */
+	public HttpServletStreamableServerTransportProvider(ObjectMapper objectMapper, String mcpEndpoint,
+			int replayBufferSize, Duration sessionIdleTimeout, int maxRequestBodySize) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.hasText(mcpEndpoint, "MCP endpoint must not be empty");
+		Assert.isTrue(replayBufferSize >= 0, "Replay buffer size must not be negative");
+		Assert.notNull(sessionIdleTimeout, "Session idle timeout must not be null");
+		Assert.isTrue(sessionIdleTimeout.toMillis() > 0, "Session idle timeout must be positive");
+		Assert.isTrue(maxRequestBodySize > 0, "Max request body size must be positive");
+		this.objectMapper = objectMapper;
+		this.mcpEndpoint = mcpEndpoint;
+		this.replayBufferSize = replayBufferSize;
+		this.maxRequestBodySize = maxRequestBodySize;
+		this.sessionIdleTimeoutNanos = sessionIdleTimeout.toNanos();
+		// Idle sessions are evicted between one and one and a half timeouts after their
+		// last activity
+		Duration period = Duration.ofMillis(Math.max(1, sessionIdleTimeout.toMillis() / 2));
+		this.idleSessionEviction = Flux.interval(period, period).subscribe(tick -> evictIdleSessions());
+	}
+
+	/**
+	 * Sets the session factory for creating new sessions.
+	 * @param sessionFactory The session factory to use
+	 */
+	@Override
+	public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+		this.sessionFactory = sessionFactory;
+	}
+
+	/**
+	 * Broadcasts a notification to all connected clients.
+	 * @param method The method name for the notification
+	 * @param params The parameters for the notification
+	 * @return A Mono that completes when the broadcast attempt is finished
+	 */
+	@Override
+	public Mono<Void> notifyClients(String method, Object params) {
+		return McpBroadcast.broadcast(objectMapper,
+				sessions.values().stream().map(transport -> transport.session).toList(), method, params);
+	}
+
+	/**
+	 * Closes the sessions idle for longer than the session idle timeout.
+	 */
+	private void evictIdleSessions() {
+		long now = System.nanoTime();
+		for (StreamableSessionTransport transport : this.sessions.values()) {
+			if (transport.isIdle(now) && this.sessions.remove(transport.sessionId, transport)) {
+				logger.debug("Closing idle session {}", transport.sessionId);
+				transport.session.closeGracefully()
+					.subscribe(null, error -> logger.debug("Failed to close idle session {}: {}", transport.sessionId,
+							error.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * Handles GET requests opening SSE streams. Without a {@code last-event-id} header
+	 * the stream carries the server messages not related to a client request. With the
+	 * header, the stream the event belongs to is resumed after that event.
+	 * @param request The HTTP servlet request
+	 * @param response The HTTP servlet response
+	 * @throws ServletException If a servlet-specific error occurs
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	protected void doGet(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+
+		if (!request.getRequestURI().endsWith(mcpEndpoint)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		if (isClosing.get()) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is shutting down");
+			return;
+		}
+
+		StreamableSessionTransport transport = findSession(request, response);
+		if (transport == null) {
+			return;
+		}
+
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(0);
+
+		String lastEventId = request.getHeader(LAST_EVENT_ID_HEADER);
+		if (lastEventId != null) {
+			transport.resume(lastEventId, asyncContext);
+		}
+		else {
+			transport.standaloneStream.attach(asyncContext, -1);
+		}
+	}
+
+	/**
+	 * Handles POST requests carrying client messages.
+	 * <p>
+	 * An {@code initialize} request creates a new session, whose ID is returned in the
+	 * {@code mcp-session-id} header. Any other message must carry that header.
+	 * @param request The HTTP servlet request
+	 * @param response The HTTP servlet response
+	 * @throws ServletException If a servlet-specific error occurs
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	protected void doPost(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+
+		if (isClosing.get()) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is shutting down");
+			return;
+		}
+
+		if (!request.getRequestURI().endsWith(mcpEndpoint)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		// Read the body asynchronously, so that no container thread is held while the
+		// client sends it or while the message is handled
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(0);
+
+		ServletRequestBodyReader.read(request, this.maxRequestBodySize).subscribe(body -> {
+			try {
+				handleMessage(request, response, asyncContext, body);
+			}
+			catch (IOException | RuntimeException e) {
+				logger.error("Error processing message: {}", e.getMessage());
+				completeWithStatus(asyncContext, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+			}
+		}, error -> {
+			logger.debug("Failed to read request body: {}", error.getMessage());
+			if (error instanceof ServletRequestBodyReader.BodyTooLargeException) {
+				// The rest of the body is not read, so the connection cannot be reused
+				response.setHeader("Connection", "close");
+				completeWithStatus(asyncContext, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+			}
+			else {
+				completeWithStatus(asyncContext, HttpServletResponse.SC_BAD_REQUEST);
+			}
+		});
+	}
+
+	/**
+	 * Handles the body of a POST request, once fully read.
+	 * @param request The HTTP servlet request
+	 * @param response The HTTP servlet response
+	 * @param asyncContext The async context of the request
+	 * @param body The request body
+	 * @throws IOException If an error occurs while sending an error response
+	 */
+	private void handleMessage(HttpServletRequest request, HttpServletResponse response, AsyncContext asyncContext,
+			ByteBuffer body) throws IOException {
+
+		McpSchema.JSONRPCMessage message;
+		try {
+			message = McpSchema.deserializeJsonRpcMessage(objectMapper, body);
+		}
+		catch (IOException | IllegalArgumentException e) {
+			logger.debug("Invalid message received: {}", e.getMessage());
+			sendError(response, HttpServletResponse.SC_BAD_REQUEST, McpSchema.ErrorCodes.PARSE_ERROR,
+					"Invalid JSON-RPC message: " + e.getMessage());
+			asyncContext.complete();
+			return;
+		}
+
+		Set<Object> requestIds = new HashSet<>();
+		boolean initialize = false;
+		for (McpSchema.JSONRPCMessage m : McpSchema.JSONRPCBatch.flatten(message)) {
+			if (m instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
+				requestIds.add(jsonrpcRequest.id());
+				initialize |= McpSchema.METHOD_INITIALIZE.equals(jsonrpcRequest.method());
+			}
+			else if (m instanceof McpSchema.JSONRPCInvalidMessage invalid) {
+				// Answered with an error response
+				requestIds.add(invalid.id());
+			}
+		}
+
+		StreamableSessionTransport transport;
+		if (initialize) {
+			transport = new StreamableSessionTransport(UUID.randomUUID().toString());
+			transport.session = sessionFactory.create(transport);
+			this.sessions.put(transport.sessionId, transport);
+			response.setHeader(MCP_SESSION_ID_HEADER, transport.sessionId);
+			logger.debug("Created session {}", transport.sessionId);
+		}
+		else {
+			transport = findSession(request, response);
+			if (transport == null) {
+				asyncContext.complete();
+				return;
+			}
+		}
+
+		if (requestIds.isEmpty()) {
+			// Only notifications and responses, which are acknowledged once processed
+			transport.session.handle(message).subscribe(null, error -> {
+				logger.error("Error processing message: {}", error.getMessage());
+				completeWithStatus(asyncContext, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+			}, () -> completeWithStatus(asyncContext, HttpServletResponse.SC_ACCEPTED));
+			return;
+		}
+
+		ResponseStream stream = transport.openStream(requestIds, asyncContext);
+		transport.session.handle(message)
+			.contextWrite(ctx -> ctx.put(STREAM_CONTEXT_KEY, stream))
+			.doOnError(error -> logger.error("Error processing message: {}", error.getMessage()))
+			.doFinally(signal -> stream.close())
+			.subscribe(null, error -> {
+			});
+	}
+
+	/**
+	 * Handles DELETE requests terminating a session.
+	 * @param request The HTTP servlet request
+	 * @param response The HTTP servlet response
+	 * @throws ServletException If a servlet-specific error occurs
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	protected void doDelete(HttpServletRequest request, HttpServletResponse response)
+			throws ServletException, IOException {
+
+		if (!request.getRequestURI().endsWith(mcpEndpoint)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		StreamableSessionTransport transport = findSession(request, response);
+		if (transport == null) {
+			return;
+		}
+
+		logger.debug("Terminating session {} on client request", transport.sessionId);
+		this.sessions.remove(transport.sessionId, transport);
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(0);
+		transport.session.closeGracefully().subscribe(null, error -> {
+			logger.error("Error terminating session {}: {}", transport.sessionId, error.getMessage());
+			completeWithStatus(asyncContext, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+		}, () -> completeWithStatus(asyncContext, HttpServletResponse.SC_OK));
+	}
+
+	/**
+	 * Looks up the session identified by the {@code mcp-session-id} header of the request
+	 * and sends an error response if there is none.
+	 * @param request The HTTP servlet request
+	 * @param response The HTTP servlet response
+	 * @return The session transport, or {@code null} if an error response was sent
+	 * @throws IOException If an error occurs while sending the error response
+	 */
+	private StreamableSessionTransport findSession(HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		String sessionId = request.getHeader(MCP_SESSION_ID_HEADER);
+		if (sessionId == null) {
+			sendError(response, HttpServletResponse.SC_BAD_REQUEST, McpSchema.ErrorCodes.INVALID_REQUEST,
+					"Session ID missing in " + MCP_SESSION_ID_HEADER + " header");
+			return null;
+		}
+		StreamableSessionTransport transport = sessions.get(sessionId);
+		if (transport == null) {
+			sendError(response, HttpServletResponse.SC_NOT_FOUND, McpSchema.ErrorCodes.INVALID_REQUEST,
+					"Session not found: " + sessionId);
+			return null;
+		}
+		transport.touch();
+		return transport;
+	}
+
+	/**
+	 * Sends a JSON-RPC error response without an ID.
+	 * @param response The HTTP servlet response
+	 * @param status The HTTP status code
+	 * @param code The JSON-RPC error code
+	 * @param message The error message
+	 * @throws IOException If an error occurs while writing the response
+	 */
+	private void sendError(HttpServletResponse response, int status, int code, String message) throws IOException {
+		response.setContentType(APPLICATION_JSON);
+		response.setCharacterEncoding(UTF_8);
+		response.setStatus(status);
+		String jsonError = objectMapper.writeValueAsString(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+				null, null, new McpSchema.JSONRPCResponse.JSONRPCError(code, message, null)));
+		PrintWriter writer = response.getWriter();
+		writer.write(jsonError);
+		writer.flush();
+	}
+
+	private static void completeQuietly(AsyncContext asyncContext) {
+		try {
+			asyncContext.complete();
+		}
+		catch (Exception e) {
+			logger.debug("Failed to complete async context: {}", e.getMessage());
+		}
+	}
+
+	private static void completeWithStatus(AsyncContext asyncContext, int status) {
+		try {
+			((HttpServletResponse) asyncContext.getResponse()).setStatus(status);
+			asyncContext.complete();
+		}
+		catch (Exception e) {
+			logger.debug("Failed to complete response: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Initiates a graceful shutdown of the transport.
+	 * <p>
+	 * This method marks the transport as closing and closes all active client sessions.
+	 * New requests will be rejected during shutdown.
+	 * @return A Mono that completes when all sessions have been closed
+	 */
+	@Override
+	public Mono<Void> closeGracefully() {
+		isClosing.set(true);
+		idleSessionEviction.dispose();
+		logger.debug("Initiating graceful shutdown with {} active sessions", sessions.size());
+
+		return Flux.fromIterable(sessions.values()).flatMap(transport -> transport.session.closeGracefully()).then();
+	}
+
+	/**
+	 * Cleans up resources when the servlet is being destroyed.
+	 * <p>
+	 * This method ensures a graceful shutdown by closing all client connections before
+	 * calling the parent's destroy method.
+	 */
+	@Override
+	public void destroy() {
+		closeGracefully().block();
+		super.destroy();
+	}
+
+	/**
+	 * Implementation of McpServerTransport for Streamable HTTP sessions. It routes the
+	 * outgoing messages to the stream of the request they relate to, or to the standalone
+	 * GET stream.
+	 */
+	private class StreamableSessionTransport implements McpServerTransport {
+
+		private final String sessionId;
+
+		private final AtomicLong streamIds = new AtomicLong();
+
+		/** Open streams, and completed ones retained for resumption, keyed by ID */
+		private final Map<String, ResponseStream> streams = new ConcurrentHashMap<>();
+
+		/** IDs of the completed streams retained for resumption, oldest first */
+		private final Queue<String> retainedStreams = new ConcurrentLinkedQueue<>();
+
+		private final ResponseStream standaloneStream;
+
+		private volatile McpServerSession session;
+
+		/** Time of the last request or of the last completed stream response */
+		private volatile long lastActivity = System.nanoTime();
+
+		StreamableSessionTransport(String sessionId) {
+			this.sessionId = sessionId;
+			this.standaloneStream = new ResponseStream(this, nextStreamId(), null, null);
+			this.streams.put(this.standaloneStream.id, this.standaloneStream);
+		}
+
+		void touch() {
+			this.lastActivity = System.nanoTime();
+		}
+
+		boolean isIdle(long now) {
+			return now - this.lastActivity > sessionIdleTimeoutNanos
+					&& this.streams.values().stream().noneMatch(ResponseStream::attached);
+		}
+
+		private String nextStreamId() {
+			return Long.toString(this.streamIds.getAndIncrement());
+		}
+
+		ResponseStream openStream(Set<Object> requestIds, AsyncContext asyncContext) {
+			ResponseStream stream = new ResponseStream(this, nextStreamId(), requestIds, asyncContext);
+			this.streams.put(stream.id, stream);
+			return stream;
+		}
+
+		void resume(String lastEventId, AsyncContext asyncContext) {
+			int separator = lastEventId.lastIndexOf('_');
+			ResponseStream stream = separator > 0 ? this.streams.get(lastEventId.substring(0, separator)) : null;
+			long lastSequence;
+			try {
+				lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+			}
+			catch (NumberFormatException e) {
+				stream = null;
+				lastSequence = -1;
+			}
+			if (stream == null) {
+				logger.debug("Unknown last event ID {} for session {}, opening standalone stream", lastEventId,
+						this.sessionId);
+				this.standaloneStream.attach(asyncContext, -1);
+				return;
+			}
+			logger.debug("Resuming stream {} of session {} after event {}", stream.id, this.sessionId, lastSequence);
+			stream.attach(asyncContext, lastSequence);
+		}
+
+		void streamCompleted(ResponseStream stream, boolean delivered) {
+			if (delivered) {
+				this.streams.remove(stream.id);
+				return;
+			}
+			this.retainedStreams.add(stream.id);
+			while (this.retainedStreams.size() > MAX_RETAINED_STREAMS) {
+				String evicted = this.retainedStreams.poll();
+				if (evicted != null) {
+					this.streams.remove(evicted);
+				}
+			}
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return Mono.deferContextual(ctx -> Mono.fromRunnable(() -> {
+				String jsonText;
+				try {
+					jsonText = objectMapper.writeValueAsString(message);
+				}
+				catch (IOException e) {
+					throw new RuntimeException("Failed to serialize JSON-RPC message", e);
+				}
+				send(ctx.getOrDefault(STREAM_CONTEXT_KEY, null), message, jsonText);
+			}));
+		}
+
+		/**
+		 * Sends an already encoded message on the stream of the request being handled or,
+		 * if there is none, on the standalone stream.
+		 * @param message The encoded message to send
+		 * @return A Mono that completes when the message has been sent
+		 */
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			return Mono.deferContextual(ctx -> Mono.fromRunnable(
+					() -> send(ctx.getOrDefault(STREAM_CONTEXT_KEY, null), message.message(), message.asString())));
+		}
+
+		private void send(ResponseStream stream, McpSchema.JSONRPCMessage message, String jsonText) {
+			if (stream == null || stream.transport != this || !stream.send(message, jsonText)) {
+				this.standaloneStream.send(message, jsonText);
+			}
+		}
+
+		/**
+		 * Converts data from one type to another using the configured ObjectMapper.
+		 * @param data The source data object to convert
+		 * @param typeRef The target type reference
+		 * @return The converted object of type T
+		 * @param <T> The target type
+		 */
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
+		}
+
+		/**
+		 * Initiates a graceful shutdown of the transport.
+		 * @return A Mono that completes when the shutdown is complete
+		 */
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.fromRunnable(this::close);
+		}
+
+		/**
+		 * Closes the transport immediately.
+		 */
+		@Override
+		public void close() {
+			logger.debug("Closing session transport: {}", this.sessionId);
+			sessions.remove(this.sessionId);
+			this.streams.values().forEach(ResponseStream::close);
+			this.streams.clear();
+		}
+
+	}
+
+	/**
+	 * A stream of server messages, either the response stream of a POST carrying requests
+	 * or the standalone stream of a session. The stream is attached to at most one HTTP
+	 * response at a time and keeps its last events for replay.
+	 *
+	 * <p>
+	 * The state of the stream is guarded by its monitor, but the HTTP responses are only
+	 * written once the monitor is released: SSE events are queued in the
+	 * {@link SseConnection} of the attached response, so that a client reading slowly
+	 * never blocks the other senders.
+	 */
+	private class ResponseStream {
+
+		private final StreamableSessionTransport transport;
+
+		private final String id;
+
+		/** IDs of the requests still awaiting a response, or null for the standalone */
+		private final Set<Object> pendingRequestIds;
+
+		/** Last events sent on the stream, guarded by this */
+		private final Deque<SseEvent> replayBuffer = new ArrayDeque<>();
+
+		/**
+		 * Response of the POST neither answered nor upgraded to SSE yet, guarded by this
+		 */
+		private AsyncContext pendingResponse;
+
+		/** Attached SSE response, if any, guarded by this */
+		private SseConnection connection;
+
+		/** Sequence number of the last event sent, guarded by this */
+		private long lastSequence = -1;
+
+		/** Sequence number of the last event written to a client, guarded by this */
+		private long deliveredSequence = -1;
+
+		/** Whether all responses have been sent, guarded by this */
+		private boolean completed;
+
+		ResponseStream(StreamableSessionTransport transport, String id, Set<Object> pendingRequestIds,
+				AsyncContext pendingResponse) {
+			this.transport = transport;
+			this.id = id;
+			this.pendingRequestIds = pendingRequestIds;
+			this.pendingResponse = pendingResponse;
+		}
+
+		/**
+		 * Sends the message on this stream. A POST response stream is answered with plain
+		 * JSON when the message is the final response, and upgraded to SSE otherwise.
+		 * @param message The message to send
+		 * @param jsonText The serialized message
+		 * @return {@code false} if the stream is already completed
+		 */
+		boolean send(McpSchema.JSONRPCMessage message, String jsonText) {
+			AsyncContext jsonResponse = null;
+			SseConnection target = null;
+			synchronized (this) {
+				if (this.completed) {
+					return false;
+				}
+
+				boolean last = false;
+				if (this.pendingRequestIds != null) {
+					for (McpSchema.JSONRPCMessage m : McpSchema.JSONRPCBatch.flatten(message)) {
+						if (m instanceof McpSchema.JSONRPCResponse response) {
+							this.pendingRequestIds.remove(response.id());
+						}
+					}
+					last = this.pendingRequestIds.isEmpty();
+				}
+
+				if (last && this.pendingResponse != null) {
+					this.completed = true;
+					jsonResponse = this.pendingResponse;
+					this.pendingResponse = null;
+					this.transport.streamCompleted(this, true);
+				}
+				else {
+					if (this.pendingResponse != null) {
+						this.connection = openSse(this.pendingResponse, false);
+						this.pendingResponse = null;
+					}
+					SseEvent event = new SseEvent(++this.lastSequence, jsonText);
+					if (replayBufferSize > 0) {
+						if (this.replayBuffer.size() == replayBufferSize) {
+							this.replayBuffer.removeFirst();
+						}
+						this.replayBuffer.addLast(event);
+					}
+					target = this.connection;
+					if (target != null) {
+						target.enqueue(event);
+					}
+					if (last) {
+						complete();
+					}
+				}
+			}
+
+			if (jsonResponse != null) {
+				writeJson(jsonResponse, jsonText);
+			}
+			else if (target != null) {
+				target.drain();
+			}
+			return true;
+		}
+
+		/**
+		 * Attaches the stream to the given HTTP response, replaying the buffered events
+		 * following the given sequence number. Any previously attached response is
+		 * completed.
+		 * @param asyncContext The async context of the HTTP response
+		 * @param afterSequence The sequence number of the last event received by the
+		 * client, or {@code -1} to send all events not yet delivered
+		 */
+		void attach(AsyncContext asyncContext, long afterSequence) {
+			SseConnection attached = openSse(asyncContext, true);
+			if (attached == null) {
+				return;
+			}
+			SseConnection previous;
+			AsyncContext previousResponse;
+			synchronized (this) {
+				previous = this.connection;
+				previousResponse = this.pendingResponse;
+				this.pendingResponse = null;
+				this.connection = attached;
+				if (previous != null) {
+					previous.enqueueClose(null);
+				}
+				long replayFrom = afterSequence >= 0 ? afterSequence : this.deliveredSequence;
+				for (SseEvent event : this.replayBuffer) {
+					if (event.sequence() > replayFrom) {
+						attached.enqueue(event);
+					}
+				}
+				if (this.completed) {
+					complete();
+				}
+			}
+			if (previous != null) {
+				previous.drain();
+			}
+			if (previousResponse != null) {
+				completeQuietly(previousResponse);
+			}
+			attached.drain();
+		}
+
+		/**
+		 * Completes the stream, closing the attached SSE response once the queued events
+		 * have been written. Must be called holding the monitor.
+		 */
+		private void complete() {
+			this.completed = true;
+			SseConnection detached = this.connection;
+			this.connection = null;
+			if (detached != null) {
+				detached.enqueueClose(this::reportCompleted);
+			}
+			else {
+				this.transport.streamCompleted(this, this.deliveredSequence == this.lastSequence);
+			}
+		}
+
+		private void reportCompleted() {
+			boolean delivered;
+			synchronized (this) {
+				delivered = this.deliveredSequence == this.lastSequence;
+			}
+			this.transport.streamCompleted(this, delivered);
+		}
+
+		/**
+		 * Records that an event has been written to a client.
+		 * @param sequence The sequence number of the event
+		 */
+		synchronized void delivered(long sequence) {
+			this.deliveredSequence = Math.max(this.deliveredSequence, sequence);
+		}
+
+		/**
+		 * Detaches the given SSE response after the client disconnected.
+		 * @param lost The SSE response the client disconnected from
+		 */
+		void lost(SseConnection lost) {
+			synchronized (this) {
+				if (this.connection != lost) {
+					return;
+				}
+				this.connection = null;
+				lost.enqueueClose(null);
+			}
+			logger.debug("Client disconnected from stream {} of session {}", this.id, this.transport.sessionId);
+			lost.drain();
+		}
+
+		/**
+		 * Returns whether an HTTP response is attached to the stream.
+		 * @return {@code true} if a client is waiting for messages of this stream
+		 */
+		synchronized boolean attached() {
+			return this.pendingResponse != null || this.connection != null;
+		}
+
+		/**
+		 * Closes the stream and completes the attached HTTP response. A POST response
+		 * stream whose responses were not all sent is discarded.
+		 */
+		void close() {
+			SseConnection detached;
+			AsyncContext detachedResponse;
+			synchronized (this) {
+				if (!this.completed && this.pendingRequestIds != null) {
+					this.completed = true;
+					this.transport.streams.remove(this.id);
+				}
+				detached = this.connection;
+				detachedResponse = this.pendingResponse;
+				this.connection = null;
+				this.pendingResponse = null;
+				if (detached != null) {
+					detached.enqueueClose(null);
+				}
+			}
+			if (detached != null) {
+				detached.drain();
+			}
+			if (detachedResponse != null) {
+				completeQuietly(detachedResponse);
+			}
+		}
+
+		/**
+		 * Prepares the given HTTP response for SSE.
+		 * @param asyncContext The async context of the HTTP response
+		 * @param commit Whether to send the response headers right away, which writes to
+		 * the client and must not be done holding the monitor
+		 * @return The SSE response, or {@code null} if it could not be prepared
+		 */
+		private SseConnection openSse(AsyncContext asyncContext, boolean commit) {
+			try {
+				HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+				response.setContentType(TEXT_EVENT_STREAM);
+				response.setCharacterEncoding(UTF_8);
+				response.setHeader("Cache-Control", "no-cache");
+				response.setHeader("Connection", "keep-alive");
+				PrintWriter writer = response.getWriter();
+				if (commit) {
+					response.flushBuffer();
+				}
+				return new SseConnection(this, asyncContext, writer);
+			}
+			catch (Exception e) {
+				logger.debug("Failed to open SSE stream {} of session {}: {}", this.id, this.transport.sessionId,
+						e.getMessage());
+				completeQuietly(asyncContext);
+				return null;
+			}
+		}
+
+		private void writeJson(AsyncContext asyncContext, String jsonText) {
+			try {
+				HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+				response.setContentType(APPLICATION_JSON);
+				response.setCharacterEncoding(UTF_8);
+				response.setStatus(HttpServletResponse.SC_OK);
+				PrintWriter jsonWriter = response.getWriter();
+				jsonWriter.write(jsonText);
+				jsonWriter.flush();
+			}
+			catch (Exception e) {
+				logger.debug("Failed to send response on stream {} of session {}: {}", this.id,
+						this.transport.sessionId, e.getMessage());
+			}
+			completeQuietly(asyncContext);
+		}
+
+	}
+
+	/**
+	 * An HTTP response a stream is attached to, whose SSE events are written through an
+	 * {@link SseEventWriter} by whichever thread drains it.
+	 */
+	private class SseConnection {
+
+		private final ResponseStream stream;
+
+		private final AsyncContext asyncContext;
+
+		private final SseEventWriter eventWriter;
+
+		SseConnection(ResponseStream stream, AsyncContext asyncContext, PrintWriter writer) {
+			this.stream = stream;
+			this.asyncContext = asyncContext;
+			// The replay buffer rather than this queue bounds what a stream retains
+			this.eventWriter = new SseEventWriter(writer, Integer.MAX_VALUE);
+		}
+
+		/**
+		 * Enqueues an event, recording its delivery once written.
+		 * @param event The event to enqueue
+		 */
+		void enqueue(SseEvent event) {
+			Mono.<Void>create(sink -> this.eventWriter.add(this.stream.id + "_" + event.sequence(), MESSAGE_EVENT_TYPE,
+					event.data(), sink))
+				.subscribe(null, error -> {
+				}, () -> this.stream.delivered(event.sequence()));
+		}
+
+		/**
+		 * Enqueues the completion of the HTTP response after the events already queued.
+		 * @param onClosed Invoked once the response is completed, or {@code null}
+		 */
+		void enqueueClose(Runnable onClosed) {
+			Runnable close = () -> {
+				completeQuietly(this.asyncContext);
+				this.stream.transport.touch();
+				if (onClosed != null) {
+					onClosed.run();
+				}
+			};
+			Mono.<Void>create(this.eventWriter::addMarker).subscribe(null, error -> close.run(), close);
+		}
+
+		/**
+		 * Writes the queued events, unless another thread is already doing so. Must not
+		 * be called holding the monitor of a stream.
+		 */
+		void drain() {
+			try {
+				this.eventWriter.drain();
+			}
+			catch (IOException e) {
+				this.stream.lost(this);
+			}
+		}
+
+	}
+
+	private record SseEvent(long sequence, String data) {
+	}
+
+	/**
+	 * Creates a new Builder instance for configuring and creating instances of
+	 * HttpServletStreamableServerTransportProvider.
+	 * @return A new Builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for creating instances of HttpServletStreamableServerTransportProvider.
+	 */
+	public static class Builder {
+
+		private ObjectMapper objectMapper = new ObjectMapper();
+
+		private String mcpEndpoint = DEFAULT_MCP_ENDPOINT;
+
+		private int replayBufferSize = DEFAULT_REPLAY_BUFFER_SIZE;
+
+		private Duration sessionIdleTimeout = DEFAULT_SESSION_IDLE_TIMEOUT;
+
+		private int maxRequestBodySize = DEFAULT_MAX_REQUEST_BODY_SIZE;
+
+		/**
+		 * Sets the JSON object mapper to use for message serialization/deserialization.
+		 * @param objectMapper The object mapper to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder objectMapper(ObjectMapper objectMapper) {
+			Assert.notNull(objectMapper, "ObjectMapper must not be null");
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		/**
+		 * Sets the endpoint path.
+		 * <p>
+		 * If not specified, the default value of {@link #DEFAULT_MCP_ENDPOINT} will be
+		 * used.
+		 * @param mcpEndpoint The endpoint path
+		 * @return This builder instance for method chaining
+		 */
+		public Builder mcpEndpoint(String mcpEndpoint) {
+			Assert.hasText(mcpEndpoint, "MCP endpoint must not be empty");
+			this.mcpEndpoint = mcpEndpoint;
+			return this;
+		}
+
+		/**
+		 * Sets the number of events kept per stream for replay when a client reconnects
+		 * with the {@code last-event-id} header.
+		 * <p>
+		 * If not specified, the default value of {@link #DEFAULT_REPLAY_BUFFER_SIZE} will
+		 * be used. {@code 0} disables replay.
+		 * @param replayBufferSize The number of events kept per stream
+		 * @return This builder instance for method chaining
+		 */
+		public Builder replayBufferSize(int replayBufferSize) {
+			Assert.isTrue(replayBufferSize >= 0, "Replay buffer size must not be negative");
+			this.replayBufferSize = replayBufferSize;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a session without any open request or stream is
+		 * closed. Requests carrying the ID of a closed session are answered with
+		 * {@code 404 Not Found}, upon which clients start a new session.
+		 * <p>
+		 * If not specified, the default value of {@link #DEFAULT_SESSION_IDLE_TIMEOUT}
+		 * will be used.
+		 * @param sessionIdleTimeout The session idle timeout
+		 * @return This builder instance for method chaining
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			Assert.notNull(sessionIdleTimeout, "Session idle timeout must not be null");
+			Assert.isTrue(sessionIdleTimeout.toMillis() > 0, "Session idle timeout must be positive");
+			this.sessionIdleTimeout = sessionIdleTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets the max size in bytes of the body of a POST request. Larger requests are
+		 * answered with {@code 413 Content Too Large} without reading their body further.
+		 * <p>
+		 * If not specified, the default value of {@link #DEFAULT_MAX_REQUEST_BODY_SIZE}
+		 * will be used.
+		 * @param maxRequestBodySize The max request body size
+		 * @return This builder instance for method chaining
+		 */
+		public Builder maxRequestBodySize(int maxRequestBodySize) {
+			Assert.isTrue(maxRequestBodySize > 0, "Max request body size must be positive");
+			this.maxRequestBodySize = maxRequestBodySize;
+			return this;
+		}
+
+		/**
+		 * Builds a new instance of HttpServletStreamableServerTransportProvider with the
+		 * configured settings.
+		 * @return A new HttpServletStreamableServerTransportProvider instance
+		 */
+		public HttpServletStreamableServerTransportProvider build() {
+			return new HttpServletStreamableServerTransportProvider(objectMapper, mcpEndpoint, replayBufferSize,
+					sessionIdleTimeout, maxRequestBodySize);
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Reads the body of a request in async mode with Servlet non-blocking I/O, so that no
+ * container thread waits for a slow client to send its body.
+ *
+ * <p>
+ * The body is read straight into a single buffer, sized from the {@code Content-Length}
+ * header when present and grown as needed otherwise, without intermediate copies or
+ * character decoding.
+ *
+ * <p>
+ * Bodies larger than the max body size fail with a {@link BodyTooLargeException}, as soon
+ * as the {@code Content-Length} header announces them or, without the header, once the
+ * bytes read exceed it. Reading stops right away, so that such bodies are never buffered.
+ */
+final class ServletRequestBodyReader implements ReadListener {
+
+	/** Initial buffer size for bodies of unknown length */
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/** Upper bound of the initial buffer size, whatever the announced length */
+	private static final int MAX_INITIAL_BUFFER_SIZE = 1024 * 1024;
+
+	private final ServletInputStream input;
+
+	private final MonoSink<ByteBuffer> sink;
+
+	private final int maxBodySize;
+
+	private byte[] buffer;
+
+	private int length;
+
+	/** Whether the body turned out too large, after which nothing more is read */
+	private boolean aborted;
+
+	private ServletRequestBodyReader(ServletInputStream input, int contentLength, int maxBodySize,
+			MonoSink<ByteBuffer> sink) {
+		this.input = input;
+		this.sink = sink;
+		this.maxBodySize = maxBodySize;
+		this.buffer = new byte[contentLength > 0 ? Math.min(contentLength, MAX_INITIAL_BUFFER_SIZE)
+				: Math.min(DEFAULT_BUFFER_SIZE, maxBodySize + 1)];
+	}
+
+	/**
+	 * Reads the body of the given request, which must already be in async mode.
+	 * @param request The HTTP servlet request
+	 * @param maxBodySize The max size of the body in bytes
+	 * @return A Mono emitting a buffer holding the whole body, or failing with a
+	 * {@link BodyTooLargeException} if the body is larger than the max size
+	 */
+	static Mono<ByteBuffer> read(HttpServletRequest request, int maxBodySize) {
+		return Mono.create(sink -> {
+			long contentLength = request.getContentLengthLong();
+			if (contentLength > maxBodySize) {
+				sink.error(new BodyTooLargeException(maxBodySize));
+				return;
+			}
+			try {
+				ServletInputStream input = request.getInputStream();
+				input.setReadListener(new ServletRequestBodyReader(input, (int) contentLength, maxBodySize, sink));
+			}
+			catch (IOException | IllegalStateException e) {
+				sink.error(e);
+			}
+		});
+	}
+
+	@Override
+	public void onDataAvailable() throws IOException {
+		while (!this.aborted && !this.input.isFinished() && this.input.isReady()) {
+			if (this.length == this.buffer.length) {
+				// One byte past the max size is enough to tell that the body is too large
+				long grown = Math.min(this.buffer.length * 2L, this.maxBodySize + 1L);
+				this.buffer = Arrays.copyOf(this.buffer, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+			}
+			int read = this.input.read(this.buffer, this.length, this.buffer.length - this.length);
+			if (read == -1) {
+				return;
+			}
+			this.length += read;
+			if (this.length > this.maxBodySize) {
+				this.aborted = true;
+				this.buffer = null;
+				this.sink.error(new BodyTooLargeException(this.maxBodySize));
+			}
+		}
+	}
+
+	@Override
+	public void onAllDataRead() {
+		if (!this.aborted) {
+			this.sink.success(ByteBuffer.wrap(this.buffer, 0, this.length));
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		this.sink.error(t);
+	}
+
+	/**
+	 * Signals a request body larger than the max body size, to be answered with
+	 * {@code 413 Content Too Large}.
+	 */
+	static final class BodyTooLargeException extends IOException {
+
+		BodyTooLargeException(int maxBodySize) {
+			super("Request body larger than " + maxBodySize + " bytes");
+		}
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Bounded outbound queue of Server-Sent Events in front of the writer of an SSE
+ * connection.
+ *
+ * <p>
+ * Any thread may enqueue events and then call {@link #drain()}. Only one thread drains at
+ * a time, so events are never interleaved on the wire, and the draining thread writes all
+ * the events queued meanwhile in a single write followed by a single flush. Threads
+ * finding the queue already being drained return immediately, leaving their events to the
+ * draining thread.
+ *
+ * <p>
+ * An event may be enqueued along with a sink notified once the event has been written and
+ * flushed, or once it is known that it never will be, so that its sender can wait for the
+ * client to keep up before sending more.
+ */
+final class SseEventWriter {
+
+	private record Event(String text, MonoSink<Void> written) {
+	}
+
+	private final PrintWriter writer;
+
+	private final int capacity;
+
+	private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final AtomicInteger wip = new AtomicInteger();
+
+	private volatile boolean failed;
+
+	/**
+	 * Creates a new event writer.
+	 * @param writer The writer of the SSE connection
+	 * @param capacity The max number of events waiting to be written
+	 */
+	SseEventWriter(PrintWriter writer, int capacity) {
+		this.writer = writer;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Enqueues an event, unless the queue is full.
+	 * @param eventType The type of event
+	 * @param data The event data
+	 * @return {@code true} if the event was enqueued, {@code false} if the queue is full
+	 */
+	boolean offer(String eventType, String data) {
+		return offer(eventType, data, null);
+	}
+
+	/**
+	 * Enqueues an event, unless the queue is full.
+	 * @param eventType The type of event
+	 * @param data The event data
+	 * @param written The sink to notify once the event has been written, or {@code null}
+	 * @return {@code true} if the event was enqueued, {@code false} if the queue is full,
+	 * in which case the sink is not notified
+	 */
+	boolean offer(String eventType, String data, MonoSink<Void> written) {
+		if (this.size.incrementAndGet() > this.capacity) {
+			this.size.decrementAndGet();
+			return false;
+		}
+		this.queue.offer(new Event(format(eventType, data), written));
+		return true;
+	}
+
+	/**
+	 * Enqueues an event, even if the queue is full.
+	 * @param eventType The type of event
+	 * @param data The event data
+	 */
+	void add(String eventType, String data) {
+		add(eventType, data, null);
+	}
+
+	/**
+	 * Enqueues an event, even if the queue is full.
+	 * @param eventType The type of event
+	 * @param data The event data
+	 * @param written The sink to notify once the event has been written, or {@code null}
+	 */
+	void add(String eventType, String data, MonoSink<Void> written) {
+		this.size.incrementAndGet();
+		this.queue.offer(new Event(format(eventType, data), written));
+	}
+
+	/**
+	 * Enqueues an event carrying an ID, even if the queue is full.
+	 * @param id The event ID
+	 * @param eventType The type of event
+	 * @param data The event data
+	 * @param written The sink to notify once the event has been written, or {@code null}
+	 */
+	void add(String id, String eventType, String data, MonoSink<Void> written) {
+		this.size.incrementAndGet();
+		this.queue.offer(new Event("id: " + id + "\n" + format(eventType, data), written));
+	}
+
+	/**
+	 * Enqueues a marker without data, even if the queue is full. The sink is notified
+	 * once the events enqueued before the marker have been written, or once it is known
+	 * that they never will be.
+	 * @param written The sink to notify
+	 */
+	void addMarker(MonoSink<Void> written) {
+		this.size.incrementAndGet();
+		this.queue.offer(new Event("", written));
+	}
+
+	private static String format(String eventType, String data) {
+		return "event: " + eventType + "\ndata: " + data + "\n\n";
+	}
+
+	/**
+	 * Writes and flushes the queued events, unless another thread is already doing so.
+	 * @throws IOException If the client disconnected
+	 */
+	void drain() throws IOException {
+		if (this.failed) {
+			discard();
+			throw new IOException("Client disconnected");
+		}
+		if (this.wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		StringBuilder batch = new StringBuilder();
+		List<MonoSink<Void>> written = new ArrayList<>();
+		do {
+			Event event;
+			while ((event = this.queue.poll()) != null) {
+				this.size.decrementAndGet();
+				batch.append(event.text());
+				if (event.written() != null) {
+					written.add(event.written());
+				}
+			}
+			if (batch.length() > 0 || !written.isEmpty()) {
+				this.writer.write(batch.toString());
+				batch.setLength(0);
+				// checkError() flushes the writer before checking its error state
+				if (this.writer.checkError()) {
+					// Leave wip set, so that no thread writes to the connection anymore
+					this.failed = true;
+					written.forEach(sink -> sink.error(new IOException("Client disconnected")));
+					discard();
+					throw new IOException("Client disconnected");
+				}
+				// Senders waiting for their event may enqueue the next one right away,
+				// which this loop then writes
+				written.forEach(MonoSink::success);
+				written.clear();
+			}
+			missed = this.wip.addAndGet(-missed);
+		}
+		while (missed != 0);
+	}
+
+	/**
+	 * Stops writing events, failing the senders waiting for queued events to be written.
+	 * Must be called once the connection is closed.
+	 */
+	void abort() {
+		this.failed = true;
+		discard();
+	}
+
+	private void discard() {
+		Event event;
+		while ((event = this.queue.poll()) != null) {
+			this.size.decrementAndGet();
+			if (event.written() != null) {
+				event.written().error(new IOException("Client disconnected"));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of events waiting to be written.
+	 * @return The queue depth
+	 */
+	int size() {
+		return this.size.get();
+	}
+
+}
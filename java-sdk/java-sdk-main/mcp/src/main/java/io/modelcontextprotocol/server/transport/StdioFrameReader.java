@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits the bytes read from an input stream into newline-delimited frames.
+ *
+ * <p>
+ * Bytes are read straight into a reusable buffer and scanned for the {@code '\n'}
+ * delimiter without being decoded, so each frame is handed over as a slice of the buffer
+ * that can be parsed in place. A {@code '\r'} preceding the delimiter is dropped and
+ * blank lines are skipped. The buffer is compacted once its complete frames have been
+ * handed over, and doubled whenever a single frame does not fit in it.
+ */
+final class StdioFrameReader {
+
+	/**
+	 * Receives the frames read from the input stream.
+	 */
+	interface FrameHandler {
+
+		/**
+		 * Handles a frame. The bytes of the frame are only valid during the call.
+		 * @param buffer The buffer holding the frame
+		 * @param offset The offset of the frame in the buffer
+		 * @param length The length of the frame, without its delimiter
+		 * @return {@code true} to continue reading, {@code false} to stop
+		 * @throws IOException If the frame cannot be handled
+		 */
+		boolean onFrame(byte[] buffer, int offset, int length) throws IOException;
+
+	}
+
+	private final InputStream inputStream;
+
+	private byte[] buffer;
+
+	/** Start of the first frame not handed over yet */
+	private int start;
+
+	/** End of the bytes read into the buffer */
+	private int end;
+
+	/**
+	 * Creates a new frame reader.
+	 * @param inputStream The input stream to read from
+	 * @param initialCapacity The initial size of the buffer
+	 */
+	StdioFrameReader(InputStream inputStream, int initialCapacity) {
+		this.inputStream = inputStream;
+		this.buffer = new byte[initialCapacity];
+	}
+
+	/**
+	 * Reads frames and hands them over until the end of the input stream, or until the
+	 * handler asks to stop. A last frame without delimiter is handed over at the end of
+	 * the input stream.
+	 * @param handler The handler of the frames
+	 * @throws IOException If the input stream cannot be read, or the handler fails
+	 */
+	void read(FrameHandler handler) throws IOException {
+		int scanned = this.start;
+		while (true) {
+			int delimiter = indexOfDelimiter(scanned);
+			if (delimiter >= 0) {
+				int frameStart = this.start;
+				this.start = delimiter + 1;
+				scanned = this.start;
+				if (!handleFrame(handler, frameStart, delimiter)) {
+					return;
+				}
+				continue;
+			}
+			scanned = this.end;
+			if (this.start > 0) {
+				// Move the partial frame to the front, so that it can be completed
+				System.arraycopy(this.buffer, this.start, this.buffer, 0, this.end - this.start);
+				this.end -= this.start;
+				scanned -= this.start;
+				this.start = 0;
+			}
+			if (this.end == this.buffer.length) {
+				byte[] grown = new byte[this.buffer.length * 2];
+				System.arraycopy(this.buffer, 0, grown, 0, this.end);
+				this.buffer = grown;
+			}
+			int read = this.inputStream.read(this.buffer, this.end, this.buffer.length - this.end);
+			if (read < 0) {
+				int frameStart = this.start;
+				this.start = this.end;
+				handleFrame(handler, frameStart, this.end);
+				return;
+			}
+			this.end += read;
+		}
+	}
+
+	private int indexOfDelimiter(int from) {
+		byte[] buffer = this.buffer;
+		for (int i = from; i < this.end; i++) {
+			if (buffer[i] == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private boolean handleFrame(FrameHandler handler, int frameStart, int frameEnd) throws IOException {
+		if (frameEnd > frameStart && this.buffer[frameEnd - 1] == '\r') {
+			frameEnd--;
+		}
+		if (frameEnd == frameStart) {
+			return true;
+		}
+		return handler.onFrame(this.buffer, frameStart, frameEnd - frameStart);
+	}
+
+}
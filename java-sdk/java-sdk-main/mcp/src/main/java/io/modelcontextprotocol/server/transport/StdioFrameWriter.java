@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Writes newline-delimited JSON-RPC messages to an output stream in batches.
+ *
+ * <p>
+ * Messages are serialized by Jackson as UTF-8 straight into a reusable buffer, each
+ * followed by a {@code '\n'} delimiter, and the buffer is only written and flushed to the
+ * output stream by {@link #flush()}, so a batch of messages costs a single flush. Line
+ * breaks can only appear in the JSON encoding as whitespace between tokens, since they
+ * are escaped within strings, so they are replaced by spaces to keep every message on a
+ * single line. Not thread-safe, callers must serialize access.
+ */
+final class StdioFrameWriter {
+
+	private static final int INITIAL_CAPACITY = 8 * 1024;
+
+	/** Size of the batch above which it is written out before the flush */
+	private static final int WRITE_THRESHOLD = 64 * 1024;
+
+	/** Buffers grown above this size are dropped once written out */
+	private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+	private final ObjectMapper objectMapper;
+
+	private final OutputStream outputStream;
+
+	private FrameBuffer buffer = new FrameBuffer(INITIAL_CAPACITY);
+
+	/**
+	 * Creates a new frame writer.
+	 * @param objectMapper The ObjectMapper to serialize the messages with
+	 * @param outputStream The output stream to write to
+	 */
+	StdioFrameWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+		this.objectMapper = objectMapper;
+		this.outputStream = outputStream;
+	}
+
+	/**
+	 * Serializes a message into the current batch. A message failing to serialize leaves
+	 * the batch untouched.
+	 * @param message The message to write
+	 * @throws IOException If the message cannot be serialized, or the batch cannot be
+	 * written out
+	 */
+	void append(McpSchema.JSONRPCMessage message) throws IOException {
+		int frameStart = this.buffer.size();
+		try {
+			this.objectMapper.writeValue(this.buffer, message);
+		}
+		catch (IOException | RuntimeException e) {
+			this.buffer.truncate(frameStart);
+			throw e;
+		}
+		endFrame(frameStart);
+	}
+
+	/**
+	 * Appends an already encoded message to the current batch.
+	 * @param message The message to write
+	 * @throws IOException If the batch cannot be written out
+	 */
+	void append(McpEncodedMessage message) throws IOException {
+		int frameStart = this.buffer.size();
+		this.buffer.write(message.asByteBuffer());
+		endFrame(frameStart);
+	}
+
+	private void endFrame(int frameStart) throws IOException {
+		this.buffer.replaceLineBreaks(frameStart);
+		this.buffer.write('\n');
+		if (this.buffer.size() >= WRITE_THRESHOLD) {
+			writeOut();
+		}
+	}
+
+	/**
+	 * Writes the current batch to the output stream and flushes it.
+	 * @throws IOException If the output stream cannot be written
+	 */
+	void flush() throws IOException {
+		if (this.buffer.size() > 0) {
+			writeOut();
+			this.outputStream.flush();
+		}
+	}
+
+	private void writeOut() throws IOException {
+		try {
+			this.buffer.writeTo(this.outputStream);
+		}
+		finally {
+			if (this.buffer.capacity() > MAX_RETAINED_CAPACITY) {
+				this.buffer = new FrameBuffer(INITIAL_CAPACITY);
+			}
+			else {
+				this.buffer.reset();
+			}
+		}
+	}
+
+	/**
+	 * Byte array stream giving access to the bytes written so far.
+	 */
+	private static final class FrameBuffer extends ByteArrayOutputStream {
+
+		FrameBuffer(int capacity) {
+			super(capacity);
+		}
+
+		int capacity() {
+			return this.buf.length;
+		}
+
+		void write(ByteBuffer bytes) {
+			int length = bytes.remaining();
+			if (this.count + length > this.buf.length) {
+				this.buf = Arrays.copyOf(this.buf, Math.max(this.buf.length * 2, this.count + length));
+			}
+			bytes.get(this.buf, this.count, length);
+			this.count += length;
+		}
+
+		void truncate(int size) {
+			this.count = size;
+		}
+
+		void replaceLineBreaks(int from) {
+			for (int i = from; i < this.count; i++) {
+				if (this.buf[i] == '\n' || this.buf[i] == '\r') {
+					this.buf[i] = ' ';
+				}
+			}
+		}
+
+	}
+
+}
@@ -4,20 +4,18 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
@@ -27,7 +25,6 @@ import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Scheduler;
@@ -38,12 +35,19 @@ import reactor.core.scheduler.Schedulers;
  * standard input/output streams. Messages are exchanged as newline-delimited JSON-RPC
  * messages over stdin/stdout, with errors and debug information sent to stderr.
  *
+ * <p>
+ * Lines are split at the byte level and each message is parsed straight from the bytes
+ * read from stdin. Outgoing messages are serialized as UTF-8 into a reusable buffer, and
+ * the messages queued while writing are written together with a single flush.
+ *
  * @author Christian Tzolov
  */
 public class StdioServerTransportProvider implements McpServerTransportProvider {
 
 	private static final Logger logger = LoggerFactory.getLogger(StdioServerTransportProvider.class);
 
+	private static final int INITIAL_FRAME_BUFFER_SIZE = 8 * 1024;
+
 	private final ObjectMapper objectMapper;
 
 	private final InputStream inputStream;
@@ -54,8 +58,6 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 	private final AtomicBoolean isClosing = new AtomicBoolean(false);
 
-	private final Sinks.One<Void> inboundReady = Sinks.one();
-
 	/**
 	 * Creates a new StdioServerTransportProvider with a default ObjectMapper and System
 	 * streams.
@@ -122,7 +124,12 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 		private final Sinks.Many<JSONRPCMessage> inboundSink;
 
-		private final Sinks.Many<JSONRPCMessage> outboundSink;
+		/** Messages waiting to be written, JSON-RPC messages or encoded messages */
+		private final Queue<Object> outboundQueue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger outboundWip = new AtomicInteger();
+
+		private final StdioFrameWriter frameWriter;
 
 		private final AtomicBoolean isStarted = new AtomicBoolean(false);
 
@@ -132,12 +139,10 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 		/** Scheduler for handling outbound messages */
 		private Scheduler outboundScheduler;
 
-		private final Sinks.One<Void> outboundReady = Sinks.one();
-
 		public StdioMcpSessionTransport() {
 
 			this.inboundSink = Sinks.many().unicast().onBackpressureBuffer();
-			this.outboundSink = Sinks.many().unicast().onBackpressureBuffer();
+			this.frameWriter = new StdioFrameWriter(objectMapper, outputStream);
 
 			// Use bounded schedulers for better resource management
 			this.inboundScheduler = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(),
@@ -148,20 +153,26 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return enqueue(message);
+		}
 
-			return Mono.zip(inboundReady.asMono(), outboundReady.asMono()).then(Mono.defer(() -> {
-				if (outboundSink.tryEmitNext(message).isSuccess()) {
-					return Mono.empty();
-				}
-				else {
-					return Mono.error(new RuntimeException("Failed to enqueue message"));
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			return enqueue(message);
+		}
+
+		private Mono<Void> enqueue(Object message) {
+			return Mono.fromRunnable(() -> {
+				this.outboundQueue.offer(message);
+				if (this.outboundWip.getAndIncrement() == 0) {
+					this.outboundScheduler.schedule(this::drainOutbound);
 				}
-			}));
+			});
 		}
 
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
 		}
 
 		@Override
@@ -182,56 +193,43 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 		private void initProcessing() {
 			handleIncomingMessages();
 			startInboundProcessing();
-			startOutboundProcessing();
 		}
 
 		private void handleIncomingMessages() {
 			this.inboundSink.asFlux().flatMap(message -> session.handle(message)).doOnTerminate(() -> {
-				// The outbound processing will dispose its scheduler upon completion
-				this.outboundSink.tryEmitComplete();
+				// Tasks run in order, so the messages already queued are written first
+				this.outboundScheduler.schedule(this.outboundScheduler::dispose);
 				this.inboundScheduler.dispose();
 			}).subscribe();
 		}
 
 		/**
 		 * Starts the inbound processing thread that reads JSON-RPC messages from stdin.
-		 * Messages are deserialized and passed to the session for handling.
+		 * Messages are deserialized straight from the bytes of each line and passed to
+		 * the session for handling.
 		 */
 		private void startInboundProcessing() {
 			if (isStarted.compareAndSet(false, true)) {
 				this.inboundScheduler.schedule(() -> {
-					inboundReady.tryEmitValue(null);
-					BufferedReader reader = null;
 					try {
-						reader = new BufferedReader(new InputStreamReader(inputStream));
-						while (!isClosing.get()) {
+						StdioFrameReader reader = new StdioFrameReader(inputStream, INITIAL_FRAME_BUFFER_SIZE);
+						reader.read((buffer, offset, length) -> {
+							if (isClosing.get()) {
+								return false;
+							}
 							try {
-								String line = reader.readLine();
-								if (line == null || isClosing.get()) {
-									break;
-								}
-
-								logger.debug("Received JSON message: {}", line);
-
-								try {
-									McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper,
-											line);
-									if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
-										// logIfNotClosing("Failed to enqueue message");
-										break;
-									}
-
-								}
-								catch (Exception e) {
-									logIfNotClosing("Error processing inbound message", e);
-									break;
-								}
+								McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper,
+										buffer, offset, length);
+								return this.inboundSink.tryEmitNext(message).isSuccess();
 							}
-							catch (IOException e) {
-								logIfNotClosing("Error reading from stdin", e);
-								break;
+							catch (Exception e) {
+								logIfNotClosing("Error processing inbound message", e);
+								return false;
 							}
-						}
+						});
+					}
+					catch (IOException e) {
+						logIfNotClosing("Error reading from stdin", e);
 					}
 					catch (Exception e) {
 						logIfNotClosing("Error in inbound processing", e);
@@ -248,61 +246,44 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 		}
 
 		/**
-		 * Starts the outbound processing thread that writes JSON-RPC messages to stdout.
-		 * Messages are serialized to JSON and written with a newline delimiter.
+		 * Writes the queued messages to stdout on the outbound thread. All the messages
+		 * queued while draining are written as a single batch with a single flush.
 		 */
-		private void startOutboundProcessing() {
-			Function<Flux<JSONRPCMessage>, Flux<JSONRPCMessage>> outboundConsumer = messages -> messages // @formatter:off
-				 .doOnSubscribe(subscription -> outboundReady.tryEmitValue(null))
-				 .publishOn(outboundScheduler)
-				 .handle((message, sink) -> {
-					 if (message != null && !isClosing.get()) {
-						 try {
-							 String jsonMessage = objectMapper.writeValueAsString(message);
-							 // Escape any embedded newlines in the JSON message as per spec
-							 jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-	
-							 synchronized (outputStream) {
-								 outputStream.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-								 outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
-								 outputStream.flush();
-							 }
-							 sink.next(message);
-						 }
-						 catch (IOException e) {
-							 if (!isClosing.get()) {
-								 logger.error("Error writing message", e);
-								 sink.error(new RuntimeException(e));
-							 }
-							 else {
-								 logger.debug("Stream closed during shutdown", e);
-							 }
-						 }
-					 }
-					 else if (isClosing.get()) {
-						 sink.complete();
-					 }
-				 })
-				 .doOnComplete(() -> {
-					 isClosing.set(true);
-					 outboundScheduler.dispose();
-				 })
-				 .doOnError(e -> {
-					 if (!isClosing.get()) {
-						 logger.error("Error in outbound processing", e);
-						 isClosing.set(true);
-						 outboundScheduler.dispose();
-					 }
-				 })
-				 .map(msg -> (JSONRPCMessage) msg);
-	
-				 outboundConsumer.apply(outboundSink.asFlux()).subscribe();
-		 } // @formatter:on
+		private void drainOutbound() {
+			int missed = 1;
+			do {
+				Object message;
+				while ((message = this.outboundQueue.poll()) != null) {
+					try {
+						if (message instanceof McpEncodedMessage encoded) {
+							this.frameWriter.append(encoded);
+						}
+						else {
+							this.frameWriter.append((JSONRPCMessage) message);
+						}
+					}
+					catch (IOException e) {
+						logIfNotClosing("Error writing message", e);
+					}
+				}
+				try {
+					this.frameWriter.flush();
+				}
+				catch (IOException e) {
+					logIfNotClosing("Error writing message", e);
+				}
+				missed = this.outboundWip.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
 
 		private void logIfNotClosing(String message, Exception e) {
 			if (!isClosing.get()) {
 				logger.error(message, e);
 			}
+			else {
+				logger.debug(message, e);
+			}
 		}
 
 	}
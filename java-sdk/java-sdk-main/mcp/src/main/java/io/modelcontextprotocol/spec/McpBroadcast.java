@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Broadcasts notifications to the sessions of a {@link McpServerTransportProvider}.
+ *
+ * <p>
+ * The notification is serialized once and the same {@link McpEncodedMessage} is handed to
+ * every session. Past {@link #PARALLEL_THRESHOLD} sessions, the sessions are split into a
+ * bounded number of rails that send concurrently, so that a few slow connections do not
+ * hold up the whole broadcast. Failures to send to a session are logged and do not
+ * prevent sending to the other sessions.
+ */
+public final class McpBroadcast {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpBroadcast.class);
+
+	/** Default number of concurrent rails, one per available processor */
+	public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+	/** Min number of sessions for which the broadcast is split into concurrent rails */
+	public static final int PARALLEL_THRESHOLD = 256;
+
+	private McpBroadcast() {
+	}
+
+	/**
+	 * Sends a notification to all the given sessions, using {@link #DEFAULT_PARALLELISM}
+	 * concurrent rails.
+	 * @param objectMapper the object mapper to serialize the notification with
+	 * @param sessions the sessions to notify
+	 * @param method the name of the notification method
+	 * @param params the parameters of the notification
+	 * @return a Mono that completes when the notification has been sent to all sessions
+	 */
+	public static Mono<Void> broadcast(ObjectMapper objectMapper, Collection<McpServerSession> sessions, String method,
+			Object params) {
+		return broadcast(objectMapper, sessions, method, params, DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * Sends a notification to all the given sessions.
+	 * @param objectMapper the object mapper to serialize the notification with
+	 * @param sessions the sessions to notify
+	 * @param method the name of the notification method
+	 * @param params the parameters of the notification
+	 * @param parallelism the max number of concurrent rails
+	 * @return a Mono that completes when the notification has been sent to all sessions
+	 */
+	public static Mono<Void> broadcast(ObjectMapper objectMapper, Collection<McpServerSession> sessions, String method,
+			Object params, int parallelism) {
+		if (sessions.isEmpty()) {
+			logger.debug("No active sessions to broadcast message to");
+			return Mono.empty();
+		}
+
+		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
+
+		return Mono.fromCallable(() -> encode(objectMapper, method, params)).flatMap(message -> {
+			Flux<McpServerSession> all = Flux.fromIterable(sessions);
+			if (parallelism <= 1 || sessions.size() < PARALLEL_THRESHOLD) {
+				return all.flatMap(session -> send(session, message)).then();
+			}
+			return all.parallel(parallelism)
+				.runOn(Schedulers.boundedElastic())
+				.flatMap(session -> send(session, message))
+				.then();
+		});
+	}
+
+	private static McpEncodedMessage encode(ObjectMapper objectMapper, String method, Object params)
+			throws IOException {
+		return McpEncodedMessage.encode(objectMapper,
+				new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, params));
+	}
+
+	private static Mono<Void> send(McpServerSession session, McpEncodedMessage message) {
+		return session.sendEncodedMessage(message)
+			.doOnError(e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
+			.onErrorComplete();
+	}
+
+}
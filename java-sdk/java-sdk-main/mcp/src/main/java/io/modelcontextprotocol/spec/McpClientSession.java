@@ -9,14 +9,12 @@ import io.modelcontextprotocol.util.Assert;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -40,14 +38,35 @@ public class McpClientSession implements McpSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpClientSession.class);
 
+	private static final TypeReference<McpSchema.CancelledNotification> CANCELLED_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
+
+	/**
+	 * Reactor context key that, when set to {@code true}, has the requests sent in that
+	 * context coalesced into JSON-RPC batches.
+	 */
+	public static final String BATCH_REQUESTS_CONTEXT_KEY = McpClientSession.class.getName() + ".batchRequests";
+
+	/** Default time a batch stays open for further requests */
+	public static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(5);
+
+	/** Default maximum number of requests in a batch */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+
 	/** Duration to wait for request responses before timing out */
 	private final Duration requestTimeout;
 
 	/** Transport layer implementation for message exchange */
 	private final McpClientTransport transport;
 
-	/** Map of pending responses keyed by request ID */
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	/** Requests awaiting a response, keyed by request ID */
+	private final McpPendingRequests pendingRequests;
+
+	/** Requests of the server being handled, cancelled on the server's demand */
+	private final McpInboundRequests inboundRequests = new McpInboundRequests();
+
+	/** Coalesces the requests sent in a batching context */
+	private final McpRequestBatcher requestBatcher;
 
 	/** Map of request handlers keyed by method name */
 	private final ConcurrentHashMap<String, RequestHandler<?>> requestHandlers = new ConcurrentHashMap<>();
@@ -55,12 +74,6 @@ public class McpClientSession implements McpSession {
 	/** Map of notification handlers keyed by method name */
 	private final ConcurrentHashMap<String, NotificationHandler> notificationHandlers = new ConcurrentHashMap<>();
 
-	/** Session-specific prefix for request IDs */
-	private final String sessionPrefix = UUID.randomUUID().toString().substring(0, 8);
-
-	/** Atomic counter for generating unique request IDs */
-	private final AtomicLong requestCounter = new AtomicLong(0);
-
 	/**
 	 * Functional interface for handling incoming JSON-RPC requests. Implementations
 	 * should process the request parameters and return a response.
@@ -122,6 +135,47 @@ public class McpClientSession implements McpSession {
 	public McpClientSession(Duration requestTimeout, McpClientTransport transport,
 			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers,
 			Function<? super Mono<Void>, ? extends Publisher<Void>> connectHook) {
+		this(requestTimeout, McpPendingRequests.UNBOUNDED, transport, requestHandlers, notificationHandlers,
+				connectHook);
+	}
+
+	/**
+	 * Creates a new McpClientSession with the specified configuration and handlers.
+	 * @param requestTimeout Duration to wait for responses
+	 * @param maxPendingRequests Maximum number of requests awaiting a response at once,
+	 * further requests fail fast until responses arrive
+	 * @param transport Transport implementation for message exchange
+	 * @param requestHandlers Map of method names to request handlers
+	 * @param notificationHandlers Map of method names to notification handlers
+	 * @param connectHook Hook that allows transforming the connection Publisher prior to
+	 * subscribing
+	 */
+	public McpClientSession(Duration requestTimeout, int maxPendingRequests, McpClientTransport transport,
+			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers,
+			Function<? super Mono<Void>, ? extends Publisher<Void>> connectHook) {
+		this(requestTimeout, maxPendingRequests, DEFAULT_BATCH_WINDOW, DEFAULT_MAX_BATCH_SIZE, transport,
+				requestHandlers, notificationHandlers, connectHook);
+	}
+
+	/**
+	 * Creates a new McpClientSession with the specified configuration and handlers.
+	 * @param requestTimeout Duration to wait for responses
+	 * @param maxPendingRequests Maximum number of requests awaiting a response at once,
+	 * further requests fail fast until responses arrive
+	 * @param batchWindow How long a batch stays open for further requests when sending in
+	 * a {@link #BATCH_REQUESTS_CONTEXT_KEY batching context}
+	 * @param maxBatchSize Maximum number of requests in a batch, a full batch is sent
+	 * without waiting for the window to elapse
+	 * @param transport Transport implementation for message exchange
+	 * @param requestHandlers Map of method names to request handlers
+	 * @param notificationHandlers Map of method names to notification handlers
+	 * @param connectHook Hook that allows transforming the connection Publisher prior to
+	 * subscribing
+	 */
+	public McpClientSession(Duration requestTimeout, int maxPendingRequests, Duration batchWindow, int maxBatchSize,
+			McpClientTransport transport, Map<String, RequestHandler<?>> requestHandlers,
+			Map<String, NotificationHandler> notificationHandlers,
+			Function<? super Mono<Void>, ? extends Publisher<Void>> connectHook) {
 
 		Assert.notNull(requestTimeout, "The requestTimeout can not be null");
 		Assert.notNull(transport, "The transport can not be null");
@@ -129,6 +183,8 @@ public class McpClientSession implements McpSession {
 		Assert.notNull(notificationHandlers, "The notificationHandlers can not be null");
 
 		this.requestTimeout = requestTimeout;
+		this.pendingRequests = new McpPendingRequests(maxPendingRequests);
+		this.requestBatcher = new McpRequestBatcher(transport, batchWindow, maxBatchSize);
 		this.transport = transport;
 		this.requestHandlers.putAll(requestHandlers);
 		this.notificationHandlers.putAll(notificationHandlers);
@@ -137,32 +193,28 @@ public class McpClientSession implements McpSession {
 	}
 
 	private void dismissPendingResponses() {
-		this.pendingResponses.forEach((id, sink) -> {
-			logger.warn("Abruptly terminating exchange for request {}", id);
-			sink.error(new RuntimeException("MCP session with server terminated"));
-		});
-		this.pendingResponses.clear();
+		this.pendingRequests.dismissAll(new RuntimeException("MCP session with server terminated"));
+	}
+
+	/**
+	 * Returns the requests this session is awaiting a response for, exposing the
+	 * in-flight gauges.
+	 * @return the pending requests of this session
+	 */
+	public McpPendingRequests pendingRequests() {
+		return this.pendingRequests;
 	}
 
 	private void handle(McpSchema.JSONRPCMessage message) {
 		if (message instanceof McpSchema.JSONRPCResponse response) {
 			logger.debug("Received Response: {}", response);
-			var sink = pendingResponses.remove(response.id());
-			if (sink == null) {
+			if (!this.pendingRequests.complete(response)) {
 				logger.warn("Unexpected response for unknown id {}", response.id());
 			}
-			else {
-				sink.success(response);
-			}
 		}
 		else if (message instanceof McpSchema.JSONRPCRequest request) {
 			logger.debug("Received request: {}", request);
-			handleIncomingRequest(request).onErrorResume(error -> {
-				var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-						new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-								error.getMessage(), null));
-				return Mono.just(errorResponse);
-			}).flatMap(this.transport::sendMessage).onErrorComplete(t -> {
+			respondTo(request).flatMap(this.transport::sendMessage).onErrorComplete(t -> {
 				logger.warn("Issue sending response to the client, ", t);
 				return true;
 			}).subscribe();
@@ -174,11 +226,64 @@ public class McpClientSession implements McpSession {
 				return true;
 			}).subscribe();
 		}
+		else if (message instanceof McpSchema.JSONRPCBatch batch) {
+			logger.debug("Received batch of {} messages", batch.messages().size());
+			handleIncomingBatch(batch);
+		}
+		else if (message instanceof McpSchema.JSONRPCInvalidMessage invalid) {
+			logger.debug("Received invalid message: {}", invalid.reason());
+			this.transport.sendMessage(invalid.toErrorResponse()).onErrorComplete(t -> {
+				logger.warn("Issue sending response to the client, ", t);
+				return true;
+			}).subscribe();
+		}
 		else {
 			logger.warn("Received unknown message type: {}", message);
 		}
 	}
 
+	/**
+	 * Handles an incoming JSON-RPC batch. Responses and notifications are handled as they
+	 * come, while the requests are processed concurrently and answered together as a
+	 * single batch, in the order of the requests. Each invalid message of the batch is
+	 * answered with an Invalid Request error in the same batch.
+	 * @param batch The incoming JSON-RPC batch
+	 */
+	private void handleIncomingBatch(McpSchema.JSONRPCBatch batch) {
+		Flux.fromIterable(batch.messages()).<McpSchema.JSONRPCMessage>flatMapSequential(message -> {
+			if (message instanceof McpSchema.JSONRPCRequest request) {
+				return respondTo(request);
+			}
+			if (message instanceof McpSchema.JSONRPCInvalidMessage invalid) {
+				return Mono.just(invalid.toErrorResponse());
+			}
+			handle(message);
+			return Mono.empty();
+		})
+			.collectList()
+			.flatMap(responses -> responses.isEmpty() ? Mono.empty()
+					: this.transport.sendMessage(new McpSchema.JSONRPCBatch(responses)))
+			.onErrorComplete(t -> {
+				logger.warn("Issue sending response to the client, ", t);
+				return true;
+			})
+			.subscribe();
+	}
+
+	/**
+	 * Handles an incoming JSON-RPC request, turning a failure into an error response.
+	 * @param request The incoming JSON-RPC request
+	 * @return A Mono containing the JSON-RPC response
+	 */
+	private Mono<McpSchema.JSONRPCResponse> respondTo(McpSchema.JSONRPCRequest request) {
+		return handleIncomingRequest(request).onErrorResume(error -> {
+			var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
+					new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR, error.getMessage(),
+							null));
+			return Mono.just(errorResponse);
+		});
+	}
+
 	/**
 	 * Handles an incoming JSON-RPC request by routing it to the appropriate handler.
 	 * @param request The incoming JSON-RPC request
@@ -194,7 +299,7 @@ public class McpClientSession implements McpSession {
 								error.message(), error.data())));
 			}
 
-			return handler.handle(request.params())
+			return this.inboundRequests.track(request.id(), handler.handle(request.params()))
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null));
 		});
 	}
@@ -219,6 +324,14 @@ public class McpClientSession implements McpSession {
 	 */
 	private Mono<Void> handleIncomingNotification(McpSchema.JSONRPCNotification notification) {
 		return Mono.defer(() -> {
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				McpSchema.CancelledNotification cancelled = this.transport.unmarshalFrom(notification.params(),
+						CANCELLED_NOTIFICATION_TYPE_REF);
+				if (this.inboundRequests.cancel(cancelled.requestId())) {
+					logger.debug("Cancelled request {}: {}", cancelled.requestId(), cancelled.reason());
+				}
+				return Mono.empty();
+			}
 			var handler = notificationHandlers.get(notification.method());
 			if (handler == null) {
 				logger.error("No handler registered for notification method: {}", notification.method());
@@ -228,15 +341,6 @@ public class McpClientSession implements McpSession {
 		});
 	}
 
-	/**
-	 * Generates a unique request ID in a non-blocking way. Combines a session-specific
-	 * prefix with an atomic counter to ensure uniqueness.
-	 * @return A unique request ID string
-	 */
-	private String generateRequestId() {
-		return this.sessionPrefix + "-" + this.requestCounter.getAndIncrement();
-	}
-
 	/**
 	 * Sends a JSON-RPC request and returns the response.
 	 * @param <T> The expected response type
@@ -247,19 +351,22 @@ public class McpClientSession implements McpSession {
 	 */
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-		String requestId = this.generateRequestId();
-
-		return Mono.deferContextual(ctx -> Mono.<McpSchema.JSONRPCResponse>create(pendingResponseSink -> {
-			logger.debug("Sending message for method {}", method);
-			this.pendingResponses.put(requestId, pendingResponseSink);
-			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
-					requestId, requestParams);
-			this.transport.sendMessage(jsonrpcRequest).contextWrite(ctx).subscribe(v -> {
-			}, error -> {
-				this.pendingResponses.remove(requestId);
-				pendingResponseSink.error(error);
+		return Mono.deferContextual(ctx -> {
+			// The initialize request must never be part of a batch
+			boolean batched = ctx.getOrDefault(BATCH_REQUESTS_CONTEXT_KEY, false)
+					&& !McpSchema.METHOD_INITIALIZE.equals(method);
+			return this.pendingRequests.register(requestId -> {
+				logger.debug("Sending message for method {}", method);
+				var jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, requestId,
+						requestParams);
+				return batched ? this.requestBatcher.send(jsonrpcRequest) : this.transport.sendMessage(jsonrpcRequest);
+			}, this.requestTimeout, requestId -> {
+				// The initialize request must never be cancelled
+				if (!McpSchema.METHOD_INITIALIZE.equals(method)) {
+					sendCancellation(requestId);
+				}
 			});
-		})).timeout(this.requestTimeout).handle((jsonRpcResponse, deliveredResponseSink) -> {
+		}).handle((jsonRpcResponse, deliveredResponseSink) -> {
 			if (jsonRpcResponse.error() != null) {
 				logger.error("Error handling request: {}", jsonRpcResponse.error());
 				deliveredResponseSink.error(new McpError(jsonRpcResponse.error()));
@@ -275,6 +382,16 @@ public class McpClientSession implements McpSession {
 		});
 	}
 
+	/**
+	 * Lets the server know that the client no longer waits for the response to a request,
+	 * because it was cancelled or timed out, so that the server can stop handling it.
+	 * @param requestId the id of the abandoned request
+	 */
+	private void sendCancellation(long requestId) {
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED, new McpSchema.CancelledNotification(requestId, null))
+			.subscribe(null, error -> logger.debug("Failed to send the cancellation of request {}", requestId, error));
+	}
+
 	/**
 	 * Sends a JSON-RPC notification.
 	 * @param method The method name for the notification
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * A JSON-RPC message together with its JSON encoding.
+ *
+ * <p>
+ * Messages sent to many sessions, such as broadcast notifications, are encoded once into
+ * an encoded message that is then handed to every session transport, instead of being
+ * serialized again by each transport. Likewise, responses carrying an
+ * {@link McpEncodedResult} are built by splicing the request id into the encoded result.
+ * Encoded messages are immutable and can be shared across threads.
+ *
+ * @see McpServerTransport#sendEncodedMessage(McpEncodedMessage)
+ */
+public final class McpEncodedMessage {
+
+	private final McpSchema.JSONRPCMessage message;
+
+	private final String json;
+
+	private volatile byte[] bytes;
+
+	private McpEncodedMessage(McpSchema.JSONRPCMessage message, String json) {
+		this.message = message;
+		this.json = json;
+	}
+
+	/**
+	 * Encodes the given message.
+	 * @param objectMapper the object mapper to serialize the message with
+	 * @param message the message to encode
+	 * @return the encoded message
+	 * @throws IOException if the message cannot be serialized
+	 */
+	public static McpEncodedMessage encode(ObjectMapper objectMapper, McpSchema.JSONRPCMessage message)
+			throws IOException {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(message, "Message must not be null");
+		return new McpEncodedMessage(message, objectMapper.writeValueAsString(message));
+	}
+
+	/**
+	 * Builds the response to a request from an encoded result, without serializing the
+	 * result again.
+	 * @param id the id of the request, a string or a number
+	 * @param result the encoded result of the request
+	 * @return the encoded response
+	 */
+	public static McpEncodedMessage response(Object id, McpEncodedResult<?> result) {
+		Assert.notNull(result, "Result must not be null");
+		String encodedId;
+		if (id instanceof String text) {
+			encodedId = "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(text)) + "\"";
+		}
+		else if (id instanceof Number number) {
+			encodedId = number.toString();
+		}
+		else {
+			throw new IllegalArgumentException("Request id must be a string or a number: " + id);
+		}
+		String json = "{\"jsonrpc\":\"" + McpSchema.JSONRPC_VERSION + "\",\"id\":" + encodedId + ",\"result\":"
+				+ result.asString() + "}";
+		return new McpEncodedMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, id, result.value(), null),
+				json);
+	}
+
+	/**
+	 * Returns the message.
+	 * @return the JSON-RPC message
+	 */
+	public McpSchema.JSONRPCMessage message() {
+		return this.message;
+	}
+
+	/**
+	 * Returns the JSON encoding of the message.
+	 * @return the JSON text
+	 */
+	public String asString() {
+		return this.json;
+	}
+
+	/**
+	 * Returns the UTF-8 encoded JSON of the message, encoded on first use.
+	 * @return a read-only buffer over the JSON bytes
+	 */
+	public ByteBuffer asByteBuffer() {
+		byte[] bytes = this.bytes;
+		if (bytes == null) {
+			bytes = this.json.getBytes(StandardCharsets.UTF_8);
+			this.bytes = bytes;
+		}
+		return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * The result of a request together with its JSON encoding.
+ *
+ * <p>
+ * Request handlers whose result rarely changes, such as the list requests of a server,
+ * can encode the result once and answer every request with the same encoded result. The
+ * session then splices the request id into the encoded result to build the response, see
+ * {@link McpEncodedMessage#response(Object, McpEncodedResult)}, instead of serializing
+ * the result again. Wherever the result is serialized as part of a larger message, such
+ * as a batch of responses, its encoding is written as is.
+ *
+ * @param <T> the type of the result
+ */
+public final class McpEncodedResult<T> implements JsonSerializable {
+
+	private final T value;
+
+	private final String json;
+
+	private McpEncodedResult(T value, String json) {
+		this.value = value;
+		this.json = json;
+	}
+
+	/**
+	 * Encodes the given result.
+	 * @param <T> the type of the result
+	 * @param objectMapper the object mapper to serialize the result with
+	 * @param value the result to encode
+	 * @return the encoded result
+	 * @throws IOException if the result cannot be serialized
+	 */
+	public static <T> McpEncodedResult<T> encode(ObjectMapper objectMapper, T value) throws IOException {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(value, "Value must not be null");
+		return new McpEncodedResult<>(value, objectMapper.writeValueAsString(value));
+	}
+
+	/**
+	 * Returns the result.
+	 * @return the result
+	 */
+	public T value() {
+		return this.value;
+	}
+
+	/**
+	 * Returns the JSON encoding of the result.
+	 * @return the JSON text
+	 */
+	public String asString() {
+		return this.json;
+	}
+
+	@Override
+	public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+		gen.writeRawValue(this.json);
+	}
+
+	@Override
+	public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+			throws IOException {
+		serialize(gen, serializers);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Registry of the requests a session received from its peer and is still handling, so
+ * that their handling can be cancelled when the peer sends a
+ * {@link McpSchema#METHOD_NOTIFICATION_CANCELLED cancelled notification}.
+ *
+ * <p>
+ * Cancelling a request disposes the subscription to its handler, which stops the work of
+ * well-behaved handlers, and completes the handling without a response, as the peer is no
+ * longer waiting for one.
+ */
+final class McpInboundRequests {
+
+	private final ConcurrentHashMap<Object, Sinks.One<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers the request with the given id for the time its handling runs.
+	 * @param requestId the id of the request
+	 * @param handling the handling of the request
+	 * @return a Mono relaying the handling, which completes empty if the request is
+	 * cancelled first
+	 */
+	<T> Mono<T> track(Object requestId, Mono<T> handling) {
+		if (requestId == null) {
+			return handling;
+		}
+		Object key = key(requestId);
+		return Mono.defer(() -> {
+			Sinks.One<Boolean> cancelled = Sinks.one();
+			this.inFlight.put(key, cancelled);
+			return handling.takeUntilOther(cancelled.asMono())
+				.doFinally(signal -> this.inFlight.remove(key, cancelled));
+		});
+	}
+
+	/**
+	 * Cancels the handling of the request with the given id.
+	 * @param requestId the id of the request to cancel
+	 * @return {@code true} if the request was being handled, {@code false} if it is
+	 * unknown or already handled
+	 */
+	boolean cancel(Object requestId) {
+		if (requestId == null) {
+			return false;
+		}
+		Sinks.One<Boolean> cancelled = this.inFlight.remove(key(requestId));
+		if (cancelled == null) {
+			return false;
+		}
+		cancelled.tryEmitValue(Boolean.TRUE);
+		return true;
+	}
+
+	/**
+	 * Gauge of the number of requests being handled.
+	 * @return the number of requests in flight
+	 */
+	int size() {
+		return this.inFlight.size();
+	}
+
+	// Numeric ids may be decoded as Integer or Long depending on their magnitude
+	private static Object key(Object requestId) {
+		return requestId instanceof Number number ? (Object) number.longValue() : requestId;
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Registry of the requests a session has sent and is still awaiting a response for.
+ *
+ * <p>
+ * Each request is identified by a primitive {@code long} id drawn from a per-session
+ * counter. An entry is registered when the response {@link Mono} is subscribed to and is
+ * removed as soon as that Mono terminates for any reason: a response arrives, sending the
+ * request fails, the request times out, or the subscriber cancels. Entries of abandoned
+ * requests therefore never accumulate in long-lived sessions.
+ *
+ * <p>
+ * The number of requests in flight can be capped. Once the cap is reached, new requests
+ * fail fast with an {@link McpError} instead of queueing behind slow peers.
+ *
+ * <p>
+ * The registry also exposes gauges for the number of requests in flight and the age of
+ * the oldest one, which can be bound to the metrics system of choice.
+ */
+public class McpPendingRequests {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpPendingRequests.class);
+
+	/** Value for {@code maxInFlight} that disables the in-flight cap */
+	public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+	private final ConcurrentHashMap<Long, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+	/** Atomic counter for generating unique request IDs */
+	private final AtomicLong requestCounter = new AtomicLong(0);
+
+	/** Number of registered requests, used to enforce the in-flight cap */
+	private final AtomicInteger inFlight = new AtomicInteger(0);
+
+	private final int maxInFlight;
+
+	private record PendingRequest(MonoSink<McpSchema.JSONRPCResponse> sink, long startNanos) {
+	}
+
+	/**
+	 * Creates a registry that does not limit the number of requests in flight.
+	 */
+	public McpPendingRequests() {
+		this(UNBOUNDED);
+	}
+
+	/**
+	 * Creates a registry that limits the number of requests in flight.
+	 * @param maxInFlight the maximum number of requests awaiting a response at any time,
+	 * or {@link #UNBOUNDED}
+	 */
+	public McpPendingRequests(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "The maxInFlight must be positive");
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Allocates a request id, registers the request and hands the id to {@code sender} to
+	 * put the request on the wire. The returned Mono emits the response once it is
+	 * {@link #complete(McpSchema.JSONRPCResponse) completed}, and unregisters the request
+	 * when it terminates or is cancelled, including when it times out.
+	 * @param sender function sending the request with the given id
+	 * @param timeout how long to wait for the response
+	 * @return a Mono emitting the response to the request
+	 */
+	public Mono<McpSchema.JSONRPCResponse> register(LongFunction<Mono<Void>> sender, Duration timeout) {
+		return register(sender, timeout, requestId -> {
+		});
+	}
+
+	/**
+	 * Allocates a request id, registers the request and hands the id to {@code sender} to
+	 * put the request on the wire. The returned Mono emits the response once it is
+	 * {@link #complete(McpSchema.JSONRPCResponse) completed}, and unregisters the request
+	 * when it terminates or is cancelled, including when it times out.
+	 * @param sender function sending the request with the given id
+	 * @param timeout how long to wait for the response
+	 * @param onAbandon called with the id of the request when the returned Mono is
+	 * cancelled or times out before the response has arrived, to let the peer know
+	 * @return a Mono emitting the response to the request
+	 */
+	public Mono<McpSchema.JSONRPCResponse> register(LongFunction<Mono<Void>> sender, Duration timeout,
+			LongConsumer onAbandon) {
+		return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
+			if (this.inFlight.incrementAndGet() > this.maxInFlight) {
+				this.inFlight.decrementAndGet();
+				sink.error(new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
+						"Too many requests in flight, the limit is " + this.maxInFlight, null)));
+				return;
+			}
+
+			long requestId = this.requestCounter.getAndIncrement();
+			PendingRequest pendingRequest = new PendingRequest(sink, System.nanoTime());
+			this.pendingRequests.put(requestId, pendingRequest);
+			sink.onDispose(() -> this.unregister(requestId, pendingRequest));
+			// Cancelling also cancels the send, so that a request not sent yet never is
+			Disposable.Swap sending = Disposables.swap();
+			sink.onCancel(() -> {
+				sending.dispose();
+				onAbandon.accept(requestId);
+			});
+
+			sending.update(sender.apply(requestId).contextWrite(sink.contextView()).subscribe(v -> {
+			}, sink::error));
+		}).timeout(timeout);
+	}
+
+	private void unregister(long requestId, PendingRequest pendingRequest) {
+		if (this.pendingRequests.remove(requestId, pendingRequest)) {
+			this.inFlight.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Completes the pending request matching the id of the given response.
+	 * @param response the response received from the peer
+	 * @return {@code true} if a pending request was waiting for this response,
+	 * {@code false} if the id is unknown, for example because the request already timed
+	 * out
+	 */
+	public boolean complete(McpSchema.JSONRPCResponse response) {
+		if (!(response.id() instanceof Number number)) {
+			return false;
+		}
+		PendingRequest pendingRequest = this.pendingRequests.get(number.longValue());
+		if (pendingRequest == null) {
+			return false;
+		}
+		pendingRequest.sink().success(response);
+		return true;
+	}
+
+	/**
+	 * Fails all pending requests with the given error and clears the registry.
+	 * @param error the error to signal to the requests awaiting a response
+	 */
+	public void dismissAll(Throwable error) {
+		this.pendingRequests.forEach((id, pendingRequest) -> {
+			logger.warn("Abruptly terminating exchange for request {}", id);
+			pendingRequest.sink().error(error);
+		});
+	}
+
+	/**
+	 * Gauge of the number of requests currently awaiting a response.
+	 * @return the number of requests in flight
+	 */
+	public int inFlight() {
+		return this.pendingRequests.size();
+	}
+
+	/**
+	 * Gauge of how long the oldest request in flight has been waiting for its response.
+	 * @return the age of the oldest request in flight, or {@link Duration#ZERO} if there
+	 * is none
+	 */
+	public Duration oldestRequestAge() {
+		long now = System.nanoTime();
+		long oldestStart = now;
+		for (PendingRequest pendingRequest : this.pendingRequests.values()) {
+			if (pendingRequest.startNanos() - oldestStart < 0) {
+				oldestStart = pendingRequest.startNanos();
+			}
+		}
+		return Duration.ofNanos(now - oldestStart);
+	}
+
+	/**
+	 * Returns the maximum number of requests that may be in flight at once.
+	 * @return the in-flight cap, or {@link #UNBOUNDED}
+	 */
+	public int maxInFlight() {
+		return this.maxInFlight;
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Coalesces outgoing JSON-RPC requests into {@link McpSchema.JSONRPCBatch batches}. The
+ * first request enqueued opens a batch which is sent once the batch window elapses or the
+ * batch reaches its maximum size, whichever happens first. A batch holding a single
+ * request is sent as a plain request.
+ *
+ * <p>
+ * Only the sending is coalesced: the responses are correlated with their requests by id
+ * as usual, so each caller still observes its own response.
+ *
+ * <p>
+ * A request whose caller cancels, or times out, before its batch is sent is left out of
+ * the batch, so that it never reaches the peer after its cancellation. A batch of several
+ * requests is shared by their callers and is therefore sent in none of their Reactor
+ * contexts, while a single request is sent in the context of its caller.
+ */
+final class McpRequestBatcher {
+
+	private final McpClientTransport transport;
+
+	private final Duration batchWindow;
+
+	private final int maxBatchSize;
+
+	private final Scheduler scheduler;
+
+	private final Object lock = new Object();
+
+	/** Requests of the currently open batch, guarded by {@link #lock} */
+	private List<PendingSend> openBatch = new ArrayList<>();
+
+	private static final class PendingSend {
+
+		private final McpSchema.JSONRPCRequest request;
+
+		private final MonoSink<Void> sink;
+
+		private volatile boolean cancelled;
+
+		private PendingSend(McpSchema.JSONRPCRequest request, MonoSink<Void> sink) {
+			this.request = request;
+			this.sink = sink;
+		}
+
+	}
+
+	McpRequestBatcher(McpClientTransport transport, Duration batchWindow, int maxBatchSize) {
+		this(transport, batchWindow, maxBatchSize, Schedulers.parallel());
+	}
+
+	McpRequestBatcher(McpClientTransport transport, Duration batchWindow, int maxBatchSize, Scheduler scheduler) {
+		Assert.notNull(transport, "The transport can not be null");
+		Assert.notNull(batchWindow, "The batchWindow can not be null");
+		Assert.isTrue(maxBatchSize > 0, "The maxBatchSize must be positive");
+		Assert.notNull(scheduler, "The scheduler can not be null");
+		this.transport = transport;
+		this.batchWindow = batchWindow;
+		this.maxBatchSize = maxBatchSize;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Adds the request to the open batch.
+	 * @param request the request to send
+	 * @return a Mono that completes once the batch holding the request has been sent
+	 */
+	Mono<Void> send(McpSchema.JSONRPCRequest request) {
+		return Mono.create(sink -> {
+			PendingSend pendingSend = new PendingSend(request, sink);
+			sink.onCancel(() -> cancel(pendingSend));
+
+			List<PendingSend> fullBatch = null;
+			List<PendingSend> newBatch = null;
+			synchronized (this.lock) {
+				if (pendingSend.cancelled) {
+					return;
+				}
+				this.openBatch.add(pendingSend);
+				if (this.openBatch.size() >= this.maxBatchSize) {
+					fullBatch = this.openBatch;
+					this.openBatch = new ArrayList<>();
+				}
+				else if (this.openBatch.size() == 1) {
+					newBatch = this.openBatch;
+				}
+			}
+
+			if (fullBatch != null) {
+				flush(fullBatch);
+			}
+			else if (newBatch != null) {
+				List<PendingSend> batch = newBatch;
+				this.scheduler.schedule(() -> flushIfOpen(batch), this.batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+			}
+		});
+	}
+
+	private void cancel(PendingSend pendingSend) {
+		synchronized (this.lock) {
+			pendingSend.cancelled = true;
+			if (this.openBatch.remove(pendingSend) && this.openBatch.isEmpty()) {
+				// Nothing left to send, the flush scheduled for this batch becomes a
+				// no-op
+				this.openBatch = new ArrayList<>();
+			}
+		}
+	}
+
+	private void flushIfOpen(List<PendingSend> batch) {
+		synchronized (this.lock) {
+			// The batch may already have been sent on reaching its maximum size
+			if (this.openBatch != batch) {
+				return;
+			}
+			this.openBatch = new ArrayList<>();
+		}
+		flush(batch);
+	}
+
+	private void flush(List<PendingSend> batch) {
+		// Requests cancelled since the batch was closed are left out as well
+		List<PendingSend> liveBatch = batch.stream().filter(pendingSend -> !pendingSend.cancelled).toList();
+		if (liveBatch.isEmpty()) {
+			return;
+		}
+
+		Mono<Void> sending;
+		if (liveBatch.size() == 1) {
+			PendingSend pendingSend = liveBatch.get(0);
+			sending = this.transport.sendMessage(pendingSend.request).contextWrite(pendingSend.sink.contextView());
+		}
+		else {
+			sending = this.transport.sendMessage(new McpSchema.JSONRPCBatch(
+					liveBatch.stream().<McpSchema.JSONRPCMessage>map(pendingSend -> pendingSend.request).toList()));
+		}
+
+		sending.subscribe(v -> {
+		}, error -> liveBatch.forEach(pendingSend -> pendingSend.sink.error(error)),
+				() -> liveBatch.forEach(pendingSend -> pendingSend.sink.success()));
+	}
+
+}
@@ -5,6 +5,9 @@
 package io.modelcontextprotocol.spec;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -18,7 +21,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
@@ -57,6 +64,10 @@ public final class McpSchema {
 
 	public static final String METHOD_PING = "ping";
 
+	public static final String METHOD_NOTIFICATION_CANCELLED = "notifications/cancelled";
+
+	public static final String METHOD_NOTIFICATION_PROGRESS = "notifications/progress";
+
 	// Tool Methods
 	public static final String METHOD_TOOLS_LIST = "tools/list";
 
@@ -64,6 +75,20 @@ public final class McpSchema {
 
 	public static final String METHOD_NOTIFICATION_TOOLS_LIST_CHANGED = "notifications/tools/list_changed";
 
+	/**
+	 * Notification carrying a chunk of the content of a tool result streamed by the
+	 * server. Not part of the MCP specification, only sent to clients that asked for it
+	 * through {@link #STREAM_RESULT_META_KEY}.
+	 */
+	public static final String METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT = "notifications/tools/partial_result";
+
+	/**
+	 * Key of the request metadata by which a client asks for the content of a tool result
+	 * to be streamed in {@link #METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT} notifications,
+	 * along with a progress token identifying the request.
+	 */
+	public static final String STREAM_RESULT_META_KEY = "streamResult";
+
 	// Resources Methods
 	public static final String METHOD_RESOURCES_LIST = "resources/list";
 
@@ -139,6 +164,12 @@ public final class McpSchema {
 		 */
 		public static final int INTERNAL_ERROR = -32603;
 
+		/**
+		 * The server is at capacity and rejected the request, which may be retried later.
+		 * Implementation-defined server error.
+		 */
+		public static final int SERVER_BUSY = -32010;
+
 	}
 
 	public sealed interface Request permits InitializeRequest, CallToolRequest, CreateMessageRequest, ElicitRequest,
@@ -173,26 +204,287 @@ public final class McpSchema {
 
 		logger.debug("Received JSON message: {}", jsonText);
 
-		var map = objectMapper.readValue(jsonText, MAP_TYPE_REF);
+		return readJsonRpcMessage(objectMapper, objectMapper.getFactory().createParser(jsonText));
+	}
+
+	/**
+	 * Deserializes UTF-8 encoded JSON bytes into a JSONRPCMessage object without first
+	 * decoding them into a {@link String}.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param jsonBytes The UTF-8 encoded JSON message
+	 * @return A JSONRPCMessage instance
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see #deserializeJsonRpcMessage(ObjectMapper, String)
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, byte[] jsonBytes)
+			throws IOException {
+		return deserializeJsonRpcMessage(objectMapper, jsonBytes, 0, jsonBytes.length);
+	}
+
+	/**
+	 * Deserializes a slice of a UTF-8 encoded JSON byte array into a JSONRPCMessage
+	 * object.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param jsonBytes The buffer holding the UTF-8 encoded JSON message
+	 * @param offset The offset of the first byte of the message
+	 * @param length The number of bytes making up the message
+	 * @return A JSONRPCMessage instance
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see #deserializeJsonRpcMessage(ObjectMapper, String)
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, byte[] jsonBytes, int offset,
+			int length) throws IOException {
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Received JSON message: {}", new String(jsonBytes, offset, length, StandardCharsets.UTF_8));
+		}
+
+		return readJsonRpcMessage(objectMapper, objectMapper.getFactory().createParser(jsonBytes, offset, length));
+	}
+
+	/**
+	 * Deserializes the remaining bytes of a UTF-8 encoded buffer into a JSONRPCMessage
+	 * object. The position of the buffer is advanced past the consumed bytes. Heap
+	 * buffers are parsed in place; direct buffers are streamed without an intermediate
+	 * copy of the whole message.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param jsonBuffer The buffer holding the UTF-8 encoded JSON message
+	 * @return A JSONRPCMessage instance
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see #deserializeJsonRpcMessage(ObjectMapper, String)
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, ByteBuffer jsonBuffer)
+			throws IOException {
+
+		if (jsonBuffer.hasArray()) {
+			int length = jsonBuffer.remaining();
+			JSONRPCMessage message = deserializeJsonRpcMessage(objectMapper, jsonBuffer.array(),
+					jsonBuffer.arrayOffset() + jsonBuffer.position(), length);
+			jsonBuffer.position(jsonBuffer.position() + length);
+			return message;
+		}
+
+		return deserializeJsonRpcMessage(objectMapper, new ByteBufferInputStream(jsonBuffer));
+	}
+
+	/**
+	 * Deserializes a single JSON-RPC message from a stream of UTF-8 encoded JSON. The
+	 * stream is read up to the end of the message but is not closed.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param jsonStream The stream to read the JSON message from
+	 * @return A JSONRPCMessage instance
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see #deserializeJsonRpcMessage(ObjectMapper, String)
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, InputStream jsonStream)
+			throws IOException {
+		JsonParser parser = objectMapper.getFactory().createParser(jsonStream);
+		parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+		return readJsonRpcMessage(objectMapper, parser);
+	}
+
+	/**
+	 * Deserializes a single JSON-RPC message from the tokens of a parser, for example a
+	 * parser over a {@link com.fasterxml.jackson.databind.util.TokenBuffer} filled
+	 * incrementally by a non-blocking parser. The parser is closed once the message is
+	 * read.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param parser The parser positioned before the start of the message
+	 * @return A JSONRPCMessage instance
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see #deserializeJsonRpcMessage(ObjectMapper, String)
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, JsonParser parser)
+			throws IOException {
+		return readJsonRpcMessage(objectMapper, parser);
+	}
+
+	/**
+	 * Binds the {@code params} or {@code result} member of a decoded JSON-RPC message to
+	 * the given type. Trees produced by {@link #deserializeJsonRpcMessage} are read
+	 * straight into the target type through a token stream over the tree, without the
+	 * serialize-then-deserialize round-trip of {@link ObjectMapper#convertValue}. Any
+	 * other value (for example a record handed over in-process) falls back to
+	 * {@code convertValue}.
+	 * @param <T> the type to bind to
+	 * @param objectMapper the ObjectMapper to use for binding
+	 * @param data the value to bind, may be {@code null}
+	 * @param typeRef the type to bind to
+	 * @return the bound value, or {@code null} when {@code data} is {@code null}
+	 * @throws IllegalArgumentException if the value cannot be bound to the type
+	 */
+	public static <T> T unmarshalFrom(ObjectMapper objectMapper, Object data, TypeReference<T> typeRef) {
+		if (data instanceof JsonNode node) {
+			try {
+				return objectMapper.readerFor(typeRef).readValue(node);
+			}
+			catch (IOException e) {
+				throw new IllegalArgumentException(e.getMessage(), e);
+			}
+		}
+		return objectMapper.convertValue(data, typeRef);
+	}
+
+	/**
+	 * Reads a JSON-RPC message, or a batch of messages framed as a JSON array, in a
+	 * single pass over the parser's token stream. The envelope fields ({@code jsonrpc},
+	 * {@code id}, {@code method} and {@code error}) are read directly, while
+	 * {@code params} and {@code result} are captured as {@link JsonNode} trees so that
+	 * they can be bound to their target types later, once the handler that knows the type
+	 * has been selected. Unknown fields are skipped. An element of a batch that is not a
+	 * valid message, and an empty batch, are decoded as {@link JSONRPCInvalidMessage} so
+	 * that they can be answered with an error.
+	 * @param objectMapper the ObjectMapper used as the parser's codec
+	 * @param parser a parser positioned before the start of the message
+	 * @return the decoded message
+	 * @throws IOException if the input is not well-formed JSON
+	 */
+	private static JSONRPCMessage readJsonRpcMessage(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+
+		try (parser) {
+			parser.setCodec(objectMapper);
+
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY) {
+				List<JSONRPCMessage> messages = new ArrayList<>();
+				while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					if (token == null) {
+						throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: unterminated batch");
+					}
+					if (token == JsonToken.START_OBJECT) {
+						messages.add(readJsonRpcObject(parser));
+					}
+					else {
+						parser.skipChildren();
+						messages.add(new JSONRPCInvalidMessage(null, "expected a JSON object but found " + token));
+					}
+				}
+				if (messages.isEmpty()) {
+					return new JSONRPCInvalidMessage(null, "empty batch");
+				}
+				return new JSONRPCBatch(messages);
+			}
+			if (token != JsonToken.START_OBJECT) {
+				throw new IllegalArgumentException(
+						"Cannot deserialize JSONRPCMessage: expected a JSON object or array but found " + token);
+			}
+			JSONRPCMessage message = readJsonRpcObject(parser);
+			if (message instanceof JSONRPCInvalidMessage invalid) {
+				throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + invalid.reason());
+			}
+			return message;
+		}
+	}
+
+	/**
+	 * Reads the members of a single JSON-RPC message object.
+	 * @param parser a parser positioned on the {@code START_OBJECT} token of the message
+	 * @return the decoded message, or a {@link JSONRPCInvalidMessage} if the object is
+	 * not a request, notification or response
+	 * @throws IOException if the input is not well-formed JSON
+	 */
+	private static JSONRPCMessage readJsonRpcObject(JsonParser parser) throws IOException {
+		String jsonrpc = null;
+		String method = null;
+		Object id = null;
+		JsonNode params = null;
+		JsonNode result = null;
+		JSONRPCResponse.JSONRPCError error = null;
+		boolean hasMethod = false;
+		boolean hasId = false;
+		boolean hasResult = false;
+		boolean hasError = false;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.currentName();
+			JsonToken valueToken = parser.nextToken();
+			boolean isNull = valueToken == JsonToken.VALUE_NULL;
+			switch (fieldName) {
+				case "jsonrpc" -> jsonrpc = isNull ? null : parser.getValueAsString();
+				case "method" -> {
+					hasMethod = true;
+					method = isNull ? null : parser.getValueAsString();
+				}
+				case "id" -> {
+					hasId = true;
+					id = isNull ? null : parser.readValueAs(Object.class);
+				}
+				case "params" -> params = isNull ? null : parser.readValueAsTree();
+				case "result" -> {
+					hasResult = true;
+					result = isNull ? null : parser.readValueAsTree();
+				}
+				case "error" -> {
+					hasError = true;
+					error = isNull ? null : parser.readValueAs(JSONRPCResponse.JSONRPCError.class);
+				}
+				default -> parser.skipChildren();
+			}
+		}
 
 		// Determine message type based on specific JSON structure
-		if (map.containsKey("method") && map.containsKey("id")) {
-			return objectMapper.convertValue(map, JSONRPCRequest.class);
+		if (hasMethod && hasId) {
+			return new JSONRPCRequest(jsonrpc, method, id, params);
+		}
+		else if (hasMethod) {
+			return new JSONRPCNotification(jsonrpc, method, params);
+		}
+		else if (hasResult || hasError) {
+			return new JSONRPCResponse(jsonrpc, id, result, error);
 		}
-		else if (map.containsKey("method") && !map.containsKey("id")) {
-			return objectMapper.convertValue(map, JSONRPCNotification.class);
+
+		return new JSONRPCInvalidMessage(id, "missing 'method', 'result' or 'error' member");
+	}
+
+	/**
+	 * Minimal {@link InputStream} view over a {@link ByteBuffer} that advances the
+	 * buffer's position as bytes are consumed.
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
 		}
-		else if (map.containsKey("result") || map.containsKey("error")) {
-			return objectMapper.convertValue(map, JSONRPCResponse.class);
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, this.buffer.remaining());
+			this.buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.remaining();
 		}
 
-		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + jsonText);
 	}
 
 	// ---------------------------
 	// JSON-RPC Message Types
 	// ---------------------------
-	public sealed interface JSONRPCMessage permits JSONRPCRequest, JSONRPCNotification, JSONRPCResponse {
+	public sealed interface JSONRPCMessage
+			permits JSONRPCRequest, JSONRPCNotification, JSONRPCResponse, JSONRPCBatch, JSONRPCInvalidMessage {
 
 		String jsonrpc();
 
@@ -200,8 +492,6 @@ public final class McpSchema {
 
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
-	// TODO: batching support
-	// @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
 	public record JSONRPCRequest( // @formatter:off
                         @JsonProperty("jsonrpc") String jsonrpc,
                         @JsonProperty("method") String method,
@@ -211,8 +501,6 @@ public final class McpSchema {
 
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
-	// TODO: batching support
-	// @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
 	public record JSONRPCNotification( // @formatter:off
                         @JsonProperty("jsonrpc") String jsonrpc,
                         @JsonProperty("method") String method,
@@ -221,8 +509,6 @@ public final class McpSchema {
 
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
-	// TODO: batching support
-	// @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
 	public record JSONRPCResponse( // @formatter:off
                         @JsonProperty("jsonrpc") String jsonrpc,
                         @JsonProperty("id") Object id,
@@ -238,6 +524,62 @@ public final class McpSchema {
                 }
         }// @formatter:on
 
+	/**
+	 * A batch of JSON-RPC messages, sent as a single JSON array. Responses to the
+	 * requests of a batch are returned as a batch as well and are correlated by id, in no
+	 * particular order.
+	 *
+	 * @param messages the requests, notifications or responses making up the batch
+	 */
+	public record JSONRPCBatch(@JsonValue List<JSONRPCMessage> messages) implements JSONRPCMessage {
+
+		public JSONRPCBatch {
+			Assert.notEmpty(messages, "A batch must contain at least one message");
+			messages = List.copyOf(messages);
+		}
+
+		@Override
+		public String jsonrpc() {
+			return JSONRPC_VERSION;
+		}
+
+		/**
+		 * Flattens the given message into the individual messages it carries.
+		 * @param message a single message or a batch
+		 * @return the messages of the batch, or the message itself
+		 */
+		public static List<JSONRPCMessage> flatten(JSONRPCMessage message) {
+			return message instanceof JSONRPCBatch batch ? batch.messages() : List.of(message);
+		}
+
+	}
+
+	/**
+	 * A received message that is not a valid JSON-RPC message: an element of a batch that
+	 * is not a request, notification or response, or an empty batch. It is never sent,
+	 * but answered with an Invalid Request error.
+	 *
+	 * @param id the id of the message, if it could be read, or {@code null}
+	 * @param reason why the message is invalid
+	 */
+	public record JSONRPCInvalidMessage(Object id, String reason) implements JSONRPCMessage {
+
+		@Override
+		public String jsonrpc() {
+			return JSONRPC_VERSION;
+		}
+
+		/**
+		 * Creates the Invalid Request error response answering this message.
+		 * @return the error response
+		 */
+		public JSONRPCResponse toErrorResponse() {
+			return new JSONRPCResponse(JSONRPC_VERSION, this.id, null, new JSONRPCResponse.JSONRPCError(
+					ErrorCodes.INVALID_REQUEST, "Invalid Request: " + this.reason, null));
+		}
+
+	}
+
 	// ---------------------------
 	// Initialization
 	// ---------------------------
@@ -1465,8 +1807,9 @@ public final class McpSchema {
 	 * long-running operations through notification messages. Either side can send
 	 * progress notifications to provide updates about operation status.
 	 *
-	 * @param progressToken A unique token to identify the progress notification. MUST be
-	 * unique across all active requests.
+	 * @param progressToken A unique token to identify the progress notification, a string
+	 * or a number echoed as received in the request. MUST be unique across all active
+	 * requests.
 	 * @param progress A value indicating the current progress.
 	 * @param total An optional total amount of work to be done, if known.
 	 * @param message An optional message providing additional context about the progress.
@@ -1474,12 +1817,45 @@ public final class McpSchema {
 	@JsonInclude(JsonInclude.Include.NON_ABSENT)
 	@JsonIgnoreProperties(ignoreUnknown = true)
 	public record ProgressNotification(// @formatter:off
-                @JsonProperty("progressToken") String progressToken,
+                @JsonProperty("progressToken") Object progressToken,
                 @JsonProperty("progress") Double progress,
                 @JsonProperty("total") Double total,
 				@JsonProperty("message") String message) {
         }// @formatter:on
 
+	/**
+	 * Either side can send a cancelled notification to indicate that it is no longer
+	 * interested in the result of a request it sent earlier. The receiver should stop
+	 * processing the request and not send a response.
+	 *
+	 * @param requestId The id of the request to cancel.
+	 * @param reason An optional reason for the cancellation.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record CancelledNotification(// @formatter:off
+                @JsonProperty("requestId") Object requestId,
+                @JsonProperty("reason") String reason) {
+        }// @formatter:on
+
+	/**
+	 * A chunk of the content of a tool result streamed by the server, sent before the
+	 * response to the tool call, which then only holds the content not streamed yet.
+	 *
+	 * @param progressToken The progress token of the tool call the chunk belongs to, as
+	 * received in the request.
+	 * @param index The index of the chunk among the chunks of the tool call, starting at
+	 * 0, by which the client detects missing chunks.
+	 * @param content The content of the chunk.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record PartialResultNotification(// @formatter:off
+                @JsonProperty("progressToken") Object progressToken,
+                @JsonProperty("index") Long index,
+                @JsonProperty("content") List<Content> content) {
+        }// @formatter:on
+
 	/**
 	 * The Model Context Protocol (MCP) provides a standardized way for servers to send
 	 * resources update message to clients.
@@ -2,17 +2,17 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Sinks;
 
 /**
@@ -23,14 +23,22 @@ public class McpServerSession implements McpSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpServerSession.class);
 
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	private static final TypeReference<McpSchema.InitializeRequest> INITIALIZE_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final TypeReference<McpSchema.CancelledNotification> CANCELLED_NOTIFICATION_TYPE_REF = new TypeReference<>() {
+	};
 
 	private final String id;
 
 	/** Duration to wait for request responses before timing out */
 	private final Duration requestTimeout;
 
-	private final AtomicLong requestCounter = new AtomicLong(0);
+	/** Requests awaiting a response from the client, keyed by request ID */
+	private final McpPendingRequests pendingRequests;
+
+	/** Requests of the client being handled, cancelled on the client's demand */
+	private final McpInboundRequests inboundRequests = new McpInboundRequests();
 
 	private final InitRequestHandler initRequestHandler;
 
@@ -72,8 +80,32 @@ public class McpServerSession implements McpSession {
 	public McpServerSession(String id, Duration requestTimeout, McpServerTransport transport,
 			InitRequestHandler initHandler, InitNotificationHandler initNotificationHandler,
 			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers) {
+		this(id, requestTimeout, McpPendingRequests.UNBOUNDED, transport, initHandler, initNotificationHandler,
+				requestHandlers, notificationHandlers);
+	}
+
+	/**
+	 * Creates a new server session with the given parameters and the transport to use.
+	 * @param id session id
+	 * @param requestTimeout duration to wait for responses to server-initiated requests
+	 * @param maxPendingRequests maximum number of server-initiated requests awaiting a
+	 * response at once, further requests fail fast until responses arrive
+	 * @param transport the transport to use
+	 * @param initHandler called when a
+	 * {@link io.modelcontextprotocol.spec.McpSchema.InitializeRequest} is received by the
+	 * server
+	 * @param initNotificationHandler called when a
+	 * {@link io.modelcontextprotocol.spec.McpSchema#METHOD_NOTIFICATION_INITIALIZED} is
+	 * received.
+	 * @param requestHandlers map of request handlers to use
+	 * @param notificationHandlers map of notification handlers to use
+	 */
+	public McpServerSession(String id, Duration requestTimeout, int maxPendingRequests, McpServerTransport transport,
+			InitRequestHandler initHandler, InitNotificationHandler initNotificationHandler,
+			Map<String, RequestHandler<?>> requestHandlers, Map<String, NotificationHandler> notificationHandlers) {
 		this.id = id;
 		this.requestTimeout = requestTimeout;
+		this.pendingRequests = new McpPendingRequests(maxPendingRequests);
 		this.transport = transport;
 		this.initRequestHandler = initHandler;
 		this.initNotificationHandler = initNotificationHandler;
@@ -104,36 +136,45 @@ public class McpServerSession implements McpSession {
 		this.clientInfo.lazySet(clientInfo);
 	}
 
-	private String generateRequestId() {
-		return this.id + "-" + this.requestCounter.getAndIncrement();
+	/**
+	 * Returns the requests this session is awaiting a response for, exposing the
+	 * in-flight gauges.
+	 * @return the pending requests of this session
+	 */
+	public McpPendingRequests pendingRequests() {
+		return this.pendingRequests;
 	}
 
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-		String requestId = this.generateRequestId();
-
-		return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-			this.pendingResponses.put(requestId, sink);
-			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
-					requestId, requestParams);
-			this.transport.sendMessage(jsonrpcRequest).subscribe(v -> {
-			}, error -> {
-				this.pendingResponses.remove(requestId);
-				sink.error(error);
-			});
-		}).timeout(requestTimeout).handle((jsonRpcResponse, sink) -> {
-			if (jsonRpcResponse.error() != null) {
-				sink.error(new McpError(jsonRpcResponse.error()));
-			}
-			else {
-				if (typeRef.getType().equals(Void.class)) {
-					sink.complete();
+		return this.pendingRequests
+			.register(
+					requestId -> this.transport.sendMessage(
+							new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method, requestId, requestParams)),
+					this.requestTimeout, this::sendCancellation)
+			.handle((jsonRpcResponse, sink) -> {
+				if (jsonRpcResponse.error() != null) {
+					sink.error(new McpError(jsonRpcResponse.error()));
 				}
 				else {
-					sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+					if (typeRef.getType().equals(Void.class)) {
+						sink.complete();
+					}
+					else {
+						sink.next(this.transport.unmarshalFrom(jsonRpcResponse.result(), typeRef));
+					}
 				}
-			}
-		});
+			});
+	}
+
+	/**
+	 * Lets the client know that the server no longer waits for the response to a request,
+	 * because it was cancelled or timed out.
+	 * @param requestId the id of the abandoned request
+	 */
+	private void sendCancellation(long requestId) {
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED, new McpSchema.CancelledNotification(requestId, null))
+			.subscribe(null, error -> logger.debug("Failed to send the cancellation of request {}", requestId, error));
 	}
 
 	@Override
@@ -143,6 +184,17 @@ public class McpServerSession implements McpSession {
 		return this.transport.sendMessage(jsonrpcNotification);
 	}
 
+	/**
+	 * Sends an already encoded message, such as a notification broadcast to many
+	 * sessions, to the client.
+	 * @param message the encoded message
+	 * @return a Mono that completes when the message has been sent
+	 * @see McpBroadcast
+	 */
+	public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+		return this.transport.sendEncodedMessage(message);
+	}
+
 	/**
 	 * Called by the {@link McpServerTransportProvider} once the session is determined.
 	 * The purpose of this method is to dispatch the message to an appropriate handler as
@@ -159,24 +211,19 @@ public class McpServerSession implements McpSession {
 			// first
 			if (message instanceof McpSchema.JSONRPCResponse response) {
 				logger.debug("Received Response: {}", response);
-				var sink = pendingResponses.remove(response.id());
-				if (sink == null) {
+				if (!this.pendingRequests.complete(response)) {
 					logger.warn("Unexpected response for unknown id {}", response.id());
 				}
-				else {
-					sink.success(response);
-				}
 				return Mono.empty();
 			}
 			else if (message instanceof McpSchema.JSONRPCRequest request) {
 				logger.debug("Received request: {}", request);
 				return handleIncomingRequest(request).onErrorResume(error -> {
 					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-							new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-									error.getMessage(), null));
+							toJsonRpcError(error));
 					// TODO: Should the error go to SSE or back as POST return?
 					return this.transport.sendMessage(errorResponse).then(Mono.empty());
-				}).flatMap(this.transport::sendMessage);
+				}).flatMap(this::sendResponse);
 			}
 			else if (message instanceof McpSchema.JSONRPCNotification notification) {
 				// TODO handle errors for communication to without initialization
@@ -186,6 +233,14 @@ public class McpServerSession implements McpSession {
 				return handleIncomingNotification(notification)
 					.doOnError(error -> logger.error("Error handling notification: {}", error.getMessage()));
 			}
+			else if (message instanceof McpSchema.JSONRPCBatch batch) {
+				logger.debug("Received batch of {} messages", batch.messages().size());
+				return handleIncomingBatch(batch);
+			}
+			else if (message instanceof McpSchema.JSONRPCInvalidMessage invalid) {
+				logger.debug("Received invalid message: {}", invalid.reason());
+				return this.transport.sendMessage(invalid.toErrorResponse());
+			}
 			else {
 				logger.warn("Received unknown message type: {}", message);
 				return Mono.empty();
@@ -193,6 +248,39 @@ public class McpServerSession implements McpSession {
 		});
 	}
 
+	private Mono<Void> sendResponse(McpSchema.JSONRPCResponse response) {
+		if (response.result() instanceof McpEncodedResult<?> result) {
+			return this.transport.sendEncodedMessage(McpEncodedMessage.response(response.id(), result));
+		}
+		return this.transport.sendMessage(response);
+	}
+
+	/**
+	 * Handles an incoming JSON-RPC batch. The messages of the batch are processed
+	 * concurrently and the responses to its requests are sent back together as a single
+	 * batch, in the order of the requests. Each invalid message of the batch is answered
+	 * with an Invalid Request error in the same batch, while the valid ones are still
+	 * processed. Nothing is sent when the batch holds no requests or invalid messages.
+	 * @param batch The incoming JSON-RPC batch
+	 * @return A Mono that completes when the batch is processed
+	 */
+	private Mono<Void> handleIncomingBatch(McpSchema.JSONRPCBatch batch) {
+		return Flux.fromIterable(batch.messages()).<McpSchema.JSONRPCMessage>flatMapSequential(message -> {
+			if (message instanceof McpSchema.JSONRPCRequest request) {
+				return handleIncomingRequest(request)
+					.onErrorResume(error -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+							request.id(), null, toJsonRpcError(error))));
+			}
+			if (message instanceof McpSchema.JSONRPCInvalidMessage invalid) {
+				return Mono.just(invalid.toErrorResponse());
+			}
+			return handle(message).onErrorComplete().then(Mono.<McpSchema.JSONRPCMessage>empty());
+		})
+			.collectList()
+			.flatMap(responses -> responses.isEmpty() ? Mono.empty()
+					: this.transport.sendMessage(new McpSchema.JSONRPCBatch(responses)));
+	}
+
 	/**
 	 * Handles an incoming JSON-RPC request by routing it to the appropriate handler.
 	 * @param request The incoming JSON-RPC request
@@ -204,8 +292,7 @@ public class McpServerSession implements McpSession {
 			if (McpSchema.METHOD_INITIALIZE.equals(request.method())) {
 				// TODO handle situation where already initialized!
 				McpSchema.InitializeRequest initializeRequest = transport.unmarshalFrom(request.params(),
-						new TypeReference<McpSchema.InitializeRequest>() {
-						});
+						INITIALIZE_REQUEST_TYPE_REF);
 
 				this.state.lazySet(STATE_INITIALIZING);
 				this.init(initializeRequest.capabilities(), initializeRequest.clientInfo());
@@ -222,17 +309,48 @@ public class McpServerSession implements McpSession {
 									error.message(), error.data())));
 				}
 
-				resultMono = this.exchangeSink.asMono().flatMap(exchange -> handler.handle(exchange, request.params()));
+				Object params = request.params();
+				if (handler instanceof TypedRequestHandler<?, ?> typedHandler) {
+					// Bind the raw params once, straight into the type the handler
+					// declared
+					try {
+						params = transport.unmarshalFrom(params, typedHandler.paramsType());
+					}
+					catch (IllegalArgumentException e) {
+						return Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
+								new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_PARAMS,
+										"Invalid params for method " + request.method() + ": " + e.getMessage(),
+										null)));
+					}
+				}
+
+				Object boundParams = params;
+				resultMono = this.inboundRequests.track(request.id(),
+						this.exchangeSink.asMono().flatMap(exchange -> handler.handle(exchange, boundParams)));
 			}
 			return resultMono
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
 				.onErrorResume(error -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
-						null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-								error.getMessage(), null)))); // TODO: add error message
-																// through the data field
+						null, toJsonRpcError(error)))); // TODO: add error message
+														// through the data field
 		});
 	}
 
+	/**
+	 * Maps an error raised while handling a request to the error of its response. The
+	 * JSON-RPC error of an {@link McpError} is kept, any other error is reported as an
+	 * internal error.
+	 * @param error the error raised by the request handler
+	 * @return the error to respond with
+	 */
+	private static McpSchema.JSONRPCResponse.JSONRPCError toJsonRpcError(Throwable error) {
+		if (error instanceof McpError mcpError && mcpError.getJsonRpcError() != null) {
+			return mcpError.getJsonRpcError();
+		}
+		return new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR, error.getMessage(),
+				null);
+	}
+
 	/**
 	 * Handles an incoming JSON-RPC notification by routing it to the appropriate handler.
 	 * @param notification The incoming JSON-RPC notification
@@ -245,6 +363,14 @@ public class McpServerSession implements McpSession {
 				exchangeSink.tryEmitValue(new McpAsyncServerExchange(this, clientCapabilities.get(), clientInfo.get()));
 				return this.initNotificationHandler.handle();
 			}
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				McpSchema.CancelledNotification cancelled = transport.unmarshalFrom(notification.params(),
+						CANCELLED_NOTIFICATION_TYPE_REF);
+				if (this.inboundRequests.cancel(cancelled.requestId())) {
+					logger.debug("Cancelled request {}: {}", cancelled.requestId(), cancelled.reason());
+				}
+				return Mono.empty();
+			}
 
 			var handler = notificationHandlers.get(notification.method());
 			if (handler == null) {
@@ -264,14 +390,19 @@ public class McpServerSession implements McpSession {
 
 	@Override
 	public Mono<Void> closeGracefully() {
-		return this.transport.closeGracefully();
+		return Mono.fromRunnable(this::dismissPendingResponses).then(this.transport.closeGracefully());
 	}
 
 	@Override
 	public void close() {
+		dismissPendingResponses();
 		this.transport.close();
 	}
 
+	private void dismissPendingResponses() {
+		this.pendingRequests.dismissAll(new RuntimeException("MCP session with client terminated"));
+	}
+
 	/**
 	 * Request handler for the initialization request.
 	 */
@@ -334,6 +465,42 @@ public class McpServerSession implements McpSession {
 
 	}
 
+	/**
+	 * A {@link RequestHandler} that declares the type of its parameters when it is
+	 * registered. The session binds the raw request params to {@code paramsType} exactly
+	 * once, straight from the decoded message, before invoking the handler; params that
+	 * cannot be bound are answered with an {@link McpSchema.ErrorCodes#INVALID_PARAMS}
+	 * error without reaching the handler.
+	 *
+	 * @param <P> the type of the request parameters
+	 * @param <T> the type of the response that is expected as a result of handling the
+	 * request
+	 * @param paramsType the type the request params are bound to
+	 * @param handler the function handling the request with its bound params
+	 */
+	public record TypedRequestHandler<P, T>(TypeReference<P> paramsType,
+			BiFunction<McpAsyncServerExchange, P, Mono<T>> handler) implements RequestHandler<T> {
+
+		public TypedRequestHandler {
+			Assert.notNull(paramsType, "The paramsType can not be null");
+			Assert.notNull(handler, "The handler can not be null");
+		}
+
+		/**
+		 * Handles a request whose params have already been bound to {@link #paramsType()}
+		 * by the session.
+		 * @param exchange the exchange associated with the client
+		 * @param params the bound parameters of the request
+		 * @return a Mono that will emit the response to the request
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public Mono<T> handle(McpAsyncServerExchange exchange, Object params) {
+			return this.handler.apply(exchange, (P) params);
+		}
+
+	}
+
 	/**
 	 * Factory for creating server sessions which delegate to a provided 1:1 transport
 	 * with a connected client.
@@ -1,11 +1,28 @@
 package io.modelcontextprotocol.spec;
 
+import reactor.core.publisher.Mono;
+
 /**
- * Marker interface for the server-side MCP transport.
+ * Server-side MCP transport.
  *
  * @author Christian Tzolov
  * @author Dariusz Jędrzejczyk
  */
 public interface McpServerTransport extends McpTransport {
 
+	/**
+	 * Sends an already encoded message to the client asynchronously.
+	 *
+	 * <p>
+	 * Transports should write the {@link McpEncodedMessage#asString() encoding} as is
+	 * rather than serializing the message again. The default implementation sends the
+	 * message with {@link #sendMessage(McpSchema.JSONRPCMessage)}.
+	 * </p>
+	 * @param message the encoded message to send
+	 * @return a {@link Mono<Void>} that completes when the message has been sent
+	 */
+	default Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+		return this.sendMessage(message.message());
+	}
+
 }
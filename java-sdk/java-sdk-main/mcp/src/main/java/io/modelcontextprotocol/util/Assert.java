@@ -61,6 +61,23 @@ public final class Assert {
 		}
 	}
 
+	/**
+	 * Assert a boolean expression, throwing an {@code IllegalArgumentException} if the
+	 * expression evaluates to {@code false}.
+	 *
+	 * <pre class="code">
+	 * Assert.isTrue(i &gt; 0, "The value must be greater than zero");
+	 * </pre>
+	 * @param expression a boolean expression
+	 * @param message the exception message to use if the assertion fails
+	 * @throws IllegalArgumentException if {@code expression} is {@code false}
+	 */
+	public static void isTrue(boolean expression, String message) {
+		if (!expression) {
+			throw new IllegalArgumentException(message);
+		}
+	}
+
 	/**
 	 * Check whether the given {@code String} contains actual <em>text</em>.
 	 * <p>
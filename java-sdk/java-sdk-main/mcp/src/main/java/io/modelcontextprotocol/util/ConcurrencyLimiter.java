@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Limits the number of operations running at the same time, queueing the operations
+ * beyond the limit in arrival order. Internal to the SDK, shared by the limits of the
+ * client and of the server.
+ *
+ * <p>
+ * An operation holds a {@link Permit} from the moment it is granted until it releases it.
+ * A permit released while operations are queued is handed over to the oldest of them. A
+ * permit handed to an operation that was cancelled or timed out meanwhile is discarded by
+ * Reactor and released again.
+ */
+public final class ConcurrencyLimiter {
+
+	private final int maxConcurrent;
+
+	private final int maxQueued;
+
+	private final Deque<MonoSink<Permit>> waiters = new ArrayDeque<>();
+
+	/** Number of permits held, guarded by this */
+	private int active;
+
+	/**
+	 * Creates a new limiter.
+	 * @param maxConcurrent the maximum number of operations running at the same time
+	 * @param maxQueued the maximum number of operations waiting for a permit
+	 */
+	public ConcurrencyLimiter(int maxConcurrent, int maxQueued) {
+		Assert.isTrue(maxConcurrent > 0, "Max concurrent operations must be positive");
+		Assert.isTrue(maxQueued >= 0, "Max queued operations must not be negative");
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+	}
+
+	/**
+	 * Acquires a permit, waiting for one to be released if none is available.
+	 * @return a Mono emitting the permit once granted, or failing with a
+	 * {@link RejectedExecutionException} if too many operations are waiting already
+	 */
+	public Mono<Permit> acquire() {
+		return Mono.<Permit>create(sink -> {
+			boolean granted;
+			synchronized (this) {
+				granted = this.active < this.maxConcurrent;
+				if (granted) {
+					this.active++;
+				}
+				else if (this.waiters.size() < this.maxQueued) {
+					this.waiters.offerLast(sink);
+					sink.onCancel(() -> {
+						synchronized (this) {
+							this.waiters.remove(sink);
+						}
+					});
+					return;
+				}
+			}
+			if (!granted) {
+				sink.error(new RejectedExecutionException("Too many operations waiting for a permit"));
+				return;
+			}
+			sink.success(new Permit());
+		})
+			// A permit handed to an operation that was cancelled meanwhile is released
+			// again
+			.doOnDiscard(Permit.class, Permit::release);
+	}
+
+	/**
+	 * Returns the number of permits held.
+	 * @return the number of running operations
+	 */
+	public synchronized int active() {
+		return this.active;
+	}
+
+	/**
+	 * Returns the number of operations waiting for a permit.
+	 * @return the number of queued operations
+	 */
+	public synchronized int queued() {
+		return this.waiters.size();
+	}
+
+	private void handOver() {
+		MonoSink<Permit> waiter;
+		synchronized (this) {
+			waiter = this.waiters.pollFirst();
+			if (waiter == null) {
+				this.active--;
+				return;
+			}
+		}
+		waiter.success(new Permit());
+	}
+
+	/**
+	 * Permit to run an operation, released at most once.
+	 */
+	public final class Permit {
+
+		private boolean released;
+
+		private Permit() {
+		}
+
+		/**
+		 * Releases the permit, handing it over to the oldest queued operation if any.
+		 * Releasing a permit again has no effect.
+		 */
+		public void release() {
+			synchronized (this) {
+				if (this.released) {
+					return;
+				}
+				this.released = true;
+			}
+			handOver();
+		}
+
+	}
+
+}
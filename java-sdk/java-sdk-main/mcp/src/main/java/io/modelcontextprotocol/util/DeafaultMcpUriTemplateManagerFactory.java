@@ -3,21 +3,70 @@
 */
 package io.modelcontextprotocol.util;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
+ * Factory of {@link DefaultMcpUriTemplateManager} instances.
+ * <p>
+ * Managers are immutable, so the factory interns them per URI template in a bounded
+ * cache: creating a manager for a template seen before returns the already compiled
+ * instance. Once the cache is full, managers for further templates are created without
+ * being cached.
+ *
  * @author Christian Tzolov
  */
 public class DeafaultMcpUriTemplateManagerFactory implements McpUriTemplateManagerFactory {
 
 	/**
-	 * Creates a new instance of {@link McpUriTemplateManager} with the specified URI
-	 * template.
+	 * The default max number of cached URI template managers.
+	 */
+	public static final int DEFAULT_MAX_CACHED_TEMPLATES = 1024;
+
+	private final ConcurrentHashMap<String, McpUriTemplateManager> cache = new ConcurrentHashMap<>();
+
+	private final int maxCachedTemplates;
+
+	/**
+	 * Creates a factory caching up to {@link #DEFAULT_MAX_CACHED_TEMPLATES} managers.
+	 */
+	public DeafaultMcpUriTemplateManagerFactory() {
+		this(DEFAULT_MAX_CACHED_TEMPLATES);
+	}
+
+	/**
+	 * Creates a factory caching up to the given number of managers.
+	 * @param maxCachedTemplates the max number of cached managers, {@code 0} disables
+	 * caching
+	 * @throws IllegalArgumentException if maxCachedTemplates is negative
+	 */
+	public DeafaultMcpUriTemplateManagerFactory(int maxCachedTemplates) {
+		Assert.isTrue(maxCachedTemplates >= 0, "The maxCachedTemplates must not be negative");
+		this.maxCachedTemplates = maxCachedTemplates;
+	}
+
+	/**
+	 * Returns the {@link McpUriTemplateManager} for the specified URI template.
 	 * @param uriTemplate The URI template to be used for variable extraction
-	 * @return A new instance of {@link McpUriTemplateManager}
+	 * @return The cached or a new instance of {@link McpUriTemplateManager}
 	 * @throws IllegalArgumentException if the URI template is null or empty
 	 */
 	@Override
 	public McpUriTemplateManager create(String uriTemplate) {
-		return new DefaultMcpUriTemplateManager(uriTemplate);
+		if (uriTemplate == null || uriTemplate.isEmpty()) {
+			throw new IllegalArgumentException("URI template must not be null or empty");
+		}
+		McpUriTemplateManager manager = this.cache.get(uriTemplate);
+		if (manager != null) {
+			return manager;
+		}
+		manager = new DefaultMcpUriTemplateManager(uriTemplate);
+		if (this.cache.size() < this.maxCachedTemplates) {
+			McpUriTemplateManager existing = this.cache.putIfAbsent(uriTemplate, manager);
+			if (existing != null) {
+				return existing;
+			}
+		}
+		return manager;
 	}
 
 }
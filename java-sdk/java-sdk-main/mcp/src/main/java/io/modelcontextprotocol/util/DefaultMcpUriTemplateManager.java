@@ -6,8 +6,10 @@ package io.modelcontextprotocol.util;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -15,7 +17,8 @@ import java.util.regex.Pattern;
  * Default implementation of the UriTemplateUtils interface.
  * <p>
  * This class provides methods for extracting variables from URI templates and matching
- * them against actual URIs.
+ * them against actual URIs. The template is compiled once on construction, so instances
+ * are immutable and can be shared and reused across requests.
  *
  * @author Christian Tzolov
  */
@@ -28,6 +31,28 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 
 	private final String uriTemplate;
 
+	/**
+	 * The variable names in the order they appear in the template
+	 */
+	private final String[] variableNames;
+
+	/**
+	 * The first variable name that appears more than once in the template, if any
+	 */
+	private final String duplicateVariableName;
+
+	/**
+	 * The template text preceding the first variable, which every matching URI starts
+	 * with
+	 */
+	private final String literalPrefix;
+
+	/**
+	 * The template compiled into a regex with a capturing group per variable, or
+	 * {@code null} if the template has no variables
+	 */
+	private final Pattern pattern;
+
 	/**
 	 * Constructor for DefaultMcpUriTemplateManager.
 	 * @param uriTemplate The URI template to be used for variable extraction
@@ -37,40 +62,59 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 			throw new IllegalArgumentException("URI template must not be null or empty");
 		}
 		this.uriTemplate = uriTemplate;
+
+		// Replace each {variableName} with a capturing group and quote the text between
+		List<String> variables = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		String duplicate = null;
+		StringBuilder patternBuilder = new StringBuilder();
+		Matcher variableMatcher = URI_VARIABLE_PATTERN.matcher(uriTemplate);
+		int lastEnd = 0;
+		while (variableMatcher.find()) {
+			String variableName = variableMatcher.group(1);
+			if (!seen.add(variableName) && duplicate == null) {
+				duplicate = variableName;
+			}
+			variables.add(variableName);
+			patternBuilder.append(Pattern.quote(uriTemplate.substring(lastEnd, variableMatcher.start())));
+			patternBuilder.append("([^/]+)");
+			lastEnd = variableMatcher.end();
+		}
+		if (lastEnd < uriTemplate.length()) {
+			patternBuilder.append(Pattern.quote(uriTemplate.substring(lastEnd)));
+		}
+
+		this.variableNames = variables.toArray(String[]::new);
+		this.duplicateVariableName = duplicate;
+		if (variables.isEmpty()) {
+			this.literalPrefix = uriTemplate;
+			this.pattern = null;
+		}
+		else {
+			this.literalPrefix = uriTemplate.substring(0, uriTemplate.indexOf('{'));
+			this.pattern = Pattern.compile(patternBuilder.toString());
+		}
 	}
 
 	/**
 	 * Extract URI variable names from a URI template.
-	 * @param uriTemplate The URI template containing variables in the format
-	 * {variableName}
 	 * @return A list of variable names extracted from the template
 	 * @throws IllegalArgumentException if duplicate variable names are found
 	 */
 	@Override
 	public List<String> getVariableNames() {
-		if (uriTemplate == null || uriTemplate.isEmpty()) {
-			return List.of();
-		}
-
-		List<String> variables = new ArrayList<>();
-		Matcher matcher = URI_VARIABLE_PATTERN.matcher(this.uriTemplate);
-
-		while (matcher.find()) {
-			String variableName = matcher.group(1);
-			if (variables.contains(variableName)) {
-				throw new IllegalArgumentException("Duplicate URI variable name in template: " + variableName);
-			}
-			variables.add(variableName);
+		if (this.duplicateVariableName != null) {
+			throw new IllegalArgumentException(
+					"Duplicate URI variable name in template: " + this.duplicateVariableName);
 		}
-
-		return variables;
+		return List.of(this.variableNames);
 	}
 
 	/**
 	 * Extract URI variable values from the actual request URI.
 	 * <p>
-	 * This method converts the URI template into a regex pattern, then uses that pattern
-	 * to extract variable values from the request URI.
+	 * This method matches the request URI against the regex pattern compiled from the URI
+	 * template and extracts the variable values from its capturing groups.
 	 * @param requestUri The actual URI from the request
 	 * @return A map of variable names to their values
 	 * @throws IllegalArgumentException if the URI template is invalid or the request URI
@@ -78,59 +122,19 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 	 */
 	@Override
 	public Map<String, String> extractVariableValues(String requestUri) {
-		Map<String, String> variableValues = new HashMap<>();
 		List<String> uriVariables = this.getVariableNames();
+		Map<String, String> variableValues = new HashMap<>();
 
-		if (requestUri == null || uriVariables.isEmpty()) {
+		if (requestUri == null || uriVariables.isEmpty() || !requestUri.startsWith(this.literalPrefix)) {
 			return variableValues;
 		}
 
-		try {
-			// Create a regex pattern by replacing each {variableName} with a capturing
-			// group
-			StringBuilder patternBuilder = new StringBuilder("^");
-
-			// Find all variable placeholders and their positions
-			Matcher variableMatcher = URI_VARIABLE_PATTERN.matcher(uriTemplate);
-			int lastEnd = 0;
-
-			while (variableMatcher.find()) {
-				// Add the text between the last variable and this one, escaped for regex
-				String textBefore = uriTemplate.substring(lastEnd, variableMatcher.start());
-				patternBuilder.append(Pattern.quote(textBefore));
-
-				// Add a capturing group for the variable
-				patternBuilder.append("([^/]+)");
-
-				lastEnd = variableMatcher.end();
-			}
-
-			// Add any remaining text after the last variable
-			if (lastEnd < uriTemplate.length()) {
-				patternBuilder.append(Pattern.quote(uriTemplate.substring(lastEnd)));
-			}
-
-			patternBuilder.append("$");
-
-			// Compile the pattern and match against the request URI
-			Pattern pattern = Pattern.compile(patternBuilder.toString());
-			Matcher matcher = pattern.matcher(requestUri);
-
-			if (matcher.find() && matcher.groupCount() == uriVariables.size()) {
-				for (int i = 0; i < uriVariables.size(); i++) {
-					String value = matcher.group(i + 1);
-					if (value == null || value.isEmpty()) {
-						throw new IllegalArgumentException(
-								"Empty value for URI variable '" + uriVariables.get(i) + "' in URI: " + requestUri);
-					}
-					variableValues.put(uriVariables.get(i), value);
-				}
+		Matcher matcher = this.pattern.matcher(requestUri);
+		if (matcher.matches()) {
+			for (int i = 0; i < this.variableNames.length; i++) {
+				variableValues.put(this.variableNames[i], matcher.group(i + 1));
 			}
 		}
-		catch (Exception e) {
-			throw new IllegalArgumentException("Error parsing URI template: " + uriTemplate + " for URI: " + requestUri,
-					e);
-		}
 
 		return variableValues;
 	}
@@ -143,16 +147,11 @@ public class DefaultMcpUriTemplateManager implements McpUriTemplateManager {
 	@Override
 	public boolean matches(String uri) {
 		// If the uriTemplate doesn't contain variables, do a direct comparison
-		if (!this.isUriTemplate(this.uriTemplate)) {
+		if (this.pattern == null) {
 			return uri.equals(this.uriTemplate);
 		}
 
-		// Convert the pattern to a regex
-		String regex = this.uriTemplate.replaceAll("\\{[^/]+?\\}", "([^/]+?)");
-		regex = regex.replace("/", "\\/");
-
-		// Check if the URI matches the regex
-		return Pattern.compile(regex).matcher(uri).matches();
+		return uri.startsWith(this.literalPrefix) && this.pattern.matcher(uri).matches();
 	}
 
 	@Override
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Access to virtual threads when running on Java 21 or later. The SDK is compiled for
+ * Java 17, so virtual threads are looked up reflectively.
+ */
+public final class VirtualThreads {
+
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+	private static volatile Scheduler scheduler;
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Tells whether the running JVM supports virtual threads.
+	 * @return {@code true} on Java 21 or later
+	 */
+	public static boolean isSupported() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null && Runtime.version().feature() >= 21;
+	}
+
+	/**
+	 * Creates an executor starting a new virtual thread for each task.
+	 * @return the executor
+	 * @throws IllegalStateException if the running JVM does not support virtual threads
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if (!isSupported()) {
+			throw new IllegalStateException("Virtual threads require Java 21 or later");
+		}
+		try {
+			return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+		}
+		catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Failed to create a virtual thread executor", e);
+		}
+	}
+
+	/**
+	 * Returns a scheduler running every task on a new virtual thread. The scheduler is
+	 * shared and must not be disposed.
+	 * @return the shared virtual thread scheduler
+	 * @throws IllegalStateException if the running JVM does not support virtual threads
+	 */
+	public static Scheduler scheduler() {
+		Scheduler current = scheduler;
+		if (current == null) {
+			synchronized (VirtualThreads.class) {
+				current = scheduler;
+				if (current == null) {
+					current = Schedulers.fromExecutorService(newVirtualThreadPerTaskExecutor(), "mcp-virtual");
+					scheduler = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private static Method findVirtualThreadPerTaskExecutor() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		}
+		catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+}
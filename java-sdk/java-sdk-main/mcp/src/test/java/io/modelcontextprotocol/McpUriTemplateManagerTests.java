@@ -6,6 +6,8 @@ package io.modelcontextprotocol;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -94,4 +96,40 @@ public class McpUriTemplateManagerTests {
 		assertFalse(uriTemplateManager.matches("/api/users/123/comments/456"));
 	}
 
+	@Test
+	void shouldReturnEmptyMapWhenRequestUriDoesNotMatch() {
+		var uriTemplateManager = this.uriTemplateFactory.create("/api/users/{userId}/posts/{postId}");
+
+		assertEquals(0, uriTemplateManager.extractVariableValues("/api/groups/123/posts/456").size());
+		assertEquals(0, uriTemplateManager.extractVariableValues("/api/users/123/comments/456").size());
+	}
+
+	@Test
+	void shouldMatchTemplateLiteralsLiterally() {
+		var uriTemplateManager = this.uriTemplateFactory.create("docs://{name}.json");
+
+		assertTrue(uriTemplateManager.matches("docs://readme.json"));
+		assertFalse(uriTemplateManager.matches("docs://readmexjson"));
+		assertEquals(Map.of("name", "readme"), uriTemplateManager.extractVariableValues("docs://readme.json"));
+	}
+
+	@Test
+	void shouldReuseManagersForTheSameTemplate() {
+		var first = this.uriTemplateFactory.create("/api/users/{userId}");
+
+		assertSame(first, this.uriTemplateFactory.create("/api/users/{userId}"));
+		assertNotSame(first, this.uriTemplateFactory.create("/api/users/{id}"));
+	}
+
+	@Test
+	void shouldBoundCachedManagers() {
+		var factory = new DeafaultMcpUriTemplateManagerFactory(1);
+		var cached = factory.create("/api/users/{userId}");
+		var uncached = factory.create("/api/posts/{postId}");
+
+		assertSame(cached, factory.create("/api/users/{userId}"));
+		assertNotSame(uncached, factory.create("/api/posts/{postId}"));
+		assertTrue(factory.create("/api/posts/{postId}").matches("/api/posts/1"));
+	}
+
 }
@@ -5,6 +5,7 @@
 package io.modelcontextprotocol;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiConsumer;
 
@@ -21,7 +22,7 @@ import reactor.core.publisher.Mono;
  */
 public class MockMcpServerTransport implements McpServerTransport {
 
-	private final List<McpSchema.JSONRPCMessage> sent = new ArrayList<>();
+	private final List<McpSchema.JSONRPCMessage> sent = Collections.synchronizedList(new ArrayList<>());
 
 	private final BiConsumer<MockMcpServerTransport, McpSchema.JSONRPCMessage> interceptor;
 
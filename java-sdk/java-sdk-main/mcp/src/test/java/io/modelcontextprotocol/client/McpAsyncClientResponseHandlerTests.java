@@ -4,9 +4,14 @@
 
 package io.modelcontextprotocol.client;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -27,6 +32,7 @@ import reactor.core.publisher.Mono;
 import static io.modelcontextprotocol.spec.McpSchema.METHOD_INITIALIZE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 
 class McpAsyncClientResponseHandlerTests {
 
@@ -160,6 +166,53 @@ class McpAsyncClientResponseHandlerTests {
 		asyncMcpClient.closeGracefully();
 	}
 
+	@Test
+	void testToolsCatalogCache() {
+		McpSchema.InitializeResult mockInitResult = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+				SERVER_CAPABILITIES, SERVER_INFO, "Test instructions");
+		AtomicReference<List<McpSchema.Tool>> serverTools = new AtomicReference<>(
+				List.of(new McpSchema.Tool("tool-1", "Tool 1", "{\"type\":\"object\"}")));
+		AtomicInteger toolsListRequests = new AtomicInteger();
+
+		// Answer the initialization and every tools/list request with the current tools
+		MockMcpClientTransport transport = new MockMcpClientTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest r && METHOD_INITIALIZE.equals(r.method())) {
+				t.simulateIncomingMessage(
+						new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(), mockInitResult, null));
+			}
+			else if (message instanceof McpSchema.JSONRPCRequest r && McpSchema.METHOD_TOOLS_LIST.equals(r.method())) {
+				toolsListRequests.incrementAndGet();
+				t.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(),
+						new McpSchema.ListToolsResult(serverTools.get(), null), null));
+			}
+		});
+
+		List<McpSchema.Tool> receivedTools = new ArrayList<>();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport)
+			.cacheCatalogs(true)
+			.toolsChangeConsumer(tools -> Mono.fromRunnable(() -> receivedTools.addAll(tools)))
+			.build();
+
+		assertThat(asyncMcpClient.listTools().block().tools()).extracting(McpSchema.Tool::name)
+			.containsExactly("tool-1");
+		assertThat(asyncMcpClient.listTools().block().tools()).extracting(McpSchema.Tool::name)
+			.containsExactly("tool-1");
+		assertThat(toolsListRequests).hasValue(1);
+
+		// The notification refreshes the cache once for both the cache and the consumers
+		serverTools.set(List.of(new McpSchema.Tool("tool-2", "Tool 2", "{\"type\":\"object\"}")));
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null));
+
+		assertThat(receivedTools).extracting(McpSchema.Tool::name).containsExactly("tool-2");
+		assertThat(asyncMcpClient.listTools().block().tools()).extracting(McpSchema.Tool::name)
+			.containsExactly("tool-2");
+		assertThat(toolsListRequests).hasValue(2);
+		assertThat(asyncMcpClient.getCatalogCacheStats()).isEqualTo(new McpAsyncClient.CatalogCacheStats(2, 1, 1));
+
+		asyncMcpClient.closeGracefully();
+	}
+
 	@Test
 	void testRootsListRequestHandling() {
 		MockMcpClientTransport transport = initializationEnabledTransport();
@@ -551,4 +604,233 @@ class McpAsyncClientResponseHandlerTests {
 		asyncMcpClient.closeGracefully();
 	}
 
+	@Test
+	void testProgressNotificationsAreRelayed() {
+		MockMcpClientTransport transport = initializationEnabledTransport();
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		asyncMcpClient.initialize().block();
+
+		List<McpSchema.ProgressNotification> received = new ArrayList<>();
+		asyncMcpClient.progressNotifications().subscribe(received::add);
+
+		transport.simulateIncomingMessage(
+				new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_PROGRESS,
+						Map.of("progressToken", "job-1", "progress", 5.0, "total", 10.0, "message", "halfway")));
+
+		assertThat(received).containsExactly(new McpSchema.ProgressNotification("job-1", 5.0, 10.0, "halfway"));
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testProgressNotificationsReceivedOnSeveralThreadsAreRelayed() throws Exception {
+		McpSchema.InitializeResult mockInitResult = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+				SERVER_CAPABILITIES, SERVER_INFO, "Test instructions");
+		ConcurrentInboundTransport transport = new ConcurrentInboundTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest r && METHOD_INITIALIZE.equals(r.method())) {
+				t.simulateIncomingMessage(
+						new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(), mockInitResult, null));
+			}
+		});
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		asyncMcpClient.initialize().block();
+		int notifications = 2_000;
+
+		AtomicInteger received = new AtomicInteger();
+		asyncMcpClient.progressNotifications().subscribe(progress -> received.incrementAndGet());
+
+		List<Thread> streams = new ArrayList<>();
+		for (String token : List.of("job-1", "job-2")) {
+			streams.add(new Thread(() -> {
+				for (int i = 0; i < notifications; i++) {
+					transport.deliver(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+							McpSchema.METHOD_NOTIFICATION_PROGRESS,
+							Map.of("progressToken", token, "progress", (double) i)));
+				}
+			}));
+		}
+		streams.forEach(Thread::start);
+		for (Thread stream : streams) {
+			stream.join();
+		}
+
+		assertThat(received).hasValue(2 * notifications);
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testCallToolStreamingEmitsPartialResults() {
+		McpSchema.InitializeResult mockInitResult = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+				SERVER_CAPABILITIES, SERVER_INFO, "Test instructions");
+
+		// Stream two chunks before answering the tool call with the last one
+		MockMcpClientTransport transport = new MockMcpClientTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest r && METHOD_INITIALIZE.equals(r.method())) {
+				t.simulateIncomingMessage(
+						new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(), mockInitResult, null));
+			}
+			else if (message instanceof McpSchema.JSONRPCRequest r && McpSchema.METHOD_TOOLS_CALL.equals(r.method())) {
+				McpSchema.CallToolRequest request = t.unmarshalFrom(r.params(),
+						new TypeReference<McpSchema.CallToolRequest>() {
+						});
+				assertThat(request.meta()).containsEntry(McpSchema.STREAM_RESULT_META_KEY, true);
+				for (long index = 0; index < 2; index++) {
+					t.simulateIncomingMessage(partialResult(request.progressToken(), index, "line " + (index + 1)));
+				}
+				// Chunks of other tool calls are ignored
+				t.simulateIncomingMessage(partialResult("other", 0, "other"));
+				t.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(),
+						new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("line 3")), false), null));
+			}
+		});
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		asyncMcpClient.initialize().block();
+
+		List<McpSchema.Content> content = asyncMcpClient
+			.callToolStreaming(new McpSchema.CallToolRequest("search-logs", Map.of()))
+			.collectList()
+			.block();
+
+		assertThat(content).containsExactly(new McpSchema.TextContent("line 1"), new McpSchema.TextContent("line 2"),
+				new McpSchema.TextContent("line 3"));
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testCallToolStreamingFailsOnMissingPartialResult() {
+		McpSchema.InitializeResult mockInitResult = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+				SERVER_CAPABILITIES, SERVER_INFO, "Test instructions");
+
+		// Stream the first and the third chunk, the second one being lost on the way
+		List<String> notifications = new ArrayList<>();
+		MockMcpClientTransport transport = new MockMcpClientTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest r && METHOD_INITIALIZE.equals(r.method())) {
+				t.simulateIncomingMessage(
+						new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(), mockInitResult, null));
+			}
+			else if (message instanceof McpSchema.JSONRPCRequest r && McpSchema.METHOD_TOOLS_CALL.equals(r.method())) {
+				String progressToken = t.unmarshalFrom(r.params(), new TypeReference<McpSchema.CallToolRequest>() {
+				}).progressToken();
+				t.simulateIncomingMessage(partialResult(progressToken, 0, "line 1"));
+				t.simulateIncomingMessage(partialResult(progressToken, 2, "line 3"));
+			}
+			else if (message instanceof McpSchema.JSONRPCNotification n) {
+				notifications.add(n.method());
+			}
+		});
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		asyncMcpClient.initialize().block();
+
+		List<McpSchema.Content> received = new ArrayList<>();
+		assertThatThrownBy(
+				() -> asyncMcpClient.callToolStreaming(new McpSchema.CallToolRequest("search-logs", Map.of()))
+					.doOnNext(received::add)
+					.blockLast())
+			.isInstanceOf(McpError.class)
+			.hasMessageContaining("expected chunk 1 but received chunk 2");
+
+		assertThat(received).containsExactly(new McpSchema.TextContent("line 1"));
+		// The tool call is cancelled on the server
+		assertThat(notifications).contains(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	@Test
+	void testCallToolStreamingReceivesChunksOfConcurrentCallsFromSeveralThreads() throws Exception {
+		McpSchema.InitializeResult mockInitResult = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+				SERVER_CAPABILITIES, SERVER_INFO, "Test instructions");
+		int chunks = 2_000;
+
+		// Every tool call is streamed on a thread of its own, as over separate SSE
+		// streams
+		ConcurrentInboundTransport transport = new ConcurrentInboundTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest r && METHOD_INITIALIZE.equals(r.method())) {
+				t.simulateIncomingMessage(
+						new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, r.id(), mockInitResult, null));
+			}
+		});
+		McpAsyncClient asyncMcpClient = McpClient.async(transport).build();
+		asyncMcpClient.initialize().block();
+
+		List<Mono<List<McpSchema.Content>>> calls = new ArrayList<>();
+		List<Thread> streams = new ArrayList<>();
+		for (int c = 0; c < 2; c++) {
+			calls.add(asyncMcpClient.callToolStreaming(new McpSchema.CallToolRequest("search-logs", Map.of()))
+				.collectList()
+				.cache());
+		}
+		calls.forEach(Mono::subscribe);
+		for (McpSchema.JSONRPCMessage message : transport.sentToolCalls()) {
+			McpSchema.JSONRPCRequest request = (McpSchema.JSONRPCRequest) message;
+			String progressToken = transport
+				.unmarshalFrom(request.params(), new TypeReference<McpSchema.CallToolRequest>() {
+				})
+				.progressToken();
+			streams.add(new Thread(() -> {
+				for (long index = 0; index < chunks; index++) {
+					transport.deliver(partialResult(progressToken, index, "line " + index));
+				}
+				transport.deliver(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+						new McpSchema.CallToolResult(List.of(), false), null));
+			}));
+		}
+		streams.forEach(Thread::start);
+		for (Thread stream : streams) {
+			stream.join();
+		}
+
+		for (Mono<List<McpSchema.Content>> call : calls) {
+			assertThat(call.block(Duration.ofSeconds(10))).hasSize(chunks);
+		}
+
+		asyncMcpClient.closeGracefully();
+	}
+
+	/**
+	 * Transport delivering messages on the threads of the caller, concurrently.
+	 */
+	private static class ConcurrentInboundTransport extends MockMcpClientTransport {
+
+		private final List<McpSchema.JSONRPCMessage> toolCalls = new CopyOnWriteArrayList<>();
+
+		private volatile Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler;
+
+		ConcurrentInboundTransport(BiConsumer<MockMcpClientTransport, McpSchema.JSONRPCMessage> interceptor) {
+			super(interceptor);
+		}
+
+		@Override
+		public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+			this.handler = handler;
+			return super.connect(handler);
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			if (message instanceof McpSchema.JSONRPCRequest r && McpSchema.METHOD_TOOLS_CALL.equals(r.method())) {
+				this.toolCalls.add(message);
+			}
+			return super.sendMessage(message);
+		}
+
+		List<McpSchema.JSONRPCMessage> sentToolCalls() {
+			await().until(() -> this.toolCalls.size() == 2);
+			return this.toolCalls;
+		}
+
+		void deliver(McpSchema.JSONRPCMessage message) {
+			this.handler.apply(Mono.just(message)).block();
+		}
+
+	}
+
+	private static McpSchema.JSONRPCNotification partialResult(String progressToken, long index, String text) {
+		return new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT, new McpSchema.PartialResultNotification(
+						progressToken, index, List.of(new McpSchema.TextContent(text))));
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.modelcontextprotocol.MockMcpClientTransport;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link StdioServerPool}.
+ */
+class StdioServerPoolTests {
+
+	private static final ServerParameters PARAMS = ServerParameters.builder("server").build();
+
+	private final List<MockServer> servers = new CopyOnWriteArrayList<>();
+
+	private StdioServerPool pool;
+
+	@AfterEach
+	void tearDown() {
+		if (this.pool != null) {
+			this.pool.closeGracefully().block(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	void leasesReuseWarmProcesses() {
+		this.pool = poolBuilder().size(2).build();
+		this.pool.warmUp(PARAMS).block(Duration.ofSeconds(5));
+		assertThat(this.servers).hasSize(2);
+
+		for (int i = 0; i < 5; i++) {
+			StdioServerPool.Lease lease = this.pool.acquire(PARAMS).block(Duration.ofSeconds(5));
+			assertThat(lease.client().isInitialized()).isTrue();
+			lease.release();
+		}
+
+		assertThat(this.servers).hasSize(2);
+		assertThat(this.pool.getStats().leases()).isEqualTo(5);
+		assertThat(this.pool.getStats().processesStarted()).isEqualTo(2);
+	}
+
+	@Test
+	void jobsWaitForReleasedProcess() {
+		this.pool = poolBuilder().build();
+		StdioServerPool.Lease first = this.pool.acquire(PARAMS).block(Duration.ofSeconds(5));
+
+		Mono.delay(Duration.ofMillis(200)).subscribe(tick -> first.release());
+		StdioServerPool.Lease second = this.pool.acquire(PARAMS).block(Duration.ofSeconds(5));
+
+		assertThat(second.client()).isSameAs(first.client());
+		assertThat(second.waitTime()).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+		assertThat(this.pool.getStats().maxWait()).isEqualTo(second.waitTime());
+		assertThat(this.pool.getStats().leases()).isEqualTo(2);
+	}
+
+	@Test
+	void processesAreRecycledAfterMaxRequests() {
+		// The initialize request counts as well
+		this.pool = poolBuilder().maxRequests(3).build();
+
+		for (int i = 0; i < 4; i++) {
+			StdioServerPool.Lease lease = this.pool.acquire(PARAMS).block(Duration.ofSeconds(5));
+			lease.client().ping().block(Duration.ofSeconds(5));
+			lease.release();
+		}
+
+		assertThat(this.pool.getStats().processesRecycled()).isEqualTo(2);
+		assertThat(this.pool.getStats().processesStarted()).isEqualTo(3);
+	}
+
+	@Test
+	void processFailingHealthCheckIsReplaced() {
+		this.pool = poolBuilder().healthCheckIdleTime(Duration.ZERO).healthCheckTimeout(Duration.ofMillis(200)).build();
+		this.pool.warmUp(PARAMS).block(Duration.ofSeconds(5));
+		this.servers.get(0).answerPings.set(false);
+
+		StdioServerPool.Lease lease = this.pool.acquire(PARAMS).block(Duration.ofSeconds(5));
+
+		assertThat(this.servers).hasSize(2);
+		assertThat(lease.client()).isNotNull();
+		assertThat(this.pool.getStats().failedHealthChecks()).isEqualTo(1);
+	}
+
+	@Test
+	void waitingJobsFailWhenNoProcessStarts() {
+		this.pool = StdioServerPool.builder().transportFactory(params -> new MockMcpClientTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest request) {
+				Mono.delay(Duration.ofMillis(100))
+					.subscribe(tick -> t
+						.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+								null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
+										"Cannot start", null))));
+			}
+		})).build();
+
+		// Both jobs wait for the single process, whose start fails
+		Mono<StdioServerPool.Lease> first = this.pool.acquire(PARAMS).cache();
+		Mono<StdioServerPool.Lease> second = this.pool.acquire(PARAMS).cache();
+		first.subscribe(null, error -> {
+		});
+		second.subscribe(null, error -> {
+		});
+
+		assertThatThrownBy(() -> first.block(Duration.ofSeconds(5))).isInstanceOf(McpError.class);
+		assertThatThrownBy(() -> second.block(Duration.ofSeconds(5))).isInstanceOf(McpError.class);
+	}
+
+	private StdioServerPool.Builder poolBuilder() {
+		return StdioServerPool.builder().transportFactory(params -> {
+			MockServer server = new MockServer();
+			this.servers.add(server);
+			return server.transport;
+		}).clientFactory(transport -> McpClient.async(transport).requestTimeout(Duration.ofSeconds(5)).build());
+	}
+
+	/**
+	 * Server process answering the initialize and ping requests.
+	 */
+	private static class MockServer {
+
+		private final AtomicBoolean answerPings = new AtomicBoolean(true);
+
+		private final MockMcpClientTransport transport = new MockMcpClientTransport((t, message) -> {
+			if (message instanceof McpSchema.JSONRPCRequest request) {
+				if (McpSchema.METHOD_INITIALIZE.equals(request.method())) {
+					t.simulateIncomingMessage(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
+							new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+									McpSchema.ServerCapabilities.builder().build(),
+									new McpSchema.Implementation("server", "1.0.0"), null),
+							null));
+				}
+				else if (McpSchema.METHOD_PING.equals(request.method()) && this.answerPings.get()) {
+					t.simulateIncomingMessage(
+							new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), Map.of(), null));
+				}
+			}
+		});
+
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the HTTP/2 mode of {@link HttpClientStreamableHttpTransport}, against a
+ * Tomcat server accepting cleartext HTTP/2 upgrades.
+ */
+@Timeout(30)
+class HttpClientStreamableHttpTransportHttp2Tests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private final Queue<String> protocols = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger runningCalls = new AtomicInteger();
+
+	private final AtomicInteger maxRunningCalls = new AtomicInteger();
+
+	private HttpServletStreamableServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	private Tomcat tomcat;
+
+	private McpAsyncClient client;
+
+	@BeforeEach
+	void setUp() throws LifecycleException {
+		this.transportProvider = HttpServletStreamableServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.build();
+		McpServerFeatures.AsyncToolSpecification slowTool = new McpServerFeatures.AsyncToolSpecification(
+				new McpSchema.Tool("slow", "Slow tool", "{\"type\":\"object\"}"), (exchange, arguments) -> {
+					int running = this.runningCalls.incrementAndGet();
+					this.maxRunningCalls.accumulateAndGet(running, Math::max);
+					// Counted out before the result is sent, since the client may send
+					// the
+					// next call as soon as it receives the result
+					return Mono.delay(Duration.ofMillis(50)).then(Mono.fromSupplier(() -> {
+						this.runningCalls.decrementAndGet();
+						return new McpSchema.CallToolResult(List.of(), false);
+					}));
+				});
+		// Asks the client for a sampling before answering
+		McpServerFeatures.AsyncToolSpecification samplingTool = new McpServerFeatures.AsyncToolSpecification(
+				new McpSchema.Tool("sampling", "Sampling tool", "{\"type\":\"object\"}"),
+				(exchange, arguments) -> exchange
+					.createMessage(McpSchema.CreateMessageRequest.builder()
+						.messages(List.of(new McpSchema.SamplingMessage(McpSchema.Role.USER,
+								new McpSchema.TextContent("question"))))
+						.build())
+					.map(result -> new McpSchema.CallToolResult(List.of(result.content()), false)));
+		this.server = McpServer.async(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.tools(slowTool, samplingTool)
+			.build();
+
+		// Records the protocol of every request before handing it to the transport
+		HttpServlet recordingServlet = new HttpServlet() {
+			@Override
+			public void service(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+				protocols.add(request.getProtocol());
+				transportProvider.service(request, response);
+			}
+		};
+		this.tomcat = TomcatTestUtil.createTomcatServer("", PORT, recordingServlet);
+		this.tomcat.getConnector().addUpgradeProtocol(new Http2Protocol());
+		this.tomcat.start();
+	}
+
+	@AfterEach
+	void tearDown() throws LifecycleException {
+		if (this.client != null) {
+			this.client.closeGracefully().block(Duration.ofSeconds(5));
+		}
+		this.server.closeGracefully().block(Duration.ofSeconds(5));
+		this.tomcat.stop();
+		this.tomcat.destroy();
+	}
+
+	@Test
+	void requestsAreMultiplexedOverHttp2() {
+		this.client = McpClient
+			.async(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT).http2(100).build())
+			.build();
+		this.client.initialize().block();
+
+		Flux.range(0, 32).flatMap(i -> this.client.ping()).then().block();
+
+		// The initialize request upgrades the connection, the later ones are streams
+		assertThat(this.protocols.stream().skip(1)).isNotEmpty().allMatch("HTTP/2.0"::equals);
+	}
+
+	@Test
+	void requestsBeyondMaxConcurrentStreamsWait() {
+		this.client = McpClient
+			.async(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT).http2(4).build())
+			.build();
+		this.client.initialize().block();
+
+		List<McpSchema.CallToolResult> results = Flux.range(0, 8)
+			.flatMap(i -> this.client.callTool(new McpSchema.CallToolRequest("slow", "{}")))
+			.collectList()
+			.block();
+
+		// Two of the streams are kept for the stream of server messages and for the
+		// responses and notifications sent to the server
+		assertThat(results).hasSize(8);
+		assertThat(this.maxRunningCalls).hasValue(2);
+	}
+
+	@Test
+	void serverRequestsAreAnsweredWhileAllPermitsAreHeld() {
+		this.client = McpClient
+			.async(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT).http2(3).build())
+			.capabilities(McpSchema.ClientCapabilities.builder().sampling().build())
+			.sampling(request -> Mono
+				.just(new McpSchema.CreateMessageResult(McpSchema.Role.ASSISTANT, new McpSchema.TextContent("answer"),
+						"test-model", McpSchema.CreateMessageResult.StopReason.END_TURN)))
+			.build();
+		this.client.initialize().block();
+
+		// Every permit is held by a tool call waiting for the answer of the client to a
+		// sampling request, which must not wait for a permit itself
+		List<McpSchema.CallToolResult> results = Flux.range(0, 4)
+			.flatMap(i -> this.client.callTool(new McpSchema.CallToolRequest("sampling", "{}")))
+			.collectList()
+			.block(Duration.ofSeconds(10));
+
+		assertThat(results).hasSize(4)
+			.allSatisfy(result -> assertThat(result.content()).containsExactly(new McpSchema.TextContent("answer")));
+	}
+
+	@Test
+	void serverRequestsAreAnsweredWhileBatchedCallsHoldThePermits() {
+		this.client = McpClient
+			.async(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT).http2(3).build())
+			.capabilities(McpSchema.ClientCapabilities.builder().sampling().build())
+			.sampling(request -> Mono
+				.just(new McpSchema.CreateMessageResult(McpSchema.Role.ASSISTANT, new McpSchema.TextContent("answer"),
+						"test-model", McpSchema.CreateMessageResult.StopReason.END_TURN)))
+			.batchWindow(Duration.ofMillis(50))
+			.build();
+		this.client.initialize().block();
+
+		// A batch of requests takes a request permit like a single request, leaving the
+		// stream of the responses free for the answers to the sampling requests
+		List<McpSchema.CallToolResult> results = this.client
+			.batch(client -> Mono.zip(client.callTool(new McpSchema.CallToolRequest("sampling", "{}")),
+					client.callTool(new McpSchema.CallToolRequest("sampling", "{}")), List::of))
+			.block(Duration.ofSeconds(10));
+
+		assertThat(results).hasSize(2)
+			.allSatisfy(result -> assertThat(result.content()).containsExactly(new McpSchema.TextContent("answer")));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the JSON responses of a server to the messages sent by
+ * {@link HttpClientStreamableHttpTransport}, decoded as they are received.
+ */
+@Timeout(30)
+class HttpClientStreamableHttpTransportJsonResponseTests {
+
+	/** Size of the text of the resource served, beyond the limit of the second client */
+	private static final int RESOURCE_SIZE = 2 * 1024 * 1024;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private HttpServer server;
+
+	private McpAsyncClient client;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/mcp", this::handle);
+		this.server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (this.client != null) {
+			this.client.closeGracefully().block(Duration.ofSeconds(5));
+		}
+		this.server.stop(0);
+	}
+
+	@Test
+	void largeJsonResponseIsDecoded() {
+		this.client = McpClient.async(transport().build()).build();
+		this.client.initialize().block();
+
+		McpSchema.ReadResourceResult result = this.client.readResource(new McpSchema.ReadResourceRequest("file:///big"))
+			.block();
+
+		assertThat(((McpSchema.TextResourceContents) result.contents().get(0)).text()).hasSize(RESOURCE_SIZE);
+	}
+
+	@Test
+	void jsonResponseLargerThanMaxSizeFails() {
+		this.client = McpClient.async(transport().maxResponseBodySize(1024 * 1024).build()).build();
+		this.client.initialize().block();
+
+		assertThatThrownBy(() -> this.client.readResource(new McpSchema.ReadResourceRequest("file:///big")).block())
+			.isInstanceOf(McpError.class)
+			.hasMessageContaining("maximum size");
+	}
+
+	private HttpClientStreamableHttpTransport.Builder transport() {
+		return HttpClientStreamableHttpTransport.builder("http://localhost:" + this.server.getAddress().getPort());
+	}
+
+	/**
+	 * Answers the requests with JSON responses and accepts the notifications, without any
+	 * stream of server messages.
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			exchange.sendResponseHeaders(405, -1);
+			exchange.close();
+			return;
+		}
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper,
+				exchange.getRequestBody().readAllBytes());
+		if (!(message instanceof McpSchema.JSONRPCRequest request)) {
+			exchange.sendResponseHeaders(202, -1);
+			exchange.close();
+			return;
+		}
+		Object result;
+		if (McpSchema.METHOD_INITIALIZE.equals(request.method())) {
+			result = new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+					McpSchema.ServerCapabilities.builder().resources(false, false).build(),
+					new McpSchema.Implementation("json-server", "1.0.0"), null);
+		}
+		else {
+			result = new McpSchema.ReadResourceResult(List
+				.of(new McpSchema.TextResourceContents("file:///big", "text/plain", "x".repeat(RESOURCE_SIZE))));
+		}
+		byte[] body = this.objectMapper
+			.writeValueAsBytes(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null));
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.transport.ResponseSubscribers.JsonMessageResponseEvent;
+import io.modelcontextprotocol.client.transport.ResponseSubscribers.JsonMessageSubscriber;
+import io.modelcontextprotocol.client.transport.ResponseSubscribers.ResponseEvent;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResponseSubscribers.JsonMessageSubscriber}.
+ */
+class JsonMessageSubscriberTests {
+
+	private static final ResponseInfo RESPONSE_INFO = new ResponseInfo() {
+
+		@Override
+		public int statusCode() {
+			return 200;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return HttpHeaders.of(Map.of(), (name, value) -> true);
+		}
+
+		@Override
+		public HttpClient.Version version() {
+			return HttpClient.Version.HTTP_1_1;
+		}
+
+	};
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicBoolean cancelled = new AtomicBoolean();
+
+	@Test
+	void decodesMessageSplitAcrossBuffers() {
+		byte[] body = """
+				{"jsonrpc":"2.0","id":"1","result":{"contents":[{"uri":"file:///big","text":"héllo €"}]}}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		// Every split point, including inside multi-byte characters
+		for (int split = 1; split < body.length; split++) {
+			int at = split;
+			StepVerifier.create(receive(Long.MAX_VALUE, subscriber -> {
+				subscriber.onNext(List.of(ByteBuffer.wrap(body, 0, at).asReadOnlyBuffer()));
+				subscriber.onNext(List.of(ByteBuffer.wrap(body, at, body.length - at)));
+				subscriber.onComplete();
+			})).assertNext(event -> {
+				McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) event.message();
+				assertThat(response.id()).isEqualTo("1");
+				assertThat(response.result().toString()).contains("héllo €");
+			}).expectComplete().verify(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	void decodesBatch() {
+		String body = """
+				[{"jsonrpc":"2.0","id":1,"result":{}},{"jsonrpc":"2.0","method":"notifications/initialized"}]""";
+
+		StepVerifier.create(receive(Long.MAX_VALUE, subscriber -> {
+			subscriber.onNext(List.of(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8))));
+			subscriber.onComplete();
+		}))
+			.assertNext(event -> assertThat(event.message()).isInstanceOf(McpSchema.JSONRPCBatch.class))
+			.expectComplete()
+			.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void emptyBodyEmitsNothing() {
+		StepVerifier.create(receive(Long.MAX_VALUE, subscriber -> {
+			subscriber.onNext(List.of(ByteBuffer.wrap(" \n".getBytes(StandardCharsets.UTF_8))));
+			subscriber.onComplete();
+		})).expectComplete().verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void bodyLargerThanMaxSizeIsRejected() {
+		byte[] chunk = new byte[64];
+		Arrays.fill(chunk, (byte) ' ');
+
+		StepVerifier.create(receive(100, subscriber -> {
+			subscriber.onNext(List.of(ByteBuffer.wrap("[".getBytes(StandardCharsets.UTF_8))));
+			subscriber.onNext(List.of(ByteBuffer.wrap(chunk), ByteBuffer.wrap(chunk)));
+		}))
+			.expectErrorSatisfies(error -> assertThat(error).isInstanceOf(McpError.class)
+				.hasMessageContaining("maximum size of 100 bytes"))
+			.verify(Duration.ofSeconds(5));
+		assertThat(this.cancelled).isTrue();
+	}
+
+	@Test
+	void malformedBodyFails() {
+		StepVerifier.create(receive(Long.MAX_VALUE, subscriber -> {
+			subscriber.onNext(List.of(ByteBuffer.wrap("{\"jsonrpc\":\"2.0\",".getBytes(StandardCharsets.UTF_8))));
+			subscriber.onNext(List.of(ByteBuffer.wrap("]".getBytes(StandardCharsets.UTF_8))));
+			subscriber.onComplete();
+		})).expectError(JsonParseException.class).verify(Duration.ofSeconds(5));
+	}
+
+	private Flux<JsonMessageResponseEvent> receive(long maxBodySize, Consumer<JsonMessageSubscriber> body) {
+		return Flux.<ResponseEvent>create(sink -> {
+			JsonMessageSubscriber subscriber = new JsonMessageSubscriber(RESPONSE_INFO, sink, this.objectMapper,
+					maxBodySize);
+			subscriber.onSubscribe(new Flow.Subscription() {
+
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+					cancelled.set(true);
+				}
+
+			});
+			body.accept(subscriber);
+		}).cast(JsonMessageResponseEvent.class);
+	}
+
+}
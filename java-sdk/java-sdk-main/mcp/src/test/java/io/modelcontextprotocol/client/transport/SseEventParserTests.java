@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SseEventParser}.
+ */
+class SseEventParserTests {
+
+	private final List<Event> events = new ArrayList<>();
+
+	private final SseEventParser parser = new SseEventParser(
+			(id, type, data) -> this.events.add(new Event(id, type, data)));
+
+	@Test
+	void parsesEventFields() {
+		parse("id: 1\nevent: endpoint\ndata: /message?sessionId=abc\n\n");
+
+		assertThat(this.events).containsExactly(new Event("1", "endpoint", "/message?sessionId=abc"));
+	}
+
+	@Test
+	void joinsDataLinesWithLineFeeds() {
+		parse("data: first\ndata:second\ndata\n\n");
+
+		assertThat(this.events).containsExactly(new Event(null, "message", "first\nsecond\n"));
+	}
+
+	@Test
+	void handlesAllLineEnds() {
+		parse("data: a\r\n\r\ndata: b\r\rdata: c\n\n");
+
+		assertThat(this.events).extracting(Event::data).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void ignoresCommentsAndUnknownFields() {
+		parse(": keep-alive\nfoo: bar\ndata: value\n\n:\n\n");
+
+		assertThat(this.events).containsExactly(new Event(null, "message", "value"));
+	}
+
+	@Test
+	void keepsLastEventIdAndResetsEventType() {
+		parse("id: 7\nevent: custom\ndata: a\n\ndata: b\n\n");
+
+		assertThat(this.events).containsExactly(new Event("7", "custom", "a"), new Event("7", "message", "b"));
+		assertThat(this.parser.lastEventId()).isEqualTo("7");
+	}
+
+	@Test
+	void recordsReconnectionTime() {
+		parse("retry: 1500\n\nretry: soon\n\n");
+
+		assertThat(this.parser.reconnectionTime()).isEqualTo(1500);
+		assertThat(this.events).isEmpty();
+	}
+
+	@Test
+	void parsesEventsSplitAcrossBuffers() {
+		byte[] stream = "event: message\r\ndata: {\"text\":\"h\u00e9llo \u20ac\"}\r\n\r\n"
+			.getBytes(StandardCharsets.UTF_8);
+
+		// Every split point, including inside CRLF pairs and multi-byte characters
+		for (int split = 1; split < stream.length; split++) {
+			this.events.clear();
+			SseEventParser splitParser = new SseEventParser(
+					(id, type, data) -> this.events.add(new Event(id, type, data)));
+			splitParser.parse(readOnly(stream, 0, split));
+			splitParser.parse(readOnly(stream, split, stream.length));
+
+			assertThat(this.events).as("split at %d", split)
+				.containsExactly(new Event(null, "message", "{\"text\":\"h\u00e9llo \u20ac\"}"));
+		}
+	}
+
+	@Test
+	void dispatchesLastEventOnComplete() {
+		parse("data: last");
+		assertThat(this.events).isEmpty();
+
+		this.parser.complete();
+
+		assertThat(this.events).containsExactly(new Event(null, "message", "last"));
+	}
+
+	private void parse(String stream) {
+		this.parser.parse(ByteBuffer.wrap(stream.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static ByteBuffer readOnly(byte[] bytes, int from, int to) {
+		return ByteBuffer.wrap(bytes, from, to - from).asReadOnlyBuffer();
+	}
+
+	record Event(String id, String type, String data) {
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs many {@link StdioClientTransport}s on shared threads, with {@code cat} standing in
+ * for a server process echoing every message back.
+ */
+@Timeout(120)
+@EnabledOnOs({ OS.LINUX, OS.MAC })
+class StdioClientTransportScaleTests {
+
+	private static final int PROCESS_COUNT = 1000;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<StdioClientTransport> transports = new ArrayList<>();
+
+	private StdioScheduling scheduling;
+
+	@AfterEach
+	void tearDown() {
+		Flux.fromIterable(this.transports)
+			.flatMap(StdioClientTransport::closeGracefully, PROCESS_COUNT)
+			.then()
+			.block(Duration.ofSeconds(60));
+		if (this.scheduling != null) {
+			this.scheduling.dispose();
+		}
+	}
+
+	@Test
+	void sharedPoolServesThousandEchoProcesses() throws InterruptedException {
+		this.scheduling = StdioScheduling.sharedPool(2);
+		int threadsBefore = transportThreadCount();
+		CountDownLatch echoes = new CountDownLatch(PROCESS_COUNT);
+
+		for (int i = 0; i < PROCESS_COUNT; i++) {
+			StdioClientTransport transport = new StdioClientTransport(ServerParameters.builder("cat").build(),
+					this.objectMapper, this.scheduling);
+			this.transports.add(transport);
+			transport.connect(message -> message.doOnNext(echo -> echoes.countDown())).block();
+		}
+		for (int i = 0; i < PROCESS_COUNT; i++) {
+			this.transports.get(i)
+				.sendMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "notifications/echo",
+						Map.of("index", i)))
+				.block();
+		}
+
+		assertThat(echoes.await(60, TimeUnit.SECONDS)).isTrue();
+		// Only a few shared threads were started, not three threads per process
+		assertThat(transportThreadCount() - threadsBefore).isLessThan(50);
+	}
+
+	@Test
+	void stderrLinesOfAllProcessesAreReadOnSharedThreads() throws InterruptedException {
+		this.scheduling = StdioScheduling.sharedPool(1);
+		CountDownLatch lines = new CountDownLatch(10);
+
+		for (int i = 0; i < 10; i++) {
+			StdioClientTransport transport = new StdioClientTransport(
+					ServerParameters.builder("sh").args("-c", "echo error-" + i + " >&2; cat").build(),
+					this.objectMapper, this.scheduling);
+			transport.setStdErrorHandler(line -> {
+				if (line.startsWith("error-")) {
+					lines.countDown();
+				}
+			});
+			this.transports.add(transport);
+			transport.connect(message -> message).block();
+		}
+
+		assertThat(lines.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	/**
+	 * Counts the live threads, except the JDK threads waiting for the processes to exit.
+	 */
+	private static int transportThreadCount() {
+		return (int) Thread.getAllStackTraces()
+			.keySet()
+			.stream()
+			.filter(thread -> !thread.getName().startsWith("process reaper"))
+			.count();
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.client.transport;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StdioStreamReader}.
+ */
+class StdioStreamReaderTests {
+
+	private final List<String> lines = new ArrayList<>();
+
+	private final AtomicReference<Throwable> end = new AtomicReference<>();
+
+	private final AtomicBoolean ended = new AtomicBoolean();
+
+	private final StdioStreamReader.Handler handler = new StdioStreamReader.Handler() {
+
+		@Override
+		public boolean onLine(byte[] buffer, int offset, int length) {
+			lines.add(new String(buffer, offset, length, StandardCharsets.UTF_8));
+			return true;
+		}
+
+		@Override
+		public void onEnd(Throwable error) {
+			end.set(error);
+			ended.set(true);
+		}
+
+	};
+
+	@Test
+	void pollingReadsOnlyAvailableBytes() throws IOException {
+		PipedOutputStream process = new PipedOutputStream();
+		PipedInputStream stdout = new PipedInputStream(process, 64 * 1024);
+		AtomicBoolean exited = new AtomicBoolean();
+		StdioStreamReader reader = new StdioStreamReader(stdout, exited::get, this.handler);
+
+		assertThat(reader.poll()).isFalse();
+
+		String large = "x".repeat(5000);
+		process.write(("first\r\n" + large + "\n\nsec").getBytes(StandardCharsets.UTF_8));
+		assertThat(reader.poll()).isTrue();
+		while (reader.poll()) {
+			// The buffer grows to fit the large line
+		}
+		assertThat(this.lines).containsExactly("first", large);
+
+		process.write("ond\nlast".getBytes(StandardCharsets.UTF_8));
+		exited.set(true);
+		assertThat(reader.poll()).isTrue();
+		assertThat(reader.isEnded()).isFalse();
+		assertThat(reader.poll()).isFalse();
+
+		assertThat(reader.isEnded()).isTrue();
+		assertThat(this.lines).containsExactly("first", large, "second", "last");
+		assertThat(this.end.get()).isNull();
+	}
+
+	@Test
+	void blockingReadStopsAtEndOfStream() throws IOException {
+		PipedOutputStream process = new PipedOutputStream();
+		PipedInputStream stdout = new PipedInputStream(process);
+		StdioStreamReader reader = new StdioStreamReader(stdout, () -> true, this.handler);
+
+		process.write("a\nb\n".getBytes(StandardCharsets.UTF_8));
+		process.close();
+		reader.run();
+
+		assertThat(this.lines).containsExactly("a", "b");
+		assertThat(this.ended).isTrue();
+		assertThat(this.end.get()).isNull();
+	}
+
+}
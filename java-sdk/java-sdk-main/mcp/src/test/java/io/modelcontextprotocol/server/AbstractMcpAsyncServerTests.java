@@ -136,6 +136,31 @@ public abstract class AbstractMcpAsyncServerTests {
 		assertThatCode(() -> mcpAsyncServer.closeGracefully().block(Duration.ofSeconds(10))).doesNotThrowAnyException();
 	}
 
+	@Test
+	void testAddTools() {
+		var mcpAsyncServer = McpServer.async(createMcpTransportProvider())
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.build();
+
+		List<McpServerFeatures.AsyncToolSpecification> toolSpecifications = List.of("tool-1", "tool-2", "tool-3")
+			.stream()
+			.map(name -> new McpServerFeatures.AsyncToolSpecification(new Tool(name, "Bulk tool", emptyJsonSchema),
+					(exchange, args) -> Mono.just(new CallToolResult(List.of(), false))))
+			.toList();
+
+		StepVerifier.create(mcpAsyncServer.addTools(toolSpecifications)).verifyComplete();
+
+		// The three tools are notified once
+		assertThat(mcpAsyncServer.getSuppressedListChangedNotifications()).isEqualTo(2);
+
+		StepVerifier.create(mcpAsyncServer.addTools(List.of(toolSpecifications.get(0))))
+			.verifyErrorSatisfies(error -> assertThat(error).isInstanceOf(McpError.class)
+				.hasMessage("Tool with name 'tool-1' already exists"));
+
+		assertThatCode(() -> mcpAsyncServer.closeGracefully().block(Duration.ofSeconds(10))).doesNotThrowAnyException();
+	}
+
 	@Test
 	void testRemoveTool() {
 		Tool too = new McpSchema.Tool(TEST_TOOL_NAME, "Duplicate tool", emptyJsonSchema);
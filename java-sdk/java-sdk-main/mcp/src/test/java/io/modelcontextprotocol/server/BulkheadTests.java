@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Bulkhead}.
+ */
+class BulkheadTests {
+
+	@Test
+	void callsBeyondLimitAreRejectedWithServerBusy() {
+		Bulkhead bulkhead = new Bulkhead("tool test", ConcurrencyLimit.of(1));
+		Sinks.One<String> running = Sinks.one();
+		Disposable first = bulkhead.call(running.asMono()).subscribe();
+
+		StepVerifier.create(bulkhead.call(Mono.just("second")))
+			.expectErrorSatisfies(error -> assertThat(((McpError) error).getJsonRpcError().code())
+				.isEqualTo(McpSchema.ErrorCodes.SERVER_BUSY))
+			.verify();
+		assertThat(bulkhead.stats()).isEqualTo(new McpAsyncServer.ConcurrencyStats(1, 0, 1));
+
+		running.tryEmitValue("first");
+		assertThat(first.isDisposed()).isTrue();
+		assertThat(bulkhead.stats()).isEqualTo(new McpAsyncServer.ConcurrencyStats(0, 0, 1));
+	}
+
+	@Test
+	void queuedCallRunsOnceRunningCallCompletes() {
+		Bulkhead bulkhead = new Bulkhead("tool test", new ConcurrencyLimit(1, 1, Duration.ofSeconds(5)));
+		Sinks.One<String> running = Sinks.one();
+		bulkhead.call(running.asMono()).subscribe();
+
+		StepVerifier.create(bulkhead.call(Mono.just("queued")))
+			.then(() -> assertThat(bulkhead.stats()).isEqualTo(new McpAsyncServer.ConcurrencyStats(1, 1, 0)))
+			.then(() -> running.tryEmitValue("first"))
+			.expectNext("queued")
+			.verifyComplete();
+		assertThat(bulkhead.stats()).isEqualTo(new McpAsyncServer.ConcurrencyStats(0, 0, 0));
+	}
+
+	@Test
+	void queuedCallTimesOut() {
+		Bulkhead bulkhead = new Bulkhead("tool test", new ConcurrencyLimit(1, 1, Duration.ofMillis(100)));
+		bulkhead.call(Mono.never()).subscribe();
+
+		StepVerifier.create(bulkhead.call(Mono.just("queued")))
+			.expectErrorSatisfies(
+					error -> assertThat(error).isInstanceOf(McpError.class).hasMessageContaining("Timed out waiting"))
+			.verify(Duration.ofSeconds(5));
+		assertThat(bulkhead.stats()).isEqualTo(new McpAsyncServer.ConcurrencyStats(1, 0, 1));
+	}
+
+	@Test
+	void cancelledCallReleasesItsPermit() {
+		Bulkhead bulkhead = new Bulkhead("tool test", ConcurrencyLimit.of(1));
+		Disposable running = bulkhead.call(Mono.never()).subscribe();
+
+		running.dispose();
+
+		StepVerifier.create(bulkhead.call(Mono.just("next"))).expectNext("next").verifyComplete();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ListChangedNotifier}.
+ */
+class ListChangedNotifierTests {
+
+	private static final String TOOLS = McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED;
+
+	private static final String PROMPTS = McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED;
+
+	private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+	private final List<String> sent = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		this.scheduler.dispose();
+	}
+
+	@Test
+	void changesAreNotifiedRightAwayWithoutDebounceWindow() {
+		ListChangedNotifier notifier = notifier(Duration.ZERO);
+
+		notifier.notifyChanged(TOOLS, 1).block();
+		notifier.notifyChanged(TOOLS, 1).block();
+		notifier.notifyChanged(TOOLS, 3).block();
+
+		assertThat(this.sent).containsExactly(TOOLS, TOOLS, TOOLS);
+		assertThat(notifier.getSuppressedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void changesWithinDebounceWindowShareOneNotification() {
+		ListChangedNotifier notifier = notifier(Duration.ofMillis(100));
+		AtomicInteger completed = new AtomicInteger();
+
+		// Changes are recorded right away, so that callers blocking on them do not wait
+		// out the window
+		for (int i = 0; i < 3; i++) {
+			notifier.notifyChanged(TOOLS, 1).subscribe(null, null, completed::incrementAndGet);
+			this.scheduler.advanceTimeBy(Duration.ofMillis(10));
+		}
+		assertThat(this.sent).isEmpty();
+		assertThat(completed).hasValue(3);
+
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.sent).containsExactly(TOOLS);
+		assertThat(notifier.getSuppressedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void changesAreCountedOnSubscription() {
+		ListChangedNotifier notifier = notifier(Duration.ZERO);
+
+		Mono<Void> notification = notifier.notifyChanged(TOOLS, 3);
+		assertThat(notifier.getSuppressedCount()).isZero();
+
+		notification.block();
+		assertThat(notifier.getSuppressedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void kindsAreDebouncedSeparately() {
+		ListChangedNotifier notifier = notifier(Duration.ofMillis(100));
+
+		notifier.notifyChanged(TOOLS, 1).subscribe();
+		notifier.notifyChanged(PROMPTS, 1).subscribe();
+		notifier.notifyChanged(TOOLS, 1).subscribe();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.sent).containsExactlyInAnyOrder(TOOLS, PROMPTS);
+		assertThat(notifier.getSuppressedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void changeAfterNotificationIsNotifiedAgain() {
+		ListChangedNotifier notifier = notifier(Duration.ofMillis(100));
+
+		notifier.notifyChanged(TOOLS, 1).subscribe();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+		notifier.notifyChanged(TOOLS, 1).subscribe();
+		this.scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+		assertThat(this.sent).containsExactly(TOOLS, TOOLS);
+		assertThat(notifier.getSuppressedCount()).isZero();
+	}
+
+	private ListChangedNotifier notifier(Duration debounceWindow) {
+		return new ListChangedNotifier(debounceWindow, this.scheduler,
+				method -> Mono.fromRunnable(() -> this.sent.add(method)));
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpEncodedResult;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ListResultCache}.
+ */
+class ListResultCacheTests {
+
+	/** Number of items of the listed catalog, listed 10 per page */
+	private static final int CATALOG_SIZE = 30;
+
+	private final ListResultCache<Page> cache = new ListResultCache<>(new ObjectMapper(), Page::nextCursor);
+
+	private final AtomicInteger builds = new AtomicInteger();
+
+	@Test
+	void pagesAreEncodedOnceUntilInvalidated() {
+		McpEncodedResult<Page> first = this.cache.get(-1, this::build);
+		McpEncodedResult<Page> second = this.cache.get(-1, this::build);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.asString()).startsWith("{\"text\":\"page after -1 #1\"");
+		assertThat(this.builds).hasValue(1);
+
+		this.cache.invalidate();
+		McpEncodedResult<Page> rebuilt = this.cache.get(-1, this::build);
+
+		assertThat(rebuilt).isNotSameAs(first);
+		assertThat(rebuilt.value().text()).isEqualTo("page after -1 #2");
+	}
+
+	@Test
+	void pagesAreCachedByPosition() {
+		McpEncodedResult<Page> first = this.cache.get(-1, this::build);
+		McpEncodedResult<Page> next = this.cache.get(9, this::build);
+
+		assertThat(next.value().text()).isEqualTo("page after 9 #2");
+		assertThat(this.cache.get(-1, this::build)).isSameAs(first);
+		assertThat(this.cache.get(9, this::build)).isSameAs(next);
+		assertThat(this.builds).hasValue(2);
+	}
+
+	@Test
+	void pagesAtPositionsNotIssuedAreNotCached() {
+		this.cache.get(-1, this::build);
+
+		// Positions a client made up, and positions issued before a change
+		McpEncodedResult<Page> forged = this.cache.get(4, this::build);
+		this.cache.invalidate();
+		McpEncodedResult<Page> stale = this.cache.get(9, this::build);
+
+		assertThat(this.cache.get(4, this::build)).isNotSameAs(forged);
+		assertThat(this.cache.get(9, this::build)).isNotSameAs(stale);
+		assertThat(this.builds).hasValue(5);
+	}
+
+	private Page build(long after) {
+		long next = after + 10;
+		return new Page("page after " + after + " #" + this.builds.incrementAndGet(),
+				next < CATALOG_SIZE - 1 ? PageCursor.encode(next) : null);
+	}
+
+	record Page(String text, String nextCursor) {
+	}
+
+}
@@ -798,4 +798,41 @@ class McpAsyncServerExchangeTests {
 		verify(mockSession, times(2)).sendRequest(eq(McpSchema.METHOD_PING), eq(null), any(TypeReference.class));
 	}
 
+	@Test
+	void testProgressReportedWithTokenOfRequest() {
+		McpSchema.ProgressNotification expected = new McpSchema.ProgressNotification("job-1", 0.5, 1.0, "halfway");
+		when(mockSession.sendNotification(eq(McpSchema.METHOD_NOTIFICATION_PROGRESS), eq(expected)))
+			.thenReturn(Mono.empty());
+		McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+			.name("tool")
+			.progressToken("job-1")
+			.build();
+
+		StepVerifier.create(exchange.forRequest(request).progress(0.5, 1.0, "halfway")).verifyComplete();
+
+		verify(mockSession, times(1)).sendNotification(eq(McpSchema.METHOD_NOTIFICATION_PROGRESS), eq(expected));
+	}
+
+	@Test
+	void testProgressReportedWithNumericTokenUnchanged() {
+		McpSchema.ProgressNotification expected = new McpSchema.ProgressNotification(5, 0.5, null, null);
+		when(mockSession.sendNotification(eq(McpSchema.METHOD_NOTIFICATION_PROGRESS), eq(expected)))
+			.thenReturn(Mono.empty());
+		McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("tool", Map.of(), Map.of("progressToken", 5));
+
+		StepVerifier.create(exchange.forRequest(request).progress(0.5, null, null)).verifyComplete();
+
+		verify(mockSession, times(1)).sendNotification(eq(McpSchema.METHOD_NOTIFICATION_PROGRESS), eq(expected));
+	}
+
+	@Test
+	void testProgressNotSentWithoutToken() {
+		McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder().name("tool").build();
+
+		assertThat(exchange.forRequest(request)).isSameAs(exchange);
+		StepVerifier.create(exchange.forRequest(request).progress(0.5, null, null)).verifyComplete();
+
+		verify(mockSession, never()).sendNotification(any(), any());
+	}
+
 }
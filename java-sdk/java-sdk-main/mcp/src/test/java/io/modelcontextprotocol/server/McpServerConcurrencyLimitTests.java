@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the concurrency limits of the tool calls of {@link McpAsyncServer}.
+ */
+class McpServerConcurrencyLimitTests {
+
+	private static final McpSchema.Implementation CLIENT_INFO = new McpSchema.Implementation("test-client", "1.0.0");
+
+	private final Queue<McpSchema.JSONRPCResponse> responses = new ConcurrentLinkedQueue<>();
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport((t, message) -> {
+		if (message instanceof McpSchema.JSONRPCResponse response) {
+			this.responses.add(response);
+		}
+	});
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private final Sinks.One<McpSchema.CallToolResult> slowResult = Sinks.one();
+
+	private McpAsyncServer server;
+
+	@AfterEach
+	void tearDown() {
+		this.slowResult.tryEmitEmpty();
+		if (this.server != null) {
+			this.server.closeGracefully().block();
+		}
+	}
+
+	@Test
+	void callsBeyondToolLimitAreRejected() {
+		this.server = serverBuilder().toolConcurrencyLimit("slow", ConcurrencyLimit.of(2)).build();
+		initialize();
+
+		callTool("slow");
+		callTool("slow");
+		callTool("slow");
+		callTool("fast");
+
+		assertThat(this.responses).hasSize(3);
+		McpSchema.JSONRPCResponse rejected = this.responses.stream()
+			.filter(response -> response.error() != null)
+			.findFirst()
+			.orElseThrow();
+		assertThat(rejected.error().code()).isEqualTo(McpSchema.ErrorCodes.SERVER_BUSY);
+		assertThat(rejected.error().message()).contains("tool slow");
+
+		Map<String, McpAsyncServer.ConcurrencyStats> stats = this.server.getToolConcurrencyStats();
+		assertThat(stats.get("slow")).isEqualTo(new McpAsyncServer.ConcurrencyStats(2, 0, 1));
+		assertThat(stats.get("fast")).isEqualTo(new McpAsyncServer.ConcurrencyStats(0, 0, 0));
+
+		this.slowResult.tryEmitValue(new McpSchema.CallToolResult(List.of(), false));
+		assertThat(this.responses).hasSize(5);
+		assertThat(this.server.getToolConcurrencyStats().get("slow"))
+			.isEqualTo(new McpAsyncServer.ConcurrencyStats(0, 0, 1));
+	}
+
+	@Test
+	void callsBeyondSessionLimitAreRejectedWhateverTheTool() {
+		this.server = serverBuilder().sessionConcurrencyLimit(ConcurrencyLimit.of(1)).build();
+		initialize();
+
+		callTool("slow");
+		callTool("fast");
+
+		McpSchema.JSONRPCResponse last = this.responses.stream().reduce((first, second) -> second).orElseThrow();
+		assertThat(last.error().code()).isEqualTo(McpSchema.ErrorCodes.SERVER_BUSY);
+		assertThat(last.error().message()).contains("tools in this session");
+	}
+
+	private McpServer.AsyncSpecification serverBuilder() {
+		return McpServer.async(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.tools(tool("slow", this.slowResult.asMono()),
+					tool("fast", Mono.just(new McpSchema.CallToolResult(List.of(), false))));
+	}
+
+	private static McpServerFeatures.AsyncToolSpecification tool(String name, Mono<McpSchema.CallToolResult> result) {
+		return new McpServerFeatures.AsyncToolSpecification(
+				new McpSchema.Tool(name, "Tool " + name, "{\"type\":\"object\"}"), (exchange, arguments) -> result);
+	}
+
+	private void initialize() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, UUID.randomUUID().toString(),
+				new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null, CLIENT_INFO)));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	private void callTool(String name) {
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL,
+						UUID.randomUUID().toString(), new McpSchema.CallToolRequest(name, Map.of())));
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the pagination of the server list requests.
+ */
+class McpServerPaginationTests {
+
+	private static final McpSchema.Implementation SERVER_INFO = new McpSchema.Implementation("test-server", "1.0.0");
+
+	private static final McpSchema.Implementation CLIENT_INFO = new McpSchema.Implementation("test-client", "1.0.0");
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport();
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private McpAsyncServer server;
+
+	@AfterEach
+	void tearDown() {
+		if (this.server != null) {
+			this.server.closeGracefully().block();
+		}
+	}
+
+	@Test
+	void toolsAreListedPageByPage() {
+		this.server = serverBuilder().tools(tools(0, 5)).build();
+		initialize();
+
+		McpSchema.ListToolsResult first = listTools(null);
+		McpSchema.ListToolsResult second = listTools(first.nextCursor());
+		McpSchema.ListToolsResult third = listTools(second.nextCursor());
+
+		assertThat(toolNames(first)).containsExactly("tool-0", "tool-1");
+		assertThat(toolNames(second)).containsExactly("tool-2", "tool-3");
+		assertThat(toolNames(third)).containsExactly("tool-4");
+		assertThat(third.nextCursor()).isNull();
+	}
+
+	@Test
+	void cursorStaysValidWhenToolsAreAddedAndRemoved() {
+		this.server = serverBuilder().tools(tools(0, 5)).build();
+		initialize();
+
+		McpSchema.ListToolsResult first = listTools(null);
+		this.server.removeTool("tool-1").block();
+		this.server.removeTool("tool-2").block();
+		this.server.addTool(tools(5, 1).get(0)).block();
+
+		McpSchema.ListToolsResult second = listTools(first.nextCursor());
+		McpSchema.ListToolsResult third = listTools(second.nextCursor());
+
+		assertThat(toolNames(first)).containsExactly("tool-0", "tool-1");
+		assertThat(toolNames(second)).containsExactly("tool-3", "tool-4");
+		assertThat(toolNames(third)).containsExactly("tool-5");
+		assertThat(third.nextCursor()).isNull();
+	}
+
+	@Test
+	void resourceTemplatesListFixedTemplatesBeforeTemplatedResources() {
+		this.server = serverBuilder()
+			.resourceTemplates(new McpSchema.ResourceTemplate("fixed://{a}", "fixed-a", null, null, null),
+					new McpSchema.ResourceTemplate("fixed://{b}", "fixed-b", null, null, null))
+			.resources(resource("test://concrete"), resource("test://{x}"), resource("test://{x}/{y}"))
+			.build();
+		initialize();
+
+		McpSchema.ListResourceTemplatesResult first = (McpSchema.ListResourceTemplatesResult) list(
+				McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, null);
+		McpSchema.ListResourceTemplatesResult second = (McpSchema.ListResourceTemplatesResult) list(
+				McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, first.nextCursor());
+
+		assertThat(first.resourceTemplates()).extracting(McpSchema.ResourceTemplate::uriTemplate)
+			.containsExactly("fixed://{a}", "fixed://{b}");
+		assertThat(second.resourceTemplates()).extracting(McpSchema.ResourceTemplate::uriTemplate)
+			.containsExactlyInAnyOrder("test://{x}", "test://{x}/{y}");
+		assertThat(second.nextCursor()).isNull();
+	}
+
+	@Test
+	void invalidCursorIsRejected() {
+		this.server = serverBuilder().tools(tools(0, 5)).build();
+		initialize();
+
+		McpSchema.JSONRPCResponse response = request(McpSchema.METHOD_TOOLS_LIST, "not-a-cursor");
+
+		assertThat(response.result()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_PARAMS);
+		assertThat(response.error().message()).contains("Invalid cursor");
+	}
+
+	private McpServer.AsyncSpecification serverBuilder() {
+		return McpServer.async(this.transportProvider)
+			.serverInfo(SERVER_INFO)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).resources(false, true).build())
+			.pageSize(2);
+	}
+
+	private void initialize() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, UUID.randomUUID().toString(),
+				new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null, CLIENT_INFO)));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	private McpSchema.ListToolsResult listTools(String cursor) {
+		return (McpSchema.ListToolsResult) list(McpSchema.METHOD_TOOLS_LIST, cursor);
+	}
+
+	private Object list(String method, String cursor) {
+		McpSchema.JSONRPCResponse response = request(method, cursor);
+		assertThat(response.error()).isNull();
+		return response.result();
+	}
+
+	private McpSchema.JSONRPCResponse request(String method, String cursor) {
+		String id = UUID.randomUUID().toString();
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
+				id, new McpSchema.PaginatedRequest(cursor)));
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.transport.getLastSentMessage();
+		assertThat(response.id()).isEqualTo(id);
+		return response;
+	}
+
+	private static List<McpServerFeatures.AsyncToolSpecification> tools(int from, int count) {
+		List<McpServerFeatures.AsyncToolSpecification> tools = new ArrayList<>();
+		for (int i = from; i < from + count; i++) {
+			tools.add(new McpServerFeatures.AsyncToolSpecification(
+					new McpSchema.Tool("tool-" + i, "Tool " + i, "{\"type\":\"object\"}"),
+					(exchange, arguments) -> Mono.just(new McpSchema.CallToolResult(List.of(), false))));
+		}
+		return tools;
+	}
+
+	private static List<String> toolNames(McpSchema.ListToolsResult result) {
+		return result.tools().stream().map(McpSchema.Tool::name).toList();
+	}
+
+	private static McpServerFeatures.AsyncResourceSpecification resource(String uri) {
+		return new McpServerFeatures.AsyncResourceSpecification(new McpSchema.Resource(uri, uri, null, null, null),
+				(exchange, request) -> Mono.just(new McpSchema.ReadResourceResult(List.of())));
+	}
+
+}
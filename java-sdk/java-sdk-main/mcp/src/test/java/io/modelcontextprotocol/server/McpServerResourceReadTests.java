@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.McpUriTemplateManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the matching of {@code resources/read} requests to the registered resources.
+ */
+class McpServerResourceReadTests {
+
+	private static final McpSchema.Implementation SERVER_INFO = new McpSchema.Implementation("test-server", "1.0.0");
+
+	private static final McpSchema.Implementation CLIENT_INFO = new McpSchema.Implementation("test-client", "1.0.0");
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport();
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private McpAsyncServer server;
+
+	@AfterEach
+	void tearDown() {
+		if (this.server != null) {
+			this.server.closeGracefully().block();
+		}
+	}
+
+	@Test
+	void concreteUrisTakePrecedenceOverTemplates() {
+		this.server = serverBuilder().resources(resource("users://{id}/profile"), resource("users://me/profile"))
+			.build();
+		initialize();
+
+		assertThat(read("users://me/profile").result()).isEqualTo(result("users://me/profile"));
+		assertThat(read("users://42/profile").result()).isEqualTo(result("users://{id}/profile"));
+		assertThat(read("users://42/settings").error().message()).contains("Resource not found");
+	}
+
+	@Test
+	void customUriTemplateManagerFactoryIsUsedToMatchResources() {
+		// Matches every URI starting with the registered one, which the default factory
+		// does not
+		this.server = serverBuilder().uriTemplateManagerFactory(PrefixUriTemplateManager::new)
+			.resources(resource("docs://"))
+			.build();
+		initialize();
+
+		assertThat(read("docs://guides/intro.md").result()).isEqualTo(result("docs://"));
+		assertThat(read("other://guides/intro.md").error().message()).contains("Resource not found");
+	}
+
+	private McpServer.AsyncSpecification serverBuilder() {
+		return McpServer.async(this.transportProvider)
+			.serverInfo(SERVER_INFO)
+			.capabilities(McpSchema.ServerCapabilities.builder().resources(false, false).build());
+	}
+
+	private void initialize() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, UUID.randomUUID().toString(),
+				new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null, CLIENT_INFO)));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	private McpSchema.JSONRPCResponse read(String uri) {
+		String id = UUID.randomUUID().toString();
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_READ, id, new McpSchema.ReadResourceRequest(uri)));
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.transport.getLastSentMessage();
+		assertThat(response.id()).isEqualTo(id);
+		return response;
+	}
+
+	private static McpServerFeatures.AsyncResourceSpecification resource(String uri) {
+		return new McpServerFeatures.AsyncResourceSpecification(new McpSchema.Resource(uri, uri, null, null, null),
+				(exchange, request) -> Mono.just(result(uri)));
+	}
+
+	private static McpSchema.ReadResourceResult result(String uri) {
+		return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(uri, "text/plain", uri)));
+	}
+
+	private record PrefixUriTemplateManager(String uriTemplate) implements McpUriTemplateManager {
+
+		@Override
+		public List<String> getVariableNames() {
+			return List.of();
+		}
+
+		@Override
+		public Map<String, String> extractVariableValues(String uri) {
+			return Map.of();
+		}
+
+		@Override
+		public boolean matches(String uri) {
+			return uri.startsWith(this.uriTemplate);
+		}
+
+		@Override
+		public boolean isUriTemplate(String uri) {
+			return false;
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the tools of {@link McpAsyncServer} streaming their result.
+ */
+class McpServerStreamingToolTests {
+
+	private static final McpSchema.Implementation CLIENT_INFO = new McpSchema.Implementation("test-client", "1.0.0");
+
+	private final Queue<McpSchema.JSONRPCMessage> sent = new ConcurrentLinkedQueue<>();
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport((t, message) -> {
+		if (!(message instanceof McpSchema.JSONRPCResponse response && "init".equals(response.id()))) {
+			this.sent.add(message);
+		}
+	});
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private McpAsyncServer server;
+
+	@BeforeEach
+	void setUp() {
+		McpServerFeatures.AsyncToolSpecification searchLogs = McpServerFeatures.AsyncToolSpecification.streaming(
+				new McpSchema.Tool("search-logs", "Searches the logs", "{\"type\":\"object\"}"),
+				(exchange, arguments) -> Flux.range(1, 3).map(line -> new McpSchema.TextContent("line " + line)));
+		this.server = McpServer.async(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.tools(searchLogs)
+			.build();
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE, "init",
+						new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null, CLIENT_INFO)));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.closeGracefully().block();
+	}
+
+	@Test
+	void contentIsStreamedWhenClientAsksForIt() {
+		callTool(Map.of("progressToken", "search-1", McpSchema.STREAM_RESULT_META_KEY, true));
+
+		assertThat(this.sent).hasSize(4);
+		List<McpSchema.JSONRPCMessage> messages = List.copyOf(this.sent);
+		for (int i = 0; i < 3; i++) {
+			McpSchema.JSONRPCNotification notification = (McpSchema.JSONRPCNotification) messages.get(i);
+			assertThat(notification.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT);
+			McpSchema.PartialResultNotification partial = this.transport.unmarshalFrom(notification.params(),
+					new TypeReference<McpSchema.PartialResultNotification>() {
+					});
+			assertThat(partial.progressToken()).isEqualTo("search-1");
+			assertThat(partial.index()).isEqualTo((long) i);
+			assertThat(partial.content()).containsExactly(new McpSchema.TextContent("line " + (i + 1)));
+		}
+		assertThat(result(messages.get(3)).content()).isEmpty();
+	}
+
+	@Test
+	void contentIsCollectedWhenClientDoesNotAskForIt() {
+		callTool(Map.of("progressToken", "search-1"));
+
+		assertThat(this.sent).hasSize(1);
+		assertThat(result(this.sent.peek()).content()).containsExactly(new McpSchema.TextContent("line 1"),
+				new McpSchema.TextContent("line 2"), new McpSchema.TextContent("line 3"));
+	}
+
+	private void callTool(Map<String, Object> meta) {
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL,
+						UUID.randomUUID().toString(), new McpSchema.CallToolRequest("search-logs", Map.of(), meta)));
+	}
+
+	private McpSchema.CallToolResult result(McpSchema.JSONRPCMessage message) {
+		return this.transport.unmarshalFrom(((McpSchema.JSONRPCResponse) message).result(),
+				new TypeReference<McpSchema.CallToolResult>() {
+				});
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.VirtualThreads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the scheduler the synchronous handlers of {@link McpSyncServer} run on.
+ */
+@Timeout(120)
+class McpSyncServerHandlerSchedulerTests {
+
+	private static final McpSchema.Implementation CLIENT_INFO = new McpSchema.Implementation("test-client", "1.0.0");
+
+	private final Queue<McpSchema.JSONRPCResponse> responses = new ConcurrentLinkedQueue<>();
+
+	private final MockMcpServerTransport transport = new MockMcpServerTransport((t, message) -> {
+		if (message instanceof McpSchema.JSONRPCResponse response) {
+			this.responses.add(response);
+		}
+	});
+
+	private final MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(this.transport);
+
+	private McpSyncServer server;
+
+	private Scheduler scheduler;
+
+	@AfterEach
+	void tearDown() {
+		if (this.server != null) {
+			this.server.closeGracefully();
+		}
+		if (this.scheduler != null) {
+			this.scheduler.dispose();
+		}
+	}
+
+	@Test
+	void handlersRunOnConfiguredScheduler() {
+		this.scheduler = Schedulers.newSingle("custom-handlers");
+		Queue<String> threadNames = new ConcurrentLinkedQueue<>();
+		this.server = McpServer.sync(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.handlerScheduler(this.scheduler)
+			.tools(blockingTool("built", () -> threadNames.add(Thread.currentThread().getName())))
+			.build();
+		this.server.addTool(blockingTool("added", () -> threadNames.add(Thread.currentThread().getName())));
+		initialize();
+
+		callTool("built");
+		callTool("added");
+		awaitResponses(3);
+
+		assertThat(threadNames).hasSize(2).allMatch(name -> name.startsWith("custom-handlers"));
+	}
+
+	@Test
+	void blockingCallsAreNotCappedByBoundedElastic() {
+		int calls = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE + 50;
+		this.scheduler = Schedulers.fromExecutorService(Executors.newCachedThreadPool());
+		assertAllCallsBlockConcurrently(McpServer.sync(this.transportProvider).handlerScheduler(this.scheduler), calls);
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void tenThousandBlockingCallsRunOnVirtualThreads() {
+		assertThat(VirtualThreads.isSupported()).isTrue();
+		assertAllCallsBlockConcurrently(McpServer.sync(this.transportProvider).virtualThreadHandlers(), 10_000);
+	}
+
+	/**
+	 * Calls a tool blocking until all the calls have started, which only completes if
+	 * every call holds a thread of its own.
+	 */
+	private void assertAllCallsBlockConcurrently(McpServer.SyncSpecification builder, int calls) {
+		CountDownLatch started = new CountDownLatch(calls);
+		this.server = builder.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.tools(blockingTool("barrier", () -> {
+				started.countDown();
+				try {
+					started.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}))
+			.build();
+		initialize();
+
+		for (int i = 0; i < calls; i++) {
+			callTool("barrier");
+		}
+
+		awaitResponses(calls + 1);
+		assertThat(started.getCount()).isZero();
+		assertThat(this.responses).allMatch(response -> response.error() == null);
+	}
+
+	private static McpServerFeatures.SyncToolSpecification blockingTool(String name, Runnable body) {
+		return new McpServerFeatures.SyncToolSpecification(
+				new McpSchema.Tool(name, "Tool " + name, "{\"type\":\"object\"}"), (exchange, arguments) -> {
+					body.run();
+					return new McpSchema.CallToolResult(List.of(), false);
+				});
+	}
+
+	private void initialize() {
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, UUID.randomUUID().toString(),
+				new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null, CLIENT_INFO)));
+		this.transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+	}
+
+	private void callTool(String name) {
+		this.transportProvider.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL,
+						UUID.randomUUID().toString(), new McpSchema.CallToolRequest(name, Map.of())));
+	}
+
+	private void awaitResponses(int count) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+		while (this.responses.size() < count && System.nanoTime() < deadline) {
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		assertThat(this.responses).hasSize(count);
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NamedIndex}.
+ */
+class NamedIndexTests {
+
+	private final NamedIndex<String> index = new NamedIndex<>();
+
+	@Test
+	void testLookupByName() {
+		assertThat(this.index.putIfAbsent("a", "value-a")).isTrue();
+		assertThat(this.index.putIfAbsent("b", "value-b")).isTrue();
+
+		assertThat(this.index.get("a")).isEqualTo("value-a");
+		assertThat(this.index.get("b")).isEqualTo("value-b");
+		assertThat(this.index.get("c")).isNull();
+		assertThat(this.index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void testRejectsDuplicateNames() {
+		assertThat(this.index.putIfAbsent("a", "first")).isTrue();
+		assertThat(this.index.putIfAbsent("a", "second")).isFalse();
+
+		assertThat(this.index.get("a")).isEqualTo("first");
+		assertThat(this.index.values()).containsExactly("first");
+	}
+
+	@Test
+	void testValuesKeepRegistrationOrder() {
+		List<String> expected = new ArrayList<>();
+		for (int i = 100; i > 0; i--) {
+			this.index.putIfAbsent("name-" + i, "value-" + i);
+			expected.add("value-" + i);
+		}
+
+		this.index.remove("name-50");
+		expected.remove("value-50");
+		this.index.putIfAbsent("name-50", "value-50");
+		expected.add("value-50");
+
+		assertThat(this.index.values()).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	void testRemove() {
+		this.index.putIfAbsent("a", "value-a");
+
+		assertThat(this.index.remove("a")).isEqualTo("value-a");
+		assertThat(this.index.remove("a")).isNull();
+		assertThat(this.index.get("a")).isNull();
+		assertThat(this.index.values()).isEmpty();
+		assertThat(this.index.size()).isZero();
+	}
+
+	@Test
+	void testPageResumesAfterLastListedValue() {
+		for (int i = 0; i < 5; i++) {
+			this.index.putIfAbsent("name-" + i, "value-" + i);
+		}
+
+		NamedIndex.Page<String> first = this.index.page(-1, 2);
+		this.index.remove("name-1");
+		this.index.remove("name-2");
+		this.index.putIfAbsent("name-5", "value-5");
+		NamedIndex.Page<String> second = this.index.page(first.next(), 2);
+		NamedIndex.Page<String> third = this.index.page(second.next(), 2);
+
+		assertThat(first.values()).containsExactly("value-0", "value-1");
+		assertThat(second.values()).containsExactly("value-3", "value-4");
+		assertThat(third.values()).containsExactly("value-5");
+		assertThat(third.next()).isNull();
+	}
+
+	@Test
+	void testCallbacksFollowAdditionsAndRemovals() {
+		List<String> events = new ArrayList<>();
+		NamedIndex<String> tracked = new NamedIndex<>((name, value) -> events.add("added " + name),
+				name -> events.add("removed " + name));
+
+		tracked.putIfAbsent("a", "value-a");
+		tracked.putIfAbsent("a", "other");
+		tracked.remove("a");
+		tracked.remove("a");
+
+		assertThat(events).containsExactly("added a", "removed a");
+	}
+
+	@Test
+	void testConcurrentAddAndRemoveKeepLookupAndOrderingConsistent() throws InterruptedException {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 2_000; i++) {
+					String name = "name-" + (i % 50);
+					this.index.putIfAbsent(name, name);
+					this.index.remove(name);
+					this.index.putIfAbsent(name, name);
+				}
+				done.countDown();
+			});
+		}
+		assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+
+		assertThat(this.index.values()).hasSize(this.index.size()).doesNotHaveDuplicates();
+		this.index.values().forEach(name -> assertThat(this.index.get(name)).isEqualTo(name));
+	}
+
+}
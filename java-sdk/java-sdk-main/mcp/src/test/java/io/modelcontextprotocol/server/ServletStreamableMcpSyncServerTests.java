@@ -0,0 +1,23 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests for {@link McpSyncServer} using
+ * {@link HttpServletStreamableServerTransportProvider}.
+ */
+@Timeout(15) // Giving extra time beyond the client timeout
+class ServletStreamableMcpSyncServerTests extends AbstractMcpSyncServerTests {
+
+	@Override
+	protected McpServerTransportProvider createMcpTransportProvider() {
+		return HttpServletStreamableServerTransportProvider.builder().build();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UriTemplateRouter}.
+ */
+class UriTemplateRouterTests {
+
+	private final UriTemplateRouter<String> router = new UriTemplateRouter<>();
+
+	@Test
+	void testMatchesConcreteUri() {
+		this.router.add("file:///tmp/a.txt", "a");
+
+		assertThat(this.router.match("file:///tmp/a.txt")).isEqualTo("a");
+		assertThat(this.router.match("file:///tmp/b.txt")).isNull();
+	}
+
+	@Test
+	void testMatchesTemplate() {
+		this.router.add("db://{schema}/tables/{table}", "table");
+
+		assertThat(this.router.match("db://public/tables/users")).isEqualTo("table");
+		assertThat(this.router.match("db://public/views/users")).isNull();
+	}
+
+	@Test
+	void testVariablesDoNotSpanSegments() {
+		this.router.add("file:///{name}", "file");
+
+		assertThat(this.router.match("file:///a.txt")).isNotNull();
+		assertThat(this.router.match("file:///dir/a.txt")).isNull();
+		assertThat(this.router.match("file:///")).isNull();
+	}
+
+	@Test
+	void testMatchesVariablesWithinSegment() {
+		this.router.add("docs://{name}.{ext}", "doc");
+
+		assertThat(this.router.match("docs://readme.md")).isEqualTo("doc");
+		assertThat(this.router.match("docs://readme")).isNull();
+	}
+
+	@Test
+	void testTemplateLiteralsAreNotRegularExpressions() {
+		this.router.add("docs://{name}.json", "json");
+
+		assertThat(this.router.match("docs://a.json")).isNotNull();
+		assertThat(this.router.match("docs://axjson")).isNull();
+	}
+
+	@Test
+	void testConcreteUrisAndLiteralSegmentsTakePrecedence() {
+		this.router.add("users://{id}/profile", "templated");
+		this.router.add("users://me/{section}", "me");
+		this.router.add("users://me/profile", "concrete");
+
+		assertThat(this.router.match("users://me/profile")).isEqualTo("concrete");
+		assertThat(this.router.match("users://me/settings")).isEqualTo("me");
+		assertThat(this.router.match("users://42/profile")).isEqualTo("templated");
+	}
+
+	@Test
+	void testBacktracksWhenLiteralBranchDoesNotMatch() {
+		this.router.add("users://me/settings", "settings");
+		this.router.add("users://{id}/posts/{post}", "post");
+
+		assertThat(this.router.match("users://me/posts/7")).isEqualTo("post");
+	}
+
+	@Test
+	void testRemove() {
+		this.router.add("file:///tmp/a.txt", "a");
+		this.router.add("db://{schema}/tables/{table}", "table");
+		this.router.add("db://{schema}/views/{view}", "view");
+
+		this.router.remove("file:///tmp/a.txt");
+		this.router.remove("db://{schema}/tables/{table}");
+
+		assertThat(this.router.match("file:///tmp/a.txt")).isNull();
+		assertThat(this.router.match("db://public/tables/users")).isNull();
+		assertThat(this.router.match("db://public/views/active")).isEqualTo("view");
+
+		// Removing unknown URIs is a no-op
+		this.router.remove("db://{schema}/tables/{table}");
+		this.router.remove("db://{schema}/other/{name}");
+		assertThat(this.router.match("db://public/views/active")).isEqualTo("view");
+	}
+
+	@Test
+	void testReplacesValueRegisteredUnderSameUri() {
+		this.router.add("db://{schema}", "first");
+		this.router.add("db://{schema}", "second");
+
+		assertThat(this.router.match("db://public")).isEqualTo("second");
+	}
+
+}
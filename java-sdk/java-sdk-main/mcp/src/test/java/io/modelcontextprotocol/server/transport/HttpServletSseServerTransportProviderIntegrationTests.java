@@ -827,6 +827,44 @@ class HttpServletSseServerTransportProviderIntegrationTests {
 		mcpServer.close();
 	}
 
+	@Test
+	void testBatchedToolCalls() {
+		McpServerFeatures.SyncToolSpecification echoTool = new McpServerFeatures.SyncToolSpecification(
+				new McpSchema.Tool("echo", "echo description", emptyJsonSchema),
+				(exchange, arguments) -> new CallToolResult(
+						List.of(new McpSchema.TextContent("echo " + arguments.get("text"))), null));
+
+		var mcpServer = McpServer.sync(mcpServerTransportProvider)
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.tools(echoTool)
+			.build();
+
+		var mcpClient = McpClient
+			.async(HttpClientSseClientTransport.builder("http://localhost:" + PORT)
+				.sseEndpoint(CUSTOM_SSE_ENDPOINT)
+				.build())
+			.batchWindow(Duration.ofMillis(50))
+			.build();
+
+		try {
+			mcpClient.initialize().block(Duration.ofSeconds(10));
+
+			// Both calls are sent in a single POST and answered with a single batch
+			List<CallToolResult> results = mcpClient
+				.batch(client -> Mono.zip(client.callTool(new McpSchema.CallToolRequest("echo", Map.of("text", "a"))),
+						client.callTool(new McpSchema.CallToolRequest("echo", Map.of("text", "b"))), List::of))
+				.block(Duration.ofSeconds(10));
+
+			assertThat(results).extracting(result -> result.content().get(0))
+				.containsExactly(new McpSchema.TextContent("echo a"), new McpSchema.TextContent("echo b"));
+		}
+		finally {
+			mcpClient.closeGracefully().block();
+		}
+
+		mcpServer.close();
+	}
+
 	@Test
 	void testInitialize() {
 		var mcpServer = McpServer.sync(mcpServerTransportProvider).build();
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+package io.modelcontextprotocol.server.transport;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of {@link HttpServletSseServerTransportProvider} with a client reading its SSE
+ * stream slower than the server produces events.
+ */
+@Timeout(60)
+class HttpServletSseServerTransportProviderSlowClientTests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private static final String MESSAGE_ENDPOINT = "/mcp/message";
+
+	private static final int CHUNKS = 500;
+
+	private static final String CHUNK_TEXT = "x".repeat(8 * 1024);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private HttpServletSseServerTransportProvider transportProvider;
+
+	private McpAsyncServer server;
+
+	private Tomcat tomcat;
+
+	@BeforeEach
+	void setUp() throws LifecycleException {
+		// A queue far smaller than the streamed results, which two tool calls streaming
+		// at the same time overflow as soon as the client stops reading
+		this.transportProvider = HttpServletSseServerTransportProvider.builder()
+			.objectMapper(this.objectMapper)
+			.messageEndpoint(MESSAGE_ENDPOINT)
+			.maxQueuedEvents(4)
+			.build();
+		McpServerFeatures.AsyncToolSpecification dump = McpServerFeatures.AsyncToolSpecification.streaming(
+				new McpSchema.Tool("dump", "Dumps a large result", "{\"type\":\"object\"}"),
+				(exchange, arguments) -> Flux.range(0, CHUNKS).map(i -> new McpSchema.TextContent(CHUNK_TEXT)));
+		this.server = McpServer.async(this.transportProvider)
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+			.tools(dump)
+			.build();
+		this.tomcat = TomcatTestUtil.createTomcatServer("", PORT, this.transportProvider);
+		this.tomcat.start();
+	}
+
+	@AfterEach
+	void tearDown() throws LifecycleException {
+		this.server.closeGracefully().block();
+		this.tomcat.stop();
+		this.tomcat.destroy();
+	}
+
+	@Test
+	void partialResultsAreNeitherDroppedNorReordered() throws Exception {
+		HttpResponse<InputStream> sse = this.httpClient.send(HttpRequest
+			.newBuilder(
+					URI.create("http://localhost:" + PORT + HttpServletSseServerTransportProvider.DEFAULT_SSE_ENDPOINT))
+			.header("Accept", "text/event-stream")
+			.build(), HttpResponse.BodyHandlers.ofInputStream());
+		try (BufferedReader events = new BufferedReader(new InputStreamReader(sse.body(), StandardCharsets.UTF_8))) {
+			String endpoint = nextData(events);
+			assertThat(endpoint).startsWith(MESSAGE_ENDPOINT + "?sessionId=");
+			URI messageUri = URI.create("http://localhost:" + PORT + endpoint);
+
+			post(messageUri,
+					new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_INITIALIZE, "init",
+							new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION,
+									new McpSchema.ClientCapabilities(null, null, null, null),
+									new McpSchema.Implementation("slow-client", "1.0.0"))))
+				.join();
+			assertThat(this.objectMapper.readTree(nextData(events)).get("id").asText()).isEqualTo("init");
+			post(messageUri, new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+				.join();
+
+			// Two tool calls streaming at the same time, so that one of them queues its
+			// chunks while the other one is blocked writing to the client
+			Set<String> calls = Set.of("call-1", "call-2");
+			for (String call : calls) {
+				post(messageUri,
+						new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, call,
+								new McpSchema.CallToolRequest("dump", Map.of(),
+										Map.of("progressToken", call, McpSchema.STREAM_RESULT_META_KEY, true))));
+			}
+
+			// Stop reading for a while, then read slowly
+			Thread.sleep(500);
+			Map<String, Long> nextIndex = new HashMap<>();
+			Map<String, JsonNode> results = new HashMap<>();
+			int received = 0;
+			while (results.size() < calls.size()) {
+				JsonNode message = this.objectMapper.readTree(nextData(events));
+				if (++received % 10 == 0) {
+					Thread.sleep(1);
+				}
+				if (message.has("id")) {
+					results.put(message.get("id").asText(), message.get("result"));
+					continue;
+				}
+				assertThat(message.get("method").asText())
+					.isEqualTo(McpSchema.METHOD_NOTIFICATION_TOOLS_PARTIAL_RESULT);
+				JsonNode params = message.get("params");
+				String call = params.get("progressToken").asText();
+				long expected = nextIndex.getOrDefault(call, 0L);
+				assertThat(params.get("index").asLong()).isEqualTo(expected);
+				nextIndex.put(call, expected + 1);
+			}
+
+			assertThat(results).containsOnlyKeys(calls);
+			assertThat(nextIndex).containsOnlyKeys(calls).allSatisfy((call, count) -> {
+				assertThat(count).isEqualTo(CHUNKS);
+				assertThat(results.get(call).get("content")).isEmpty();
+			});
+		}
+	}
+
+	private CompletableFuture<HttpResponse<Void>> post(URI messageUri, McpSchema.JSONRPCMessage message)
+			throws Exception {
+		// Tool calls complete once their result has been sent, so callers do not wait
+		// for them
+		return this.httpClient.sendAsync(HttpRequest.newBuilder(messageUri)
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(message)))
+			.build(), HttpResponse.BodyHandlers.discarding());
+	}
+
+	private static String nextData(BufferedReader events) throws Exception {
+		String line;
+		while ((line = events.readLine()) != null) {
+			if (line.startsWith("data: ")) {
+				return line.substring("data: ".length());
+			}
+		}
+		throw new IllegalStateException("SSE stream closed");
+	}
+
+}
@@ -0,0 +1,571 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+package io.modelcontextprotocol.server.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ClientCapabilities;
+import io.modelcontextprotocol.spec.McpSchema.CreateMessageResult;
+import io.modelcontextprotocol.spec.McpSchema.Role;
+import io.modelcontextprotocol.spec.McpSchema.ServerCapabilities;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Timeout(30)
+class HttpServletStreamableServerTransportProviderIntegrationTests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private static final String ENDPOINT = "/somePath/mcp";
+
+	private static final String INITIALIZE_REQUEST = """
+			{"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"%s",\
+			"capabilities":{},"clientInfo":{"name":"test-client","version":"1.0.0"}}}"""
+		.formatted(McpSchema.LATEST_PROTOCOL_VERSION);
+
+	private static final String INITIALIZED_NOTIFICATION = """
+			{"jsonrpc":"2.0","method":"notifications/initialized"}""";
+
+	String emptyJsonSchema = """
+			{
+				"$schema": "http://json-schema.org/draft-07/schema#",
+				"type": "object",
+				"properties": {}
+			}
+			""";
+
+	private HttpServletStreamableServerTransportProvider mcpServerTransportProvider;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private McpClient.SyncSpec clientBuilder;
+
+	private Tomcat tomcat;
+
+	@BeforeEach
+	public void before() {
+		startServer(HttpServletStreamableServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(ENDPOINT)
+			.build());
+
+		this.clientBuilder = McpClient
+			.sync(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT).endpoint(ENDPOINT).build());
+	}
+
+	private void startServer(HttpServletStreamableServerTransportProvider transportProvider) {
+		mcpServerTransportProvider = transportProvider;
+		tomcat = TomcatTestUtil.createTomcatServer("", PORT, mcpServerTransportProvider);
+		try {
+			tomcat.start();
+			assertThat(tomcat.getServer().getState()).isEqualTo(LifecycleState.STARTED);
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Failed to start Tomcat", e);
+		}
+	}
+
+	@AfterEach
+	public void after() {
+		if (mcpServerTransportProvider != null) {
+			mcpServerTransportProvider.closeGracefully().block();
+		}
+		if (tomcat != null) {
+			try {
+				tomcat.stop();
+				tomcat.destroy();
+			}
+			catch (LifecycleException e) {
+				throw new RuntimeException("Failed to stop Tomcat", e);
+			}
+		}
+	}
+
+	@Test
+	void testToolCallSuccess() {
+		CallToolResult callResponse = new CallToolResult(List.of(new McpSchema.TextContent("CALL RESPONSE")), null);
+		McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+				new Tool("tool1", "tool1 description", emptyJsonSchema),
+				(exchange, request) -> Mono.just(callResponse));
+
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.tools(tool)
+			.build();
+
+		try (var mcpClient = clientBuilder.build()) {
+			assertThat(mcpClient.initialize()).isNotNull();
+			assertThat(mcpClient.listTools().tools()).extracting(Tool::name).containsExactly("tool1");
+			assertThat(mcpClient.callTool(new McpSchema.CallToolRequest("tool1", Map.of()))).isEqualTo(callResponse);
+		}
+		mcpServer.close();
+	}
+
+	@Test
+	void testCreateMessageFromHandlerIsStreamedOnRequestResponse() {
+		McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+				new Tool("tool1", "tool1 description", emptyJsonSchema),
+				(exchange,
+						request) -> exchange
+							.createMessage(McpSchema.CreateMessageRequest.builder()
+								.messages(List
+									.of(new McpSchema.SamplingMessage(Role.USER, new McpSchema.TextContent("Hi"))))
+								.build())
+							.map(result -> new CallToolResult(List
+								.of(new McpSchema.TextContent(((McpSchema.TextContent) result.content()).text())),
+									null)));
+
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.tools(tool)
+			.build();
+
+		try (var mcpClient = clientBuilder.capabilities(ClientCapabilities.builder().sampling().build())
+			.sampling(request -> new CreateMessageResult(Role.ASSISTANT, new McpSchema.TextContent("Sampled"),
+					"MockModelName", CreateMessageResult.StopReason.END_TURN))
+			.build()) {
+
+			assertThat(mcpClient.initialize()).isNotNull();
+
+			CallToolResult response = mcpClient.callTool(new McpSchema.CallToolRequest("tool1", Map.of()));
+
+			assertThat(response.content()).containsExactly(new McpSchema.TextContent("Sampled"));
+		}
+		mcpServer.close();
+	}
+
+	@Test
+	void testToolListChangedIsSentOnStandaloneStream() {
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.build();
+
+		AtomicReference<List<Tool>> toolsRef = new AtomicReference<>();
+		try (var mcpClient = clientBuilder.toolsChangeConsumer(toolsRef::set).build()) {
+			assertThat(mcpClient.initialize()).isNotNull();
+
+			McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+					new Tool("tool2", "tool2 description", emptyJsonSchema),
+					(exchange, request) -> Mono.just(new CallToolResult(List.of(), null)));
+
+			await().untilAsserted(() -> {
+				mcpServer.notifyToolsListChanged().block();
+				assertThat(toolsRef.get()).isNotNull();
+			});
+			mcpServer.addTool(tool).block();
+
+			await().untilAsserted(() -> assertThat(toolsRef.get()).extracting(Tool::name).containsExactly("tool2"));
+		}
+		mcpServer.close();
+	}
+
+	@Test
+	void testPlainJsonResponseWhenHandlerDoesNotStream() throws Exception {
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		HttpResponse<String> initResponse = post(null, INITIALIZE_REQUEST);
+
+		assertThat(initResponse.statusCode()).isEqualTo(200);
+		assertThat(initResponse.headers().firstValue("Content-Type"))
+			.hasValueSatisfying(contentType -> assertThat(contentType)
+				.startsWith(HttpServletStreamableServerTransportProvider.APPLICATION_JSON));
+		assertThat(initResponse.headers().firstValue("mcp-session-id")).isPresent();
+		assertThat(initResponse.body()).contains("\"id\":1").contains("test-server");
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testResponseIsUpgradedToSseWhenHandlerStreams() throws Exception {
+		McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+				new Tool("logging-tool", "logging tool", emptyJsonSchema),
+				(exchange, request) -> exchange
+					.loggingNotification(McpSchema.LoggingMessageNotification.builder()
+						.level(McpSchema.LoggingLevel.ERROR)
+						.data("step 1")
+						.build())
+					.then(Mono.just(new CallToolResult(List.of(new McpSchema.TextContent("done")), null))));
+
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(false).logging().build())
+			.tools(tool)
+			.build();
+
+		String sessionId = initialize();
+
+		HttpResponse<String> response = post(sessionId, """
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"logging-tool","arguments":{}}}""");
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.headers().firstValue("Content-Type"))
+			.hasValueSatisfying(contentType -> assertThat(contentType)
+				.startsWith(HttpServletStreamableServerTransportProvider.TEXT_EVENT_STREAM));
+		List<String> ids = response.body().lines().filter(line -> line.startsWith("id: ")).toList();
+		assertThat(ids).hasSize(2);
+		assertThat(response.body()).containsSubsequence("step 1", "\"id\":2", "done");
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testLargeRequestBody() throws Exception {
+		McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+				new Tool("length-tool", "length tool", emptyJsonSchema),
+				(exchange,
+						request) -> Mono.just(new CallToolResult(
+								List.of(new McpSchema.TextContent("length=" + ((String) request.get("text")).length())),
+								null)));
+
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(false).build())
+			.tools(tool)
+			.build();
+
+		String sessionId = initialize();
+
+		// A body larger than the max initial read buffer
+		String text = "x".repeat(1_500_000);
+		byte[] body = """
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"length-tool","arguments":{"text":"%s"}}}"""
+			.formatted(text)
+			.getBytes(StandardCharsets.UTF_8);
+		HttpResponse<String> response = this.httpClient
+			.send(request(sessionId).header("Content-Type", "application/json")
+				.header("Accept", "application/json, text/event-stream")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				.build(), HttpResponse.BodyHandlers.ofString());
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).contains("\"id\":2").contains("length=1500000");
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testLargeChunkedRequestBody() throws Exception {
+		McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+				new Tool("length-tool", "length tool", emptyJsonSchema),
+				(exchange,
+						request) -> Mono.just(new CallToolResult(
+								List.of(new McpSchema.TextContent("length=" + ((String) request.get("text")).length())),
+								null)));
+
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(false).build())
+			.tools(tool)
+			.build();
+
+		String sessionId = initialize();
+
+		// A body of unknown length, sent with chunked transfer coding
+		String text = "x".repeat(100_000);
+		byte[] body = """
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"length-tool","arguments":{"text":"%s"}}}"""
+			.formatted(text)
+			.getBytes(StandardCharsets.UTF_8);
+		HttpResponse<String> response = this.httpClient
+			.send(request(sessionId).header("Content-Type", "application/json")
+				.header("Accept", "application/json, text/event-stream")
+				.POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body)))
+				.build(), HttpResponse.BodyHandlers.ofString());
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).contains("\"id\":2").contains("length=100000");
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testRequestBodyLargerThanMaxIsRejected() throws Exception {
+		after();
+		startServer(HttpServletStreamableServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(ENDPOINT)
+			.maxRequestBodySize(64 * 1024)
+			.build());
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		String sessionId = initialize();
+		byte[] body = """
+				{"jsonrpc":"2.0","id":2,"method":"ping","params":{"padding":"%s"}}""".formatted("x".repeat(100_000))
+			.getBytes(StandardCharsets.UTF_8);
+
+		// Rejected up front when announced by Content-Length, and while reading otherwise
+		HttpResponse<String> announced = this.httpClient
+			.send(request(sessionId).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		HttpResponse<String> chunked = this.httpClient
+			.send(request(sessionId).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body)))
+				.build(), HttpResponse.BodyHandlers.ofString());
+
+		assertThat(announced.statusCode()).isEqualTo(413);
+		assertThat(chunked.statusCode()).isEqualTo(413);
+		assertThat(post(sessionId, """
+				{"jsonrpc":"2.0","id":3,"method":"ping"}""").statusCode()).isEqualTo(200);
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testServerRequestFromHandlerIsSentOnRequestStream() throws Exception {
+		McpServerFeatures.AsyncToolSpecification tool = new McpServerFeatures.AsyncToolSpecification(
+				new Tool("roots-tool", "roots tool", emptyJsonSchema),
+				(exchange, request) -> exchange.listRoots()
+					.map(result -> new CallToolResult(List.of(new McpSchema.TextContent(result.roots().get(0).uri())),
+							null)));
+
+		var mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.tools(tool)
+			.build();
+
+		String sessionId = initialize();
+
+		HttpResponse<Stream<String>> response = this.httpClient.send(request(sessionId)
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json, text/event-stream")
+			.POST(HttpRequest.BodyPublishers.ofString("""
+					{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"roots-tool","arguments":{}}}"""))
+			.build(), HttpResponse.BodyHandlers.ofLines());
+
+		try (Stream<String> lines = response.body()) {
+			Iterator<String> iterator = lines.iterator();
+			String rootsRequest = nextData(iterator);
+			assertThat(rootsRequest).contains("roots/list");
+
+			String rootsRequestId = new ObjectMapper().readTree(rootsRequest).get("id").toString();
+			assertThat(post(sessionId, """
+					{"jsonrpc":"2.0","id":%s,"result":{"roots":[{"uri":"file:///workspace"}]}}"""
+				.formatted(rootsRequestId)).statusCode()).isEqualTo(202);
+
+			assertThat(nextData(iterator)).contains("\"id\":2").contains("file:///workspace");
+		}
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testNotificationsAreAccepted() throws Exception {
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		String sessionId = initialize();
+
+		HttpResponse<String> response = post(sessionId, """
+				{"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":7}}""");
+
+		assertThat(response.statusCode()).isEqualTo(202);
+		assertThat(response.body()).isEmpty();
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testInvalidBatchElementsAreAnsweredInBatch() throws Exception {
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		String sessionId = initialize();
+
+		HttpResponse<String> response = post(sessionId, """
+				[{"jsonrpc":"2.0","id":"bad"},{"jsonrpc":"2.0","method":"ping","id":"good"}]""");
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).startsWith("[")
+			.contains("\"id\":\"bad\"")
+			.contains("" + McpSchema.ErrorCodes.INVALID_REQUEST)
+			.contains("\"id\":\"good\",\"result\"");
+
+		HttpResponse<String> empty = post(sessionId, "[]");
+
+		assertThat(empty.statusCode()).isEqualTo(200);
+		assertThat(empty.body()).startsWith("{").contains("" + McpSchema.ErrorCodes.INVALID_REQUEST);
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testMissingOrUnknownSession() throws Exception {
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		String ping = """
+				{"jsonrpc":"2.0","id":2,"method":"ping"}""";
+
+		assertThat(post(null, ping).statusCode()).isEqualTo(400);
+		assertThat(post("unknown", ping).statusCode()).isEqualTo(404);
+		assertThat(post(null, "not json").statusCode()).isEqualTo(400);
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testDeleteTerminatesSession() throws Exception {
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		String sessionId = initialize();
+
+		HttpResponse<String> deleteResponse = this.httpClient.send(request(sessionId).DELETE().build(),
+				HttpResponse.BodyHandlers.ofString());
+
+		assertThat(deleteResponse.statusCode()).isEqualTo(200);
+		assertThat(post(sessionId, """
+				{"jsonrpc":"2.0","id":2,"method":"ping"}""").statusCode()).isEqualTo(404);
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testIdleSessionIsClosed() throws Exception {
+		after();
+		startServer(HttpServletStreamableServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(ENDPOINT)
+			.sessionIdleTimeout(Duration.ofMillis(500))
+			.build());
+		var mcpServer = McpServer.async(mcpServerTransportProvider).serverInfo("test-server", "1.0.0").build();
+
+		String ping = """
+				{"jsonrpc":"2.0","id":2,"method":"ping"}""";
+		String activeSessionId = initialize();
+		String idleSessionId = initialize();
+
+		// Requests keep a session active
+		long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+		while (System.nanoTime() < deadline) {
+			assertThat(post(activeSessionId, ping).statusCode()).isEqualTo(200);
+			Thread.sleep(100);
+		}
+		assertThat(post(idleSessionId, ping).statusCode()).isEqualTo(404);
+		assertThat(post(activeSessionId, ping).statusCode()).isEqualTo(200);
+
+		mcpServer.close();
+	}
+
+	@Test
+	void testStandaloneStreamReplaysMissedEvents() throws Exception {
+		McpAsyncServer mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(ServerCapabilities.builder().tools(true).build())
+			.build();
+
+		String sessionId = initialize();
+
+		// Sent while the client has no stream open
+		mcpServer.notifyToolsListChanged().block();
+		mcpServer.notifyToolsListChanged().block();
+
+		List<String> firstEvents = readEvents(sessionId, null, 2);
+		assertThat(firstEvents).hasSize(2).allSatisfy(event -> assertThat(event).contains("list_changed"));
+
+		// Resuming after the first event replays the second one only
+		String firstEventId = firstEvents.get(0).lines().filter(line -> line.startsWith("id: ")).findFirst().get();
+		List<String> resumedEvents = readEvents(sessionId, firstEventId.substring("id: ".length()), 1);
+		assertThat(resumedEvents).hasSize(1);
+		assertThat(resumedEvents.get(0)).isEqualTo(firstEvents.get(1));
+
+		mcpServer.close();
+	}
+
+	private String initialize() throws IOException, InterruptedException {
+		HttpResponse<String> response = post(null, INITIALIZE_REQUEST);
+		assertThat(response.statusCode()).isEqualTo(200);
+		String sessionId = response.headers().firstValue("mcp-session-id").orElseThrow();
+		assertThat(post(sessionId, INITIALIZED_NOTIFICATION).statusCode()).isEqualTo(202);
+		return sessionId;
+	}
+
+	private HttpRequest.Builder request(String sessionId) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + ENDPOINT));
+		if (sessionId != null) {
+			builder.header("mcp-session-id", sessionId);
+		}
+		return builder;
+	}
+
+	private HttpResponse<String> post(String sessionId, String body) throws IOException, InterruptedException {
+		return this.httpClient.send(request(sessionId).header("Content-Type", "application/json")
+			.header("Accept", "application/json, text/event-stream")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static String nextData(Iterator<String> lines) {
+		while (lines.hasNext()) {
+			String line = lines.next();
+			if (line.startsWith("data: ")) {
+				return line.substring("data: ".length());
+			}
+		}
+		throw new AssertionError("Stream ended without data");
+	}
+
+	/**
+	 * Opens a GET stream and reads the given number of SSE events from it.
+	 */
+	private List<String> readEvents(String sessionId, String lastEventId, int count)
+			throws IOException, InterruptedException {
+		HttpRequest.Builder builder = request(sessionId).header("Accept", "text/event-stream").GET();
+		if (lastEventId != null) {
+			builder.header("last-event-id", lastEventId);
+		}
+		HttpResponse<Stream<String>> response = this.httpClient.send(builder.build(),
+				HttpResponse.BodyHandlers.ofLines());
+		assertThat(response.statusCode()).isEqualTo(200);
+
+		List<String> events = new ArrayList<>();
+		try (Stream<String> lines = response.body()) {
+			Iterator<String> iterator = lines.iterator();
+			StringBuilder event = new StringBuilder();
+			while (events.size() < count && iterator.hasNext()) {
+				String line = iterator.next();
+				if (line.isEmpty()) {
+					events.add(event.toString());
+					event.setLength(0);
+				}
+				else {
+					event.append(line).append('\n');
+				}
+			}
+		}
+		return events;
+	}
+
+}
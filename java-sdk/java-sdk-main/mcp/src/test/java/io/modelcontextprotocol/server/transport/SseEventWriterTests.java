@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 - 2025 the original author or authors.
+ */
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link SseEventWriter}.
+ */
+class SseEventWriterTests {
+
+	@Test
+	void queuedEventsAreWrittenWithSingleFlush() throws IOException {
+		CountingWriter out = new CountingWriter();
+		SseEventWriter writer = new SseEventWriter(new PrintWriter(out), 10);
+
+		assertThat(writer.offer("message", "1")).isTrue();
+		assertThat(writer.offer("message", "2")).isTrue();
+		assertThat(writer.size()).isEqualTo(2);
+
+		writer.drain();
+
+		assertThat(out.toString()).isEqualTo("event: message\ndata: 1\n\nevent: message\ndata: 2\n\n");
+		assertThat(out.flushes).isEqualTo(1);
+		assertThat(writer.size()).isZero();
+	}
+
+	@Test
+	void markerIsNotifiedOnceEventsBeforeItAreWritten() throws IOException {
+		StringWriter out = new StringWriter();
+		SseEventWriter writer = new SseEventWriter(new PrintWriter(out), 10);
+		AtomicReference<String> writtenOnMarker = new AtomicReference<>();
+
+		writer.add("0_1", "message", "1", null);
+		Mono.<Void>create(writer::addMarker).subscribe(null, null, () -> writtenOnMarker.set(out.toString()));
+		assertThat(writtenOnMarker).hasNullValue();
+
+		writer.drain();
+
+		assertThat(writtenOnMarker).hasValue("id: 0_1\nevent: message\ndata: 1\n\n");
+		assertThat(writer.size()).isZero();
+	}
+
+	@Test
+	void offerFailsWhenQueueIsFull() throws IOException {
+		SseEventWriter writer = new SseEventWriter(new PrintWriter(new StringWriter()), 2);
+
+		assertThat(writer.offer("message", "1")).isTrue();
+		assertThat(writer.offer("message", "2")).isTrue();
+		assertThat(writer.offer("message", "3")).isFalse();
+
+		writer.add("message", "4");
+		assertThat(writer.size()).isEqualTo(3);
+
+		writer.drain();
+		assertThat(writer.offer("message", "5")).isTrue();
+	}
+
+	@Test
+	void drainFailsOnceClientDisconnected() {
+		PrintWriter printWriter = new PrintWriter(new Writer() {
+
+			@Override
+			public void write(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+
+		});
+		SseEventWriter writer = new SseEventWriter(printWriter, 10);
+
+		writer.offer("message", "1");
+		assertThatThrownBy(writer::drain).isInstanceOf(IOException.class);
+
+		writer.offer("message", "2");
+		assertThatThrownBy(writer::drain).isInstanceOf(IOException.class);
+	}
+
+	@Test
+	void sendersAreNotifiedOnceTheirEventIsWritten() throws IOException {
+		StringWriter out = new StringWriter();
+		SseEventWriter writer = new SseEventWriter(new PrintWriter(out), 10);
+		AtomicReference<String> writtenWhenNotified = new AtomicReference<>();
+
+		Mono<Void> written = Mono.create(sink -> {
+			writer.add("message", "1", sink);
+			try {
+				writer.drain();
+			}
+			catch (IOException e) {
+				sink.error(e);
+			}
+		});
+		StepVerifier.create(written.doOnSuccess(v -> writtenWhenNotified.set(out.toString()))).verifyComplete();
+
+		assertThat(writtenWhenNotified.get()).isEqualTo("event: message\ndata: 1\n\n");
+	}
+
+	@Test
+	void sendersAreNotifiedOfEventsThatAreNeverWritten() {
+		SseEventWriter writer = new SseEventWriter(new PrintWriter(new StringWriter()), 10);
+
+		Mono<Void> written = Mono.create(sink -> writer.offer("message", "1", sink));
+		StepVerifier.create(written).then(writer::abort).verifyError(IOException.class);
+	}
+
+	@Test
+	void concurrentEventsAreNotInterleaved() throws Exception {
+		StringWriter out = new StringWriter();
+		SseEventWriter writer = new SseEventWriter(new PrintWriter(out), 10_000);
+		int threads = 8;
+		int eventsPerThread = 500;
+		String data = "x".repeat(200);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int t = 0; t < threads; t++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < eventsPerThread; i++) {
+						writer.offer("message", data);
+						writer.drain();
+					}
+				}
+				catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		String event = "event: message\ndata: " + data + "\n\n";
+		assertThat(out.toString()).isEqualTo(event.repeat(threads * eventsPerThread));
+		assertThat(writer.size()).isZero();
+	}
+
+	private static class CountingWriter extends StringWriter {
+
+		private int flushes;
+
+		@Override
+		public void flush() {
+			this.flushes++;
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StdioFrameReader}.
+ */
+class StdioFrameReaderTests {
+
+	@Test
+	void framesAreSplitAtNewlines() throws IOException {
+		List<String> frames = readAll("{\"a\":1}\n{\"b\":2}\r\n\n{\"c\":\"é\"}", 4, Integer.MAX_VALUE);
+
+		assertThat(frames).containsExactly("{\"a\":1}", "{\"b\":2}", "{\"c\":\"é\"}");
+	}
+
+	@Test
+	void framesLargerThanBufferAreReadAcrossPartialReads() throws IOException {
+		String large = "x".repeat(1000);
+
+		List<String> frames = readAll("a\n" + large + "\nb\n", 16, 7);
+
+		assertThat(frames).containsExactly("a", large, "b");
+	}
+
+	@Test
+	void readingStopsWhenHandlerAsks() throws IOException {
+		StdioFrameReader reader = new StdioFrameReader(stream("1\n2\n3\n", Integer.MAX_VALUE), 16);
+		List<String> frames = new ArrayList<>();
+
+		reader.read((buffer, offset, length) -> {
+			frames.add(new String(buffer, offset, length, StandardCharsets.UTF_8));
+			return frames.size() < 2;
+		});
+
+		assertThat(frames).containsExactly("1", "2");
+	}
+
+	private static List<String> readAll(String input, int capacity, int chunkSize) throws IOException {
+		StdioFrameReader reader = new StdioFrameReader(stream(input, chunkSize), capacity);
+		List<String> frames = new ArrayList<>();
+		reader.read((buffer, offset, length) -> frames.add(new String(buffer, offset, length, StandardCharsets.UTF_8)));
+		return frames;
+	}
+
+	/**
+	 * Input stream returning at most the given number of bytes per read, like a pipe.
+	 */
+	private static InputStream stream(String input, int chunkSize) {
+		return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)) {
+
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, chunkSize));
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.modelcontextprotocol.spec.McpEncodedMessage;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link StdioFrameWriter}.
+ */
+class StdioFrameWriterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final CountingOutputStream out = new CountingOutputStream();
+
+	@Test
+	void batchIsWrittenWithSingleFlush() throws IOException {
+		StdioFrameWriter writer = new StdioFrameWriter(this.objectMapper, this.out);
+
+		writer.append(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "a", null));
+		writer.append(McpEncodedMessage.encode(this.objectMapper,
+				new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "b", null)));
+		assertThat(this.out.size()).isZero();
+
+		writer.flush();
+
+		assertThat(this.out.toString(StandardCharsets.UTF_8))
+			.isEqualTo("{\"jsonrpc\":\"2.0\",\"method\":\"a\"}\n{\"jsonrpc\":\"2.0\",\"method\":\"b\"}\n");
+		assertThat(this.out.flushes).isEqualTo(1);
+	}
+
+	@Test
+	void messagesStayOnSingleLine() throws IOException {
+		ObjectMapper indenting = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		StdioFrameWriter writer = new StdioFrameWriter(indenting, this.out);
+
+		writer.append(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "a", Map.of("text", "x\ny")));
+		writer.flush();
+
+		String written = this.out.toString(StandardCharsets.UTF_8);
+		assertThat(written).endsWith("\n").containsOnlyOnce("\n");
+		assertThat(this.objectMapper.readTree(written).at("/params/text").asText()).isEqualTo("x\ny");
+	}
+
+	@Test
+	void failedMessageLeavesBatchUntouched() throws IOException {
+		StdioFrameWriter writer = new StdioFrameWriter(this.objectMapper, this.out);
+
+		writer.append(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "a", null));
+		assertThatThrownBy(() -> writer
+			.append(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "b", Map.of("bad", new Object()))))
+			.isInstanceOf(IOException.class);
+		writer.flush();
+
+		assertThat(this.out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"jsonrpc\":\"2.0\",\"method\":\"a\"}\n");
+	}
+
+	private static class CountingOutputStream extends ByteArrayOutputStream {
+
+		private int flushes;
+
+		@Override
+		public void flush() {
+			this.flushes++;
+		}
+
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpBroadcast}.
+ */
+class McpBroadcastTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Set<McpEncodedMessage> sentMessages = ConcurrentHashMap.newKeySet();
+
+	private final AtomicInteger sentCount = new AtomicInteger();
+
+	@Test
+	void notificationIsEncodedOnceForAllSessions() {
+		List<McpServerSession> sessions = sessions(10, false);
+
+		McpBroadcast.broadcast(this.objectMapper, sessions, McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null)
+			.block(TIMEOUT);
+
+		assertThat(this.sentCount).hasValue(10);
+		assertThat(this.sentMessages).hasSize(1);
+		McpEncodedMessage message = this.sentMessages.iterator().next();
+		assertThat(message.asString()).contains(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
+		assertThat(((McpSchema.JSONRPCNotification) message.message()).method())
+			.isEqualTo(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
+	}
+
+	@Test
+	void largeBroadcastIsSentToAllSessionsInParallel() {
+		List<McpServerSession> sessions = sessions(McpBroadcast.PARALLEL_THRESHOLD * 4, false);
+
+		McpBroadcast.broadcast(this.objectMapper, sessions, McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null, 4)
+			.block(TIMEOUT);
+
+		assertThat(this.sentCount).hasValue(McpBroadcast.PARALLEL_THRESHOLD * 4);
+		assertThat(this.sentMessages).hasSize(1);
+	}
+
+	@Test
+	void failingSessionDoesNotPreventBroadcast() {
+		List<McpServerSession> sessions = new ArrayList<>(sessions(1, true));
+		sessions.addAll(sessions(5, false));
+
+		McpBroadcast.broadcast(this.objectMapper, sessions, McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null)
+			.block(TIMEOUT);
+
+		assertThat(this.sentCount).hasValue(5);
+	}
+
+	private List<McpServerSession> sessions(int count, boolean failing) {
+		List<McpServerSession> sessions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			sessions.add(new McpServerSession("session-" + i, TIMEOUT, new RecordingTransport(failing),
+					initRequest -> Mono.empty(), Mono::empty, Map.of(), Map.of()));
+		}
+		return sessions;
+	}
+
+	private class RecordingTransport implements McpServerTransport {
+
+		private final boolean failing;
+
+		RecordingTransport(boolean failing) {
+			this.failing = failing;
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return Mono.error(new AssertionError("Broadcast messages must be sent encoded"));
+		}
+
+		@Override
+		public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+			if (this.failing) {
+				return Mono.error(new RuntimeException("Client disconnected"));
+			}
+			return Mono.fromRunnable(() -> {
+				sentMessages.add(message);
+				sentCount.incrementAndGet();
+			});
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+			return McpSchema.unmarshalFrom(objectMapper, data, typeRef);
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
@@ -5,7 +5,10 @@
 package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.MockMcpClientTransport;
@@ -14,12 +17,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
+import reactor.util.context.ContextView;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 
 /**
  * Test suite for {@link McpClientSession} that verifies its JSON-RPC message handling,
@@ -119,6 +125,108 @@ class McpClientSessionTests {
 			.verify(TIMEOUT.plusSeconds(1));
 	}
 
+	@Test
+	void testBatchedRequestsAreSentTogether() {
+		transport = new MockMcpClientTransport();
+		session = new McpClientSession(TIMEOUT, McpPendingRequests.UNBOUNDED, TIMEOUT, 2, transport, Map.of(), Map.of(),
+				Function.identity());
+
+		Mono<List<String>> responsesMono = Mono
+			.zip(session.sendRequest(TEST_METHOD, "first", responseType),
+					session.sendRequest(TEST_METHOD, "second", responseType), List::of)
+			.contextWrite(ctx -> ctx.put(McpClientSession.BATCH_REQUESTS_CONTEXT_KEY, true));
+
+		StepVerifier.create(responsesMono).then(() -> {
+			// The batch is full, so it is sent without waiting for the window to elapse
+			McpSchema.JSONRPCMessage sentMessage = transport.getLastSentMessage();
+			assertThat(sentMessage).isInstanceOf(McpSchema.JSONRPCBatch.class);
+			List<McpSchema.JSONRPCMessage> requests = ((McpSchema.JSONRPCBatch) sentMessage).messages();
+			assertThat(requests).hasSize(2);
+
+			// Answer out of order, the responses are correlated by id
+			McpSchema.JSONRPCRequest first = (McpSchema.JSONRPCRequest) requests.get(0);
+			McpSchema.JSONRPCRequest second = (McpSchema.JSONRPCRequest) requests.get(1);
+			transport.simulateIncomingMessage(new McpSchema.JSONRPCBatch(List.of(
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, second.id(), "second response", null),
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, first.id(), "first response", null))));
+		}).expectNext(List.of("first response", "second response")).verifyComplete();
+	}
+
+	@Test
+	void testBatchIsSentWhenWindowElapses() {
+		Mono<String> responseMono = session.sendRequest(TEST_METHOD, "test", responseType)
+			.contextWrite(ctx -> ctx.put(McpClientSession.BATCH_REQUESTS_CONTEXT_KEY, true));
+
+		StepVerifier.create(responseMono).then(() -> {
+			// A batch of one is sent as a plain request
+			await().atMost(TIMEOUT).until(() -> transport.getLastSentMessage() instanceof McpSchema.JSONRPCRequest);
+			McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+			transport.simulateIncomingMessage(
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), "response", null));
+		}).expectNext("response").verifyComplete();
+	}
+
+	@Test
+	void testCancelledRequestIsLeftOutOfBatch() {
+		List<McpSchema.JSONRPCMessage> sentMessages = new CopyOnWriteArrayList<>();
+		transport = new MockMcpClientTransport((t, message) -> sentMessages.add(message));
+		session = new McpClientSession(TIMEOUT, McpPendingRequests.UNBOUNDED, Duration.ofMillis(200), 10, transport,
+				Map.of(), Map.of(), Function.identity());
+
+		Disposable cancelled = session.sendRequest(TEST_METHOD, "cancelled", responseType)
+			.contextWrite(ctx -> ctx.put(McpClientSession.BATCH_REQUESTS_CONTEXT_KEY, true))
+			.subscribe();
+		Mono<String> responseMono = session.sendRequest(TEST_METHOD, "kept", responseType)
+			.contextWrite(ctx -> ctx.put(McpClientSession.BATCH_REQUESTS_CONTEXT_KEY, true));
+
+		StepVerifier.create(responseMono).then(() -> {
+			// Cancelled before the window elapses, the request is never sent
+			cancelled.dispose();
+			await().atMost(TIMEOUT).until(() -> transport.getLastSentMessage() instanceof McpSchema.JSONRPCRequest);
+			McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+			assertThat(request.params()).isEqualTo("kept");
+			transport.simulateIncomingMessage(
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), "response", null));
+		}).expectNext("response").verifyComplete();
+
+		assertThat(sentMessages).noneMatch(message -> message instanceof McpSchema.JSONRPCBatch
+				|| message instanceof McpSchema.JSONRPCRequest request && "cancelled".equals(request.params()));
+	}
+
+	@Test
+	void testBatchIsNotSentInTheContextOfOneCaller() {
+		List<ContextView> contexts = new CopyOnWriteArrayList<>();
+		transport = new MockMcpClientTransport() {
+			@Override
+			public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+				return Mono.deferContextual(ctx -> {
+					contexts.add(ctx);
+					return super.sendMessage(message);
+				});
+			}
+		};
+		session = new McpClientSession(TIMEOUT, McpPendingRequests.UNBOUNDED, TIMEOUT, 2, transport, Map.of(), Map.of(),
+				Function.identity());
+
+		Mono<List<String>> responsesMono = Mono.zip(
+				session.sendRequest(TEST_METHOD, "first", responseType).contextWrite(ctx -> ctx.put("caller", "first")),
+				session.sendRequest(TEST_METHOD, "second", responseType)
+					.contextWrite(ctx -> ctx.put("caller", "second")),
+				List::of)
+			.contextWrite(ctx -> ctx.put(McpClientSession.BATCH_REQUESTS_CONTEXT_KEY, true));
+
+		StepVerifier.create(responsesMono).then(() -> {
+			McpSchema.JSONRPCBatch batch = (McpSchema.JSONRPCBatch) transport.getLastSentMessage();
+			assertThat(contexts).singleElement().satisfies(ctx -> assertThat(ctx.hasKey("caller")).isFalse());
+			transport.simulateIncomingMessage(new McpSchema.JSONRPCBatch(batch.messages()
+				.stream().<McpSchema
+						.JSONRPCMessage>map(
+								message -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION,
+										((McpSchema.JSONRPCRequest) message).id(), "response", null))
+				.toList()));
+		}).expectNext(List.of("response", "response")).verifyComplete();
+	}
+
 	@Test
 	void testSendNotification() {
 		Map<String, Object> params = Map.of("key", "value");
@@ -155,6 +263,29 @@ class McpClientSessionTests {
 		assertThat(response.error()).isNull();
 	}
 
+	@Test
+	void testBatchOfRequestsIsAnsweredWithSingleBatch() {
+		Map<String, McpClientSession.RequestHandler<?>> requestHandlers = Map.of(ECHO_METHOD,
+				params -> Mono.just(params));
+		transport = new MockMcpClientTransport();
+		session = new McpClientSession(TIMEOUT, transport, requestHandlers, Map.of());
+
+		transport.simulateIncomingMessage(new McpSchema.JSONRPCBatch(
+				List.of(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, ECHO_METHOD, "first", "one"),
+						new McpSchema.JSONRPCInvalidMessage("second", "missing 'method', 'result' or 'error' member"),
+						new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, ECHO_METHOD, "third", "three"))));
+
+		McpSchema.JSONRPCBatch batch = (McpSchema.JSONRPCBatch) transport.getLastSentMessage();
+		assertThat(batch.messages()).hasSize(3);
+		assertThat(batch.messages().get(0))
+			.isEqualTo(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "first", "one", null));
+		McpSchema.JSONRPCResponse invalid = (McpSchema.JSONRPCResponse) batch.messages().get(1);
+		assertThat(invalid.id()).isEqualTo("second");
+		assertThat(invalid.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_REQUEST);
+		assertThat(batch.messages().get(2))
+			.isEqualTo(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "third", "three", null));
+	}
+
 	@Test
 	void testNotificationHandling() {
 		Sinks.One<Object> receivedParams = Sinks.one();
@@ -195,4 +326,27 @@ class McpClientSessionTests {
 		StepVerifier.create(session.closeGracefully()).verifyComplete();
 	}
 
+	@Test
+	void disposedRequestIsCancelledOnServer() {
+		Disposable request = session.sendRequest(TEST_METHOD, "test", responseType).subscribe();
+		Object requestId = transport.getLastSentMessageAsRequest().id();
+
+		request.dispose();
+
+		McpSchema.JSONRPCNotification cancellation = transport.getLastSentMessageAsNotification();
+		assertThat(cancellation.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+		assertThat(cancellation.params()).isEqualTo(new McpSchema.CancelledNotification(requestId, null));
+	}
+
+	@Test
+	void answeredRequestIsNotCancelled() {
+		StepVerifier.create(session.sendRequest(TEST_METHOD, "test", responseType)).then(() -> {
+			McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+			transport.simulateIncomingMessage(
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), "response", null));
+		}).expectNext("response").verifyComplete();
+
+		assertThat(transport.getLastSentMessage()).isInstanceOf(McpSchema.JSONRPCRequest.class);
+	}
+
 }
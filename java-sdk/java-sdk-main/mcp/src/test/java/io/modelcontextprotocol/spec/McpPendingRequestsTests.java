@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test suite for {@link McpPendingRequests} covering request id allocation, the removal
+ * of entries however a request terminates, the in-flight cap and the gauges.
+ */
+class McpPendingRequestsTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final McpPendingRequests pendingRequests = new McpPendingRequests();
+
+	private static McpSchema.JSONRPCResponse response(Object id) {
+		return new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, id, "result", null);
+	}
+
+	@Test
+	void testAllocatesSequentialLongIds() {
+		AtomicLong lastId = new AtomicLong(-1);
+
+		for (int i = 0; i < 3; i++) {
+			Disposable request = this.pendingRequests.register(id -> Mono.fromRunnable(() -> lastId.set(id)), TIMEOUT)
+				.subscribe();
+			assertThat(lastId.get()).isEqualTo(i);
+			request.dispose();
+		}
+	}
+
+	@Test
+	void testCompleteRemovesEntry() {
+		AtomicLong sentId = new AtomicLong(-1);
+		Mono<McpSchema.JSONRPCResponse> responseMono = this.pendingRequests
+			.register(id -> Mono.fromRunnable(() -> sentId.set(id)), TIMEOUT);
+
+		StepVerifier.create(responseMono).then(() -> {
+			assertThat(this.pendingRequests.inFlight()).isEqualTo(1);
+			// Peers may echo the id back as any JSON number type
+			assertThat(this.pendingRequests.complete(response((int) sentId.get()))).isTrue();
+		}).assertNext(response -> assertThat(response.result()).isEqualTo("result")).verifyComplete();
+
+		assertThat(this.pendingRequests.inFlight()).isZero();
+		assertThat(this.pendingRequests.complete(response(sentId.get()))).isFalse();
+	}
+
+	@Test
+	void testUnknownIdsAreNotCompleted() {
+		assertThat(this.pendingRequests.complete(response(42L))).isFalse();
+		assertThat(this.pendingRequests.complete(response("not-a-number"))).isFalse();
+	}
+
+	@Test
+	void testTimeoutRemovesEntry() {
+		StepVerifier.withVirtualTime(() -> this.pendingRequests.register(id -> Mono.empty(), Duration.ofSeconds(1)))
+			.expectSubscription()
+			.then(() -> assertThat(this.pendingRequests.inFlight()).isEqualTo(1))
+			.thenAwait(Duration.ofSeconds(1))
+			.verifyError(TimeoutException.class);
+
+		assertThat(this.pendingRequests.inFlight()).isZero();
+	}
+
+	@Test
+	void testCancelRemovesEntry() {
+		Disposable request = this.pendingRequests.register(id -> Mono.empty(), TIMEOUT).subscribe();
+		assertThat(this.pendingRequests.inFlight()).isEqualTo(1);
+
+		request.dispose();
+
+		assertThat(this.pendingRequests.inFlight()).isZero();
+	}
+
+	@Test
+	void testSendErrorRemovesEntry() {
+		StepVerifier
+			.create(this.pendingRequests.register(id -> Mono.error(new RuntimeException("send failed")), TIMEOUT))
+			.verifyErrorMessage("send failed");
+
+		assertThat(this.pendingRequests.inFlight()).isZero();
+	}
+
+	@Test
+	void testDismissAllFailsAndRemovesEntries() {
+		Mono<McpSchema.JSONRPCResponse> responseMono = this.pendingRequests.register(id -> Mono.empty(), TIMEOUT);
+
+		StepVerifier.create(responseMono)
+			.then(() -> this.pendingRequests.dismissAll(new RuntimeException("session terminated")))
+			.verifyErrorMessage("session terminated");
+
+		assertThat(this.pendingRequests.inFlight()).isZero();
+	}
+
+	@Test
+	void testFailsFastWhenInFlightLimitReached() {
+		McpPendingRequests bounded = new McpPendingRequests(1);
+
+		Disposable first = bounded.register(id -> Mono.empty(), TIMEOUT).subscribe();
+
+		StepVerifier.create(bounded.register(id -> Mono.empty(), TIMEOUT))
+			.expectErrorSatisfies(error -> assertThat(error).isInstanceOf(McpError.class)
+				.hasMessageContaining("Too many requests in flight"))
+			.verify();
+		assertThat(bounded.inFlight()).isEqualTo(1);
+
+		first.dispose();
+
+		Disposable second = bounded.register(id -> Mono.empty(), TIMEOUT).subscribe();
+		assertThat(bounded.inFlight()).isEqualTo(1);
+		second.dispose();
+	}
+
+	@Test
+	void testRejectsNonPositiveLimit() {
+		assertThatThrownBy(() -> new McpPendingRequests(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testOldestRequestAge() throws InterruptedException {
+		assertThat(this.pendingRequests.oldestRequestAge()).isEqualTo(Duration.ZERO);
+
+		Disposable request = this.pendingRequests.register(id -> Mono.empty(), TIMEOUT).subscribe();
+		Thread.sleep(20);
+
+		assertThat(this.pendingRequests.oldestRequestAge()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+
+		request.dispose();
+		assertThat(this.pendingRequests.oldestRequestAge()).isEqualTo(Duration.ZERO);
+	}
+
+}
@@ -8,6 +8,9 @@ import static net.javacrumbs.jsonunit.assertj.JsonAssertions.json;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -1351,4 +1354,162 @@ public class McpSchemaTests {
 					{"progressToken":"progress-token-789","progress":0.25}"""));
 	}
 
+	// JSON-RPC Message Deserialization Tests
+
+	@Test
+	void testDeserializeJsonRpcRequest() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper,
+				"""
+						{"jsonrpc":"2.0","id":"req-1","method":"tools/call","params":{"name":"echo","arguments":{"text":"hi"}}}""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		McpSchema.JSONRPCRequest request = (McpSchema.JSONRPCRequest) message;
+		assertThat(request.jsonrpc()).isEqualTo(McpSchema.JSONRPC_VERSION);
+		assertThat(request.id()).isEqualTo("req-1");
+		assertThat(request.method()).isEqualTo(McpSchema.METHOD_TOOLS_CALL);
+
+		McpSchema.CallToolRequest callToolRequest = mapper.convertValue(request.params(),
+				McpSchema.CallToolRequest.class);
+		assertThat(callToolRequest.name()).isEqualTo("echo");
+		assertThat(callToolRequest.arguments()).containsEntry("text", "hi");
+	}
+
+	@Test
+	void testDeserializeJsonRpcRequestWithNumericId() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","id":42,"method":"ping"}""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		assertThat(((McpSchema.JSONRPCRequest) message).id()).isEqualTo(42);
+		assertThat(((McpSchema.JSONRPCRequest) message).params()).isNull();
+	}
+
+	@Test
+	void testDeserializeJsonRpcNotification() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","method":"notifications/initialized"}""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCNotification.class);
+		assertThat(((McpSchema.JSONRPCNotification) message).method())
+			.isEqualTo(McpSchema.METHOD_NOTIFICATION_INITIALIZED);
+	}
+
+	@Test
+	void testDeserializeJsonRpcResponseWithResult() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","id":"req-2","result":{"content":[{"type":"text","text":"done"}],"isError":false}}""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) message;
+		assertThat(response.id()).isEqualTo("req-2");
+		assertThat(response.error()).isNull();
+
+		McpSchema.CallToolResult result = mapper.convertValue(response.result(), McpSchema.CallToolResult.class);
+		assertThat(result.content()).containsExactly(new McpSchema.TextContent("done"));
+	}
+
+	@Test
+	void testDeserializeJsonRpcResponseWithError() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","id":"req-3","error":{"code":-32601,"message":"Method not found"},"extra":[1,2]}""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) message;
+		assertThat(response.result()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
+		assertThat(response.error().message()).isEqualTo("Method not found");
+	}
+
+	@Test
+	void testDeserializeJsonRpcMessageFromBinaryInputs() throws Exception {
+		byte[] bytes = """
+				{"jsonrpc":"2.0","id":7,"method":"resources/read","params":{"uri":"file:///tmp/a.txt"}}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+		directBuffer.put(bytes).flip();
+
+		List<McpSchema.JSONRPCMessage> messages = List.of(McpSchema.deserializeJsonRpcMessage(mapper, bytes),
+				McpSchema.deserializeJsonRpcMessage(mapper, ByteBuffer.wrap(bytes)),
+				McpSchema.deserializeJsonRpcMessage(mapper, directBuffer),
+				McpSchema.deserializeJsonRpcMessage(mapper, new ByteArrayInputStream(bytes)));
+
+		assertThat(directBuffer.hasRemaining()).isFalse();
+		assertThat(messages).allSatisfy(message -> {
+			assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+			McpSchema.JSONRPCRequest request = (McpSchema.JSONRPCRequest) message;
+			assertThat(request.id()).isEqualTo(7);
+			assertThat(mapper.convertValue(request.params(), McpSchema.ReadResourceRequest.class).uri())
+				.isEqualTo("file:///tmp/a.txt");
+		});
+	}
+
+	@Test
+	void testDeserializeJsonRpcMessageWithUnknownStructure() {
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","id":"req-4"}""")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Cannot deserialize JSONRPCMessage");
+	}
+
+	@Test
+	void testDeserializeJsonRpcBatch() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				[{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"echo"}},\
+				{"jsonrpc":"2.0","method":"notifications/initialized"},\
+				{"jsonrpc":"2.0","id":"req-2","result":{}}]""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCBatch.class);
+		List<McpSchema.JSONRPCMessage> messages = ((McpSchema.JSONRPCBatch) message).messages();
+		assertThat(messages).hasSize(3);
+		assertThat(messages.get(0)).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		assertThat(((McpSchema.JSONRPCRequest) messages.get(0)).id()).isEqualTo(1);
+		assertThat(messages.get(1)).isInstanceOf(McpSchema.JSONRPCNotification.class);
+		assertThat(messages.get(2)).isInstanceOf(McpSchema.JSONRPCResponse.class);
+	}
+
+	@Test
+	void testDeserializeJsonRpcBatchFromBytes() throws Exception {
+		byte[] json = """
+				[{"jsonrpc":"2.0","method":"notifications/initialized"}]""".getBytes(StandardCharsets.UTF_8);
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, json);
+
+		assertThat(((McpSchema.JSONRPCBatch) message).messages())
+			.containsExactly(new McpSchema.JSONRPCNotification("2.0", "notifications/initialized", null));
+	}
+
+	@Test
+	void testDeserializeInvalidJsonRpcBatch() throws Exception {
+		McpSchema.JSONRPCMessage empty = McpSchema.deserializeJsonRpcMessage(mapper, "[]");
+
+		assertThat(empty).isEqualTo(new McpSchema.JSONRPCInvalidMessage(null, "empty batch"));
+
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(mapper, """
+				[1, {"jsonrpc":"2.0","id":2}, [3], {"jsonrpc":"2.0","method":"ping","id":4}]""");
+
+		List<McpSchema.JSONRPCMessage> messages = ((McpSchema.JSONRPCBatch) message).messages();
+		assertThat(messages).hasSize(4);
+		assertThat(messages.get(0)).isInstanceOf(McpSchema.JSONRPCInvalidMessage.class);
+		assertThat(((McpSchema.JSONRPCInvalidMessage) messages.get(1)).id()).isEqualTo(2);
+		assertThat(messages.get(2)).isInstanceOf(McpSchema.JSONRPCInvalidMessage.class);
+		assertThat(messages.get(3)).isEqualTo(new McpSchema.JSONRPCRequest("2.0", "ping", 4, null));
+
+		assertThatThrownBy(() -> McpSchema.deserializeJsonRpcMessage(mapper, """
+				{"jsonrpc":"2.0","id":1}""")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("missing 'method', 'result' or 'error' member");
+	}
+
+	@Test
+	void testSerializeJsonRpcBatch() throws Exception {
+		McpSchema.JSONRPCBatch batch = new McpSchema.JSONRPCBatch(
+				List.of(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "ping", 1L, null),
+						new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 2L, Map.of(), null)));
+
+		String value = mapper.writeValueAsString(batch);
+
+		assertThatJson(value).when(Option.IGNORING_ARRAY_ORDER).isEqualTo(json("""
+				[{"jsonrpc":"2.0","method":"ping","id":1},{"jsonrpc":"2.0","id":2,"result":{}}]"""));
+		assertThat(McpSchema.deserializeJsonRpcMessage(mapper, value)).isInstanceOf(McpSchema.JSONRPCBatch.class);
+	}
+
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.MockMcpServerTransport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test suite for {@link McpServerSession} request dispatch.
+ */
+class McpServerSessionTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private static final TypeReference<McpSchema.CallToolRequest> CALL_TOOL_REQUEST_TYPE_REF = new TypeReference<>() {
+	};
+
+	private static final String SLOW_METHOD = "test/slow";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicBoolean slowHandlerCancelled = new AtomicBoolean();
+
+	private final AtomicReference<McpSchema.CallToolRequest> receivedRequest = new AtomicReference<>();
+
+	private final List<McpEncodedMessage> encodedMessages = new CopyOnWriteArrayList<>();
+
+	private McpEncodedResult<McpSchema.ListToolsResult> toolsList;
+
+	private MockMcpServerTransport transport;
+
+	private McpServerSession session;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.transport = new MockMcpServerTransport() {
+			@Override
+			public Mono<Void> sendEncodedMessage(McpEncodedMessage message) {
+				encodedMessages.add(message);
+				return super.sendEncodedMessage(message);
+			}
+		};
+		this.toolsList = McpEncodedResult.encode(this.objectMapper, new McpSchema.ListToolsResult(
+				List.of(new McpSchema.Tool("echo", "Echoes its input", "{\"type\":\"object\"}")), null));
+
+		Map<String, McpServerSession.RequestHandler<?>> requestHandlers = Map.of(McpSchema.METHOD_TOOLS_CALL,
+				new McpServerSession.TypedRequestHandler<>(CALL_TOOL_REQUEST_TYPE_REF, (exchange, request) -> {
+					this.receivedRequest.set(request);
+					return Mono.just(new McpSchema.CallToolResult(
+							List.of(new McpSchema.TextContent("called " + request.name())), false));
+				}), McpSchema.METHOD_TOOLS_LIST, (exchange, params) -> Mono.just(this.toolsList), SLOW_METHOD,
+				(exchange, params) -> Mono.never().doOnCancel(() -> this.slowHandlerCancelled.set(true)));
+
+		this.session = new McpServerSession("test-session", TIMEOUT, this.transport,
+				initRequest -> Mono.just(new McpSchema.InitializeResult(McpSchema.LATEST_PROTOCOL_VERSION,
+						McpSchema.ServerCapabilities.builder().tools(false).build(),
+						new McpSchema.Implementation("test-server", "1.0.0"), null)),
+				Mono::empty, requestHandlers, Map.of());
+
+		this.session
+			.handle(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+			.block(TIMEOUT);
+	}
+
+	@Test
+	void typedHandlerReceivesParamsBoundFromDecodedMessage() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"echo","arguments":{"text":"hi"}}}""");
+
+		this.session.handle(message).block(TIMEOUT);
+
+		assertThat(this.receivedRequest.get()).isNotNull();
+		assertThat(this.receivedRequest.get().name()).isEqualTo("echo");
+		assertThat(this.receivedRequest.get().arguments()).containsEntry("text", "hi");
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.transport.getLastSentMessage();
+		assertThat(response.id()).isEqualTo(1);
+		assertThat(response.error()).isNull();
+		assertThat(((McpSchema.CallToolResult) response.result()).content())
+			.containsExactly(new McpSchema.TextContent("called echo"));
+	}
+
+	@Test
+	void typedHandlerReceivesParamsPassedInProcess() {
+		this.session
+			.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, "req-1",
+					new McpSchema.CallToolRequest("echo", Map.of("text", "hi"))))
+			.block(TIMEOUT);
+
+		assertThat(this.receivedRequest.get().name()).isEqualTo("echo");
+		assertThat(this.receivedRequest.get().arguments()).containsEntry("text", "hi");
+	}
+
+	@Test
+	void batchIsAnsweredWithSingleBatchOfResponses() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				[{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"first"}},\
+				{"jsonrpc":"2.0","method":"notifications/roots/list_changed"},\
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"second"}}]""");
+
+		this.session.handle(message).block(TIMEOUT);
+
+		McpSchema.JSONRPCBatch responses = (McpSchema.JSONRPCBatch) this.transport.getLastSentMessage();
+		assertThat(responses.messages()).hasSize(2);
+
+		McpSchema.JSONRPCResponse first = (McpSchema.JSONRPCResponse) responses.messages().get(0);
+		assertThat(first.id()).isEqualTo(1);
+		assertThat(((McpSchema.CallToolResult) first.result()).content())
+			.containsExactly(new McpSchema.TextContent("called first"));
+
+		McpSchema.JSONRPCResponse second = (McpSchema.JSONRPCResponse) responses.messages().get(1);
+		assertThat(second.id()).isEqualTo(2);
+		assertThat(((McpSchema.CallToolResult) second.result()).content())
+			.containsExactly(new McpSchema.TextContent("called second"));
+	}
+
+	@Test
+	void invalidBatchElementsAreAnsweredWithInvalidRequest() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				[1,\
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"valid"}},\
+				{"jsonrpc":"2.0","id":3}]""");
+
+		this.session.handle(message).block(TIMEOUT);
+
+		McpSchema.JSONRPCBatch responses = (McpSchema.JSONRPCBatch) this.transport.getLastSentMessage();
+		assertThat(responses.messages()).hasSize(3);
+
+		McpSchema.JSONRPCResponse notAnObject = (McpSchema.JSONRPCResponse) responses.messages().get(0);
+		assertThat(notAnObject.id()).isNull();
+		assertThat(notAnObject.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_REQUEST);
+
+		McpSchema.JSONRPCResponse valid = (McpSchema.JSONRPCResponse) responses.messages().get(1);
+		assertThat(valid.id()).isEqualTo(2);
+		assertThat(((McpSchema.CallToolResult) valid.result()).content())
+			.containsExactly(new McpSchema.TextContent("called valid"));
+
+		McpSchema.JSONRPCResponse noMethod = (McpSchema.JSONRPCResponse) responses.messages().get(2);
+		assertThat(noMethod.id()).isEqualTo(3);
+		assertThat(noMethod.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_REQUEST);
+	}
+
+	@Test
+	void emptyBatchIsAnsweredWithSingleInvalidRequest() throws Exception {
+		this.session.handle(McpSchema.deserializeJsonRpcMessage(this.objectMapper, "[]")).block(TIMEOUT);
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.transport.getLastSentMessage();
+		assertThat(response.id()).isNull();
+		assertThat(response.result()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_REQUEST);
+	}
+
+	@Test
+	void paramsThatCannotBeBoundAreRejectedWithInvalidParams() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"echo","arguments":"not-an-object"}}""");
+
+		this.session.handle(message).block(TIMEOUT);
+
+		assertThat(this.receivedRequest.get()).isNull();
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.transport.getLastSentMessage();
+		assertThat(response.id()).isEqualTo(2);
+		assertThat(response.result()).isNull();
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_PARAMS);
+	}
+
+	@Test
+	void encodedResultIsSplicedIntoResponse() throws Exception {
+		this.session
+			.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_LIST, "req-\"1",
+					null))
+			.block(TIMEOUT);
+
+		assertThat(this.encodedMessages).hasSize(1);
+		McpEncodedMessage encoded = this.encodedMessages.get(0);
+		assertThat(encoded.asString())
+			.isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":\"req-\\\"1\",\"result\":" + this.toolsList.asString() + "}");
+
+		McpSchema.JSONRPCResponse decoded = (McpSchema.JSONRPCResponse) McpSchema
+			.deserializeJsonRpcMessage(this.objectMapper, encoded.asString());
+		assertThat(decoded.id()).isEqualTo("req-\"1");
+		assertThat(this.objectMapper.convertValue(decoded.result(), McpSchema.ListToolsResult.class))
+			.isEqualTo(this.toolsList.value());
+
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) this.transport.getLastSentMessage();
+		assertThat(response.result()).isEqualTo(this.toolsList.value());
+	}
+
+	@Test
+	void encodedResultIsWrittenAsIsWithinBatch() throws Exception {
+		McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				[{"jsonrpc":"2.0","id":1,"method":"tools/list"},\
+				{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"second"}}]""");
+
+		this.session.handle(message).block(TIMEOUT);
+
+		String json = this.objectMapper.writeValueAsString(this.transport.getLastSentMessage());
+		assertThat(json).contains("\"id\":1,\"result\":" + this.toolsList.asString());
+	}
+
+	@Test
+	void cancelledNotificationDisposesInFlightHandler() throws Exception {
+		McpSchema.JSONRPCMessage request = McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				{"jsonrpc":"2.0","id":7,"method":"test/slow"}""");
+		Mono<Void> handling = this.session.handle(request).cache();
+		handling.subscribe();
+		assertThat(this.slowHandlerCancelled).isFalse();
+
+		this.session.handle(McpSchema.deserializeJsonRpcMessage(this.objectMapper, """
+				{"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":7,"reason":"gone"}}"""))
+			.block(TIMEOUT);
+
+		assertThat(this.slowHandlerCancelled).isTrue();
+		handling.block(TIMEOUT);
+		// No response is sent for a cancelled request
+		assertThat(this.transport.getLastSentMessage()).isNull();
+	}
+
+	@Test
+	void cancelledNotificationForUnknownRequestIsIgnored() {
+		this.session
+			.handle(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_CANCELLED, new McpSchema.CancelledNotification("unknown", null)))
+			.block(TIMEOUT);
+
+		assertThat(this.transport.getLastSentMessage()).isNull();
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConcurrencyLimiter}.
+ */
+class ConcurrencyLimiterTests {
+
+	@Test
+	void releasedPermitsAreHandedOverInArrivalOrder() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 2);
+		List<String> granted = new ArrayList<>();
+		List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		for (String name : List.of("first", "second", "third")) {
+			limiter.acquire().subscribe(permit -> {
+				granted.add(name);
+				permits.add(permit);
+			});
+		}
+		assertThat(granted).containsExactly("first");
+		assertThat(limiter.active()).isEqualTo(1);
+		assertThat(limiter.queued()).isEqualTo(2);
+
+		permits.get(0).release();
+		assertThat(granted).containsExactly("first", "second");
+
+		permits.get(1).release();
+		permits.get(2).release();
+		assertThat(granted).containsExactly("first", "second", "third");
+		assertThat(limiter.active()).isZero();
+		assertThat(limiter.queued()).isZero();
+	}
+
+	@Test
+	void acquireFailsWhenQueueIsFull() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 0);
+		limiter.acquire().subscribe();
+
+		StepVerifier.create(limiter.acquire()).verifyError(RejectedExecutionException.class);
+		assertThat(limiter.active()).isEqualTo(1);
+	}
+
+	@Test
+	void cancelledWaiterLeavesQueue() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1);
+		List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		limiter.acquire().subscribe(permits::add);
+		Disposable waiter = limiter.acquire().subscribe(permits::add);
+		assertThat(limiter.queued()).isEqualTo(1);
+
+		waiter.dispose();
+		assertThat(limiter.queued()).isZero();
+
+		permits.get(0).release();
+		assertThat(permits).hasSize(1);
+		assertThat(limiter.active()).isZero();
+	}
+
+	@Test
+	void releasingPermitTwiceHasNoEffect() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 0);
+		List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		limiter.acquire().subscribe(permits::add);
+		limiter.acquire().subscribe(permits::add);
+
+		permits.get(0).release();
+		permits.get(0).release();
+
+		assertThat(limiter.active()).isEqualTo(1);
+	}
+
+}